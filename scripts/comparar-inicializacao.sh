@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+#
+# Compara o tempo de inicialização e a memória residente (RSS) da API em três modos:
+# JVM comum, JVM com o contexto AOT (-Dspring.aot.enabled=true) e imagem nativa GraalVM.
+#
+# Pré-requisitos:
+#   mvn -Pnative -DskipTests package   (gera o JAR com as classes AOT e target/vollmed-api)
+#   MySQL acessível com as mesmas propriedades de sempre (spring.datasource.*, variáveis de ambiente)
+#
+# Uso: scripts/comparar-inicializacao.sh [rodadas]
+# Variáveis: JAR, NATIVO, PORTA, e ARGS (argumentos extras repassados à aplicação).
+#
+# Tempo = do exec do processo até o primeiro 200 em GET /hello (inclui Flyway, Hibernate e Security).
+# RSS = memória residente logo após responder, e de novo depois de AQUECIMENTO requisições.
+
+set -euo pipefail
+
+RODADAS=${1:-5}
+JAR=${JAR:-target/api-0.0.1-SNAPSHOT.jar}
+NATIVO=${NATIVO:-target/vollmed-api}
+PORTA=${PORTA:-18081}
+AQUECIMENTO=${AQUECIMENTO:-500}
+ARGS=${ARGS:-}
+
+ms_agora() {
+    date +%s%3N
+}
+
+rss_kb() {
+    ps -o rss= -p "$1" | tr -d ' '
+}
+
+# medir <nome> <comando...>: imprime "nome tempo_ms_medio rss_inicial_mb rss_aquecido_mb"
+medir() {
+    local nome=$1
+    shift
+    local soma_ms=0 soma_rss=0 soma_rss_aquecido=0
+    for ((i = 1; i <= RODADAS; i++)); do
+        local inicio pid fim
+        inicio=$(ms_agora)
+        # shellcheck disable=SC2086
+        "$@" --server.port="$PORTA" $ARGS > "target/inicializacao-$nome-$i.log" 2>&1 &
+        pid=$!
+        until curl -sf "http://localhost:$PORTA/hello" > /dev/null; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$nome: processo terminou antes de responder (ver target/inicializacao-$nome-$i.log)" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        fim=$(ms_agora)
+        local rss
+        rss=$(rss_kb "$pid")
+        for ((r = 0; r < AQUECIMENTO; r++)); do
+            curl -sf "http://localhost:$PORTA/medicos?page=$((r % 20))" > /dev/null || true
+        done
+        local rss_aquecido
+        rss_aquecido=$(rss_kb "$pid")
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+
+        soma_ms=$((soma_ms + fim - inicio))
+        soma_rss=$((soma_rss + rss))
+        soma_rss_aquecido=$((soma_rss_aquecido + rss_aquecido))
+    done
+    printf '%-12s %10d %14d %14d\n' "$nome" $((soma_ms / RODADAS)) \
+        $((soma_rss / RODADAS / 1024)) $((soma_rss_aquecido / RODADAS / 1024))
+}
+
+mkdir -p target
+printf '%-12s %10s %14s %14s\n' "modo" "início(ms)" "RSS(MB)" "RSS aquec.(MB)"
+medir jvm java -jar "$JAR"
+medir jvm-aot java -Dspring.aot.enabled=true -jar "$JAR"
+if [[ -x "$NATIVO" ]]; then
+    medir nativo "$NATIVO"
+else
+    echo "nativo: $NATIVO não encontrado (rode mvn -Pnative -DskipTests package com GraalVM)" >&2
+fi
@@ -1,9 +1,18 @@
 package med.voll.api;
 
+import med.voll.api.infra.nativo.DicasDeExecucaoNativa;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// O R2DBC só serve à leitura reativa (infra/reativo), configurada à parte: um ConnectionFactory
+// automático desligaria o DataSource JDBC de que JPA e Flyway dependem
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@EnableScheduling
+@ImportRuntimeHints(DicasDeExecucaoNativa.class)   // Imagem nativa: ver profile Maven "native"
 public class ApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,37 @@
+package med.voll.api.controller;
+
+import med.voll.api.infra.feed.FeedDeAlteracoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST com o feed de alterações de médicos e pacientes (Server-Sent Events),
+ * para clientes manterem listas atualizadas sem consultar a API periodicamente.
+ */
+@RestController
+@RequestMapping("alteracoes")
+public class AlteracaoController {
+
+    @Autowired
+    private FeedDeAlteracoes feed;
+
+    /**
+     * Endpoint que abre o feed. Cada evento "alteracao" traz sequência, recurso, id, versão e tipo;
+     * para retomar, o cliente informa o ID ("época:sequência") do último evento recebido (?desde=
+     * ou o cabeçalho Last-Event-ID, enviado automaticamente pelo EventSource do navegador ao reconectar).
+     * URL: GET /alteracoes
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(
+            @RequestParam(required = false) String desde,
+            @RequestHeader(name = "Last-Event-ID", required = false) String ultimoEventoRecebido
+    ) {
+        return feed.assinar(desde != null ? desde : ultimoEventoRecebido);
+    }
+}
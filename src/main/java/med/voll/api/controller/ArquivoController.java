@@ -0,0 +1,135 @@
+package med.voll.api.controller;
+
+import med.voll.api.domain.Normalizacao;
+import med.voll.api.domain.arquivo.ArquivamentoDeInativos;
+import med.voll.api.domain.arquivo.ResultadoArquivamento;
+import med.voll.api.domain.medico.DadosDetalhamentoMedicoArquivado;
+import med.voll.api.domain.medico.MedicoArquivadoRepository;
+import med.voll.api.domain.paciente.DadosDetalhamentoPacienteArquivado;
+import med.voll.api.domain.paciente.PacienteArquivadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST administrativo do arquivo de médicos e pacientes inativos:
+ * leitura dos registros arquivados, restauração e disparo manual do arquivamento.
+ */
+@RestController
+@RequestMapping("arquivo")
+public class ArquivoController {
+
+    @Autowired
+    private MedicoArquivadoRepository medicoArquivadoRepository;
+
+    @Autowired
+    private PacienteArquivadoRepository pacienteArquivadoRepository;
+
+    @Autowired
+    private ArquivamentoDeInativos arquivamento;
+
+    /**
+     * Endpoint que lista os médicos arquivados, os mais recentes primeiro.
+     * URL: GET /arquivo/medicos
+     */
+    @GetMapping("/medicos")
+    public Page<DadosDetalhamentoMedicoArquivado> listarMedicos(
+            @PageableDefault(size = 10, sort = {"arquivadoEm"}, direction = Sort.Direction.DESC) Pageable paginacao
+    ) {
+        return medicoArquivadoRepository.findAll(paginacao).map(DadosDetalhamentoMedicoArquivado::new);
+    }
+
+    /**
+     * Endpoint que detalha um médico arquivado.
+     * URL: GET /arquivo/medicos/{id}
+     */
+    @GetMapping("/medicos/{id}")
+    public ResponseEntity<DadosDetalhamentoMedicoArquivado> detalharMedico(@PathVariable Long id) {
+        var medico = medicoArquivadoRepository.getReferenceById(id);
+        return ResponseEntity.ok(new DadosDetalhamentoMedicoArquivado(medico));
+    }
+
+    /**
+     * Endpoint que busca médicos arquivados pelo CRM (pode haver mais de um, se o CRM foi reutilizado).
+     * URL: GET /arquivo/medicos/crm/{crm}
+     */
+    @GetMapping("/medicos/crm/{crm}")
+    public List<DadosDetalhamentoMedicoArquivado> buscarMedicosPorCrm(@PathVariable String crm) {
+        return medicoArquivadoRepository.findAllByCrmNormalizado(Normalizacao.somenteDigitos(crm)).stream()
+                .map(DadosDetalhamentoMedicoArquivado::new)
+                .toList();
+    }
+
+    /**
+     * Endpoint que devolve o médico arquivado à tabela principal, ainda inativo.
+     * URL: POST /arquivo/medicos/{id}/restauracao
+     */
+    @PostMapping("/medicos/{id}/restauracao")
+    public ResponseEntity<Void> restaurarMedico(@PathVariable Long id) {
+        arquivamento.restaurarMedico(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint que lista os pacientes arquivados, os mais recentes primeiro.
+     * URL: GET /arquivo/pacientes
+     */
+    @GetMapping("/pacientes")
+    public Page<DadosDetalhamentoPacienteArquivado> listarPacientes(
+            @PageableDefault(size = 10, sort = {"arquivadoEm"}, direction = Sort.Direction.DESC) Pageable paginacao
+    ) {
+        return pacienteArquivadoRepository.findAll(paginacao).map(DadosDetalhamentoPacienteArquivado::new);
+    }
+
+    /**
+     * Endpoint que detalha um paciente arquivado.
+     * URL: GET /arquivo/pacientes/{id}
+     */
+    @GetMapping("/pacientes/{id}")
+    public ResponseEntity<DadosDetalhamentoPacienteArquivado> detalharPaciente(@PathVariable Long id) {
+        var paciente = pacienteArquivadoRepository.getReferenceById(id);
+        return ResponseEntity.ok(new DadosDetalhamentoPacienteArquivado(paciente));
+    }
+
+    /**
+     * Endpoint que busca pacientes arquivados pelo CPF.
+     * URL: GET /arquivo/pacientes/cpf/{cpf}
+     */
+    @GetMapping("/pacientes/cpf/{cpf}")
+    public List<DadosDetalhamentoPacienteArquivado> buscarPacientesPorCpf(@PathVariable String cpf) {
+        return pacienteArquivadoRepository.findAllByCpfNormalizado(Normalizacao.somenteDigitos(cpf)).stream()
+                .map(DadosDetalhamentoPacienteArquivado::new)
+                .toList();
+    }
+
+    /**
+     * Endpoint que devolve o paciente arquivado à tabela principal, ainda inativo.
+     * URL: POST /arquivo/pacientes/{id}/restauracao
+     */
+    @PostMapping("/pacientes/{id}/restauracao")
+    public ResponseEntity<Void> restaurarPaciente(@PathVariable Long id) {
+        arquivamento.restaurarPaciente(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint que executa um ciclo de arquivamento agora, sem esperar o agendamento.
+     * Retorna 409 se já houver um ciclo em andamento.
+     * URL: POST /arquivo/execucoes
+     */
+    @PostMapping("/execucoes")
+    public ResponseEntity<ResultadoArquivamento> arquivar() {
+        var resultado = arquivamento.arquivar();
+        if (resultado == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(resultado);
+    }
+}
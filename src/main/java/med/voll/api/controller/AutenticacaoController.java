@@ -3,12 +3,15 @@ package med.voll.api.controller;
 import jakarta.validation.Valid;
 import med.voll.api.domain.usuario.DadosAutenticacao;
 import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.infra.jfr.LoginEvent;
+import med.voll.api.infra.jfr.PasswordEncoderMonitorado;
 import med.voll.api.infra.security.DadosTokenJWT;
 import med.voll.api.infra.security.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -43,8 +46,20 @@ public class AutenticacaoController {
                 dados.senha()    // Senha fornecida
         );
 
+        // Evento JFR com a duração do login e, separadamente, do hash da senha
+        var evento = new LoginEvent(dados.login());
+        evento.begin();
+        var sucesso = false;
+
         // Realiza a autenticação; lança exceção se falhar (BadCredentials)
-        var authentication = manager.authenticate(authenticationToken);
+        PasswordEncoderMonitorado.consumirDuracaoHash();
+        Authentication authentication;
+        try {
+            authentication = manager.authenticate(authenticationToken);
+            sucesso = true;
+        } finally {
+            evento.concluir(sucesso, PasswordEncoderMonitorado.consumirDuracaoHash());
+        }
 
         // Gera o token JWT usando o usuário autenticado (principal)
         var tokenJWT = tokenService.gerarToken((Usuario) authentication.getPrincipal());
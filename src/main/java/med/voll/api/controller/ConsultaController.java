@@ -0,0 +1,44 @@
+package med.voll.api.controller;
+
+import jakarta.validation.Valid;
+import med.voll.api.domain.consulta.AgendaDeConsultas;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.DadosCancelamentoConsulta;
+import med.voll.api.domain.consulta.DadosDetalhamentoConsulta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para agendamento e cancelamento de consultas.
+ * As regras de negócio ficam na AgendaDeConsultas.
+ */
+@RestController
+@RequestMapping("consultas")  // Base path para todos os endpoints: /consultas
+public class ConsultaController {
+
+    @Autowired
+    private AgendaDeConsultas agenda;
+
+    /**
+     * Endpoint para agendar uma consulta.
+     * URL: POST /consultas
+     * - Retorna 200 OK com os dados da consulta agendada.
+     * - Retorna 400 se alguma regra de agendamento for violada e 409 se o horário estiver ocupado.
+     */
+    @PostMapping
+    public ResponseEntity<DadosDetalhamentoConsulta> agendar(@RequestBody @Valid DadosAgendamentoConsulta dados) {
+        return ResponseEntity.ok(agenda.agendar(dados));
+    }
+
+    /**
+     * Endpoint para cancelar uma consulta.
+     * URL: DELETE /consultas
+     * - Retorna 204 No Content.
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> cancelar(@RequestBody @Valid DadosCancelamentoConsulta dados) {
+        agenda.cancelar(dados);
+        return ResponseEntity.noContent().build();
+    }
+}
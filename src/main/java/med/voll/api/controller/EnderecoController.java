@@ -0,0 +1,40 @@
+package med.voll.api.controller;
+
+import med.voll.api.domain.ValidacaoException;
+import med.voll.api.domain.endereco.DiretorioDeCeps;
+import med.voll.api.domain.endereco.EnderecoCep;
+import med.voll.api.domain.validacao.Documentos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para consulta de endereços pelo CEP (autocompletar nos formulários).
+ */
+@RestController
+@RequestMapping("enderecos")
+public class EnderecoController {
+
+    @Autowired
+    private DiretorioDeCeps diretorio;  // Diretório local de CEPs mapeado em memória
+
+    /**
+     * Endpoint para buscar logradouro, bairro, cidade e UF de um CEP.
+     * URL: GET /enderecos/cep/{cep}
+     * - Aceita o CEP com ou sem hífen ("01001-000" ou "01001000").
+     * - Retorna 200 OK com EnderecoCep, 400 se o CEP estiver fora desse formato,
+     *   ou 404 se o CEP não estiver no diretório.
+     */
+    @GetMapping("/cep/{cep}")
+    public ResponseEntity<EnderecoCep> buscarPorCep(@PathVariable String cep) {
+        if (!Documentos.cepComOuSemHifen(cep)) {
+            throw new ValidacaoException("CEP deve ter o formato 00000-000 ou 00000000");
+        }
+        return diretorio.buscar(cep)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
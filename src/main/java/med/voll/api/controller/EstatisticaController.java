@@ -0,0 +1,42 @@
+package med.voll.api.controller;
+
+import med.voll.api.domain.estatistica.ContadoresDeCadastro;
+import med.voll.api.domain.estatistica.DadosMedicosPorEspecialidade;
+import med.voll.api.domain.estatistica.DadosPacientesPorCidade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST com as estatísticas do painel, servidas dos contadores em memória
+ * (nenhuma consulta ao banco por requisição).
+ */
+@RestController
+@RequestMapping("estatisticas")
+public class EstatisticaController {
+
+    @Autowired
+    private ContadoresDeCadastro contadores;
+
+    /**
+     * Endpoint com a quantidade de médicos ativos por especialidade e UF.
+     * URL: GET /estatisticas/medicos
+     */
+    @GetMapping("/medicos")
+    public ResponseEntity<List<DadosMedicosPorEspecialidade>> medicos() {
+        return ResponseEntity.ok(contadores.medicosPorEspecialidade());
+    }
+
+    /**
+     * Endpoint com a quantidade de pacientes ativos por cidade.
+     * URL: GET /estatisticas/pacientes
+     */
+    @GetMapping("/pacientes")
+    public ResponseEntity<List<DadosPacientesPorCidade>> pacientes() {
+        return ResponseEntity.ok(contadores.pacientesPorCidade());
+    }
+}
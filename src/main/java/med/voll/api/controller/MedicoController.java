@@ -7,7 +7,16 @@ import med.voll.api.domain.medico.MedicoRepository;
 import med.voll.api.domain.medico.DadosCadastroMedico;
 import med.voll.api.domain.medico.DadosDetalhamentoMedico;
 import med.voll.api.domain.medico.DadosAtualizacaoMedico;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.BuscaDeMedicos;
+import med.voll.api.domain.medico.DiretorioDeMedicos;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.unicidade.VerificadorDeUnicidade;
+import med.voll.api.infra.auditoria.AlteracaoAuditada;
+import med.voll.api.infra.feed.RecursoAlterado;
+import med.voll.api.infra.timing.ServerTiming;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -27,6 +36,18 @@ public class MedicoController {
     @Autowired
     private MedicoRepository repository;  // Repositório JPA para operações com Médicos
 
+    @Autowired
+    private ApplicationEventPublisher publisher;  // Publica MedicoAlterado (índices e caches) e AlteracaoAuditada
+
+    @Autowired
+    private VerificadorDeUnicidade unicidade;  // Rejeita CRM ou e-mail duplicado antes do INSERT
+
+    @Autowired
+    private BuscaDeMedicos busca;  // Busca exata por CRM ou e-mail, com cache das chaves mais consultadas
+
+    @Autowired
+    private DiretorioDeMedicos diretorio;  // Listagem e detalhe em memória, quando habilitado
+
     /**
      * Endpoint para cadastro de um novo médico.
      * URL: POST /medicos
@@ -40,10 +61,13 @@ public class MedicoController {
             @RequestBody @Valid DadosCadastroMedico dados,
             UriComponentsBuilder uriBuilder
     ) {
+        // Rejeita com 409 se CRM ou e-mail já estiverem cadastrados
+        unicidade.reservarMedico(dados.crm(), dados.email());
         // Cria a entidade Medico a partir dos dados recebidos
         var medico = new Medico(dados);
         // Persiste no banco
         repository.save(medico);
+        publisher.publishEvent(new MedicoAlterado(null, medico.situacao()));
 
         // Constrói URI para o recurso criado: /medicos/{id}
         var uri = uriBuilder
@@ -53,22 +77,28 @@ public class MedicoController {
 
         // Retorna status 201 Created, cabeçalho Location e corpo com detalhes
         return ResponseEntity.created(uri)
-                .body(new DadosDetalhamentoMedico(medico));
+                .body(ServerTiming.medir(ServerTiming.MAPEAMENTO, () -> new DadosDetalhamentoMedico(medico)));
     }
 
     /**
      * Endpoint para listagem paginada de médicos ativos.
      * URL: GET /medicos
      * - @PageableDefault define tamanho e ordenação padrão (10 por página, ordenado por nome).
+     * - ?especialidade= filtra por especialidade (opcional).
      * - Retorna 200 OK com uma página de DadosListagemMedico.
      */
     @GetMapping
     public ResponseEntity<Page<DadosListagemMedico>> listar(
+            @RequestParam(required = false) Especialidade especialidade,
             @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao
     ) {
-        // Busca médicos com ativo=true e converte cada Medico para DadosListagemMedico
-        var page = repository.findAllByAtivoTrue(paginacao)
-                .map(DadosListagemMedico::new);
+        // Diretório em memória quando disponível; senão, médicos com ativo=true do banco
+        var page = diretorio.listar(especialidade, paginacao).orElseGet(() -> {
+            var medicos = especialidade == null
+                    ? repository.findAllByAtivoTrue(paginacao)
+                    : repository.findAllByAtivoTrueAndEspecialidade(especialidade, paginacao);
+            return ServerTiming.medir(ServerTiming.MAPEAMENTO, () -> medicos.map(DadosListagemMedico::new));
+        });
         return ResponseEntity.ok(page);
     }
 
@@ -87,9 +117,13 @@ public class MedicoController {
         // Obtém referência "lazy" ao médico pelo ID (sem consulta imediata)
         var medico = repository.getReferenceById(dados.id());
         // Aplica mudanças somente nos campos não nulos
-        medico.atualizarInformacoes(dados);
+        var anterior = medico.situacao();
+        var campos = medico.atualizarInformacoes(dados);
+        repository.flush();  // Executa o UPDATE agora para o evento levar a nova versão
+        publisher.publishEvent(new MedicoAlterado(anterior, medico.situacao()));
+        publisher.publishEvent(new AlteracaoAuditada(RecursoAlterado.MEDICO, medico.getId(), medico.situacao().versao(), campos));
         // Retorna detalhes atualizados
-        return ResponseEntity.ok(new DadosDetalhamentoMedico(medico));
+        return ResponseEntity.ok(ServerTiming.medir(ServerTiming.MAPEAMENTO, () -> new DadosDetalhamentoMedico(medico)));
     }
 
     /**
@@ -103,7 +137,11 @@ public class MedicoController {
     @Transactional
     public ResponseEntity<Void> excluir(@PathVariable Long id) {
         var medico = repository.getReferenceById(id);  // Obtém referência ao médico
-        medico.excluir();                              // Marca como inativo (exclusão lógica)
+        var anterior = medico.situacao();
+        var campos = medico.excluir();                 // Marca como inativo (exclusão lógica)
+        repository.flush();                            // UPDATE imediato: o evento leva a nova versão
+        publisher.publishEvent(new MedicoAlterado(anterior, medico.situacao()));
+        publisher.publishEvent(new AlteracaoAuditada(RecursoAlterado.MEDICO, id, medico.situacao().versao(), campos));
         return ResponseEntity.noContent().build();     // Retorna status 204
     }
 
@@ -115,8 +153,32 @@ public class MedicoController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<DadosDetalhamentoMedico> detalhar(@PathVariable Long id) {
+        var emMemoria = diretorio.detalhar(id);         // Médicos ativos, quando o diretório está habilitado
+        if (emMemoria.isPresent()) {
+            return ResponseEntity.ok(emMemoria.get());
+        }
         var medico = repository.getReferenceById(id);  // Obtém referência ao médico
-        return ResponseEntity.ok(new DadosDetalhamentoMedico(medico));
+        return ResponseEntity.ok(ServerTiming.medir(ServerTiming.MAPEAMENTO, () -> new DadosDetalhamentoMedico(medico)));
+    }
+
+    /**
+     * Endpoint para buscar um médico pelo CRM.
+     * URL: GET /medicos/crm/{crm}
+     * - Retorna 200 OK com DadosDetalhamentoMedico, ou 404 se nenhum médico tiver o CRM.
+     */
+    @GetMapping("/crm/{crm}")
+    public ResponseEntity<DadosDetalhamentoMedico> detalharPorCrm(@PathVariable String crm) {
+        return ResponseEntity.ok(busca.porCrm(crm));
+    }
+
+    /**
+     * Endpoint para buscar um médico pelo e-mail (sem diferenciar maiúsculas).
+     * URL: GET /medicos/email/{email}
+     * - Retorna 200 OK com DadosDetalhamentoMedico, ou 404 se nenhum médico tiver o e-mail.
+     */
+    @GetMapping("/email/{email}")
+    public ResponseEntity<DadosDetalhamentoMedico> detalharPorEmail(@PathVariable String email) {
+        return ResponseEntity.ok(busca.porEmail(email));
     }
 
 }
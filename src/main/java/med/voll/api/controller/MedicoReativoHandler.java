@@ -0,0 +1,102 @@
+package med.voll.api.controller;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.LeituraReativaDeMedicos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Versão reativa de GET /medicos e GET /medicos/{id}, servida pelo ServidorReativo
+ * na porta api.reativo.porta.
+ *
+ * Mesmos parâmetros (especialidade, page, size, sort — padrão 10 por página, por nome)
+ * e mesmo JSON de MedicoController.listar e MedicoController.detalhar.
+ */
+@Component
+@ConditionalOnProperty(name = "api.reativo.enabled", havingValue = "true")
+public class MedicoReativoHandler {
+
+    private static final int TAMANHO_PADRAO = 10;
+    private static final int TAMANHO_MAXIMO = 2000;   // Mesmo limite do Pageable do Spring Data no MVC
+
+    @Autowired
+    private LeituraReativaDeMedicos leitura;
+
+    public RouterFunction<ServerResponse> rotas() {
+        return RouterFunctions.route()
+                .GET("/medicos", this::listar)
+                .GET("/medicos/{id}", this::detalhar)
+                .build();
+    }
+
+    /**
+     * URL: GET /medicos — 200 OK com uma página de DadosListagemMedico, ou 400 se os parâmetros forem inválidos.
+     */
+    private Mono<ServerResponse> listar(ServerRequest requisicao) {
+        Especialidade especialidade;
+        Pageable paginacao;
+        try {
+            especialidade = requisicao.queryParam("especialidade").map(Especialidade::valueOf).orElse(null);
+            paginacao = paginacao(requisicao);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return leitura.listar(especialidade, paginacao)
+                .flatMap(pagina -> ServerResponse.ok().bodyValue(pagina))
+                .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest().build());
+    }
+
+    /**
+     * URL: GET /medicos/{id} — 200 OK com DadosDetalhamentoMedico, ou 404 se o ID não existir.
+     */
+    private Mono<ServerResponse> detalhar(ServerRequest requisicao) {
+        long id;
+        try {
+            id = Long.parseLong(requisicao.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return leitura.detalhar(id)
+                .flatMap(medico -> ServerResponse.ok().bodyValue(medico))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Lê page, size e sort (propriedade[,asc|desc], repetível) como o PageableHandlerMethodArgumentResolver.
+     */
+    private static Pageable paginacao(ServerRequest requisicao) {
+        var pagina = requisicao.queryParam("page").map(Integer::parseInt).map(p -> Math.max(p, 0)).orElse(0);
+        var tamanho = requisicao.queryParam("size").map(Integer::parseInt)
+                .map(t -> t < 1 ? TAMANHO_PADRAO : Math.min(t, TAMANHO_MAXIMO))
+                .orElse(TAMANHO_PADRAO);
+
+        var ordens = new ArrayList<Sort.Order>();
+        for (var parametro : requisicao.queryParams().getOrDefault("sort", List.of())) {
+            var partes = parametro.split(",");
+            var direcao = partes.length > 1
+                    ? Sort.Direction.fromOptionalString(partes[partes.length - 1])
+                    : Optional.<Sort.Direction>empty();
+            var fim = direcao.isPresent() ? partes.length - 1 : partes.length;
+            for (int i = 0; i < fim; i++) {
+                if (!partes[i].isBlank()) {
+                    ordens.add(new Sort.Order(direcao.orElse(Sort.Direction.ASC), partes[i].trim()));
+                }
+            }
+        }
+        var ordem = ordens.isEmpty() ? Sort.by("nome") : Sort.by(ordens);
+        return PageRequest.of(pagina, tamanho, ordem);
+    }
+}
@@ -6,7 +6,15 @@ import med.voll.api.domain.paciente.PacienteRepository;
 import med.voll.api.domain.paciente.DadosCadastroPaciente;
 import med.voll.api.domain.paciente.DadosListagemPaciente;
 import med.voll.api.domain.paciente.DadosAtualizacaoPaciente;
+import med.voll.api.domain.paciente.DadosDetalhamentoPaciente;
+import med.voll.api.domain.paciente.BuscaDePacientes;
+import med.voll.api.domain.paciente.PacienteAlterado;
+import med.voll.api.domain.unicidade.VerificadorDeUnicidade;
+import med.voll.api.infra.auditoria.AlteracaoAuditada;
+import med.voll.api.infra.feed.RecursoAlterado;
+import med.voll.api.infra.timing.ServerTiming;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -29,6 +37,24 @@ public class PacienteController {
     @Autowired
     private PacienteRepository repository;
 
+    /**
+     * Rejeita CPF ou e-mail duplicado antes do INSERT (HTTP 409).
+     */
+    @Autowired
+    private VerificadorDeUnicidade unicidade;
+
+    /**
+     * Busca exata por CPF ou e-mail, com cache das chaves mais consultadas.
+     */
+    @Autowired
+    private BuscaDePacientes busca;
+
+    /**
+     * Publica PacienteAlterado para índices e caches em memória.
+     */
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     /**
      * Cria um novo paciente.
      *
@@ -49,8 +75,10 @@ public class PacienteController {
     @PostMapping
     @Transactional
     public void cadastrar(@RequestBody @Valid DadosCadastroPaciente dados) {
+        unicidade.reservarPaciente(dados.cpf(), dados.email());
         // Constrói a entidade Paciente a partir do DTO e salva no banco
-        repository.save(new Paciente(dados));
+        var paciente = repository.save(new Paciente(dados));
+        publisher.publishEvent(new PacienteAlterado(null, paciente.situacao()));
     }
 
     /**
@@ -68,9 +96,8 @@ public class PacienteController {
             @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao
     ) {
         // Busca somente pacientes com ativo=true e converte para DTO de listagem
-        return repository
-                .findAllByAtivoTrue(paginacao)
-                .map(DadosListagemPaciente::new);
+        var pacientes = repository.findAllByAtivoTrue(paginacao);
+        return ServerTiming.medir(ServerTiming.MAPEAMENTO, () -> pacientes.map(DadosListagemPaciente::new));
     }
 
     /**
@@ -90,7 +117,12 @@ public class PacienteController {
         // Obtém a referência ao paciente pelo ID
         var paciente = repository.getReferenceById(dados.id());
         // Aplica somente os campos não nulos do DTO na entidade
-        paciente.atualizarInformacoes(dados);
+        var anterior = paciente.situacao();
+        var campos = paciente.atualizarInformacoes(dados);
+        // Executa o UPDATE agora para o evento levar a nova versão
+        repository.flush();
+        publisher.publishEvent(new PacienteAlterado(anterior, paciente.situacao()));
+        publisher.publishEvent(new AlteracaoAuditada(RecursoAlterado.PACIENTE, paciente.getId(), paciente.situacao().versao(), campos));
     }
 
     /**
@@ -105,7 +137,33 @@ public class PacienteController {
     public void excluir(@PathVariable Long id) {
         // Obtém a referência ao paciente e marca como inativo
         var paciente = repository.getReferenceById(id);
-        paciente.excluir();
+        var anterior = paciente.situacao();
+        var campos = paciente.excluir();
+        repository.flush();
+        publisher.publishEvent(new PacienteAlterado(anterior, paciente.situacao()));
+        publisher.publishEvent(new AlteracaoAuditada(RecursoAlterado.PACIENTE, id, paciente.situacao().versao(), campos));
+    }
+
+    /**
+     * Busca um paciente pelo CPF, com ou sem pontuação.
+     *
+     * Endpoint: GET /pacientes/cpf/{cpf}
+     * - Retorna 404 se nenhum paciente tiver o CPF
+     */
+    @GetMapping("/cpf/{cpf}")
+    public DadosDetalhamentoPaciente detalharPorCpf(@PathVariable String cpf) {
+        return busca.porCpf(cpf);
+    }
+
+    /**
+     * Busca um paciente pelo e-mail, sem diferenciar maiúsculas.
+     *
+     * Endpoint: GET /pacientes/email/{email}
+     * - Retorna 404 se nenhum paciente tiver o e-mail
+     */
+    @GetMapping("/email/{email}")
+    public DadosDetalhamentoPaciente detalharPorEmail(@PathVariable String email) {
+        return busca.porEmail(email);
     }
 
 }
@@ -0,0 +1,25 @@
+package med.voll.api.domain;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Um campo de médico ou paciente que mudou numa atualização ou exclusão, para a trilha de auditoria.
+ *
+ * @param campo    nome do campo (os do endereço com prefixo "endereco.")
+ * @param anterior valor antes da alteração
+ * @param novo     valor depois da alteração
+ */
+public record CampoAlterado(String campo, String anterior, String novo) {
+
+    /**
+     * Acrescenta o campo à lista somente se o valor de fato mudou.
+     */
+    public static void registrar(List<CampoAlterado> alteracoes, String campo, Object anterior, Object novo) {
+        if (!Objects.equals(anterior, novo)) {
+            alteracoes.add(new CampoAlterado(campo,
+                    anterior == null ? null : anterior.toString(),
+                    novo == null ? null : novo.toString()));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package med.voll.api.domain;
+
+/**
+ * Exceção lançada quando a operação conflita com o estado atual dos dados
+ * (horário já ocupado, registro duplicado...).
+ * O TratadorDeErros converte em HTTP 409 Conflict com a mensagem no corpo.
+ */
+public class ConflitoException extends RuntimeException {
+
+    public ConflitoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,34 @@
+package med.voll.api.domain;
+
+import java.util.Locale;
+
+/**
+ * Normalização das chaves de busca (CPF, CRM e e-mail), igual à usada para preencher
+ * as colunas *_normalizado: documentos ficam só com os dígitos e e-mails em minúsculas.
+ */
+public final class Normalizacao {
+
+    private Normalizacao() {
+    }
+
+    /**
+     * "123.456.789-00" -> "12345678900"
+     */
+    public static String somenteDigitos(String valor) {
+        var digitos = new StringBuilder(valor.length());
+        for (int i = 0; i < valor.length(); i++) {
+            var c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * " Fulano@Voll.med " -> "fulano@voll.med"
+     */
+    public static String email(String valor) {
+        return valor.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,12 @@
+package med.voll.api.domain;
+
+/**
+ * Tipo de alteração sofrida por um cadastro (médico ou paciente).
+ */
+public enum TipoAlteracao {
+
+    CRIADO,
+    ATUALIZADO,
+    DESATIVADO;
+
+}
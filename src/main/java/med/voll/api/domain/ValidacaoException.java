@@ -0,0 +1,12 @@
+package med.voll.api.domain;
+
+/**
+ * Exceção lançada quando uma regra de negócio é violada.
+ * O TratadorDeErros converte em HTTP 400 Bad Request com a mensagem no corpo.
+ */
+public class ValidacaoException extends RuntimeException {
+
+    public ValidacaoException(String mensagem) {
+        super(mensagem);
+    }
+}
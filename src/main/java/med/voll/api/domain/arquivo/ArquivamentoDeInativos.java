@@ -0,0 +1,190 @@
+package med.voll.api.domain.arquivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.domain.ConflitoException;
+import med.voll.api.domain.medico.MedicoArquivadoRepository;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteArquivadoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Move médicos e pacientes inativos há mais de api.arquivamento.dias-inativo dias para as tabelas
+ * "medicos_arquivo" e "pacientes_arquivo", mantendo "medicos" e "pacientes" (e seus índices)
+ * com praticamente só registros ativos.
+ *
+ * - Trabalha em lotes de api.arquivamento.lote linhas, cada lote na sua transação
+ *   (trava, INSERT ... SELECT no arquivo, DELETE na tabela principal), com uma pausa de
+ *   api.arquivamento.pausa-ms entre lotes para não competir com o tráfego da API.
+ * - O progresso é o próprio estado do banco: o que já foi movido não é mais candidato,
+ *   então uma execução interrompida continua de onde parou na próxima.
+ * - Registros com consultas ficam na tabela principal (a chave estrangeira de "consultas" exige).
+ * - As chaves (CRM, CPF, e-mail) de quem está no arquivo deixam de ser únicas; se forem
+ *   reutilizadas, a restauração falha com 409.
+ */
+@Component
+public class ArquivamentoDeInativos {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoDeInativos.class);
+
+    /**
+     * Um lote da tabela: busca os próximos candidatos a partir do cursor e os move.
+     */
+    private interface Tabela {
+        List<Long> candidatos(long depoisDe, LocalDateTime limite, int lote);
+
+        int mover(List<Long> ids, LocalDateTime agora);
+    }
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private MedicoArquivadoRepository medicoArquivadoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private PacienteArquivadoRepository pacienteArquivadoRepository;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Value("${api.arquivamento.dias-inativo:180}")
+    private int diasInativo;
+
+    @Value("${api.arquivamento.lote:500}")
+    private int lote;
+
+    @Value("${api.arquivamento.pausa-ms:200}")
+    private long pausaMs;
+
+    @Scheduled(cron = "${api.arquivamento.cron:0 0 3 * * *}")
+    public void agendado() {
+        if (arquivar() == null) {
+            log.info("Arquivamento de inativos já em execução; ciclo agendado ignorado");
+        }
+    }
+
+    /**
+     * Executa um ciclo completo de arquivamento.
+     *
+     * @return o resumo, ou null se já havia um ciclo em andamento nesta instância
+     */
+    public ResultadoArquivamento arquivar() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            var inicio = System.nanoTime();
+            var limite = LocalDateTime.now().minusDays(diasInativo);
+            var medicos = arquivar("medicos", limite, new Tabela() {
+                @Override
+                public List<Long> candidatos(long depoisDe, LocalDateTime limite, int lote) {
+                    return medicoRepository.findIdsArquivaveis(depoisDe, limite, lote);
+                }
+
+                @Override
+                public int mover(List<Long> ids, LocalDateTime agora) {
+                    var travados = medicoRepository.travarInativos(ids);
+                    if (travados.isEmpty()) {
+                        return 0;
+                    }
+                    medicoArquivadoRepository.copiarDaTabelaPrincipal(travados, agora);
+                    return medicoRepository.removerArquivados(travados);
+                }
+            });
+            var pacientes = arquivar("pacientes", limite, new Tabela() {
+                @Override
+                public List<Long> candidatos(long depoisDe, LocalDateTime limite, int lote) {
+                    return pacienteRepository.findIdsArquivaveis(depoisDe, limite, lote);
+                }
+
+                @Override
+                public int mover(List<Long> ids, LocalDateTime agora) {
+                    var travados = pacienteRepository.travarInativos(ids);
+                    if (travados.isEmpty()) {
+                        return 0;
+                    }
+                    pacienteArquivadoRepository.copiarDaTabelaPrincipal(travados, agora);
+                    return pacienteRepository.removerArquivados(travados);
+                }
+            });
+            var resultado = new ResultadoArquivamento(medicos, pacientes, (System.nanoTime() - inicio) / 1_000_000);
+            log.info("Arquivamento de inativos: {} médicos e {} pacientes em {} ms",
+                    resultado.medicos(), resultado.pacientes(), resultado.duracaoMs());
+            return resultado;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    /**
+     * Devolve o médico arquivado à tabela "medicos" (continua inativo).
+     */
+    @Transactional
+    public void restaurarMedico(Long id) {
+        if (medicoRepository.existsById(id)) {
+            throw new ConflitoException("Já existe um médico ativo ou inativo com este ID");
+        }
+        if (medicoArquivadoRepository.copiarParaTabelaPrincipal(id, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException();
+        }
+        medicoArquivadoRepository.remover(id);
+    }
+
+    /**
+     * Devolve o paciente arquivado à tabela "pacientes" (continua inativo).
+     */
+    @Transactional
+    public void restaurarPaciente(Long id) {
+        if (pacienteRepository.existsById(id)) {
+            throw new ConflitoException("Já existe um paciente ativo ou inativo com este ID");
+        }
+        if (pacienteArquivadoRepository.copiarParaTabelaPrincipal(id, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException();
+        }
+        pacienteArquivadoRepository.remover(id);
+    }
+
+    private long arquivar(String nome, LocalDateTime limite, Tabela tabela) {
+        var total = 0L;
+        var cursor = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                var ids = tabela.candidatos(cursor, limite, lote);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                cursor = ids.get(ids.size() - 1);
+                var agora = LocalDateTime.now();
+                Integer movidos = transacao.execute(status -> tabela.mover(ids, agora));
+                total += movidos == null ? 0 : movidos;
+                if (ids.size() < lote) {
+                    break;
+                }
+                Thread.sleep(pausaMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // O lote com falha foi revertido; os anteriores já estão no arquivo e o próximo ciclo continua
+            log.error("Arquivamento de {} interrompido após {} registros", nome, total, e);
+        }
+        return total;
+    }
+}
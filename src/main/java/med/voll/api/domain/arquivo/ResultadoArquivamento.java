@@ -0,0 +1,11 @@
+package med.voll.api.domain.arquivo;
+
+/**
+ * Resumo de uma execução do ArquivamentoDeInativos.
+ *
+ * @param medicos   médicos movidos para "medicos_arquivo"
+ * @param pacientes pacientes movidos para "pacientes_arquivo"
+ * @param duracaoMs duração da execução em milissegundos
+ */
+public record ResultadoArquivamento(long medicos, long pacientes, long duracaoMs) {
+}
@@ -0,0 +1,182 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.ConflitoException;
+import med.voll.api.domain.ValidacaoException;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Serviço com as regras de agendamento e cancelamento de consultas.
+ *
+ * Conflitos de horário são verificados no IndiceDeHorarios (em memória) em vez de
+ * consultas ao banco; a reserva feita no índice pertence à transação e é confirmada ou
+ * desfeita quando ela termina.
+ * Um conflito acusado pelo índice é conferido no banco antes do 409, porque o horário pode
+ * ter sido liberado por um cancelamento em outra instância.
+ */
+@Service
+public class AgendaDeConsultas {
+
+    private static final int HORA_ABERTURA = 7;       // Clínica abre às 07:00
+    private static final int HORA_ULTIMA_CONSULTA = 18; // Última consulta começa às 18:00 e termina às 19:00
+    private static final Duration ANTECEDENCIA_AGENDAMENTO = Duration.ofMinutes(30);
+    private static final Duration ANTECEDENCIA_CANCELAMENTO = Duration.ofHours(24);
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private IndiceDeHorarios indice;
+
+    @Autowired
+    private AlocadorDeMedicos alocador;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    /**
+     * Agenda uma consulta, validando horário de funcionamento, antecedência,
+     * situação de médico e paciente e conflitos de horário.
+     */
+    @Transactional
+    public DadosDetalhamentoConsulta agendar(DadosAgendamentoConsulta dados) {
+        validarHorario(dados.data());
+        validarPacienteAtivo(dados.idPaciente());
+
+        var reserva = dados.idMedico() != null
+                ? reservarMedicoInformado(dados)
+                : reservarMedicoDaEspecialidade(dados);
+        acompanharTransacao(reserva);
+
+        return new DadosDetalhamentoConsulta(salvar(reserva.idMedico(), dados.idPaciente(), dados.data()));
+    }
+
+    private IndiceDeHorarios.Reserva reservarMedicoInformado(DadosAgendamentoConsulta dados) {
+        validarMedicoAtivo(dados.idMedico());
+        var reserva = indice.reservar(dados.idMedico(), dados.idPaciente(), dados.data());
+        if (reserva == null && indice.conferirComBanco(dados.idMedico(), dados.idPaciente(), dados.data())) {
+            reserva = indice.reservar(dados.idMedico(), dados.idPaciente(), dados.data());
+        }
+        if (reserva == null) {
+            throw new ConflitoException("Médico ou paciente já possui consulta nesse horário");
+        }
+        return reserva;
+    }
+
+    /**
+     * Sem médico informado, escolhe qualquer médico ativo e livre da especialidade.
+     */
+    private IndiceDeHorarios.Reserva reservarMedicoDaEspecialidade(DadosAgendamentoConsulta dados) {
+        if (dados.especialidade() == null) {
+            throw new ValidacaoException("Especialidade é obrigatória quando o médico não for informado");
+        }
+        if (!indice.pacienteLivre(dados.idPaciente(), dados.data())
+                && !indice.conferirPacienteComBanco(dados.idPaciente(), dados.data())) {
+            throw new ConflitoException("Paciente já possui consulta nesse horário");
+        }
+        var reserva = alocador.reservarMedicoLivre(dados.especialidade(), dados.idPaciente(), dados.data());
+        if (reserva == null) {
+            throw new ConflitoException("Nenhum médico disponível dessa especialidade no horário");
+        }
+        return reserva;
+    }
+
+    /**
+     * Cancela uma consulta com pelo menos 24 horas de antecedência.
+     * O horário só é liberado no índice depois do commit (ConsultaCancelada).
+     */
+    @Transactional
+    public void cancelar(DadosCancelamentoConsulta dados) {
+        var consulta = consultaRepository.findById(dados.idConsulta())
+                .orElseThrow(() -> new ValidacaoException("Consulta informada não existe"));
+        if (consulta.isCancelada()) {
+            throw new ValidacaoException("Consulta já está cancelada");
+        }
+        if (Duration.between(LocalDateTime.now(), consulta.getData()).compareTo(ANTECEDENCIA_CANCELAMENTO) < 0) {
+            throw new ValidacaoException("Consulta só pode ser cancelada com 24 horas de antecedência");
+        }
+
+        consulta.cancelar(dados.motivo());
+
+        publisher.publishEvent(new ConsultaCancelada(consulta.getId(), consulta.getMedico().getId(),
+                consulta.getPaciente().getId(), consulta.getData()));
+    }
+
+    /**
+     * Grava a consulta; os índices únicos da tabela são a última barreira contra
+     * agendamentos concorrentes que o índice em memória não viu.
+     */
+    Consulta salvar(Long idMedico, Long idPaciente, LocalDateTime data) {
+        var consulta = new Consulta(
+                medicoRepository.getReferenceById(idMedico),
+                pacienteRepository.getReferenceById(idPaciente),
+                data
+        );
+        try {
+            return consultaRepository.saveAndFlush(consulta);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflitoException("Médico ou paciente já possui consulta nesse horário");
+        }
+    }
+
+    /**
+     * Confirma a reserva no índice se a transação atual confirmar, e a desfaz se for revertida.
+     */
+    void acompanharTransacao(IndiceDeHorarios.Reserva reserva) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    indice.confirmar(reserva);
+                } else {
+                    indice.desfazer(reserva);
+                }
+            }
+        });
+    }
+
+    void validarHorario(LocalDateTime data) {
+        if (data.getDayOfWeek() == DayOfWeek.SUNDAY
+                || data.getHour() < HORA_ABERTURA
+                || data.getHour() > HORA_ULTIMA_CONSULTA) {
+            throw new ValidacaoException("Consulta fora do horário de funcionamento da clínica");
+        }
+        if (data.getMinute() != 0 || data.getSecond() != 0 || data.getNano() != 0) {
+            throw new ValidacaoException("Consultas devem começar em hora cheia");
+        }
+        if (Duration.between(LocalDateTime.now(), data).compareTo(ANTECEDENCIA_AGENDAMENTO) < 0) {
+            throw new ValidacaoException("Consulta deve ser agendada com antecedência mínima de 30 minutos");
+        }
+    }
+
+    void validarMedicoAtivo(Long idMedico) {
+        var ativo = medicoRepository.findAtivoById(idMedico);
+        if (ativo == null || !ativo) {
+            throw new ValidacaoException("Consulta não pode ser agendada com médico inexistente ou excluído");
+        }
+    }
+
+    void validarPacienteAtivo(Long idPaciente) {
+        var ativo = pacienteRepository.findAtivoById(idPaciente);
+        if (ativo == null || !ativo) {
+            throw new ValidacaoException("Consulta não pode ser agendada com paciente inexistente ou excluído");
+        }
+    }
+}
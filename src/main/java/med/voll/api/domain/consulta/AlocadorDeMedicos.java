@@ -0,0 +1,226 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.IdPorEspecialidade;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.medico.SituacaoMedico;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Escolhe "qualquer médico livre" de uma especialidade quando o paciente não indica o médico.
+ *
+ * Mantém em memória, por especialidade, o conjunto (array ordenado) de IDs de médicos ativos,
+ * e consulta o IndiceDeHorarios para achar um livre, sem ORDER BY RAND() nem NOT EXISTS no banco.
+ * Cada especialidade tem um cursor que avança a cada escolha (rodízio), distribuindo as
+ * consultas de forma justa entre os médicos.
+ *
+ * O médico escolhido é conferido no banco pelo índice único (medico_id, horario_ativo): o
+ * índice em memória não vê agendamentos feitos em outra instância. Se ele já tiver consulta,
+ * o bit fica ligado e o próximo candidato é tentado; depois de CONFERENCIAS_MAXIMAS
+ * candidatos ocupados, a escolha passa para a consulta indexada no banco.
+ *
+ * Enquanto o estado em memória não estiver carregado, recorre a essa mesma consulta indexada.
+ */
+@Component
+public class AlocadorDeMedicos {
+
+    private static final Logger log = LoggerFactory.getLogger(AlocadorDeMedicos.class);
+    private static final long[] NENHUM = new long[0];
+    private static final int CANDIDATOS_NO_BANCO = 5;
+    private static final int CONFERENCIAS_MAXIMAS = 3;
+
+    private final Map<Especialidade, AtomicReference<long[]>> disponiveis = new EnumMap<>(Especialidade.class);
+    private final Map<Especialidade, AtomicInteger> cursores = new EnumMap<>(Especialidade.class);
+
+    private final Object recarga = new Object();
+    private List<MedicoAlterado> alteradosDuranteRecarga;   // Protegido por "recarga"; null fora de uma recarga
+
+    private volatile boolean aquecido;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private IndiceDeHorarios indice;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    public AlocadorDeMedicos() {
+        for (var especialidade : Especialidade.values()) {
+            disponiveis.put(especialidade, new AtomicReference<>(NENHUM));
+            cursores.put(especialidade, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Reserva no IndiceDeHorarios o horário de algum médico livre da especialidade.
+     *
+     * @return reserva do médico e do paciente, ou null se nenhum médico estiver livre no horário
+     */
+    public IndiceDeHorarios.Reserva reservarMedicoLivre(Especialidade especialidade, Long idPaciente, LocalDateTime data) {
+        if (!aquecido || !indice.isAquecido()) {
+            return reservarPeloBanco(especialidade, idPaciente, data);
+        }
+
+        var ids = disponiveis.get(especialidade).get();
+        var quantidade = ids.length;
+        if (quantidade == 0) {
+            return null;
+        }
+
+        // Cada chamada começa de um ponto diferente da lista (rodízio)
+        var inicio = Math.floorMod(cursores.get(especialidade).getAndIncrement(), quantidade);
+        var ocupadosNoBanco = 0;
+        for (int i = 0; i < quantidade; i++) {
+            var id = ids[(inicio + i) % quantidade];
+            if (!indice.medicoLivre(id, data)) {
+                continue;
+            }
+            var reserva = indice.reservar(id, idPaciente, data);
+            if (reserva == null) {
+                continue;
+            }
+            if (!consultaRepository.existsByMedicoIdAndHorarioAtivo(id, data)) {
+                return reserva;
+            }
+            indice.desfazerComMedicoOcupado(reserva);
+            if (++ocupadosNoBanco == CONFERENCIAS_MAXIMAS) {
+                log.debug("Alocador de médicos: {} candidatos de {} já ocupados no banco, consultando o banco",
+                        ocupadosNoBanco, especialidade);
+                return reservarPeloBanco(especialidade, idPaciente, data);
+            }
+        }
+        return null;
+    }
+
+    private IndiceDeHorarios.Reserva reservarPeloBanco(Especialidade especialidade, Long idPaciente, LocalDateTime data) {
+        var candidatos = medicoRepository.findIdsLivresNaData(
+                especialidade, data, PageRequest.of(0, CANDIDATOS_NO_BANCO));
+        for (var id : candidatos) {
+            var reserva = indice.reservar(id, idPaciente, data);
+            if (reserva != null) {
+                return reserva;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recarrega os conjuntos a partir do banco: na inicialização e periodicamente,
+     * para corrigir qualquer divergência (por exemplo, alterações feitas por outra instância).
+     *
+     * Alterações que chegam enquanto a consulta roda podem não estar no resultado: elas são
+     * guardadas e reaplicadas sobre os conjuntos carregados, na ordem em que chegaram.
+     * Reaplicar uma alteração que o banco já refletia não muda nada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${api.alocacao.recarga-ms:300000}", fixedDelayString = "${api.alocacao.recarga-ms:300000}")
+    public void recarregar() {
+        synchronized (recarga) {
+            alteradosDuranteRecarga = new ArrayList<>();
+        }
+        try {
+            carregar();
+        } finally {
+            synchronized (recarga) {
+                alteradosDuranteRecarga = null;
+            }
+        }
+    }
+
+    private void carregar() {
+        var porEspecialidade = new EnumMap<Especialidade, long[]>(Especialidade.class);
+        var contagem = new EnumMap<Especialidade, Integer>(Especialidade.class);
+        var medicos = medicoRepository.findIdsAtivosPorEspecialidade();
+        for (IdPorEspecialidade medico : medicos) {
+            contagem.merge(medico.especialidade(), 1, Integer::sum);
+        }
+        for (var especialidade : Especialidade.values()) {
+            porEspecialidade.put(especialidade, new long[contagem.getOrDefault(especialidade, 0)]);
+            contagem.put(especialidade, 0);
+        }
+        for (IdPorEspecialidade medico : medicos) {
+            var posicao = contagem.merge(medico.especialidade(), 1, Integer::sum) - 1;
+            porEspecialidade.get(medico.especialidade())[posicao] = medico.id();
+        }
+        porEspecialidade.values().forEach(Arrays::sort);
+        synchronized (recarga) {
+            porEspecialidade.forEach((especialidade, ids) -> disponiveis.get(especialidade).set(ids));
+            alteradosDuranteRecarga.forEach(this::aplicar);
+        }
+
+        aquecido = true;
+        log.debug("Alocador de médicos recarregado com {} médicos ativos", medicos.size());
+    }
+
+    /**
+     * Mantém os conjuntos em dia com cadastros, exclusões e mudanças de médicos (após o commit).
+     */
+    @TransactionalEventListener
+    public void aoAlterarMedico(MedicoAlterado evento) {
+        synchronized (recarga) {
+            aplicar(evento);
+            if (alteradosDuranteRecarga != null) {
+                alteradosDuranteRecarga.add(evento);
+            }
+        }
+    }
+
+    private void aplicar(MedicoAlterado evento) {
+        remover(evento.anterior());
+        adicionar(evento.atual());
+    }
+
+    private void adicionar(SituacaoMedico situacao) {
+        if (situacao == null || !situacao.ativo()) {
+            return;
+        }
+        disponiveis.get(situacao.especialidade()).updateAndGet(ids -> {
+            var posicao = Arrays.binarySearch(ids, situacao.id());
+            if (posicao >= 0) {
+                return ids;
+            }
+            var insercao = -posicao - 1;
+            var novo = new long[ids.length + 1];
+            System.arraycopy(ids, 0, novo, 0, insercao);
+            novo[insercao] = situacao.id();
+            System.arraycopy(ids, insercao, novo, insercao + 1, ids.length - insercao);
+            return novo;
+        });
+    }
+
+    private void remover(SituacaoMedico situacao) {
+        if (situacao == null || !situacao.ativo()) {
+            return;
+        }
+        disponiveis.get(situacao.especialidade()).updateAndGet(ids -> {
+            var posicao = Arrays.binarySearch(ids, situacao.id());
+            if (posicao < 0) {
+                return ids;
+            }
+            var novo = new long[ids.length - 1];
+            System.arraycopy(ids, 0, novo, 0, posicao);
+            System.arraycopy(ids, posicao + 1, novo, posicao, ids.length - posicao - 1);
+            return novo;
+        });
+    }
+}
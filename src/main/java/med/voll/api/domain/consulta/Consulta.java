@@ -0,0 +1,67 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.persistence.*;               // Anotações JPA para mapeamento ORM
+import lombok.AllArgsConstructor;           // Lombok: gera construtor com todos os campos
+import lombok.EqualsAndHashCode;            // Lombok: gera equals() e hashCode() baseado em campos
+import lombok.Getter;                       // Lombok: gera getters para todos os campos
+import lombok.NoArgsConstructor;            // Lombok: gera construtor sem argumentos
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.Paciente;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA que representa uma consulta agendada entre um médico e um paciente.
+ * Cada instância é armazenada na tabela "consultas" do banco de dados.
+ */
+@Table(name = "consultas")
+@Entity(name = "Consulta")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class Consulta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)      // Só carrega o médico se for realmente acessado
+    @JoinColumn(name = "medico_id")
+    private Medico medico;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "paciente_id")
+    private Paciente paciente;
+
+    private LocalDateTime data;              // Início da consulta (duração de 1 hora)
+
+    /**
+     * Cópia de "data" enquanto a consulta está ativa e null depois de cancelada.
+     * Os índices únicos (medico_id, horario_ativo) e (paciente_id, horario_ativo)
+     * garantem no banco que não há dois agendamentos ativos no mesmo horário.
+     */
+    private LocalDateTime horarioAtivo;
+
+    @Enumerated(EnumType.STRING)
+    private MotivoCancelamento motivoCancelamento;  // null enquanto a consulta não for cancelada
+
+    public Consulta(Medico medico, Paciente paciente, LocalDateTime data) {
+        this.medico = medico;
+        this.paciente = paciente;
+        this.data = data;
+        this.horarioAtivo = data;
+    }
+
+    /**
+     * Cancela a consulta, liberando o horário para novos agendamentos.
+     */
+    public void cancelar(MotivoCancelamento motivo) {
+        this.motivoCancelamento = motivo;
+        this.horarioAtivo = null;
+    }
+
+    public boolean isCancelada() {
+        return motivoCancelamento != null;
+    }
+}
@@ -0,0 +1,15 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pela AgendaDeConsultas quando uma consulta é cancelada. O IndiceDeHorarios
+ * libera o horário depois do commit; o CanalDeInvalidacao leva o evento às outras instâncias.
+ *
+ * @param id         Consulta cancelada
+ * @param idMedico   Médico da consulta
+ * @param idPaciente Paciente da consulta
+ * @param data       Horário liberado
+ */
+public record ConsultaCancelada(Long id, Long idMedico, Long idPaciente, LocalDateTime data) {
+}
@@ -0,0 +1,35 @@
+package med.voll.api.domain.consulta;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório para a entidade Consulta.
+ */
+public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
+
+    /**
+     * Horários ocupados por consultas ativas a partir do instante informado
+     * (usado para aquecer o índice de horários na inicialização).
+     */
+    @Query("""
+            select new med.voll.api.domain.consulta.HorarioOcupado(c.medico.id, c.paciente.id, c.data)
+            from Consulta c
+            where c.data >= :inicio
+            and c.motivoCancelamento is null
+            """)
+    List<HorarioOcupado> findHorariosOcupadosDesde(LocalDateTime inicio);
+
+    /**
+     * Indica se o médico tem consulta ativa no horário (usa o índice único medico_id, horario_ativo).
+     */
+    boolean existsByMedicoIdAndHorarioAtivo(Long idMedico, LocalDateTime horarioAtivo);
+
+    /**
+     * Indica se o paciente tem consulta ativa no horário (usa o índice único paciente_id, horario_ativo).
+     */
+    boolean existsByPacienteIdAndHorarioAtivo(Long idPaciente, LocalDateTime horarioAtivo);
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import med.voll.api.domain.medico.Especialidade;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO (Data Transfer Object) usado para receber os dados de agendamento de uma consulta.
+ *
+ * @param idMedico      Médico que fará a consulta; se omitido, qualquer médico livre da especialidade
+ * @param idPaciente    Paciente atendido; obrigatório
+ * @param data          Data e hora de início da consulta; obrigatória e no futuro
+ * @param especialidade Especialidade desejada; obrigatória quando o médico não é informado
+ */
+public record DadosAgendamentoConsulta(
+
+        Long idMedico,
+
+        @NotNull(message = "O paciente é obrigatório")
+        Long idPaciente,
+
+        @NotNull(message = "A data é obrigatória")
+        @Future(message = "A data da consulta deve estar no futuro")
+        LocalDateTime data,
+
+        Especialidade especialidade
+
+) {
+}
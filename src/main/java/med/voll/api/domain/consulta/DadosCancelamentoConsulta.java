@@ -0,0 +1,20 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO (Data Transfer Object) usado para receber o pedido de cancelamento de uma consulta.
+ *
+ * @param idConsulta Consulta a ser cancelada; obrigatória
+ * @param motivo     Motivo do cancelamento; obrigatório
+ */
+public record DadosCancelamentoConsulta(
+
+        @NotNull(message = "A consulta é obrigatória")
+        Long idConsulta,
+
+        @NotNull(message = "O motivo do cancelamento é obrigatório")
+        MotivoCancelamento motivo
+
+) {
+}
@@ -0,0 +1,28 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO (Data Transfer Object) usado para devolver ao cliente os dados de uma consulta agendada.
+ *
+ * @param id         Identificador da consulta
+ * @param idMedico   Médico da consulta
+ * @param idPaciente Paciente da consulta
+ * @param data       Data e hora de início
+ */
+public record DadosDetalhamentoConsulta(
+        Long id,
+        Long idMedico,
+        Long idPaciente,
+        LocalDateTime data
+) {
+
+    public DadosDetalhamentoConsulta(Consulta consulta) {
+        this(
+                consulta.getId(),
+                consulta.getMedico().getId(),      // Não inicializa o proxy lazy: o ID já é conhecido
+                consulta.getPaciente().getId(),
+                consulta.getData()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção enxuta de uma consulta ativa, usada para carregar o IndiceDeHorarios
+ * sem materializar entidades.
+ */
+public record HorarioOcupado(Long idMedico, Long idPaciente, LocalDateTime data) {
+}
@@ -0,0 +1,301 @@
+package med.voll.api.domain.consulta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Índice em memória dos horários ocupados de cada médico e de cada paciente.
+ *
+ * Para cada (médico, dia) e (paciente, dia) guarda um bitmap de 24 bits, um bit por hora
+ * (as consultas duram 1 hora e começam em hora cheia). Reservar um horário é um
+ * compare-and-set nesse bitmap: a checagem de conflito não vai ao banco nem disputa
+ * locks de linha, mesmo em picos de agendamento.
+ *
+ * O banco continua sendo a fonte da verdade: o índice é carregado a partir das consultas
+ * ativas na inicialização, as reservas de transações desfeitas são liberadas pela
+ * AgendaDeConsultas, e os índices únicos da tabela "consultas" barram o que escapar
+ * (por exemplo, agendamentos feitos em outra instância da aplicação).
+ *
+ * Cancelamentos feitos em outra instância chegam como ConsultaCancelada pelo
+ * CanalDeInvalidacao (api.invalidacao.enabled=true). Sem o canal, ou antes de o evento
+ * chegar, o bit fica ocupado por engano: por isso a AgendaDeConsultas confere no banco
+ * (conferirComBanco) antes de responder 409.
+ *
+ * Cada reserva pertence a uma transação: enquanto ela não termina, o horário fica também no
+ * conjunto "em andamento" e nada além da própria reserva (confirmar ou desfazer) mexe no bit.
+ * Sem isso, a conferência no banco de outra transação não veria a linha ainda não confirmada,
+ * limparia o bit e as duas disputariam o lock do índice único; e o rollback da perdedora
+ * limparia o bit que pertence à consulta confirmada da vencedora.
+ */
+@Component
+public class IndiceDeHorarios {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceDeHorarios.class);
+
+    private static final long MASCARA_DIA = (1L << 24) - 1;   // Bits da chave que guardam o dia
+
+    /**
+     * Reserva feita por uma transação ainda não terminada; entregue a confirmar ou desfazer.
+     */
+    public record Reserva(Long idMedico, Long idPaciente, LocalDateTime data) {
+    }
+
+    private record Horario(Long id, LocalDateTime data) {
+    }
+
+    private final ConcurrentHashMap<Long, AtomicInteger> medicos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicInteger> pacientes = new ConcurrentHashMap<>();
+
+    // Horários reservados por transações em andamento (ou momentaneamente presos por uma conferência)
+    private final Set<Horario> medicosEmAndamento = ConcurrentHashMap.newKeySet();
+    private final Set<Horario> pacientesEmAndamento = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean aquecido;   // true depois que as consultas do banco foram carregadas
+
+    @Autowired
+    private ConsultaRepository repository;
+
+    /**
+     * Carrega as consultas ativas de hoje em diante quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        var inicio = System.nanoTime();
+        var horarios = repository.findHorariosOcupadosDesde(LocalDate.now().atStartOfDay());
+        for (var horario : horarios) {
+            ocupar(medicos, horario.idMedico(), horario.data());
+            ocupar(pacientes, horario.idPaciente(), horario.data());
+        }
+        aquecido = true;
+        log.info("Índice de horários carregado com {} consultas em {} ms",
+                horarios.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public boolean isAquecido() {
+        return aquecido;
+    }
+
+    /**
+     * Tenta reservar o horário para o médico e para o paciente ao mesmo tempo. A reserva fica
+     * em andamento até confirmar (commit) ou desfazer (rollback).
+     *
+     * @return a reserva, ou null se algum dos dois já tiver consulta ou reserva nesse horário
+     *         (nada fica reservado)
+     */
+    public Reserva reservar(Long idMedico, Long idPaciente, LocalDateTime data) {
+        if (!reservar(medicos, medicosEmAndamento, idMedico, data)) {
+            return null;
+        }
+        if (!reservar(pacientes, pacientesEmAndamento, idPaciente, data)) {
+            desfazer(medicos, medicosEmAndamento, idMedico, data);
+            return null;
+        }
+        return new Reserva(idMedico, idPaciente, data);
+    }
+
+    /**
+     * A transação da reserva confirmou: o horário continua ocupado, agora pela consulta gravada.
+     */
+    public void confirmar(Reserva reserva) {
+        medicosEmAndamento.remove(new Horario(reserva.idMedico(), reserva.data()));
+        pacientesEmAndamento.remove(new Horario(reserva.idPaciente(), reserva.data()));
+    }
+
+    /**
+     * A transação da reserva foi desfeita: limpa só os bits que essa reserva ligou.
+     */
+    public void desfazer(Reserva reserva) {
+        desfazer(medicos, medicosEmAndamento, reserva.idMedico(), reserva.data());
+        desfazer(pacientes, pacientesEmAndamento, reserva.idPaciente(), reserva.data());
+    }
+
+    /**
+     * Desfaz a reserva mas deixa o médico ocupado: o banco mostrou uma consulta dele no horário
+     * que o índice não conhecia (agendada em outra instância, por exemplo).
+     */
+    public void desfazerComMedicoOcupado(Reserva reserva) {
+        medicosEmAndamento.remove(new Horario(reserva.idMedico(), reserva.data()));
+        desfazer(pacientes, pacientesEmAndamento, reserva.idPaciente(), reserva.data());
+    }
+
+    /**
+     * Libera o horário do médico e do paciente de uma consulta cancelada. Um horário reservado
+     * por uma transação em andamento não é tocado: o bit é dela, não da consulta cancelada.
+     */
+    public void liberar(Long idMedico, Long idPaciente, LocalDateTime data) {
+        liberar(medicos, medicosEmAndamento, idMedico, data);
+        liberar(pacientes, pacientesEmAndamento, idPaciente, data);
+    }
+
+    /**
+     * Libera o horário de uma consulta cancelada, nesta ou em outra instância.
+     */
+    @TransactionalEventListener
+    public void aoCancelarConsulta(ConsultaCancelada evento) {
+        liberar(evento.idMedico(), evento.idPaciente(), evento.data());
+    }
+
+    /**
+     * Confere no banco um conflito acusado pelo índice: se o médico ou o paciente não tiver
+     * consulta ativa no horário, o bit estava desatualizado e é limpo. Um horário reservado por
+     * uma transação em andamento não é conferido (o banco ainda não mostra a linha dela) e
+     * continua em conflito.
+     *
+     * @return true se algum bit foi limpo (vale tentar reservar de novo)
+     */
+    public boolean conferirComBanco(Long idMedico, Long idPaciente, LocalDateTime data) {
+        var corrigido = conferir(medicos, medicosEmAndamento, idMedico, data,
+                () -> repository.existsByMedicoIdAndHorarioAtivo(idMedico, data));
+        return conferirPacienteComBanco(idPaciente, data) || corrigido;
+    }
+
+    /**
+     * Como conferirComBanco, só para o paciente.
+     *
+     * @return true se o bit do paciente estava desatualizado e foi limpo
+     */
+    public boolean conferirPacienteComBanco(Long idPaciente, LocalDateTime data) {
+        return conferir(pacientes, pacientesEmAndamento, idPaciente, data,
+                () -> repository.existsByPacienteIdAndHorarioAtivo(idPaciente, data));
+    }
+
+    /**
+     * Indica se o médico está sem consulta no horário, sem reservar nada.
+     */
+    public boolean medicoLivre(Long idMedico, LocalDateTime data) {
+        return livre(medicos, idMedico, data);
+    }
+
+    /**
+     * Indica se o paciente está sem consulta no horário, sem reservar nada.
+     */
+    public boolean pacienteLivre(Long idPaciente, LocalDateTime data) {
+        return livre(pacientes, idPaciente, data);
+    }
+
+    /**
+     * Descarta os dias que já passaram, para o índice não crescer indefinidamente.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void descartarDiasAnteriores() {
+        var hoje = LocalDate.now().toEpochDay();
+        medicos.keySet().removeIf(chave -> (chave & MASCARA_DIA) < hoje);
+        pacientes.keySet().removeIf(chave -> (chave & MASCARA_DIA) < hoje);
+    }
+
+    /**
+     * Marca o horário como em andamento e liga o bit; falha se já houver reserva em andamento
+     * ou bit ligado. A marca vem antes do bit, para que ninguém limpe um bit recém-ligado.
+     */
+    private static boolean reservar(ConcurrentHashMap<Long, AtomicInteger> indice, Set<Horario> emAndamento,
+                                    Long id, LocalDateTime data) {
+        var horario = new Horario(id, data);
+        if (!emAndamento.add(horario)) {
+            return false;
+        }
+        if (!ocupar(indice, id, data)) {
+            emAndamento.remove(horario);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Limpa o bit antes de tirar a marca: enquanto a marca existe, ninguém mais o ligou.
+     */
+    private static void desfazer(ConcurrentHashMap<Long, AtomicInteger> indice, Set<Horario> emAndamento,
+                                 Long id, LocalDateTime data) {
+        var horario = new Horario(id, data);
+        if (emAndamento.contains(horario)) {
+            desocupar(indice, id, data);
+            emAndamento.remove(horario);
+        }
+    }
+
+    private static void liberar(ConcurrentHashMap<Long, AtomicInteger> indice, Set<Horario> emAndamento,
+                                Long id, LocalDateTime data) {
+        var horario = new Horario(id, data);
+        if (emAndamento.add(horario)) {      // Prende o horário enquanto limpa
+            try {
+                desocupar(indice, id, data);
+            } finally {
+                emAndamento.remove(horario);
+            }
+        }
+    }
+
+    /**
+     * Limpa um bit ligado que o banco não confirma, prendendo o horário durante a consulta
+     * para que nenhuma reserva nova o ligue nesse meio-tempo.
+     */
+    private static boolean conferir(ConcurrentHashMap<Long, AtomicInteger> indice, Set<Horario> emAndamento,
+                                    Long id, LocalDateTime data, BooleanSupplier ocupadoNoBanco) {
+        if (livre(indice, id, data)) {
+            return false;
+        }
+        var horario = new Horario(id, data);
+        if (!emAndamento.add(horario)) {
+            return false;                           // Reserva de outra transação em andamento
+        }
+        try {
+            if (ocupadoNoBanco.getAsBoolean()) {
+                return false;
+            }
+            desocupar(indice, id, data);
+            return true;
+        } finally {
+            emAndamento.remove(horario);
+        }
+    }
+
+    private static boolean livre(ConcurrentHashMap<Long, AtomicInteger> indice, Long id, LocalDateTime data) {
+        var dia = indice.get(chave(id, data.toLocalDate()));
+        return dia == null || (dia.get() & bit(data)) == 0;
+    }
+
+    private static boolean ocupar(ConcurrentHashMap<Long, AtomicInteger> indice, Long id, LocalDateTime data) {
+        var bit = bit(data);
+        var dia = indice.computeIfAbsent(chave(id, data.toLocalDate()), k -> new AtomicInteger());
+        while (true) {
+            var atual = dia.get();
+            if ((atual & bit) != 0) {
+                return false;                       // Horário já ocupado
+            }
+            if (dia.compareAndSet(atual, atual | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private static void desocupar(ConcurrentHashMap<Long, AtomicInteger> indice, Long id, LocalDateTime data) {
+        var dia = indice.get(chave(id, data.toLocalDate()));
+        if (dia != null) {
+            var bit = bit(data);
+            dia.updateAndGet(atual -> atual & ~bit);
+        }
+    }
+
+    /**
+     * Chave única por (id, dia): id nos bits altos e o dia (epoch day) nos 24 bits baixos.
+     */
+    private static long chave(Long id, LocalDate dia) {
+        return (id << 24) | dia.toEpochDay();
+    }
+
+    private static int bit(LocalDateTime data) {
+        return 1 << data.getHour();
+    }
+}
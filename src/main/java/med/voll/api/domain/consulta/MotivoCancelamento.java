@@ -0,0 +1,9 @@
+package med.voll.api.domain.consulta;
+
+public enum MotivoCancelamento {
+
+    PACIENTE_DESISTIU,
+    MEDICO_CANCELOU,
+    OUTROS;
+
+}
@@ -0,0 +1,136 @@
+package med.voll.api.domain.endereco;
+
+import med.voll.api.domain.validacao.Documentos;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Formato binário do diretório de CEPs, pensado para ser mapeado em memória (NIO)
+ * e pesquisado por busca binária sem copiar nada para o heap.
+ *
+ * Layout (big-endian):
+ * - cabeçalho (16 bytes): MAGICO, VERSAO, quantidade de CEPs, início da área de textos;
+ * - registros (18 bytes cada, ordenados por CEP): cep (int), posição do logradouro,
+ *   do bairro e da cidade na área de textos (int) e a UF (2 bytes ASCII);
+ * - área de textos: cada texto é um tamanho (unsigned short) seguido dos bytes UTF-8.
+ *   Textos repetidos (bairros, cidades) são gravados uma única vez.
+ */
+public final class ArquivoDeCeps {
+
+    static final int MAGICO = 0x56434550;   // "VCEP"
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 16;
+    static final int TAMANHO_REGISTRO = 18;
+
+    private ArquivoDeCeps() {
+    }
+
+    /**
+     * Mapeia o arquivo em memória (somente leitura) e confere o cabeçalho.
+     * O custo não depende do tamanho do arquivo: as páginas são lidas sob demanda pelo sistema operacional.
+     */
+    static MappedByteBuffer mapear(Path arquivo) throws IOException {
+        try (var canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            var buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.capacity() < TAMANHO_CABECALHO || buffer.getInt(0) != MAGICO || buffer.getInt(4) != VERSAO) {
+                throw new IOException("Arquivo de CEPs inválido ou de versão incompatível: " + arquivo);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Converte um CSV ("cep;logradouro;bairro;cidade;uf", UTF-8, cabeçalho opcional) no formato binário.
+     * Linhas com CEP fora do formato "00000-000" / "00000000" são ignoradas; para CEPs repetidos vale a primeira linha.
+     *
+     * @return quantidade de CEPs gravados
+     */
+    public static int compilar(Path csv, Path destino) throws IOException {
+        var registros = new ArrayList<String[]>();
+        try (var linhas = Files.lines(csv, StandardCharsets.UTF_8)) {
+            linhas.map(linha -> linha.split(";", -1))
+                    .filter(campos -> campos.length >= 5 && cep(campos[0].trim()) >= 0)
+                    .forEach(registros::add);
+        }
+        registros.sort(Comparator.comparingInt(campos -> cep(campos[0].trim())));
+
+        var textos = new HashMap<String, Integer>();
+        var areaDeTextos = new ByteArrayOutputStream();
+        var indice = ByteBuffer.allocate(registros.size() * TAMANHO_REGISTRO);
+        var quantidade = 0;
+        var anterior = -1;
+        for (var campos : registros) {
+            var cep = cep(campos[0].trim());
+            if (cep == anterior) {
+                continue;
+            }
+            anterior = cep;
+            indice.putInt(cep)
+                    .putInt(texto(campos[1], textos, areaDeTextos))
+                    .putInt(texto(campos[2], textos, areaDeTextos))
+                    .putInt(texto(campos[3], textos, areaDeTextos))
+                    .put(uf(campos[4]));
+            quantidade++;
+        }
+
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        try (var saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(destino), 1 << 16))) {
+            saida.writeInt(MAGICO);
+            saida.writeInt(VERSAO);
+            saida.writeInt(quantidade);
+            saida.writeInt(TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO);
+            saida.write(indice.array(), 0, quantidade * TAMANHO_REGISTRO);
+            areaDeTextos.writeTo(saida);
+        }
+        return quantidade;
+    }
+
+    /**
+     * "01001-000" ou "01001000" -> 1001000; -1 para qualquer outro formato (letras, espaços,
+     * hífen fora do lugar, dígitos a mais ou a menos), que não pode virar um CEP por engano.
+     */
+    static int cep(String cep) {
+        if (!Documentos.cepComOuSemHifen(cep)) {
+            return -1;
+        }
+        var valor = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            var c = cep.charAt(i);
+            if (c != '-') {
+                valor = valor * 10 + (c - '0');
+            }
+        }
+        return valor;
+    }
+
+    private static int texto(String valor, Map<String, Integer> textos, ByteArrayOutputStream area) {
+        return textos.computeIfAbsent(valor.trim(), texto -> {
+            var bytes = texto.getBytes(StandardCharsets.UTF_8);
+            var tamanho = Math.min(bytes.length, 0xFFFF);
+            var posicao = area.size();
+            area.write(tamanho >>> 8);
+            area.write(tamanho & 0xFF);
+            area.write(bytes, 0, tamanho);
+            return posicao;
+        });
+    }
+
+    private static byte[] uf(String uf) {
+        var sigla = (uf.trim() + "  ").substring(0, 2).toUpperCase();
+        return sigla.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -1,7 +1,7 @@
 package med.voll.api.domain.endereco;
 
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
+import med.voll.api.domain.validacao.Cep;
 
 /**
  * DTO (Data Transfer Object) para transferência de dados de endereço
@@ -26,10 +26,7 @@ public record DadosEndereco(
         String bairro,
 
         @NotBlank(message = "O CEP é obrigatório")
-        @Pattern(
-                regexp = "\\d{8}",
-                message = "O CEP deve conter exatamente 8 dígitos numéricos"
-        )
+        @Cep(message = "O CEP deve conter exatamente 8 dígitos numéricos")
         String cep,
 
         @NotBlank(message = "A cidade é obrigatória")
@@ -50,4 +47,30 @@ public record DadosEndereco(
         //    aplicando as validações anotadas.
         // 2. Métodos de acesso (logradouro(), bairro(), cep(), cidade(), uf(), complemento(), numero()).
         // 3. Implementações de equals(), hashCode() e toString().
+
+        /**
+         * Indica se falta algum dos campos que o diretório de CEPs consegue preencher.
+         */
+        public boolean incompleto() {
+                return vazio(logradouro) || vazio(bairro) || vazio(cidade) || vazio(uf);
+        }
+
+        /**
+         * Cópia com os campos vazios preenchidos pelo endereço do CEP; o que foi informado é mantido.
+         */
+        public DadosEndereco completadoCom(EnderecoCep encontrado) {
+                return new DadosEndereco(
+                        vazio(logradouro) ? encontrado.logradouro() : logradouro,
+                        vazio(bairro) ? encontrado.bairro() : bairro,
+                        cep,
+                        vazio(cidade) ? encontrado.cidade() : cidade,
+                        vazio(uf) ? encontrado.uf() : uf,
+                        complemento,
+                        numero
+                );
+        }
+
+        private static boolean vazio(String valor) {
+                return valor == null || valor.isBlank();
+        }
 }
@@ -0,0 +1,92 @@
+package med.voll.api.domain.endereco;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Diretório local de CEPs, usado para completar endereços sem chamadas de rede.
+ *
+ * O arquivo (formato em ArquivoDeCeps) é mapeado em memória na inicialização, o que custa o
+ * mesmo para mil ou para milhões de CEPs; cada busca é uma busca binária direto nas páginas
+ * mapeadas, e só os textos do CEP encontrado viram objetos no heap.
+ *
+ * Se o arquivo não existir, o diretório fica vazio e as buscas não encontram nada.
+ */
+@Component
+public class DiretorioDeCeps {
+
+    private static final Logger log = LoggerFactory.getLogger(DiretorioDeCeps.class);
+
+    private final MappedByteBuffer arquivo;   // null quando não há arquivo configurado
+    private final int quantidade;
+    private final int inicioTextos;
+
+    public DiretorioDeCeps(@Value("${api.cep.arquivo:dados/ceps.bin}") String caminho) throws IOException {
+        var path = Path.of(caminho);
+        if (!Files.isRegularFile(path)) {
+            log.warn("Arquivo de CEPs {} não encontrado; preenchimento automático de endereço desativado", path);
+            this.arquivo = null;
+            this.quantidade = 0;
+            this.inicioTextos = 0;
+            return;
+        }
+        this.arquivo = ArquivoDeCeps.mapear(path);
+        this.quantidade = arquivo.getInt(8);
+        this.inicioTextos = arquivo.getInt(12);
+        log.info("Diretório de CEPs mapeado com {} CEPs ({} bytes)", quantidade, arquivo.capacity());
+    }
+
+    /**
+     * @param cep CEP com ou sem hífen ("01001-000" ou "01001000"); qualquer outro formato não encontra nada
+     */
+    public Optional<EnderecoCep> buscar(String cep) {
+        var chave = cep == null ? -1 : ArquivoDeCeps.cep(cep);
+        if (arquivo == null || chave < 0) {
+            return Optional.empty();
+        }
+        var inicio = 0;
+        var fim = quantidade - 1;
+        while (inicio <= fim) {
+            var meio = (inicio + fim) >>> 1;
+            var registro = ArquivoDeCeps.TAMANHO_CABECALHO + meio * ArquivoDeCeps.TAMANHO_REGISTRO;
+            var valor = arquivo.getInt(registro);
+            if (valor < chave) {
+                inicio = meio + 1;
+            } else if (valor > chave) {
+                fim = meio - 1;
+            } else {
+                return Optional.of(ler(registro, valor));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private EnderecoCep ler(int registro, int cep) {
+        var uf = new byte[2];
+        arquivo.get(registro + 16, uf);
+        return new EnderecoCep(
+                String.format("%08d", cep),
+                texto(arquivo.getInt(registro + 4)),
+                texto(arquivo.getInt(registro + 8)),
+                texto(arquivo.getInt(registro + 12)),
+                new String(uf, StandardCharsets.US_ASCII)
+        );
+    }
+
+    private String texto(int posicao) {
+        var inicio = inicioTextos + posicao;
+        var tamanho = Short.toUnsignedInt(arquivo.getShort(inicio));
+        var bytes = new byte[tamanho];
+        arquivo.get(inicio + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
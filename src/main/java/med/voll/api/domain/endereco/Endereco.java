@@ -4,6 +4,10 @@ import jakarta.persistence.Embeddable;    // Marca a classe como parte embutida
 import lombok.AllArgsConstructor;       // Lombok: gera construtor com todos os campos
 import lombok.Getter;                  // Lombok: gera getters para todos os campos
 import lombok.NoArgsConstructor;       // Lombok: gera construtor sem argumentos
+import med.voll.api.domain.CampoAlterado; // Campos alterados, para a trilha de auditoria
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Classe que representa um endereço e seus atributos básicos.
@@ -58,28 +62,38 @@ public class Endereco {
      * os atributos que não foram enviados.
      *
      * @param dados objeto com possíveis novos valores para o endereço
+     * @return campos que mudaram de valor (prefixo "endereco."), para a auditoria
      */
-    public void atualizarInformacoes(DadosEndereco dados) {
+    public List<CampoAlterado> atualizarInformacoes(DadosEndereco dados) {
+        var alteracoes = new ArrayList<CampoAlterado>();
         if (dados.logradouro() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.logradouro", this.logradouro, dados.logradouro());
             this.logradouro = dados.logradouro();
         }
         if (dados.bairro() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.bairro", this.bairro, dados.bairro());
             this.bairro = dados.bairro();
         }
         if (dados.cep() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.cep", this.cep, dados.cep());
             this.cep = dados.cep();
         }
         if (dados.uf() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.uf", this.uf, dados.uf());
             this.uf = dados.uf();
         }
         if (dados.cidade() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.cidade", this.cidade, dados.cidade());
             this.cidade = dados.cidade();
         }
         if (dados.numero() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.numero", this.numero, dados.numero());
             this.numero = dados.numero();
         }
         if (dados.complemento() != null) {
+            CampoAlterado.registrar(alteracoes, "endereco.complemento", this.complemento, dados.complemento());
             this.complemento = dados.complemento();
         }
+        return alteracoes;
     }
 }
@@ -0,0 +1,19 @@
+package med.voll.api.domain.endereco;
+
+/**
+ * Endereço encontrado no diretório de CEPs (sem número nem complemento).
+ *
+ * @param cep        CEP com 8 dígitos
+ * @param logradouro Nome da rua, avenida, etc.
+ * @param bairro     Bairro
+ * @param cidade     Cidade
+ * @param uf         Sigla do estado
+ */
+public record EnderecoCep(
+        String cep,
+        String logradouro,
+        String bairro,
+        String cidade,
+        String uf
+) {
+}
@@ -0,0 +1,268 @@
+package med.voll.api.domain.estatistica;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.medico.SituacaoMedico;
+import med.voll.api.domain.paciente.PacienteAlterado;
+import med.voll.api.domain.paciente.PacienteRepository;
+import med.voll.api.domain.paciente.SituacaoPaciente;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores em memória para o painel: médicos ativos por especialidade e UF,
+ * pacientes ativos por cidade.
+ *
+ * Os contadores são semeados com um GROUP BY na inicialização e depois ajustados
+ * atomicamente a cada cadastro, atualização ou exclusão (MedicoAlterado/PacienteAlterado,
+ * após o commit), de modo que o painel nunca varre as tabelas. Uma reconciliação periódica
+ * refaz a contagem no banco e corrige qualquer divergência (por exemplo, alterações feitas
+ * por outra instância ou direto no banco).
+ *
+ * Um ajuste que chega enquanto o GROUP BY roda pode ou não estar no resultado. As contagens
+ * tocadas nesse intervalo mantêm o valor ajustado em memória, e a próxima reconciliação as
+ * corrige. As demais passam a ter o valor do banco.
+ */
+@Component
+public class ContadoresDeCadastro {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadoresDeCadastro.class);
+
+    /**
+     * Contagens atuais; a reconciliação troca o objeto inteiro de uma vez.
+     *
+     * - medicos: especialidade -> código da UF -> quantidade
+     * - pacientes: (código da UF << 32 | código da cidade) -> quantidade
+     */
+    private record Contagens(
+            EnumMap<Especialidade, ConcurrentHashMap<Integer, AtomicLong>> medicos,
+            ConcurrentHashMap<Long, AtomicLong> pacientes
+    ) {
+        Contagens() {
+            this(new EnumMap<>(Especialidade.class), new ConcurrentHashMap<>());
+            for (var especialidade : Especialidade.values()) {
+                medicos.put(especialidade, new ConcurrentHashMap<>());
+            }
+        }
+    }
+
+    private final DicionarioDeTextos ufs = new DicionarioDeTextos();
+    private final DicionarioDeTextos cidades = new DicionarioDeTextos();
+
+    private volatile Contagens contagens = new Contagens();
+    private volatile boolean semeado;
+
+    // Contagens ajustadas durante a reconciliação em andamento; null fora dela. Protegidos por "ajuste".
+    private final Object ajuste = new Object();
+    private Set<Long> medicosAjustados;    // (ordinal da especialidade << 32 | código da UF)
+    private Set<Long> pacientesAjustados;  // mesma chave de Contagens.pacientes
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    /**
+     * Semeia os contadores na inicialização e os reconcilia periodicamente com o banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${api.estatisticas.reconciliacao-ms:600000}",
+            fixedDelayString = "${api.estatisticas.reconciliacao-ms:600000}")
+    public void reconciliar() {
+        var inicio = System.nanoTime();
+        synchronized (ajuste) {
+            medicosAjustados = new HashSet<>();
+            pacientesAjustados = new HashSet<>();
+        }
+        Contagens novas;
+        try {
+            novas = contarNoBanco();
+        } catch (RuntimeException e) {
+            pararDeRegistrarAjustes();
+            throw e;
+        }
+
+        var divergencias = 0;
+        synchronized (ajuste) {
+            var anteriores = contagens;
+            if (semeado) {
+                // Antes da semeadura, a memória só tem deltas a partir de zero: vale o banco
+                manterAjustadas(anteriores, novas);
+                divergencias = divergencias(anteriores, novas);
+            }
+            contagens = novas;
+            pararDeRegistrarAjustes();
+        }
+        if (divergencias > 0) {
+            log.warn("Reconciliação dos contadores de cadastro corrigiu {} contagens", divergencias);
+        }
+        semeado = true;
+        log.debug("Contadores de cadastro reconciliados em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private Contagens contarNoBanco() {
+        var novas = new Contagens();
+        for (var contagem : medicoRepository.contarAtivosPorEspecialidadeEUf()) {
+            contador(novas, contagem.especialidade(), contagem.uf()).addAndGet(contagem.quantidade());
+        }
+        for (var contagem : pacienteRepository.contarAtivosPorCidade()) {
+            contador(novas, contagem.uf(), contagem.cidade()).addAndGet(contagem.quantidade());
+        }
+        return novas;
+    }
+
+    /**
+     * Copia para "novas" o valor em memória das contagens ajustadas durante a consulta.
+     */
+    private void manterAjustadas(Contagens anteriores, Contagens novas) {
+        for (var chave : medicosAjustados) {
+            var especialidade = Especialidade.values()[(int) (chave >>> 32)];
+            var uf = (int) (long) chave;
+            var atual = anteriores.medicos().get(especialidade).get(uf);
+            novas.medicos().get(especialidade).computeIfAbsent(uf, codigo -> new AtomicLong())
+                    .set(atual == null ? 0 : atual.get());
+        }
+        for (var chave : pacientesAjustados) {
+            var atual = anteriores.pacientes().get(chave);
+            novas.pacientes().computeIfAbsent(chave, codigo -> new AtomicLong())
+                    .set(atual == null ? 0 : atual.get());
+        }
+    }
+
+    private void pararDeRegistrarAjustes() {
+        synchronized (ajuste) {
+            medicosAjustados = null;
+            pacientesAjustados = null;
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarMedico(MedicoAlterado evento) {
+        ajustar(evento.anterior(), -1);
+        ajustar(evento.atual(), 1);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarPaciente(PacienteAlterado evento) {
+        ajustar(evento.anterior(), -1);
+        ajustar(evento.atual(), 1);
+    }
+
+    /**
+     * Médicos ativos por especialidade e UF, sem as combinações zeradas.
+     */
+    public List<DadosMedicosPorEspecialidade> medicosPorEspecialidade() {
+        var resultado = new ArrayList<DadosMedicosPorEspecialidade>();
+        contagens.medicos().forEach((especialidade, porUf) -> porUf.forEach((uf, quantidade) -> {
+            if (quantidade.get() > 0) {
+                resultado.add(new DadosMedicosPorEspecialidade(especialidade, ufs.texto(uf), quantidade.get()));
+            }
+        }));
+        resultado.sort(Comparator.comparing(DadosMedicosPorEspecialidade::especialidade)
+                .thenComparing(DadosMedicosPorEspecialidade::uf));
+        return resultado;
+    }
+
+    /**
+     * Pacientes ativos por cidade, sem as cidades zeradas.
+     */
+    public List<DadosPacientesPorCidade> pacientesPorCidade() {
+        var resultado = new ArrayList<DadosPacientesPorCidade>();
+        contagens.pacientes().forEach((chave, quantidade) -> {
+            if (quantidade.get() > 0) {
+                resultado.add(new DadosPacientesPorCidade(
+                        ufs.texto((int) (chave >>> 32)), cidades.texto((int) (long) chave), quantidade.get()));
+            }
+        });
+        resultado.sort(Comparator.comparing(DadosPacientesPorCidade::uf)
+                .thenComparing(DadosPacientesPorCidade::cidade));
+        return resultado;
+    }
+
+    private void ajustar(SituacaoMedico situacao, int delta) {
+        if (situacao == null || !situacao.ativo()) {
+            return;
+        }
+        var uf = ufs.codigo(normalizarUf(situacao.uf()));
+        synchronized (ajuste) {
+            contagens.medicos().get(situacao.especialidade()).computeIfAbsent(uf, codigo -> new AtomicLong())
+                    .addAndGet(delta);
+            if (medicosAjustados != null) {
+                medicosAjustados.add((long) situacao.especialidade().ordinal() << 32 | uf);
+            }
+        }
+    }
+
+    private void ajustar(SituacaoPaciente situacao, int delta) {
+        if (situacao == null || !situacao.ativo()) {
+            return;
+        }
+        var chave = chavePaciente(situacao.uf(), situacao.cidade());
+        synchronized (ajuste) {
+            contagens.pacientes().computeIfAbsent(chave, codigo -> new AtomicLong()).addAndGet(delta);
+            if (pacientesAjustados != null) {
+                pacientesAjustados.add(chave);
+            }
+        }
+    }
+
+    private AtomicLong contador(Contagens alvo, Especialidade especialidade, String uf) {
+        return alvo.medicos().get(especialidade)
+                .computeIfAbsent(ufs.codigo(normalizarUf(uf)), codigo -> new AtomicLong());
+    }
+
+    private AtomicLong contador(Contagens alvo, String uf, String cidade) {
+        return alvo.pacientes().computeIfAbsent(chavePaciente(uf, cidade), codigo -> new AtomicLong());
+    }
+
+    private long chavePaciente(String uf, String cidade) {
+        return (long) ufs.codigo(normalizarUf(uf)) << 32 | cidades.codigo(cidade.trim());
+    }
+
+    private static String normalizarUf(String uf) {
+        return uf.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static int divergencias(Contagens anteriores, Contagens novas) {
+        var total = 0;
+        for (var especialidade : Especialidade.values()) {
+            total += divergencias(anteriores.medicos().get(especialidade), novas.medicos().get(especialidade));
+        }
+        return total + divergencias(anteriores.pacientes(), novas.pacientes());
+    }
+
+    private static <K> int divergencias(Map<K, AtomicLong> anteriores, Map<K, AtomicLong> novas) {
+        var total = 0;
+        for (var entrada : novas.entrySet()) {
+            var anterior = anteriores.get(entrada.getKey());
+            if ((anterior == null ? 0 : anterior.get()) != entrada.getValue().get()) {
+                total++;
+            }
+        }
+        for (var entrada : anteriores.entrySet()) {
+            if (!novas.containsKey(entrada.getKey()) && entrada.getValue().get() != 0) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,9 @@
+package med.voll.api.domain.estatistica;
+
+import med.voll.api.domain.medico.Especialidade;
+
+/**
+ * Projeção de "select especialidade, uf, count(*) ... group by" sobre os médicos ativos.
+ */
+public record ContagemMedicos(Especialidade especialidade, String uf, Long quantidade) {
+}
@@ -0,0 +1,7 @@
+package med.voll.api.domain.estatistica;
+
+/**
+ * Projeção de "select uf, cidade, count(*) ... group by" sobre os pacientes ativos.
+ */
+public record ContagemPacientes(String uf, String cidade, Long quantidade) {
+}
@@ -0,0 +1,9 @@
+package med.voll.api.domain.estatistica;
+
+import med.voll.api.domain.medico.Especialidade;
+
+/**
+ * DTO com a quantidade de médicos ativos de uma especialidade em uma UF.
+ */
+public record DadosMedicosPorEspecialidade(Especialidade especialidade, String uf, long quantidade) {
+}
@@ -0,0 +1,7 @@
+package med.voll.api.domain.estatistica;
+
+/**
+ * DTO com a quantidade de pacientes ativos em uma cidade.
+ */
+public record DadosPacientesPorCidade(String uf, String cidade, long quantidade) {
+}
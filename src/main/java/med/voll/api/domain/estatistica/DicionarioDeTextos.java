@@ -0,0 +1,37 @@
+package med.voll.api.domain.estatistica;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codificação por dicionário: cada texto distinto (UF, cidade) recebe um código inteiro
+ * sequencial, e os contadores guardam só o código. Os textos se repetem em milhares de
+ * cadastros, mas cada um fica uma única vez em memória.
+ */
+class DicionarioDeTextos {
+
+    private final ConcurrentHashMap<String, Integer> codigos = new ConcurrentHashMap<>();
+    private volatile String[] textos = new String[0];
+
+    int codigo(String texto) {
+        var codigo = codigos.get(texto);
+        return codigo != null ? codigo : registrar(texto);
+    }
+
+    String texto(int codigo) {
+        return textos[codigo];
+    }
+
+    private synchronized int registrar(String texto) {
+        var existente = codigos.get(texto);
+        if (existente != null) {
+            return existente;
+        }
+        var codigo = textos.length;
+        var novos = Arrays.copyOf(textos, codigo + 1);   // Poucos milhares de textos: cópia barata
+        novos[codigo] = texto;
+        textos = novos;                                   // Publica o texto antes do código
+        codigos.put(texto, codigo);
+        return codigo;
+    }
+}
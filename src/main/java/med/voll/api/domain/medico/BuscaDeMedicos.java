@@ -0,0 +1,67 @@
+package med.voll.api.domain.medico;
+
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.domain.Normalizacao;
+import med.voll.api.infra.cache.CacheLru;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca exata de médicos por CRM ou e-mail, pelas colunas normalizadas,
+ * com um cache LRU pequeno na frente para as chaves mais consultadas.
+ *
+ * As entradas são descartadas depois do commit de qualquer alteração do médico (MedicoAlterado).
+ */
+@Component
+public class BuscaDeMedicos {
+
+    private final CacheLru<String, DadosDetalhamentoMedico> porCrm;
+    private final CacheLru<String, DadosDetalhamentoMedico> porEmail;
+
+    @Autowired
+    private MedicoRepository repository;
+
+    public BuscaDeMedicos(
+            @Value("${api.cache.chaves.capacidade:10000}") int capacidade,
+            @Value("${api.cache.chaves.validade-s:60}") long validadeSegundos
+    ) {
+        this.porCrm = new CacheLru<>(capacidade, TimeUnit.SECONDS.toNanos(validadeSegundos));
+        this.porEmail = new CacheLru<>(capacidade, TimeUnit.SECONDS.toNanos(validadeSegundos));
+    }
+
+    /**
+     * @throws EntityNotFoundException se não houver médico com o CRM (HTTP 404)
+     */
+    public DadosDetalhamentoMedico porCrm(String crm) {
+        return encontrado(porCrm.buscarOuCarregar(Normalizacao.somenteDigitos(crm),
+                chave -> repository.findByCrmNormalizado(chave).map(DadosDetalhamentoMedico::new).orElse(null)));
+    }
+
+    /**
+     * @throws EntityNotFoundException se não houver médico com o e-mail (HTTP 404)
+     */
+    public DadosDetalhamentoMedico porEmail(String email) {
+        return encontrado(porEmail.buscarOuCarregar(Normalizacao.email(email),
+                chave -> repository.findByEmailNormalizado(chave).map(DadosDetalhamentoMedico::new).orElse(null)));
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarMedico(MedicoAlterado evento) {
+        var anterior = evento.anterior();
+        if (anterior != null) {
+            porCrm.remover(Normalizacao.somenteDigitos(anterior.crm()));
+            porEmail.remover(Normalizacao.email(anterior.email()));
+        }
+    }
+
+    private static DadosDetalhamentoMedico encontrado(DadosDetalhamentoMedico dados) {
+        if (dados == null) {
+            throw new EntityNotFoundException();
+        }
+        return dados;
+    }
+}
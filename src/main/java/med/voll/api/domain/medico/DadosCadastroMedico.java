@@ -4,8 +4,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.validacao.Crm;
 
 /**
  * DTO (Data Transfer Object) usado para receber os dados de cadastro de um médico
@@ -32,10 +32,7 @@ public record DadosCadastroMedico(
         String telefone,
 
         @NotBlank(message = "O CRM é obrigatório")            // Garante que crm não seja null nem vazio
-        @Pattern(
-                regexp = "\\d{4,6}",                              // Define que crm precisa ter entre 4 e 6 dígitos
-                message = "CRM deve conter apenas dígitos (4 a 6 caracteres)"
-        )
+        @Crm(message = "CRM deve conter apenas dígitos (4 a 6 caracteres)")
         String crm,
 
         @NotNull(message = "A especialidade é obrigatória")  // Garante que especialidade não seja null
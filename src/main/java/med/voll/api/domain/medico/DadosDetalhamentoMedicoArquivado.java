@@ -0,0 +1,29 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.domain.endereco.Endereco;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com os dados de um médico arquivado (consulta administrativa do arquivo).
+ *
+ * @param inativadoEm quando o médico foi excluído logicamente
+ * @param arquivadoEm quando foi movido para o arquivo
+ */
+public record DadosDetalhamentoMedicoArquivado(
+        Long id,
+        String nome,
+        String email,
+        String crm,
+        String telefone,
+        Especialidade especialidade,
+        Endereco endereco,
+        LocalDateTime inativadoEm,
+        LocalDateTime arquivadoEm
+) {
+
+    public DadosDetalhamentoMedicoArquivado(MedicoArquivado medico) {
+        this(medico.getId(), medico.getNome(), medico.getEmail(), medico.getCrm(), medico.getTelefone(),
+                medico.getEspecialidade(), medico.getEndereco(), medico.getInativadoEm(), medico.getArquivadoEm());
+    }
+}
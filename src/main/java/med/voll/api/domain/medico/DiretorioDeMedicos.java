@@ -0,0 +1,144 @@
+package med.voll.api.domain.medico;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Modo opcional de leitura do diretório de médicos (api.diretorio-medicos.enabled=true):
+ * listagem e detalhe de médicos ativos servidos de um InstantaneoDeMedicos em memória,
+ * sem JPA nem banco por requisição.
+ *
+ * - O instantâneo é imutável e trocado de uma vez (volatile) após cada recarga.
+ * - Cada cadastro, edição ou exclusão (MedicoAlterado, após o commit) agenda uma recarga
+ *   depois de api.diretorio-medicos.atraso-ms, juntando as alterações de uma rajada;
+ *   há também uma recarga periódica (api.diretorio-medicos.recarga-ms).
+ * - Até a recarga incluir uma alteração, o detalhe desse médico e as listagens voltam a ser
+ *   atendidos pelo banco, então ninguém lê um dado mais antigo do que a própria escrita.
+ * - Sem instantâneo (modo desligado, antes da primeira carga), os métodos devolvem vazio
+ *   e o controller segue pelo repositório.
+ */
+@Component
+public class DiretorioDeMedicos implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DiretorioDeMedicos.class);
+
+    private static final String CONSULTA = """
+            select id, nome, email, crm, telefone, especialidade, logradouro, bairro, cep, numero, complemento, cidade, uf
+            from medicos
+            where ativo = 1
+            order by id
+            """;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "diretorio-medicos");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> pendentes = new ConcurrentHashMap<>();  // id -> sequência da alteração
+    private final AtomicBoolean recargaAgendada = new AtomicBoolean();
+
+    private volatile InstantaneoDeMedicos instantaneo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${api.diretorio-medicos.enabled:false}")
+    private boolean habilitado;
+
+    @Value("${api.diretorio-medicos.atraso-ms:500}")
+    private long atrasoMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${api.diretorio-medicos.recarga-ms:300000}",
+            fixedDelayString = "${api.diretorio-medicos.recarga-ms:300000}")
+    public void agendarRecargaCompleta() {
+        if (habilitado) {
+            executor.execute(this::recarregar);   // Sempre na mesma thread: recargas nunca se sobrepõem
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarMedico(MedicoAlterado evento) {
+        if (!habilitado) {
+            return;
+        }
+        pendentes.put(evento.id(), sequencia.incrementAndGet());
+        if (recargaAgendada.compareAndSet(false, true)) {
+            executor.schedule(this::recarregar, atrasoMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Página de médicos ativos, ou vazio se o instantâneo não puder atendê-la.
+     */
+    public Optional<Page<DadosListagemMedico>> listar(Especialidade especialidade, Pageable paginacao) {
+        var atual = instantaneo;
+        if (atual == null || !pendentes.isEmpty()) {
+            return Optional.empty();
+        }
+        return atual.listar(especialidade, paginacao);
+    }
+
+    /**
+     * Detalhe de um médico ativo, ou vazio se ele não estiver no instantâneo
+     * (inativo, inexistente ou alterado depois da última recarga).
+     */
+    public Optional<DadosDetalhamentoMedico> detalhar(Long id) {
+        var atual = instantaneo;
+        if (atual == null || pendentes.containsKey(id)) {
+            return Optional.empty();
+        }
+        return atual.detalhar(id);
+    }
+
+    private void recarregar() {
+        recargaAgendada.set(false);
+        // Alterações confirmadas até aqui estarão visíveis na consulta abaixo
+        var incluidasAte = sequencia.get();
+        try {
+            var inicio = System.nanoTime();
+            var construtor = new InstantaneoDeMedicos.Construtor();
+            jdbc.query(CONSULTA, (RowCallbackHandler) linha -> construtor.adicionar(
+                    linha.getLong("id"), linha.getString("nome"), linha.getString("email"), linha.getString("crm"),
+                    linha.getString("telefone"), Especialidade.valueOf(linha.getString("especialidade")),
+                    linha.getString("logradouro"), linha.getString("bairro"), linha.getString("cep"),
+                    linha.getString("numero"), linha.getString("complemento"), linha.getString("cidade"),
+                    linha.getString("uf")));
+            var novo = construtor.construir();
+            instantaneo = novo;
+            pendentes.values().removeIf(alteracao -> alteracao <= incluidasAte);
+            log.debug("Diretório de médicos recarregado: {} médicos em {} ms",
+                    novo.quantidade(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Mantém o instantâneo anterior; as alterações pendentes continuam indo ao banco
+            log.error("Falha ao recarregar o diretório de médicos", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,7 @@
+package med.voll.api.domain.medico;
+
+/**
+ * Projeção com o ID e a especialidade de um médico ativo.
+ */
+public record IdPorEspecialidade(Long id, Especialidade especialidade) {
+}
@@ -0,0 +1,231 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.domain.endereco.Endereco;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Fotografia imutável e colunar dos médicos ativos, usada pelo DiretorioDeMedicos.
+ *
+ * Cada coluna é um único array (ou buffer) para todos os médicos, em ordem de ID:
+ * - id: long[]; especialidade: byte[] (ordinal do enum);
+ * - uf, cidade e bairro: int[] de códigos num dicionário (poucos valores distintos);
+ * - textos livres (nome, e-mail, CRM...): bytes UTF-8 concatenados num buffer fora do heap,
+ *   com as posições num int[].
+ * Assim o heap guarda poucas dezenas de objetos em vez de milhões, e o GC quase não os percorre.
+ * As ordens de listagem (por nome, geral e por especialidade) são calculadas na construção.
+ */
+final class InstantaneoDeMedicos {
+
+    private static final int NOME = 0;
+    private static final int EMAIL = 1;
+    private static final int CRM = 2;
+    private static final int TELEFONE = 3;
+    private static final int LOGRADOURO = 4;
+    private static final int CEP = 5;
+    private static final int NUMERO = 6;
+    private static final int COMPLEMENTO = 7;
+    private static final int COLUNAS_DE_TEXTO = 8;
+
+    private static final Especialidade[] ESPECIALIDADES = Especialidade.values();
+
+    private final int quantidade;
+    private final long[] ids;
+    private final byte[] especialidades;
+    private final int[] ufs;
+    private final int[] cidades;
+    private final int[] bairros;
+    private final String[] dicionario;
+    private final ByteBuffer textos;
+    private final int[] posicoes;           // Texto c da linha r: [posicoes[r * 8 + c], posicoes[r * 8 + c + 1])
+    private final BitSet nulos;             // Mesmo índice de posicoes
+    private final int[] ordemPorNome;
+    private final int[][] ordemPorNomeEEspecialidade;
+
+    private InstantaneoDeMedicos(Construtor construtor) {
+        this.quantidade = construtor.quantidade;
+        this.ids = Arrays.copyOf(construtor.ids, quantidade);
+        this.especialidades = Arrays.copyOf(construtor.especialidades, quantidade);
+        this.ufs = Arrays.copyOf(construtor.ufs, quantidade);
+        this.cidades = Arrays.copyOf(construtor.cidades, quantidade);
+        this.bairros = Arrays.copyOf(construtor.bairros, quantidade);
+        this.dicionario = construtor.dicionario.toArray(String[]::new);
+        this.posicoes = Arrays.copyOf(construtor.posicoes, quantidade * COLUNAS_DE_TEXTO + 1);
+        this.nulos = construtor.nulos;
+        var bytes = construtor.textos.toByteArray();
+        this.textos = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+
+        var chaves = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            chaves[i] = chaveDeOrdenacao(texto(i, NOME));
+        }
+        // Desempate por ID, como a listagem paginada do banco precisa ser estável
+        this.ordemPorNome = IntStream.range(0, quantidade).boxed()
+                .sorted(Comparator.<Integer, String>comparing(i -> chaves[i]).thenComparingLong(i -> ids[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.ordemPorNomeEEspecialidade = new int[ESPECIALIDADES.length][];
+        for (var especialidade : ESPECIALIDADES) {
+            var ordinal = especialidade.ordinal();
+            ordemPorNomeEEspecialidade[ordinal] = Arrays.stream(ordemPorNome)
+                    .filter(i -> especialidades[i] == ordinal)
+                    .toArray();
+        }
+    }
+
+    int quantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Página de médicos ativos, opcionalmente de uma especialidade. Só atende ordenação
+     * por nome ou por id (ou nenhuma); para as demais devolve vazio e quem chamou usa o banco.
+     */
+    Optional<Page<DadosListagemMedico>> listar(Especialidade especialidade, Pageable paginacao) {
+        var ordem = paginacao.getSort();
+        var porId = ordem.isUnsorted() || ordem.getOrderFor("id") != null && ordem.stream().count() == 1;
+        var porNome = ordem.getOrderFor("nome") != null && ordem.stream().count() == 1;
+        if (!porId && !porNome) {
+            return Optional.empty();
+        }
+        var decrescente = ordem.stream().findFirst().map(Sort.Order::isDescending).orElse(false);
+
+        int[] linhas = null;        // null: todas, em ordem de ID
+        var total = quantidade;
+        if (porNome) {
+            linhas = especialidade == null ? ordemPorNome : ordemPorNomeEEspecialidade[especialidade.ordinal()];
+            total = linhas.length;
+        } else if (especialidade != null) {
+            linhas = IntStream.range(0, quantidade).filter(i -> especialidades[i] == especialidade.ordinal()).toArray();
+            total = linhas.length;
+        }
+
+        var conteudo = new ArrayList<DadosListagemMedico>(paginacao.getPageSize());
+        var inicio = paginacao.isPaged() ? paginacao.getOffset() : 0;
+        var fim = paginacao.isPaged() ? Math.min(total, inicio + paginacao.getPageSize()) : total;
+        for (var posicao = inicio; posicao < fim; posicao++) {
+            var indice = (int) (decrescente ? total - 1 - posicao : posicao);
+            conteudo.add(listagem(linhas == null ? indice : linhas[indice]));
+        }
+        return Optional.of(new PageImpl<>(conteudo, paginacao, total));
+    }
+
+    Optional<DadosDetalhamentoMedico> detalhar(long id) {
+        var linha = Arrays.binarySearch(ids, 0, quantidade, id);
+        if (linha < 0) {
+            return Optional.empty();
+        }
+        var endereco = new Endereco(texto(linha, LOGRADOURO), dicionario[bairros[linha]], texto(linha, CEP),
+                texto(linha, NUMERO), texto(linha, COMPLEMENTO), dicionario[cidades[linha]], dicionario[ufs[linha]]);
+        return Optional.of(new DadosDetalhamentoMedico(ids[linha], texto(linha, NOME), texto(linha, EMAIL),
+                texto(linha, CRM), texto(linha, TELEFONE), ESPECIALIDADES[especialidades[linha]], endereco));
+    }
+
+    private DadosListagemMedico listagem(int linha) {
+        return new DadosListagemMedico(ids[linha], texto(linha, NOME), texto(linha, EMAIL), texto(linha, CRM),
+                ESPECIALIDADES[especialidades[linha]]);
+    }
+
+    private String texto(int linha, int coluna) {
+        var indice = linha * COLUNAS_DE_TEXTO + coluna;
+        if (nulos.get(indice)) {
+            return null;
+        }
+        var bytes = new byte[posicoes[indice + 1] - posicoes[indice]];
+        textos.get(posicoes[indice], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Ordem alfabética sem diferenciar maiúsculas nem acentos, como a collation padrão do MySQL.
+     */
+    private static String chaveDeOrdenacao(String nome) {
+        return Normalizer.normalize(nome, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Acumula as linhas (em ordem crescente de ID) antes de congelar o instantâneo.
+     */
+    static final class Construtor {
+
+        private int quantidade;
+        private long[] ids = new long[1024];
+        private byte[] especialidades = new byte[1024];
+        private int[] ufs = new int[1024];
+        private int[] cidades = new int[1024];
+        private int[] bairros = new int[1024];
+        private int[] posicoes = new int[1024 * COLUNAS_DE_TEXTO + 1];
+        private final BitSet nulos = new BitSet();
+        private final ByteArrayOutputStream textos = new ByteArrayOutputStream(1 << 16);
+        private final List<String> dicionario = new ArrayList<>();
+        private final Map<String, Integer> codigos = new HashMap<>();
+
+        void adicionar(long id, String nome, String email, String crm, String telefone, Especialidade especialidade,
+                       String logradouro, String bairro, String cep, String numero, String complemento,
+                       String cidade, String uf) {
+            if (quantidade == ids.length) {
+                var capacidade = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacidade);
+                especialidades = Arrays.copyOf(especialidades, capacidade);
+                ufs = Arrays.copyOf(ufs, capacidade);
+                cidades = Arrays.copyOf(cidades, capacidade);
+                bairros = Arrays.copyOf(bairros, capacidade);
+                posicoes = Arrays.copyOf(posicoes, capacidade * COLUNAS_DE_TEXTO + 1);
+            }
+            var linha = quantidade++;
+            ids[linha] = id;
+            especialidades[linha] = (byte) especialidade.ordinal();
+            ufs[linha] = codigo(uf);
+            cidades[linha] = codigo(cidade);
+            bairros[linha] = codigo(bairro);
+            var base = linha * COLUNAS_DE_TEXTO;
+            texto(base + NOME, nome);
+            texto(base + EMAIL, email);
+            texto(base + CRM, crm);
+            texto(base + TELEFONE, telefone);
+            texto(base + LOGRADOURO, logradouro);
+            texto(base + CEP, cep);
+            texto(base + NUMERO, numero);
+            texto(base + COMPLEMENTO, complemento);
+        }
+
+        InstantaneoDeMedicos construir() {
+            return new InstantaneoDeMedicos(this);
+        }
+
+        private void texto(int indice, String valor) {
+            if (valor == null) {
+                nulos.set(indice);
+            } else {
+                textos.writeBytes(valor.getBytes(StandardCharsets.UTF_8));
+            }
+            posicoes[indice + 1] = textos.size();
+        }
+
+        private int codigo(String valor) {
+            return codigos.computeIfAbsent(valor, novo -> {
+                dicionario.add(novo);
+                return dicionario.size() - 1;
+            });
+        }
+    }
+}
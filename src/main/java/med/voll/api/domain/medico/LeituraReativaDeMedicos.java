@@ -0,0 +1,112 @@
+package med.voll.api.domain.medico;
+
+import io.r2dbc.spi.Readable;
+import med.voll.api.domain.endereco.Endereco;
+import med.voll.api.infra.reativo.BancoReativo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Listagem e detalhe de médicos por R2DBC, sem bloquear a thread de quem chama.
+ *
+ * Mesmas consultas e mesmos DTOs de MedicoController (findAllByAtivoTrue,
+ * findAllByAtivoTrueAndEspecialidade e getReferenceById), em SQL escrito à mão:
+ * as escritas continuam todas no JPA.
+ */
+@Component
+@ConditionalOnProperty(name = "api.reativo.enabled", havingValue = "true")
+public class LeituraReativaDeMedicos {
+
+    private static final String DETALHE = """
+            select id, nome, email, crm, telefone, especialidade, logradouro, bairro, cep, numero, complemento, cidade, uf
+            from medicos
+            where id = :id
+            """;
+
+    // Propriedade do Pageable -> coluna; qualquer outra é rejeitada (o texto vai direto no SQL)
+    private static final Map<String, String> ORDENAVEIS = Map.of(
+            "id", "id", "nome", "nome", "email", "email", "crm", "crm", "especialidade", "especialidade");
+
+    @Autowired
+    private BancoReativo banco;
+
+    /**
+     * Página de médicos ativos, opcionalmente de uma especialidade. Se a ordenação pedir uma
+     * propriedade desconhecida, o Mono termina com IllegalArgumentException (nada é lançado na chamada).
+     */
+    public Mono<Page<DadosListagemMedico>> listar(Especialidade especialidade, Pageable paginacao) {
+        return Mono.defer(() -> consultar(especialidade, paginacao));
+    }
+
+    private Mono<Page<DadosListagemMedico>> consultar(Especialidade especialidade, Pageable paginacao) {
+        var filtro = especialidade == null ? "where ativo = 1" : "where ativo = 1 and especialidade = :especialidade";
+        var sql = "select id, nome, email, crm, especialidade from medicos " + filtro + ordem(paginacao.getSort())
+                + (paginacao.isPaged() ? " limit :limite offset :deslocamento" : "");
+
+        var consulta = banco.cliente().sql(sql);
+        var contagem = banco.cliente().sql("select count(*) from medicos " + filtro);
+        if (especialidade != null) {
+            consulta = consulta.bind("especialidade", especialidade.name());
+            contagem = contagem.bind("especialidade", especialidade.name());
+        }
+        if (paginacao.isPaged()) {
+            consulta = consulta.bind("limite", paginacao.getPageSize()).bind("deslocamento", paginacao.getOffset());
+        }
+
+        var conteudo = consulta.map(LeituraReativaDeMedicos::listagem).all().collectList();
+        var total = contagem.map(linha -> linha.get(0, Long.class)).one();
+        return Mono.zip(conteudo, total)
+                .map(resultado -> new PageImpl<>(resultado.getT1(), paginacao, resultado.getT2()));
+    }
+
+    /**
+     * Detalhe de um médico (ativo ou não, como no controller), ou vazio se o ID não existir.
+     */
+    public Mono<DadosDetalhamentoMedico> detalhar(Long id) {
+        return banco.cliente().sql(DETALHE)
+                .bind("id", id)
+                .map(LeituraReativaDeMedicos::detalhamento)
+                .one();
+    }
+
+    private static String ordem(Sort ordenacao) {
+        if (ordenacao.isUnsorted()) {
+            return "";
+        }
+        return ordenacao.stream()
+                .map(ordem -> {
+                    var coluna = ORDENAVEIS.get(ordem.getProperty());
+                    if (coluna == null) {
+                        throw new IllegalArgumentException("Ordenação não suportada: " + ordem.getProperty());
+                    }
+                    return coluna + (ordem.isDescending() ? " desc" : " asc");
+                })
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+
+    private static DadosListagemMedico listagem(Readable linha) {
+        return new DadosListagemMedico(linha.get("id", Long.class), linha.get("nome", String.class),
+                linha.get("email", String.class), linha.get("crm", String.class),
+                Especialidade.valueOf(linha.get("especialidade", String.class)));
+    }
+
+    private static DadosDetalhamentoMedico detalhamento(Readable linha) {
+        var endereco = new Endereco(linha.get("logradouro", String.class), linha.get("bairro", String.class),
+                linha.get("cep", String.class), linha.get("numero", String.class),
+                linha.get("complemento", String.class), linha.get("cidade", String.class),
+                linha.get("uf", String.class));
+        return new DadosDetalhamentoMedico(linha.get("id", Long.class), linha.get("nome", String.class),
+                linha.get("email", String.class), linha.get("crm", String.class),
+                linha.get("telefone", String.class), Especialidade.valueOf(linha.get("especialidade", String.class)),
+                endereco);
+    }
+}
@@ -5,8 +5,14 @@ import lombok.AllArgsConstructor;           // Lombok: gera construtor com todos
 import lombok.EqualsAndHashCode;            // Lombok: gera equals() e hashCode() baseado em campos
 import lombok.Getter;                       // Lombok: gera getters para todos os campos
 import lombok.NoArgsConstructor;            // Lombok: gera construtor sem argumentos
+import med.voll.api.domain.CampoAlterado;     // Campos alterados, para a trilha de auditoria
+import med.voll.api.domain.Normalizacao;     // Normaliza CRM e e-mail para as colunas de busca
 import med.voll.api.domain.endereco.Endereco; // Classe embutida que representa endereço do médico
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Entidade JPA que representa um médico no sistema.
  * Cada instância é armazenada na tabela "medicos" do banco de dados.
@@ -29,6 +35,9 @@ public class Medico {
 
     private String crm;                      // CRM (registro profissional) do médico
 
+    private String crmNormalizado;           // CRM só com dígitos, para busca exata indexada
+    private String emailNormalizado;         // E-mail em minúsculas, para busca exata indexada
+
     @Enumerated(EnumType.STRING)            // Armazena o nome da enum no banco (e.g. "CARDIOLOGIA")
     private Especialidade especialidade;     // Especialidade médica (enum)
 
@@ -37,6 +46,11 @@ public class Medico {
 
     private Boolean ativo;                   // Flag indicando se o médico está ativo (true) ou foi "excluído" logicamente (false)
 
+    private LocalDateTime inativadoEm;       // Momento da exclusão lógica; base para o arquivamento (ArquivamentoDeInativos)
+
+    @Version                                 // Incrementada pelo Hibernate a cada UPDATE (lock otimista)
+    private Long versao;                     // Versão do registro, enviada no feed de alterações
+
     /**
      * Construtor que recebe DTO de cadastro de médico e inicializa a entidade.
      * - Seta 'ativo' como true por padrão
@@ -51,6 +65,8 @@ public class Medico {
         this.email = dados.email();           // Define o email vindo do DTO
         this.telefone = dados.telefone();     // Define o telefone vindo do DTO
         this.crm = dados.crm();               // Define o CRM vindo do DTO
+        this.crmNormalizado = Normalizacao.somenteDigitos(dados.crm());
+        this.emailNormalizado = Normalizacao.email(dados.email());
         this.especialidade = dados.especialidade(); // Define a especialidade vinda do DTO
         this.endereco = new Endereco(dados.endereco()); // Constrói o Endereco embutido
     }
@@ -62,26 +78,47 @@ public class Medico {
      * - Se endereço for informado, delega a atualização ao objeto Endereco
      *
      * @param dados DTO que contém apenas os campos que devem ser alterados
+     * @return campos que mudaram de valor, para a trilha de auditoria
      */
-    public void atualizarInformacoes(DadosAtualizacaoMedico dados) {
+    public List<CampoAlterado> atualizarInformacoes(DadosAtualizacaoMedico dados) {
+        var alteracoes = new ArrayList<CampoAlterado>();
         if (dados.nome() != null) {
+            CampoAlterado.registrar(alteracoes, "nome", this.nome, dados.nome());
             this.nome = dados.nome();         // Atualiza o nome se fornecido
         }
         if (dados.telefone() != null) {
+            CampoAlterado.registrar(alteracoes, "telefone", this.telefone, dados.telefone());
             this.telefone = dados.telefone(); // Atualiza o telefone se fornecido
         }
         if (dados.endereco() != null) {
             // Atualiza campos internos do Endereco (rua, cidade, etc.)
-            this.endereco.atualizarInformacoes(dados.endereco());
+            alteracoes.addAll(this.endereco.atualizarInformacoes(dados.endereco()));
         }
         // Não atualizamos CRM nem especialidade neste método (poderia estender se necessário)
+        return alteracoes;
     }
 
     /**
      * "Exclusão" lógica: marca o médico como inativo
      * sem remover o registro fisicamente do banco.
+     *
+     * @return a mudança de "ativo", para a trilha de auditoria (vazia se já estava inativo)
      */
-    public void excluir() {
+    public List<CampoAlterado> excluir() {
+        var alteracoes = new ArrayList<CampoAlterado>();
+        if (!Boolean.FALSE.equals(this.ativo)) {
+            this.inativadoEm = LocalDateTime.now(); // Mantém a data original se já estava inativo
+        }
+        CampoAlterado.registrar(alteracoes, "ativo", this.ativo, false);
         this.ativo = false;                  // Seta ativo para false, ocultando o médico das listagens
+        return alteracoes;
+    }
+
+    /**
+     * Fotografia dos atributos usados pelos índices em memória (ver MedicoAlterado).
+     */
+    public SituacaoMedico situacao() {
+        return new SituacaoMedico(id, versao == null ? 0 : versao, crm, email, especialidade,
+                endereco.getUf(), endereco.getCidade(), Boolean.TRUE.equals(ativo));
     }
 }
@@ -0,0 +1,25 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.domain.TipoAlteracao;
+
+/**
+ * Evento publicado pelo MedicoController a cada cadastro, atualização ou exclusão de médico.
+ * Os interessados normalmente escutam com @TransactionalEventListener, recebendo o evento
+ * somente depois do commit.
+ *
+ * @param anterior situação antes da alteração (null em um cadastro)
+ * @param atual    situação depois da alteração
+ */
+public record MedicoAlterado(SituacaoMedico anterior, SituacaoMedico atual) {
+
+    public Long id() {
+        return atual.id();
+    }
+
+    public TipoAlteracao tipo() {
+        if (anterior == null) {
+            return TipoAlteracao.CRIADO;
+        }
+        return anterior.ativo() && !atual.ativo() ? TipoAlteracao.DESATIVADO : TipoAlteracao.ATUALIZADO;
+    }
+}
@@ -0,0 +1,39 @@
+package med.voll.api.domain.medico;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import med.voll.api.domain.endereco.Endereco;
+
+import java.time.LocalDateTime;
+
+/**
+ * Médico inativo movido para a tabela "medicos_arquivo" pelo ArquivamentoDeInativos.
+ * Somente leitura: a gravação e a restauração são feitas por SQL nativo em lote.
+ */
+@Table(name = "medicos_arquivo")
+@Entity(name = "MedicoArquivado")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class MedicoArquivado {
+
+    @Id
+    private Long id;                         // Mesmo ID que o médico tinha na tabela "medicos"
+
+    private String nome;
+    private String email;
+    private String telefone;
+    private String crm;
+    private String crmNormalizado;
+
+    @Enumerated(EnumType.STRING)
+    private Especialidade especialidade;
+
+    @Embedded
+    private Endereco endereco;
+
+    private LocalDateTime inativadoEm;       // Quando o médico foi excluído logicamente
+    private LocalDateTime arquivadoEm;       // Quando saiu da tabela "medicos"
+}
@@ -0,0 +1,52 @@
+package med.voll.api.domain.medico;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório da tabela "medicos_arquivo".
+ *
+ * As cópias entre "medicos" e "medicos_arquivo" são INSERT ... SELECT nativos:
+ * o lote inteiro vai num único comando, sem carregar as entidades.
+ */
+public interface MedicoArquivadoRepository extends JpaRepository<MedicoArquivado, Long> {
+
+    List<MedicoArquivado> findAllByCrmNormalizado(String crm);
+
+    /**
+     * Copia para o arquivo os médicos informados (já travados com MedicoRepository.travarInativos).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into medicos_arquivo (id, nome, email, crm, especialidade, logradouro, bairro, cep, complemento,
+                numero, uf, cidade, telefone, ativo, crm_normalizado, email_normalizado, versao, inativado_em, arquivado_em)
+            select id, nome, email, crm, especialidade, logradouro, bairro, cep, complemento,
+                numero, uf, cidade, telefone, ativo, crm_normalizado, email_normalizado, versao, inativado_em, :agora
+            from medicos
+            where id in (:ids)
+            """)
+    int copiarDaTabelaPrincipal(List<Long> ids, LocalDateTime agora);
+
+    /**
+     * Devolve o médico arquivado à tabela "medicos", ainda inativo. A data de inativação passa a ser
+     * a da restauração, para o registro não voltar ao arquivo no próximo ciclo.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into medicos (id, nome, email, crm, especialidade, logradouro, bairro, cep, complemento,
+                numero, uf, cidade, telefone, ativo, crm_normalizado, email_normalizado, versao, inativado_em)
+            select id, nome, email, crm, especialidade, logradouro, bairro, cep, complemento,
+                numero, uf, cidade, telefone, ativo, crm_normalizado, email_normalizado, versao, :agora
+            from medicos_arquivo
+            where id = :id
+            """)
+    int copiarParaTabelaPrincipal(Long id, LocalDateTime agora);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from medicos_arquivo where id = :id")
+    int remover(Long id);
+}
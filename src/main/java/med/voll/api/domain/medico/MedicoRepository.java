@@ -1,8 +1,17 @@
 package med.voll.api.domain.medico;
 
+import med.voll.api.domain.estatistica.ContagemMedicos;
+import med.voll.api.infra.plano.OrdenacaoPadrao;
+import med.voll.api.infra.plano.VarreduraEsperada;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório para a entidade Medico.
@@ -28,5 +37,107 @@ public interface MedicoRepository extends JpaRepository<Medico, Long> {
      *
      * O Spring Data interpreta esse nome de método e gera automaticamente a query correspondente.
      */
+    @OrdenacaoPadrao("nome")     // @PageableDefault do controller
     Page<Medico> findAllByAtivoTrue(Pageable paginacao);
+
+    /**
+     * Médicos ativos de uma especialidade, na ordem por nome (índice (especialidade, ativo, nome)).
+     */
+    @OrdenacaoPadrao("nome")     // @PageableDefault do controller
+    Page<Medico> findAllByAtivoTrueAndEspecialidade(Especialidade especialidade, Pageable paginacao);
+
+    /**
+     * Retorna apenas a flag "ativo" do médico (null se o ID não existir),
+     * sem carregar a entidade inteira.
+     */
+    @Query("select m.ativo from Medico m where m.id = :id")
+    Boolean findAtivoById(Long id);
+
+    /**
+     * IDs de todos os médicos ativos com a respectiva especialidade
+     * (carga inicial do AlocadorDeMedicos).
+     */
+    @VarreduraEsperada("carga completa do AlocadorDeMedicos")
+    @Query("select new med.voll.api.domain.medico.IdPorEspecialidade(m.id, m.especialidade) from Medico m where m.ativo = true")
+    List<IdPorEspecialidade> findIdsAtivosPorEspecialidade();
+
+    /**
+     * Médicos ativos da especialidade sem consulta ativa no horário, em ordem de ID.
+     * Usa os índices (especialidade, ativo) em medicos e (medico_id, horario_ativo) em consultas.
+     */
+    @Query("""
+            select m.id from Medico m
+            where m.ativo = true
+            and m.especialidade = :especialidade
+            and not exists (
+                select c.id from Consulta c
+                where c.medico = m
+                and c.horarioAtivo = :data
+            )
+            order by m.id
+            """)
+    List<Long> findIdsLivresNaData(Especialidade especialidade, LocalDateTime data, Pageable paginacao);
+
+    /**
+     * Todos os CRMs e e-mails cadastrados, já normalizados (carga do VerificadorDeUnicidade).
+     * Registros antigos ainda sem a coluna preenchida (ver PreenchimentoDeChavesNormalizadas) ficam de fora.
+     */
+    @VarreduraEsperada("carga completa do VerificadorDeUnicidade")
+    @Query("select m.crmNormalizado from Medico m where m.crmNormalizado is not null")
+    List<String> findCrms();
+
+    @VarreduraEsperada("carga completa do VerificadorDeUnicidade")
+    @Query("select m.emailNormalizado from Medico m where m.emailNormalizado is not null")
+    List<String> findEmails();
+
+    boolean existsByCrmNormalizado(String crm);
+
+    boolean existsByEmailNormalizado(String email);
+
+    /**
+     * Busca exata pelas colunas normalizadas (índices únicos).
+     * A chave deve vir normalizada (ver Normalizacao).
+     */
+    Optional<Medico> findByCrmNormalizado(String crm);
+
+    Optional<Medico> findByEmailNormalizado(String email);
+
+    /**
+     * Médicos ativos por especialidade e UF (semente e reconciliação do ContadoresDeCadastro).
+     */
+    @VarreduraEsperada("reconciliação periódica do ContadoresDeCadastro")
+    @Query("""
+            select new med.voll.api.domain.estatistica.ContagemMedicos(m.especialidade, m.endereco.uf, count(m))
+            from Medico m
+            where m.ativo = true
+            group by m.especialidade, m.endereco.uf
+            """)
+    List<ContagemMedicos> contarAtivosPorEspecialidadeEUf();
+
+    /**
+     * Próximo lote de médicos inativos desde antes do limite, em ordem de ID a partir do cursor
+     * (percorre o índice (ativo, id)). Ficam de fora os que têm consultas: a chave estrangeira
+     * de "consultas" impede removê-los da tabela.
+     */
+    @Query(nativeQuery = true, value = """
+            select m.id from medicos m
+            where m.ativo = 0
+            and m.id > :depoisDe
+            and m.inativado_em < :limite
+            and not exists (select 1 from consultas c where c.medico_id = m.id)
+            order by m.id
+            limit :lote
+            """)
+    List<Long> findIdsArquivaveis(long depoisDe, LocalDateTime limite, int lote);
+
+    /**
+     * Trava as linhas do lote que continuam inativas; uma edição concorrente espera o arquivamento
+     * terminar e então falha pelo lock otimista.
+     */
+    @Query(nativeQuery = true, value = "select id from medicos where id in (:ids) and ativo = 0 for update")
+    List<Long> travarInativos(List<Long> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from medicos where id in (:ids)")
+    int removerArquivados(List<Long> ids);
 }
@@ -0,0 +1,26 @@
+package med.voll.api.domain.medico;
+
+/**
+ * Fotografia dos atributos de um médico usados por índices, contadores e caches
+ * mantidos em memória (não inclui dados que esses componentes não precisam).
+ *
+ * @param id            Identificador do médico
+ * @param versao        Versão do registro (coluna versao)
+ * @param crm           CRM do médico
+ * @param email         E-mail do médico
+ * @param especialidade Especialidade do médico
+ * @param uf            UF do endereço
+ * @param cidade        Cidade do endereço
+ * @param ativo         Se o médico está ativo
+ */
+public record SituacaoMedico(
+        Long id,
+        long versao,
+        String crm,
+        String email,
+        Especialidade especialidade,
+        String uf,
+        String cidade,
+        boolean ativo
+) {
+}
@@ -0,0 +1,67 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.domain.Normalizacao;
+import med.voll.api.infra.cache.CacheLru;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca exata de pacientes por CPF ou e-mail, pelas colunas normalizadas,
+ * com um cache LRU pequeno na frente para as chaves mais consultadas.
+ *
+ * As entradas são descartadas depois do commit de qualquer alteração do paciente (PacienteAlterado).
+ */
+@Component
+public class BuscaDePacientes {
+
+    private final CacheLru<String, DadosDetalhamentoPaciente> porCpf;
+    private final CacheLru<String, DadosDetalhamentoPaciente> porEmail;
+
+    @Autowired
+    private PacienteRepository repository;
+
+    public BuscaDePacientes(
+            @Value("${api.cache.chaves.capacidade:10000}") int capacidade,
+            @Value("${api.cache.chaves.validade-s:60}") long validadeSegundos
+    ) {
+        this.porCpf = new CacheLru<>(capacidade, TimeUnit.SECONDS.toNanos(validadeSegundos));
+        this.porEmail = new CacheLru<>(capacidade, TimeUnit.SECONDS.toNanos(validadeSegundos));
+    }
+
+    /**
+     * @throws EntityNotFoundException se não houver paciente com o CPF (HTTP 404)
+     */
+    public DadosDetalhamentoPaciente porCpf(String cpf) {
+        return encontrado(porCpf.buscarOuCarregar(Normalizacao.somenteDigitos(cpf),
+                chave -> repository.findByCpfNormalizado(chave).map(DadosDetalhamentoPaciente::new).orElse(null)));
+    }
+
+    /**
+     * @throws EntityNotFoundException se não houver paciente com o e-mail (HTTP 404)
+     */
+    public DadosDetalhamentoPaciente porEmail(String email) {
+        return encontrado(porEmail.buscarOuCarregar(Normalizacao.email(email),
+                chave -> repository.findByEmailNormalizado(chave).map(DadosDetalhamentoPaciente::new).orElse(null)));
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarPaciente(PacienteAlterado evento) {
+        var anterior = evento.anterior();
+        if (anterior != null) {
+            porCpf.remover(Normalizacao.somenteDigitos(anterior.cpf()));
+            porEmail.remover(Normalizacao.email(anterior.email()));
+        }
+    }
+
+    private static DadosDetalhamentoPaciente encontrado(DadosDetalhamentoPaciente dados) {
+        if (dados == null) {
+            throw new EntityNotFoundException();
+        }
+        return dados;
+    }
+}
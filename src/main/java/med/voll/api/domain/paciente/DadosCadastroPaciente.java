@@ -4,8 +4,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.validacao.Cpf;
 
 /**
  * DTO (Data Transfer Object) usado para receber os dados de cadastro de um paciente
@@ -15,7 +15,7 @@ import med.voll.api.domain.endereco.DadosEndereco;
  * @param nome     Nome completo do paciente; não pode ser vazio ou apenas espaços
  * @param email    E-mail de contato válido; não pode ser vazio e deve respeitar formato padrão
  * @param telefone Telefone de contato; não pode ser vazio
- * @param cpf      CPF no formato “000.000.000-00”; não pode ser vazio
+ * @param cpf      CPF no formato “000.000.000-00”, com dígitos verificadores válidos; não pode ser vazio
  * @param endereco Objeto com dados de endereço; não pode ser nulo e seus campos também são validados
  */
 public record DadosCadastroPaciente(
@@ -31,10 +31,7 @@ public record DadosCadastroPaciente(
         String telefone,
 
         @NotBlank(message = "O CPF é obrigatório")                 // Garante que cpf não seja null nem vazio
-        @Pattern(
-                regexp = "\\d{3}\\.\\d{3}\\.\\d{3}\\-\\d{2}",          // Define máscara “000.000.000-00”
-                message = "CPF deve estar no formato 000.000.000-00"
-        )
+        @Cpf(message = "CPF deve estar no formato 000.000.000-00 e ter dígitos verificadores válidos")
         String cpf,
 
         @NotNull(message = "O endereço é obrigatório")             // Garante que objeto endereco não seja null
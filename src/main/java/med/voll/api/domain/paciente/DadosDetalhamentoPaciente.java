@@ -0,0 +1,41 @@
+package med.voll.api.domain.paciente;
+
+import med.voll.api.domain.endereco.Endereco;
+
+/**
+ * DTO (Data Transfer Object) usado para enviar ao cliente os detalhes completos de um paciente.
+ *
+ * Componentes do record:
+ *
+ * @param id       Identificador único do paciente
+ * @param nome     Nome completo do paciente
+ * @param email    E-mail de contato do paciente
+ * @param telefone Telefone de contato do paciente
+ * @param cpf      CPF do paciente
+ * @param endereco Objeto Endereco com dados completos de localização
+ */
+public record DadosDetalhamentoPaciente(
+        Long id,
+        String nome,
+        String email,
+        String telefone,
+        String cpf,
+        Endereco endereco
+) {
+
+    /**
+     * Construtor auxiliar que converte uma entidade Paciente em um DTO.
+     *
+     * @param paciente entidade Paciente carregada do banco
+     */
+    public DadosDetalhamentoPaciente(Paciente paciente) {
+        this(
+                paciente.getId(),
+                paciente.getNome(),
+                paciente.getEmail(),
+                paciente.getTelefone(),
+                paciente.getCpf(),
+                paciente.getEndereco()
+        );
+    }
+}
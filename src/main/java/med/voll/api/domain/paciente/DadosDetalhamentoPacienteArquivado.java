@@ -0,0 +1,28 @@
+package med.voll.api.domain.paciente;
+
+import med.voll.api.domain.endereco.Endereco;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com os dados de um paciente arquivado (consulta administrativa do arquivo).
+ *
+ * @param inativadoEm quando o paciente foi excluído logicamente
+ * @param arquivadoEm quando foi movido para o arquivo
+ */
+public record DadosDetalhamentoPacienteArquivado(
+        Long id,
+        String nome,
+        String email,
+        String telefone,
+        String cpf,
+        Endereco endereco,
+        LocalDateTime inativadoEm,
+        LocalDateTime arquivadoEm
+) {
+
+    public DadosDetalhamentoPacienteArquivado(PacienteArquivado paciente) {
+        this(paciente.getId(), paciente.getNome(), paciente.getEmail(), paciente.getTelefone(), paciente.getCpf(),
+                paciente.getEndereco(), paciente.getInativadoEm(), paciente.getArquivadoEm());
+    }
+}
@@ -5,8 +5,14 @@ import lombok.AllArgsConstructor;      // Lombok gera construtor com todos os ca
 import lombok.EqualsAndHashCode;       // Lombok gera equals() e hashCode() baseado em campos
 import lombok.Getter;                  // Lombok gera getters para todos os campos
 import lombok.NoArgsConstructor;       // Lombok gera construtor sem argumentos
+import med.voll.api.domain.CampoAlterado;      // Campos alterados, para a trilha de auditoria
+import med.voll.api.domain.Normalizacao;       // Normaliza CPF e e-mail para as colunas de busca
 import med.voll.api.domain.endereco.Endereco;  // Classe embutida que representa endereço do paciente
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Entidade JPA que representa um paciente no sistema.
  * Cada instância é armazenada na tabela "pacientes" do banco de dados.
@@ -28,11 +34,19 @@ public class Paciente {
     private String telefone;           // Número de telefone de contato
     private String cpf;                // CPF (Cadastro de Pessoa Física), documento único no Brasil
 
+    private String cpfNormalizado;     // CPF só com dígitos, para busca exata indexada
+    private String emailNormalizado;   // E-mail em minúsculas, para busca exata indexada
+
     @Embedded                          // Indica que os campos de Endereco são mapeados na mesma tabela
     private Endereco endereco;         // Objeto que encapsula rua, bairro, cidade, etc.
 
     private Boolean ativo;             // Flag indicando se o paciente está ativo (true) ou "excluído" logicamente (false)
 
+    private LocalDateTime inativadoEm; // Momento da exclusão lógica; base para o arquivamento (ArquivamentoDeInativos)
+
+    @Version                           // Incrementada pelo Hibernate a cada UPDATE (lock otimista)
+    private Long versao;               // Versão do registro, enviada no feed de alterações
+
     /**
      * Construtor que recebe DTO de cadastro de paciente e inicializa a entidade.
      * - Seta 'ativo' como true por padrão
@@ -47,6 +61,8 @@ public class Paciente {
         this.email = dados.email();
         this.telefone = dados.telefone();
         this.cpf = dados.cpf();
+        this.cpfNormalizado = Normalizacao.somenteDigitos(dados.cpf());
+        this.emailNormalizado = Normalizacao.email(dados.email());
         this.endereco = new Endereco(dados.endereco());
     }
 
@@ -57,25 +73,46 @@ public class Paciente {
      * - Se endereço for informado, delega a atualização ao objeto Endereco
      *
      * @param dados DTO que contém apenas os campos que devem ser alterados
+     * @return campos que mudaram de valor, para a trilha de auditoria
      */
-    public void atualizarInformacoes(DadosAtualizacaoPaciente dados) {
+    public List<CampoAlterado> atualizarInformacoes(DadosAtualizacaoPaciente dados) {
+        var alteracoes = new ArrayList<CampoAlterado>();
         if (dados.nome() != null) {
+            CampoAlterado.registrar(alteracoes, "nome", this.nome, dados.nome());
             this.nome = dados.nome();
         }
         if (dados.telefone() != null) {
+            CampoAlterado.registrar(alteracoes, "telefone", this.telefone, dados.telefone());
             this.telefone = dados.telefone();
         }
         if (dados.endereco() != null) {
             // Atualiza campos internos do Endereco (rua, cidade, etc.)
-            this.endereco.atualizarInformacoes(dados.endereco());
+            alteracoes.addAll(this.endereco.atualizarInformacoes(dados.endereco()));
         }
+        return alteracoes;
     }
 
     /**
      * "Exclusão" lógica: marca o paciente como inativo
      * sem remover o registro fisicamente do banco.
+     *
+     * @return a mudança de "ativo", para a trilha de auditoria (vazia se já estava inativo)
      */
-    public void excluir() {
+    public List<CampoAlterado> excluir() {
+        var alteracoes = new ArrayList<CampoAlterado>();
+        if (!Boolean.FALSE.equals(this.ativo)) {
+            this.inativadoEm = LocalDateTime.now();  // Mantém a data original se já estava inativo
+        }
+        CampoAlterado.registrar(alteracoes, "ativo", this.ativo, false);
         this.ativo = false;
+        return alteracoes;
+    }
+
+    /**
+     * Fotografia dos atributos usados pelos índices e caches em memória (ver PacienteAlterado).
+     */
+    public SituacaoPaciente situacao() {
+        return new SituacaoPaciente(id, versao == null ? 0 : versao, cpf, email,
+                endereco.getUf(), endereco.getCidade(), Boolean.TRUE.equals(ativo));
     }
 }
@@ -0,0 +1,36 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import med.voll.api.domain.endereco.Endereco;
+
+import java.time.LocalDateTime;
+
+/**
+ * Paciente inativo movido para a tabela "pacientes_arquivo" pelo ArquivamentoDeInativos.
+ * Somente leitura: a gravação e a restauração são feitas por SQL nativo em lote.
+ */
+@Table(name = "pacientes_arquivo")
+@Entity(name = "PacienteArquivado")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class PacienteArquivado {
+
+    @Id
+    private Long id;                         // Mesmo ID que o paciente tinha na tabela "pacientes"
+
+    private String nome;
+    private String email;
+    private String telefone;
+    private String cpf;
+    private String cpfNormalizado;
+
+    @Embedded
+    private Endereco endereco;
+
+    private LocalDateTime inativadoEm;       // Quando o paciente foi excluído logicamente
+    private LocalDateTime arquivadoEm;       // Quando saiu da tabela "pacientes"
+}
@@ -0,0 +1,52 @@
+package med.voll.api.domain.paciente;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório da tabela "pacientes_arquivo".
+ *
+ * As cópias entre "pacientes" e "pacientes_arquivo" são INSERT ... SELECT nativos:
+ * o lote inteiro vai num único comando, sem carregar as entidades.
+ */
+public interface PacienteArquivadoRepository extends JpaRepository<PacienteArquivado, Long> {
+
+    List<PacienteArquivado> findAllByCpfNormalizado(String cpf);
+
+    /**
+     * Copia para o arquivo os pacientes informados (já travados com PacienteRepository.travarInativos).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into pacientes_arquivo (id, nome, email, cpf, logradouro, bairro, cep, cidade, uf, complemento,
+                numero, telefone, ativo, cpf_normalizado, email_normalizado, versao, inativado_em, arquivado_em)
+            select id, nome, email, cpf, logradouro, bairro, cep, cidade, uf, complemento,
+                numero, telefone, ativo, cpf_normalizado, email_normalizado, versao, inativado_em, :agora
+            from pacientes
+            where id in (:ids)
+            """)
+    int copiarDaTabelaPrincipal(List<Long> ids, LocalDateTime agora);
+
+    /**
+     * Devolve o paciente arquivado à tabela "pacientes", ainda inativo. A data de inativação passa a ser
+     * a da restauração, para o registro não voltar ao arquivo no próximo ciclo.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into pacientes (id, nome, email, cpf, logradouro, bairro, cep, cidade, uf, complemento,
+                numero, telefone, ativo, cpf_normalizado, email_normalizado, versao, inativado_em)
+            select id, nome, email, cpf, logradouro, bairro, cep, cidade, uf, complemento,
+                numero, telefone, ativo, cpf_normalizado, email_normalizado, versao, :agora
+            from pacientes_arquivo
+            where id = :id
+            """)
+    int copiarParaTabelaPrincipal(Long id, LocalDateTime agora);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from pacientes_arquivo where id = :id")
+    int remover(Long id);
+}
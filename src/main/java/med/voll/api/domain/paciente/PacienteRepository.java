@@ -1,8 +1,17 @@
 package med.voll.api.domain.paciente;
 
+import med.voll.api.domain.estatistica.ContagemPacientes;
+import med.voll.api.infra.plano.OrdenacaoPadrao;
+import med.voll.api.infra.plano.VarreduraEsperada;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório para a entidade Paciente.
@@ -28,5 +37,76 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      *
      * O Spring Data JPA interpreta o nome do método e gera a query correspondente automaticamente.
      */
+    @OrdenacaoPadrao("nome")     // @PageableDefault do controller
     Page<Paciente> findAllByAtivoTrue(Pageable paginacao);
+
+    /**
+     * Retorna apenas a flag "ativo" do paciente (null se o ID não existir),
+     * sem carregar a entidade inteira.
+     */
+    @Query("select p.ativo from Paciente p where p.id = :id")
+    Boolean findAtivoById(Long id);
+
+    /**
+     * Todos os CPFs e e-mails cadastrados, já normalizados (carga do VerificadorDeUnicidade).
+     * Registros antigos ainda sem a coluna preenchida (ver PreenchimentoDeChavesNormalizadas) ficam de fora.
+     */
+    @VarreduraEsperada("carga completa do VerificadorDeUnicidade")
+    @Query("select p.cpfNormalizado from Paciente p where p.cpfNormalizado is not null")
+    List<String> findCpfs();
+
+    @VarreduraEsperada("carga completa do VerificadorDeUnicidade")
+    @Query("select p.emailNormalizado from Paciente p where p.emailNormalizado is not null")
+    List<String> findEmails();
+
+    boolean existsByCpfNormalizado(String cpf);
+
+    boolean existsByEmailNormalizado(String email);
+
+    /**
+     * Busca exata pelas colunas normalizadas (índices únicos).
+     * A chave deve vir normalizada (ver Normalizacao).
+     */
+    Optional<Paciente> findByCpfNormalizado(String cpf);
+
+    Optional<Paciente> findByEmailNormalizado(String email);
+
+    /**
+     * Pacientes ativos por cidade (semente e reconciliação do ContadoresDeCadastro).
+     */
+    @VarreduraEsperada("reconciliação periódica do ContadoresDeCadastro")
+    @Query("""
+            select new med.voll.api.domain.estatistica.ContagemPacientes(p.endereco.uf, p.endereco.cidade, count(p))
+            from Paciente p
+            where p.ativo = true
+            group by p.endereco.uf, p.endereco.cidade
+            """)
+    List<ContagemPacientes> contarAtivosPorCidade();
+
+    /**
+     * Próximo lote de pacientes inativos desde antes do limite, em ordem de ID a partir do cursor
+     * (percorre o índice (ativo, id)). Ficam de fora os que têm consultas: a chave estrangeira
+     * de "consultas" impede removê-los da tabela.
+     */
+    @Query(nativeQuery = true, value = """
+            select p.id from pacientes p
+            where p.ativo = 0
+            and p.id > :depoisDe
+            and p.inativado_em < :limite
+            and not exists (select 1 from consultas c where c.paciente_id = p.id)
+            order by p.id
+            limit :lote
+            """)
+    List<Long> findIdsArquivaveis(long depoisDe, LocalDateTime limite, int lote);
+
+    /**
+     * Trava as linhas do lote que continuam inativas; uma edição concorrente espera o arquivamento
+     * terminar e então falha pelo lock otimista.
+     */
+    @Query(nativeQuery = true, value = "select id from pacientes where id in (:ids) and ativo = 0 for update")
+    List<Long> travarInativos(List<Long> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from pacientes where id in (:ids)")
+    int removerArquivados(List<Long> ids);
 }
@@ -0,0 +1,24 @@
+package med.voll.api.domain.paciente;
+
+/**
+ * Fotografia dos atributos de um paciente usados por índices, contadores e caches
+ * mantidos em memória (não inclui dados que esses componentes não precisam).
+ *
+ * @param id     Identificador do paciente
+ * @param versao Versão do registro (coluna versao)
+ * @param cpf    CPF do paciente
+ * @param email  E-mail do paciente
+ * @param uf     UF do endereço
+ * @param cidade Cidade do endereço
+ * @param ativo  Se o paciente está ativo
+ */
+public record SituacaoPaciente(
+        Long id,
+        long versao,
+        String cpf,
+        String email,
+        String uf,
+        String cidade,
+        boolean ativo
+) {
+}
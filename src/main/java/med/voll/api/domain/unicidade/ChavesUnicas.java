@@ -0,0 +1,74 @@
+package med.voll.api.domain.unicidade;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um espaço de chaves únicas (por exemplo, todos os CRMs).
+ *
+ * - As chaves já gravadas no banco ficam num FiltroDeBloom, que cabe em poucos bytes por
+ *   chave e responde "com certeza não existe" sem ir ao banco. As gravadas por esta instância
+ *   entram no filtro depois do commit.
+ * - As chaves em gravação por esta instância ficam num conjunto exato; incluir nele é a
+ *   reserva atômica que barra dois cadastros simultâneos com a mesma chave. A chave sai do
+ *   conjunto no commit (já estando no filtro) ou no rollback, então ele só guarda as
+ *   transações em andamento.
+ */
+class ChavesUnicas {
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+
+    private final Set<String> emGravacao = ConcurrentHashMap.newKeySet();
+    private final Set<String> confirmadasAntesDaCarga = ConcurrentHashMap.newKeySet();
+    private volatile FiltroDeBloom persistidas;   // null até a carga inicial terminar
+
+    /**
+     * @return false se a chave está sendo gravada por esta instância
+     */
+    boolean reservar(String chave) {
+        return emGravacao.add(chave);
+    }
+
+    /**
+     * Desfaz a reserva sem gravar a chave (rollback ou chave já existente no banco).
+     */
+    void liberar(String chave) {
+        emGravacao.remove(chave);
+    }
+
+    /**
+     * A transação que gravou a chave confirmou: a chave passa para o filtro e sai da reserva.
+     */
+    void confirmar(String chave) {
+        var filtro = persistidas;
+        if (filtro != null) {
+            filtro.adicionar(chave);
+        } else {
+            // A carga pode não ter visto o commit; carregar() ou a releitura abaixo a incluem
+            confirmadasAntesDaCarga.add(chave);
+            filtro = persistidas;
+            if (filtro != null) {
+                filtro.adicionar(chave);
+            }
+        }
+        emGravacao.remove(chave);
+    }
+
+    /**
+     * Indica se a chave pode já estar no banco e precisa ser confirmada com uma consulta.
+     * Antes da carga inicial a resposta é sempre "talvez".
+     */
+    boolean talvezPersistida(String chave) {
+        var filtro = persistidas;
+        return filtro == null || filtro.talvezContenha(chave);
+    }
+
+    void carregar(Collection<String> chaves, long capacidadeMinima) {
+        var filtro = new FiltroDeBloom(Math.max(capacidadeMinima, 2L * chaves.size()), TAXA_FALSO_POSITIVO);
+        chaves.forEach(filtro::adicionar);
+        persistidas = filtro;
+        confirmadasAntesDaCarga.forEach(filtro::adicionar);
+        confirmadasAntesDaCarga.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package med.voll.api.domain.unicidade;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para Strings, seguro para uso concorrente sem locks.
+ *
+ * Responde "com certeza não existe" ou "talvez exista": não há falsos negativos, e a taxa
+ * de falsos positivos fica próxima da configurada enquanto o número de chaves não passa
+ * da capacidade. Ocupa cerca de 10 bits por chave para 1% de falsos positivos.
+ */
+public class FiltroDeBloom {
+
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private final int funcoes;
+
+    /**
+     * @param capacidade         quantidade de chaves esperada
+     * @param taxaFalsoPositivo  taxa de falsos positivos desejada nessa capacidade (ex.: 0.01)
+     */
+    public FiltroDeBloom(long capacidade, double taxaFalsoPositivo) {
+        var capacidadeValida = Math.max(1, capacidade);
+        var bits = (long) Math.ceil(-capacidadeValida * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        var quantidadePalavras = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) >>> 6));
+        this.palavras = new AtomicLongArray(quantidadePalavras);
+        this.totalBits = (long) quantidadePalavras << 6;
+        this.funcoes = Math.max(1, (int) Math.round((double) totalBits / capacidadeValida * Math.log(2)));
+    }
+
+    public void adicionar(String chave) {
+        var h1 = hash(chave);
+        var h2 = misturar(h1) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            var bit = Math.floorMod(h1 + i * h2, totalBits);
+            var indice = (int) (bit >>> 6);
+            var mascara = 1L << bit;
+            if ((palavras.get(indice) & mascara) == 0) {
+                palavras.getAndAccumulate(indice, mascara, (atual, m) -> atual | m);
+            }
+        }
+    }
+
+    public boolean talvezContenha(String chave) {
+        var h1 = hash(chave);
+        var h2 = misturar(h1) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            var bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os caracteres, seguido de uma mistura final
+     * (String.hashCode tem só 32 bits e distribui mal chaves parecidas).
+     */
+    private static long hash(String chave) {
+        var h = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            h ^= chave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,118 @@
+package med.voll.api.domain.unicidade;
+
+import med.voll.api.domain.ConflitoException;
+import med.voll.api.domain.Normalizacao;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Predicate;
+
+/**
+ * Pré-verificação em memória das chaves únicas de cadastro: CRM e e-mail de médicos,
+ * CPF e e-mail de pacientes.
+ *
+ * Um cadastro duplicado é rejeitado com ConflitoException (HTTP 409) antes do INSERT,
+ * em vez de chegar às constraints unique do banco e desfazer a transação:
+ * - chave em gravação por outra requisição desta instância: rejeitada direto pelo conjunto
+ *   exato, sem ir ao banco;
+ * - chave que o filtro de Bloom diz "talvez já existir": confirmada com um exists na coluna normalizada;
+ * - chave que o filtro diz "não existe" (o caso comum): segue sem nenhuma consulta extra.
+ *   Ela só entra no filtro depois do commit.
+ *
+ * As constraints unique continuam valendo para o que escapar (por exemplo, cadastros
+ * feitos em outra instância), e o TratadorDeErros também as converte em 409.
+ */
+@Component
+public class VerificadorDeUnicidade {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorDeUnicidade.class);
+
+    private final ChavesUnicas crms = new ChavesUnicas();
+    private final ChavesUnicas emailsMedicos = new ChavesUnicas();
+    private final ChavesUnicas cpfs = new ChavesUnicas();
+    private final ChavesUnicas emailsPacientes = new ChavesUnicas();
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Value("${api.unicidade.capacidade-esperada:1000000}")
+    private long capacidadeEsperada;
+
+    /**
+     * Carrega as chaves existentes nos filtros de Bloom quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        var inicio = System.nanoTime();
+        crms.carregar(medicoRepository.findCrms(), capacidadeEsperada);
+        emailsMedicos.carregar(medicoRepository.findEmails(), capacidadeEsperada);
+        cpfs.carregar(pacienteRepository.findCpfs(), capacidadeEsperada);
+        emailsPacientes.carregar(pacienteRepository.findEmails(), capacidadeEsperada);
+        log.info("Filtros de unicidade carregados em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Reserva CRM e e-mail de um novo médico na transação atual.
+     * As reservas são desfeitas se a transação não confirmar.
+     */
+    public void reservarMedico(String crm, String email) {
+        reservar(crms, Normalizacao.somenteDigitos(crm), medicoRepository::existsByCrmNormalizado,
+                "Já existe um médico cadastrado com esse CRM");
+        reservar(emailsMedicos, Normalizacao.email(email), medicoRepository::existsByEmailNormalizado,
+                "Já existe um médico cadastrado com esse e-mail");
+    }
+
+    /**
+     * Reserva CPF e e-mail de um novo paciente na transação atual.
+     * As reservas são desfeitas se a transação não confirmar.
+     */
+    public void reservarPaciente(String cpf, String email) {
+        reservar(cpfs, Normalizacao.somenteDigitos(cpf), pacienteRepository::existsByCpfNormalizado,
+                "Já existe um paciente cadastrado com esse CPF");
+        reservar(emailsPacientes, Normalizacao.email(email), pacienteRepository::existsByEmailNormalizado,
+                "Já existe um paciente cadastrado com esse e-mail");
+    }
+
+    private void reservar(ChavesUnicas chaves, String chave, Predicate<String> existeNoBanco, String mensagem) {
+        if (!chaves.reservar(chave)) {
+            throw new ConflitoException(mensagem);
+        }
+
+        boolean existe;
+        try {
+            existe = chaves.talvezPersistida(chave) && existeNoBanco.test(chave);
+        } catch (RuntimeException e) {
+            chaves.liberar(chave);
+            throw e;
+        }
+        if (existe) {
+            // Não fica reservada: se o registro for arquivado, a chave volta a valer
+            chaves.liberar(chave);
+            throw new ConflitoException(mensagem);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    chaves.confirmar(chave);
+                } else {
+                    chaves.liberar(chave);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,27 @@
+package med.voll.api.domain.validacao;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida CPF no formato "000.000.000-00" e com dígitos verificadores válidos (ver Documentos).
+ * Valores null são aceitos; combine com @NotBlank quando o campo for obrigatório.
+ */
+@Documented
+@Constraint(validatedBy = ValidadorCpf.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cpf {
+
+    String message() default "CPF inválido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
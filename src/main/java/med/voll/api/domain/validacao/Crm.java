@@ -0,0 +1,27 @@
+package med.voll.api.domain.validacao;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida CRM com 4 a 6 dígitos (ver Documentos).
+ * Valores null são aceitos; combine com @NotBlank quando o campo for obrigatório.
+ */
+@Documented
+@Constraint(validatedBy = ValidadorCrm.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Crm {
+
+    String message() default "CRM inválido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,104 @@
+package med.voll.api.domain.validacao;
+
+/**
+ * Verificação de formato de CPF, CRM e CEP escrita à mão: uma passada pelos caracteres,
+ * sem regex e sem alocar objetos. Usada pelas anotações @Cpf, @Crm e @Cep e também
+ * diretamente por rotinas em lote (importação, geração de dados...).
+ */
+public final class Documentos {
+
+    private Documentos() {
+    }
+
+    /**
+     * CPF no formato "000.000.000-00" com dígitos verificadores corretos.
+     * CPFs com todos os dígitos iguais (ex.: 111.111.111-11) são rejeitados.
+     */
+    public static boolean cpfValido(CharSequence cpf) {
+        if (cpf == null || cpf.length() != 14) {
+            return false;
+        }
+        var soma1 = 0;                 // Pesos 10..2 sobre os 9 primeiros dígitos
+        var soma2 = 0;                 // Pesos 11..3 sobre os 9 primeiros dígitos (+ 2 x primeiro DV)
+        var verificador1 = 0;
+        var verificador2 = 0;
+        var primeiro = cpf.charAt(0);
+        var todosIguais = true;
+        var digito = 0;
+        for (int i = 0; i < 14; i++) {
+            var c = cpf.charAt(i);
+            if (i == 3 || i == 7) {
+                if (c != '.') {
+                    return false;
+                }
+                continue;
+            }
+            if (i == 11) {
+                if (c != '-') {
+                    return false;
+                }
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            todosIguais &= c == primeiro;
+            var valor = c - '0';
+            if (digito < 9) {
+                soma1 += valor * (10 - digito);
+                soma2 += valor * (11 - digito);
+            } else if (digito == 9) {
+                verificador1 = valor;
+            } else {
+                verificador2 = valor;
+            }
+            digito++;
+        }
+        var esperado1 = digitoVerificador(soma1);
+        var esperado2 = digitoVerificador(soma2 + esperado1 * 2);
+        return !todosIguais && verificador1 == esperado1 && verificador2 == esperado2;
+    }
+
+    /**
+     * CRM com 4 a 6 dígitos.
+     */
+    public static boolean crmValido(CharSequence crm) {
+        return crm != null && crm.length() >= 4 && crm.length() <= 6 && somenteDigitos(crm);
+    }
+
+    /**
+     * CEP com exatamente 8 dígitos, sem hífen.
+     */
+    public static boolean cepValido(CharSequence cep) {
+        return cep != null && cep.length() == 8 && somenteDigitos(cep);
+    }
+
+    /**
+     * CEP com 8 dígitos, com ou sem o hífen depois do quinto ("01001-000" ou "01001000").
+     * Formato aceito nas buscas do diretório de CEPs.
+     */
+    public static boolean cepComOuSemHifen(CharSequence cep) {
+        if (cep == null) {
+            return false;
+        }
+        if (cep.length() == 9) {
+            return cep.charAt(5) == '-' && somenteDigitos(cep.subSequence(0, 5)) && somenteDigitos(cep.subSequence(6, 9));
+        }
+        return cepValido(cep);
+    }
+
+    private static boolean somenteDigitos(CharSequence valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            var c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digitoVerificador(int soma) {
+        var resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
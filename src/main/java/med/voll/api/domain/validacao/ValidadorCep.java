@@ -0,0 +1,15 @@
+package med.voll.api.domain.validacao;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador da anotação @Cep.
+ */
+public class ValidadorCep implements ConstraintValidator<Cep, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || Documentos.cepValido(valor);
+    }
+}
@@ -0,0 +1,15 @@
+package med.voll.api.domain.validacao;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador da anotação @Crm.
+ */
+public class ValidadorCrm implements ConstraintValidator<Crm, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || Documentos.crmValido(valor);
+    }
+}
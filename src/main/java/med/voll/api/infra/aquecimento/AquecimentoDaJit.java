@@ -0,0 +1,243 @@
+package med.voll.api.infra.aquecimento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.infra.security.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Aquecimento da JIT antes de a instância ser declarada pronta (api.aquecimento.enabled=true).
+ *
+ * Roda como ApplicationRunner: o Tomcat já está ouvindo (liveness ok), mas o Spring Boot só
+ * publica ReadinessState.ACCEPTING_TRAFFIC — e /actuator/health/readiness só responde UP —
+ * depois que ele termina. Enquanto isso, api.aquecimento.threads threads disparam requisições
+ * sintéticas por HTTP na própria porta, passando por filtros, Spring Security, controllers,
+ * Bean Validation, Jackson e JPA:
+ * - listagem, detalhe e busca por CRM de médicos; listagem e busca por CPF de pacientes,
+ *   com IDs e chaves reais lidos do banco (só leitura);
+ * - cadastros com corpo inválido (validação e resposta de erro, sem gravar nada);
+ * - POST /login com um usuário inexistente (autenticação e BCrypt, sem emitir token);
+ * - emissão e verificação de JWT direto no TokenService, com um usuário sintético.
+ *
+ * Termina após api.aquecimento.requisicoes requisições ou api.aquecimento.duracao-maxima-s.
+ * Métricas (Micrometer, em /actuator/metrics): api.aquecimento.duracao, api.aquecimento.requisicoes,
+ * api.aquecimento.compilacao (tempo de JIT gasto durante o aquecimento) e
+ * api.aquecimento.latencia.inicial / .final (média das primeiras e das últimas requisições,
+ * por cenário), que mostram o efeito.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "api.aquecimento.enabled", havingValue = "true")
+public class AquecimentoDaJit implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoDaJit.class);
+
+    private static final String CADASTRO_INVALIDO = "{\"nome\":\"\",\"email\":\"invalido\"}";
+    private static final String LOGIN_INEXISTENTE = "{\"login\":\"aquecimento@voll.med\",\"senha\":\"aquecimento\"}";
+
+    /**
+     * Um tipo de requisição sintética e as latências médias no começo e no fim do aquecimento.
+     */
+    private static final class Cenario {
+        private final String nome;
+        private final IntFunction<HttpRequest> requisicao;
+        private double inicialMs;
+        private double finalMs;
+
+        Cenario(String nome, IntFunction<HttpRequest> requisicao) {
+            this.nome = nome;
+            this.requisicao = requisicao;
+        }
+    }
+
+    @Autowired
+    private WebServerApplicationContext contexto;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private MeterRegistry metricas;
+
+    @Value("${api.aquecimento.requisicoes:3000}")
+    private int requisicoes;
+
+    @Value("${api.aquecimento.threads:4}")
+    private int threads;
+
+    @Value("${api.aquecimento.duracao-maxima-s:60}")
+    private long duracaoMaximaS;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        var base = "http://localhost:" + contexto.getWebServer().getPort();
+        var cenarios = cenarios(base);
+        var http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        var usuario = new Usuario(0L, "aquecimento@voll.med", "");
+
+        var compilacao = ManagementFactory.getCompilationMXBean();
+        var compilacaoAntes = compilacao.isCompilationTimeMonitoringSupported() ? compilacao.getTotalCompilationTime() : 0;
+        var inicio = System.nanoTime();
+        var limite = inicio + TimeUnit.SECONDS.toNanos(duracaoMaximaS);
+        var proxima = new AtomicInteger();
+        var latencias = new long[requisicoes];        // Por índice de requisição; 0 = não executada
+
+        var executor = Executors.newFixedThreadPool(threads, r -> {
+            var thread = new Thread(r, "aquecimento-jit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var tarefas = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    int i;
+                    while ((i = proxima.getAndIncrement()) < requisicoes && System.nanoTime() < limite) {
+                        var cenario = cenarios.get(i % cenarios.size());
+                        var antes = System.nanoTime();
+                        try {
+                            http.send(cenario.requisicao.apply(i), HttpResponse.BodyHandlers.discarding());
+                            tokenService.getSubject(tokenService.gerarToken(usuario));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            log.debug("Aquecimento: falha em {}", cenario.nome, e);
+                        }
+                        latencias[i] = System.nanoTime() - antes;
+                    }
+                }));
+            }
+            for (var tarefa : tarefas) {
+                tarefa.get();
+            }
+        } catch (ExecutionException e) {
+            log.warn("Aquecimento da JIT interrompido", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var duracaoNanos = System.nanoTime() - inicio;
+        var compilacaoMs = compilacao.isCompilationTimeMonitoringSupported()
+                ? compilacao.getTotalCompilationTime() - compilacaoAntes : 0;
+        var executadas = 0;
+        while (executadas < requisicoes && latencias[executadas] > 0) {
+            executadas++;
+        }
+        medirEfeito(cenarios, latencias, executadas);
+        registrarMetricas(cenarios, executadas, duracaoNanos, compilacaoMs);
+    }
+
+    /**
+     * Média por cenário nos primeiros e nos últimos 10% das requisições executadas.
+     */
+    private static void medirEfeito(List<Cenario> cenarios, long[] latencias, int executadas) {
+        var janela = Math.max(cenarios.size(), executadas / 10);
+        for (int c = 0; c < cenarios.size(); c++) {
+            cenarios.get(c).inicialMs = media(latencias, cenarios.size(), c, 0, Math.min(janela, executadas));
+            cenarios.get(c).finalMs = media(latencias, cenarios.size(), c, Math.max(0, executadas - janela), executadas);
+        }
+    }
+
+    private static double media(long[] latencias, int passo, int cenario, int de, int ate) {
+        long soma = 0;
+        int quantidade = 0;
+        for (int i = de; i < ate; i++) {
+            if (i % passo == cenario) {
+                soma += latencias[i];
+                quantidade++;
+            }
+        }
+        return quantidade == 0 ? 0 : soma / 1_000_000.0 / quantidade;
+    }
+
+    private List<Cenario> cenarios(String base) {
+        var medicos = jdbc.queryForList("select id, crm from medicos where ativo = 1 order by id limit 100");
+        var cpfs = jdbc.queryForList("select cpf from pacientes where ativo = 1 order by id limit 100", String.class);
+        var cenarios = new ArrayList<Cenario>();
+        cenarios.add(new Cenario("listar-medicos", i -> get(base + "/medicos?page=" + i % 10)));
+        cenarios.add(new Cenario("listar-pacientes", i -> get(base + "/pacientes?page=" + i % 10)));
+        if (!medicos.isEmpty()) {
+            cenarios.add(new Cenario("detalhar-medico",
+                    i -> get(base + "/medicos/" + medicos.get(i % medicos.size()).get("id"))));
+            cenarios.add(new Cenario("medico-por-crm",
+                    i -> get(base + "/medicos/crm/" + medicos.get(i % medicos.size()).get("crm"))));
+        }
+        if (!cpfs.isEmpty()) {
+            cenarios.add(new Cenario("paciente-por-cpf", i -> get(base + "/pacientes/cpf/" + cpfs.get(i % cpfs.size()))));
+        }
+        cenarios.add(new Cenario("cadastro-invalido", i -> post(base + (i % 2 == 0 ? "/medicos" : "/pacientes"), CADASTRO_INVALIDO)));
+        cenarios.add(new Cenario("login", i -> post(base + "/login", LOGIN_INEXISTENTE)));
+        return cenarios;
+    }
+
+    private void registrarMetricas(List<Cenario> cenarios, int executadas, long duracaoNanos, long compilacaoMs) {
+        TimeGauge.builder("api.aquecimento.duracao", () -> duracaoNanos, TimeUnit.NANOSECONDS)
+                .description("Duração do aquecimento da JIT antes da prontidão")
+                .register(metricas);
+        Counter.builder("api.aquecimento.requisicoes")
+                .description("Requisições sintéticas do aquecimento")
+                .register(metricas)
+                .increment(executadas);
+        TimeGauge.builder("api.aquecimento.compilacao", () -> compilacaoMs, TimeUnit.MILLISECONDS)
+                .description("Tempo de compilação JIT durante o aquecimento")
+                .register(metricas);
+        var resumo = new StringBuilder();
+        for (var cenario : cenarios) {
+            Gauge.builder("api.aquecimento.latencia.inicial", cenario, c -> c.inicialMs)
+                    .tag("cenario", cenario.nome).baseUnit("milliseconds").strongReference(true).register(metricas);
+            Gauge.builder("api.aquecimento.latencia.final", cenario, c -> c.finalMs)
+                    .tag("cenario", cenario.nome).baseUnit("milliseconds").strongReference(true).register(metricas);
+            resumo.append(String.format("%n  %-18s %8.2f ms -> %6.2f ms", cenario.nome,
+                    cenario.inicialMs, cenario.finalMs));
+        }
+        log.info("Aquecimento da JIT: {} requisições em {} ms ({} ms de compilação JIT); latência média:{}",
+                executadas, duracaoNanos / 1_000_000, compilacaoMs, resumo);
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest post(String uri, String json) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
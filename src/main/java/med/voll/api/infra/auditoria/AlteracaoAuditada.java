@@ -0,0 +1,18 @@
+package med.voll.api.infra.auditoria;
+
+import med.voll.api.domain.CampoAlterado;
+import med.voll.api.infra.feed.RecursoAlterado;
+
+import java.util.List;
+
+/**
+ * Evento publicado pelos controllers depois de atualizar ou excluir um médico ou paciente,
+ * com os campos que mudaram. Registrado na trilha de auditoria após o commit.
+ *
+ * @param recurso tipo do cadastro alterado
+ * @param id      ID do registro
+ * @param versao  versão do registro depois da alteração
+ * @param campos  campos alterados (vazia se nada mudou)
+ */
+public record AlteracaoAuditada(RecursoAlterado recurso, Long id, long versao, List<CampoAlterado> campos) {
+}
@@ -0,0 +1,320 @@
+package med.voll.api.infra.auditoria;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trilha de auditoria das alterações de médicos e pacientes (tabela "auditoria_alteracoes"):
+ * quem mudou qual campo, de que valor para qual, e quando.
+ *
+ * As alterações chegam depois do commit (AlteracaoAuditada) e, com api.auditoria.durabilidade=assincrona,
+ * só entram numa fila limitada (api.auditoria.fila): a requisição não espera nenhum INSERT.
+ * Uma thread de gravação esvazia a fila em lotes de até api.auditoria.lote alterações, com
+ * INSERTs de várias linhas numa transação curta, no máximo api.auditoria.intervalo-ms depois
+ * de a primeira alteração do lote chegar.
+ *
+ * - api.auditoria.durabilidade=sincrona grava na mesma transação da alteração (BEFORE_COMMIT),
+ *   para quem não pode perder nenhuma linha numa queda: a trilha e a alteração são confirmadas
+ *   ou revertidas juntas, e uma falha ao gravar a trilha desfaz a alteração.
+ * - api.auditoria.estouro decide o que fazer com a fila cheia: "sincrono" (padrão: grava na
+ *   própria requisição, que fica mais lenta mas nada se perde), "bloquear" (espera até
+ *   api.auditoria.espera-ms e então descarta) ou "descartar" (perde a alteração na hora).
+ *   Descartes contam em api.auditoria.descartados.
+ * - Um lote que falha é tentado de novo algumas vezes antes de ser descartado e logado.
+ * - No desligamento, o que ainda está na fila é gravado antes de o DataSource fechar.
+ * - O usuário vem do SecurityContext. Enquanto o SecurityFilter não autenticar as requisições
+ *   pelo token JWT, ele fica vazio e toda linha é gravada com o usuário "anonimo".
+ */
+@Component
+public class TrilhaDeAuditoria implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TrilhaDeAuditoria.class);
+
+    private static final String[] COLUNAS = {"recurso", "registro_id", "versao", "campo", "valor_anterior",
+            "valor_novo", "usuario", "alterado_em"};
+    private static final int LINHAS_POR_COMANDO = 500;
+    private static final int TENTATIVAS = 3;
+
+    /**
+     * Alteração aguardando gravação, com o usuário e o momento capturados na requisição.
+     */
+    private record Pendente(AlteracaoAuditada alteracao, String usuario, LocalDateTime alteradoEm) {
+    }
+
+    private final ExecutorService gravacao = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "auditoria");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BlockingQueue<Pendente> fila;
+    private final int lote;
+    private final long intervaloMs;
+    private final long esperaMs;
+    private final String estouro;
+    private final boolean sincrona;
+    private final Counter descartados;
+    private final Counter gravados;
+
+    private volatile boolean ativa = true;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public TrilhaDeAuditoria(
+            @Value("${api.auditoria.fila:10000}") int capacidade,
+            @Value("${api.auditoria.lote:500}") int lote,
+            @Value("${api.auditoria.intervalo-ms:200}") long intervaloMs,
+            @Value("${api.auditoria.espera-ms:50}") long esperaMs,
+            @Value("${api.auditoria.estouro:sincrono}") String estouro,
+            @Value("${api.auditoria.durabilidade:assincrona}") String durabilidade,
+            MeterRegistry metricas
+    ) {
+        if (!List.of("descartar", "bloquear", "sincrono").contains(estouro)) {
+            throw new IllegalArgumentException("api.auditoria.estouro inválido: " + estouro);
+        }
+        if (!List.of("assincrona", "sincrona").contains(durabilidade)) {
+            throw new IllegalArgumentException("api.auditoria.durabilidade inválida: " + durabilidade);
+        }
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.lote = lote;
+        this.intervaloMs = intervaloMs;
+        this.esperaMs = esperaMs;
+        this.estouro = estouro;
+        this.sincrona = durabilidade.equals("sincrona");
+        this.descartados = Counter.builder("api.auditoria.descartados")
+                .description("Alterações que não foram gravadas na trilha de auditoria")
+                .register(metricas);
+        this.gravados = Counter.builder("api.auditoria.gravados")
+                .description("Linhas gravadas na trilha de auditoria")
+                .register(metricas);
+        Gauge.builder("api.auditoria.fila", fila, BlockingQueue::size)
+                .description("Alterações aguardando gravação na trilha de auditoria")
+                .register(metricas);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!sincrona) {
+            gravacao.execute(this::gravarContinuamente);
+        }
+    }
+
+    /**
+     * Durabilidade síncrona: os INSERTs entram na transação da alteração, sem nova tentativa
+     * (uma falha reverte tudo e chega ao cliente).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarNaTransacao(AlteracaoAuditada alteracao) {
+        if (!sincrona || alteracao.campos().isEmpty()) {
+            return;
+        }
+        var linhas = linhas(List.of(new Pendente(alteracao, usuarioAtual(), LocalDateTime.now())));
+        inserir(linhas);
+        gravados.increment(linhas.size());
+    }
+
+    @TransactionalEventListener
+    public void aoAlterar(AlteracaoAuditada alteracao) {
+        if (sincrona || alteracao.campos().isEmpty()) {
+            return;
+        }
+        var pendente = new Pendente(alteracao, usuarioAtual(), LocalDateTime.now());
+        if (fila.offer(pendente)) {
+            return;
+        }
+        switch (estouro) {
+            case "sincrono" -> gravar(List.of(pendente));
+            case "bloquear" -> {
+                try {
+                    if (!fila.offer(pendente, esperaMs, TimeUnit.MILLISECONDS)) {
+                        descartar(pendente);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    descartar(pendente);
+                }
+            }
+            default -> descartar(pendente);
+        }
+    }
+
+    private void gravarContinuamente() {
+        var pendentes = new ArrayList<Pendente>(lote);
+        while (ativa) {
+            try {
+                var primeira = fila.poll(intervaloMs, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                pendentes.add(primeira);
+                // Dá tempo para o lote encher, sem atrasar a primeira além de intervalo-ms
+                var limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+                while (pendentes.size() < lote && System.nanoTime() < limite) {
+                    fila.drainTo(pendentes, lote - pendentes.size());
+                    if (pendentes.size() < lote) {
+                        var proxima = fila.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (proxima != null) {
+                            pendentes.add(proxima);
+                        }
+                    }
+                }
+                gravar(pendentes);
+                pendentes.clear();
+            } catch (InterruptedException e) {
+                // Desligamento forçado: grava o lote já retirado da fila; o destroy() cuida do resto
+                Thread.currentThread().interrupt();
+                gravar(pendentes);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grava as alterações numa transação nova, tentando de novo se o banco falhar.
+     */
+    private void gravar(List<Pendente> pendentes) {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        var linhas = linhas(pendentes);
+        var transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                transacao.executeWithoutResult(status -> inserir(linhas));
+                gravados.increment(linhas.size());
+                return;
+            } catch (RuntimeException e) {
+                if (tentativa == TENTATIVAS) {
+                    log.error("Trilha de auditoria: {} alterações ({} linhas) descartadas após {} tentativas",
+                            pendentes.size(), linhas.size(), TENTATIVAS, e);
+                    descartados.increment(pendentes.size());
+                    return;
+                }
+                log.warn("Trilha de auditoria: falha ao gravar lote (tentativa {})", tentativa, e);
+                try {
+                    Thread.sleep(100L * tentativa);
+                } catch (InterruptedException interrompida) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void inserir(List<Object[]> linhas) {
+        for (int inicio = 0; inicio < linhas.size(); inicio += LINHAS_POR_COMANDO) {
+            var fim = Math.min(linhas.size(), inicio + LINHAS_POR_COMANDO);
+            var argumentos = new ArrayList<>((fim - inicio) * COLUNAS.length);
+            for (int i = inicio; i < fim; i++) {
+                argumentos.addAll(List.of(linhas.get(i)));
+            }
+            jdbc.update(insertMultiplo(fim - inicio), argumentos.toArray());
+        }
+    }
+
+    /**
+     * Uma linha por campo alterado. Os valores nulos viram null (List.of não os aceitaria).
+     */
+    private static List<Object[]> linhas(List<Pendente> pendentes) {
+        var linhas = new ArrayList<Object[]>();
+        for (var pendente : pendentes) {
+            var alteracao = pendente.alteracao();
+            var alteradoEm = Timestamp.valueOf(pendente.alteradoEm());
+            for (var campo : alteracao.campos()) {
+                linhas.add(new Object[]{alteracao.recurso().name(), alteracao.id(), alteracao.versao(),
+                        campo.campo(), truncar(campo.anterior()), truncar(campo.novo()),
+                        pendente.usuario(), alteradoEm});
+            }
+        }
+        return linhas;
+    }
+
+    private static String insertMultiplo(int linhas) {
+        var marcadores = "(" + "?, ".repeat(COLUNAS.length - 1) + "?)";
+        var sql = new StringBuilder("insert into auditoria_alteracoes (")
+                .append(String.join(", ", COLUNAS)).append(") values ");
+        for (int i = 0; i < linhas; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(marcadores);
+        }
+        return sql.toString();
+    }
+
+    private static String truncar(String valor) {
+        return valor == null || valor.length() <= 255 ? valor : valor.substring(0, 255);
+    }
+
+    /**
+     * Login autenticado na requisição, ou "anonimo" (hoje sempre, já que nada preenche o SecurityContext).
+     */
+    private static String usuarioAtual() {
+        var autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || autenticacao instanceof AnonymousAuthenticationToken) {
+            return "anonimo";
+        }
+        return autenticacao.getName();
+    }
+
+    private void descartar(Pendente pendente) {
+        var total = descartados.count();
+        descartados.increment();
+        if (total % 1000 == 0) {
+            log.warn("Trilha de auditoria: fila cheia, alteração de {} {} descartada ({} até agora)",
+                    pendente.alteracao().recurso(), pendente.alteracao().id(), (long) total + 1);
+        }
+    }
+
+    /**
+     * Para a thread de gravação e grava o que ainda estiver na fila.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        ativa = false;
+        gravacao.shutdown();
+        if (!gravacao.awaitTermination(5, TimeUnit.SECONDS)) {
+            gravacao.shutdownNow();
+            gravacao.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        var restantes = new ArrayList<Pendente>();
+        fila.drainTo(restantes);
+        for (int inicio = 0; inicio < restantes.size(); inicio += lote) {
+            gravar(restantes.subList(inicio, Math.min(restantes.size(), inicio + lote)));
+        }
+        if (!restantes.isEmpty()) {
+            log.info("Trilha de auditoria: {} alterações pendentes gravadas no desligamento", restantes.size());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package med.voll.api.infra.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache pequeno em memória para chaves "quentes": descarta a entrada usada há mais tempo
+ * quando passa da capacidade, e cada entrada expira depois da validade.
+ *
+ * Invalidações (remover/limpar) avançam uma geração; um valor carregado do banco antes
+ * de uma invalidação não é guardado depois dela, evitando que um dado antigo volte ao cache.
+ */
+public class CacheLru<K, V> {
+
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    private final int capacidade;
+    private final long validadeNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+    private long geracao;
+
+    public CacheLru(int capacidade, long validadeNanos) {
+        this.capacidade = capacidade;
+        this.validadeNanos = validadeNanos;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                return size() > CacheLru.this.capacidade;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor em cache ou o carrega (fora do lock). Valores null não são guardados.
+     */
+    public V buscarOuCarregar(K chave, Function<K, V> carregador) {
+        long geracaoAntes;
+        synchronized (this) {
+            var entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (entrada.expiraEm() - System.nanoTime() > 0) {
+                    return entrada.valor();
+                }
+                entradas.remove(chave);
+            }
+            geracaoAntes = geracao;
+        }
+
+        var valor = carregador.apply(chave);
+        if (valor != null) {
+            synchronized (this) {
+                if (geracao == geracaoAntes) {
+                    entradas.put(chave, new Entrada<>(valor, System.nanoTime() + validadeNanos));
+                }
+            }
+        }
+        return valor;
+    }
+
+    public synchronized void remover(K chave) {
+        geracao++;
+        entradas.remove(chave);
+    }
+
+    public synchronized void limpar() {
+        geracao++;
+        entradas.clear();
+    }
+}
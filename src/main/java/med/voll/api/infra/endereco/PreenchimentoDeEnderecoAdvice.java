@@ -0,0 +1,68 @@
+package med.voll.api.infra.endereco;
+
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.endereco.DiretorioDeCeps;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.validacao.Documentos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Completa o endereço dos cadastros de médico e paciente a partir do CEP quando o cliente
+ * envia só CEP e número (logradouro, bairro, cidade ou UF em branco).
+ *
+ * Roda logo depois da leitura do JSON e antes do @Valid, então as validações de
+ * DadosEndereco continuam valendo: se o CEP não estiver no diretório, a requisição
+ * recebe o mesmo 400 de antes.
+ */
+@ControllerAdvice
+public class PreenchimentoDeEnderecoAdvice extends RequestBodyAdviceAdapter {
+
+    @Autowired
+    private DiretorioDeCeps diretorio;
+
+    @Override
+    public boolean supports(
+            MethodParameter methodParameter,
+            Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return targetType == DadosCadastroMedico.class || targetType == DadosCadastroPaciente.class;
+    }
+
+    @Override
+    public Object afterBodyRead(
+            Object body,
+            HttpInputMessage inputMessage,
+            MethodParameter parameter,
+            Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        if (body instanceof DadosCadastroMedico dados && precisaCompletar(dados.endereco())) {
+            return new DadosCadastroMedico(dados.nome(), dados.email(), dados.telefone(), dados.crm(),
+                    dados.especialidade(), completar(dados.endereco()));
+        }
+        if (body instanceof DadosCadastroPaciente dados && precisaCompletar(dados.endereco())) {
+            return new DadosCadastroPaciente(dados.nome(), dados.email(), dados.telefone(), dados.cpf(),
+                    completar(dados.endereco()));
+        }
+        return body;
+    }
+
+    private static boolean precisaCompletar(DadosEndereco endereco) {
+        return endereco != null && Documentos.cepValido(endereco.cep()) && endereco.incompleto();
+    }
+
+    private DadosEndereco completar(DadosEndereco endereco) {
+        return diretorio.buscar(endereco.cep())
+                .map(endereco::completadoCom)
+                .orElse(endereco);
+    }
+}
@@ -2,6 +2,15 @@ package med.voll.api.infra.exception;
 
 // Importa a exceção lançada pelo JPA quando uma entidade não é encontrada
 import jakarta.persistence.EntityNotFoundException;
+// Exceções de regra de negócio lançadas pelas classes de domínio
+import med.voll.api.domain.ConflitoException;
+import med.voll.api.domain.ValidacaoException;
+// Exceção lançada pelo Spring quando uma constraint do banco (unique, foreign key...) é violada
+import org.springframework.dao.DataIntegrityViolationException;
+// Exceção lançada quando o registro foi alterado por outra transação (coluna @Version)
+import org.springframework.dao.OptimisticLockingFailureException;
+// HttpStatus lista os códigos de status HTTP
+import org.springframework.http.HttpStatus;
 // ResponseEntity permite criar respostas HTTP com status e corpo customizados
 import org.springframework.http.ResponseEntity;
 // FieldError representa um erro de validação em um campo específico de um objeto
@@ -49,6 +58,43 @@ public class TratadorDeErros {
         return ResponseEntity.badRequest().body(listaDto);
     }
 
+    /**
+     * Intercepta ValidacaoException (regra de negócio violada).
+     * Retorna HTTP 400 Bad Request com a mensagem da regra no corpo.
+     */
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<String> tratarErroRegraDeNegocio(ValidacaoException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    /**
+     * Intercepta ConflitoException (horário ocupado, registro duplicado...).
+     * Retorna HTTP 409 Conflict com a mensagem no corpo.
+     */
+    @ExceptionHandler(ConflitoException.class)
+    public ResponseEntity<String> tratarErro409(ConflitoException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Intercepta DataIntegrityViolationException (constraint unique violada por um cadastro
+     * que escapou da pré-verificação em memória, por exemplo feito em outra instância).
+     * Retorna HTTP 409 Conflict em vez de 500.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> tratarErroIntegridade() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro duplicado ou em conflito com dados existentes");
+    }
+
+    /**
+     * Intercepta OptimisticLockingFailureException (o registro foi alterado por outra
+     * requisição ao mesmo tempo). Retorna HTTP 409 Conflict; o cliente pode reler e repetir.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> tratarErroConcorrencia() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro alterado por outra requisição; tente novamente");
+    }
+
     /**
      * Record (Java 16+) que modela um erro de validação de campo:
      * - campo: nome do campo que falhou na validação
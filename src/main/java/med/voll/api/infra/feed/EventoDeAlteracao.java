@@ -0,0 +1,21 @@
+package med.voll.api.infra.feed;
+
+import med.voll.api.domain.TipoAlteracao;
+
+/**
+ * Evento compacto do feed de alterações (GET /alteracoes).
+ *
+ * @param sequencia Posição do evento no feed; usada para retomar a assinatura
+ * @param recurso   MEDICO ou PACIENTE
+ * @param id        ID do registro alterado
+ * @param versao    Versão do registro depois da alteração
+ * @param tipo      CRIADO, ATUALIZADO ou DESATIVADO
+ */
+public record EventoDeAlteracao(
+        long sequencia,
+        RecursoAlterado recurso,
+        Long id,
+        long versao,
+        TipoAlteracao tipo
+) {
+}
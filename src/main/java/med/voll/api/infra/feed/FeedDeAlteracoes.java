@@ -0,0 +1,244 @@
+package med.voll.api.infra.feed;
+
+import med.voll.api.domain.TipoAlteracao;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.paciente.PacienteAlterado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed de alterações de médicos e pacientes via Server-Sent Events (GET /alteracoes).
+ *
+ * - Os eventos entram depois do commit (MedicoAlterado/PacienteAlterado) e recebem uma
+ *   sequência crescente; os últimos api.feed.historico ficam num buffer circular.
+ * - Cada assinante tem sua própria fila limitada e é atendido por um pool de envio, então
+ *   um cliente lento nunca segura quem publica nem os outros assinantes. Se a fila encher,
+ *   o assinante é desconectado e retoma de onde parou (Last-Event-ID ou ?desde=).
+ * - O ID de cada evento SSE é "época:sequência". A época é sorteada a cada inicialização,
+ *   já que a sequência recomeça do 1 e é própria de cada instância.
+ * - Ao retomar, os eventos ainda no buffer são reenviados. O cliente recebe um evento
+ *   "reinicio" e deve recarregar a lista quando os eventos já saíram do buffer ou quando a
+ *   época informada não é a desta instância (reinício, outra instância ou ID sem época).
+ */
+@Component
+public class FeedDeAlteracoes implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedDeAlteracoes.class);
+
+    private final EventoDeAlteracao[] historico;
+    private final int capacidadeFila;
+    private final long timeoutMs;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService envio;
+
+    private final String epoca = UUID.randomUUID().toString().substring(0, 8);
+
+    private long ultimaSequencia;   // Protegida por "this", assim como o buffer circular
+
+    public FeedDeAlteracoes(
+            @Value("${api.feed.historico:10000}") int historico,
+            @Value("${api.feed.fila-por-assinante:1000}") int capacidadeFila,
+            @Value("${api.feed.timeout-ms:1800000}") long timeoutMs,
+            @Value("${api.feed.threads-envio:4}") int threadsEnvio
+    ) {
+        this.historico = new EventoDeAlteracao[historico];
+        this.capacidadeFila = capacidadeFila;
+        this.timeoutMs = timeoutMs;
+        var contador = new AtomicInteger();
+        this.envio = Executors.newFixedThreadPool(threadsEnvio, r -> {
+            var thread = new Thread(r, "feed-envio-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarMedico(MedicoAlterado evento) {
+        publicar(RecursoAlterado.MEDICO, evento.id(), evento.atual().versao(), evento.tipo());
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarPaciente(PacienteAlterado evento) {
+        publicar(RecursoAlterado.PACIENTE, evento.id(), evento.atual().versao(), evento.tipo());
+    }
+
+    /**
+     * Abre uma assinatura.
+     *
+     * @param desde ID ("época:sequência") do último evento recebido pelo cliente; null para
+     *              receber só os próximos
+     */
+    public SseEmitter assinar(String desde) {
+        var emitter = new SseEmitter(timeoutMs);
+        var sequenciaDesde = sequenciaDestaEpoca(desde);
+        Assinante assinante;
+        synchronized (this) {
+            // Reenvio e registro sob o mesmo lock da publicação: sem buracos nem duplicatas
+            var maisAntiga = Math.max(1, ultimaSequencia - historico.length + 1);
+            var reenvio = sequenciaDesde == null ? 0 : (int) Math.max(0, ultimaSequencia - sequenciaDesde);
+            assinante = new Assinante(emitter, capacidadeFila + reenvio);
+            if (desde != null) {
+                if (sequenciaDesde == null || sequenciaDesde > ultimaSequencia || sequenciaDesde + 1 < maisAntiga) {
+                    assinante.reinicio = ultimaSequencia;
+                } else {
+                    for (var sequencia = sequenciaDesde + 1; sequencia <= ultimaSequencia; sequencia++) {
+                        assinante.fila.add(historico[posicao(sequencia)]);
+                    }
+                }
+            }
+            assinantes.add(assinante);
+        }
+
+        emitter.onCompletion(assinante::encerrar);
+        emitter.onTimeout(assinante::encerrar);
+        emitter.onError(erro -> assinante.encerrar());
+        assinante.agendar();
+        return emitter;
+    }
+
+    /**
+     * Envia um comentário periódico para manter a conexão aberta em proxies
+     * e detectar clientes que já se desconectaram.
+     */
+    @Scheduled(fixedDelayString = "${api.feed.pulso-ms:15000}")
+    public void pulsar() {
+        for (var assinante : assinantes) {
+            assinante.pulso = true;
+            assinante.agendar();
+        }
+    }
+
+    private void publicar(RecursoAlterado recurso, Long id, long versao, TipoAlteracao tipo) {
+        synchronized (this) {
+            var evento = new EventoDeAlteracao(++ultimaSequencia, recurso, id, versao, tipo);
+            historico[posicao(evento.sequencia())] = evento;
+            for (var assinante : assinantes) {
+                assinante.enfileirar(evento);   // offer() não bloqueia
+            }
+        }
+    }
+
+    /**
+     * Sequência contida no ID "época:sequência", ou null se o ID for de outra época ou inválido.
+     */
+    private Long sequenciaDestaEpoca(String id) {
+        if (id == null) {
+            return null;
+        }
+        var separador = id.indexOf(':');
+        if (separador < 0 || !id.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String id(long sequencia) {
+        return epoca + ":" + sequencia;
+    }
+
+    private int posicao(long sequencia) {
+        return (int) (sequencia % historico.length);
+    }
+
+    @Override
+    public void destroy() {
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        envio.shutdownNow();
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<EventoDeAlteracao> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile Long reinicio;     // Sequência atual, se o cliente precisa recarregar tudo
+        private volatile boolean pulso;
+        private volatile boolean excedido;
+        private volatile boolean encerrado;
+
+        private Assinante(SseEmitter emitter, int capacidade) {
+            this.emitter = emitter;
+            this.fila = new LinkedBlockingQueue<>(Math.max(1, capacidade));
+        }
+
+        private void enfileirar(EventoDeAlteracao evento) {
+            if (!fila.offer(evento)) {
+                excedido = true;
+            }
+            agendar();
+        }
+
+        private void agendar() {
+            if (!encerrado && agendado.compareAndSet(false, true)) {
+                envio.execute(this::enviarPendentes);
+            }
+        }
+
+        /**
+         * Esvazia a fila; só uma execução por assinante fica ativa de cada vez.
+         */
+        private void enviarPendentes() {
+            try {
+                do {
+                    if (excedido) {
+                        // Cliente lento: desconecta, e ele retoma pelo Last-Event-ID
+                        log.debug("Assinante do feed desconectado por fila cheia");
+                        emitter.complete();
+                        encerrar();
+                        return;
+                    }
+                    var sequenciaReinicio = reinicio;
+                    if (sequenciaReinicio != null) {
+                        reinicio = null;
+                        emitter.send(SseEmitter.event()
+                                .name("reinicio")
+                                .id(id(sequenciaReinicio))
+                                .data(Map.of("sequencia", sequenciaReinicio), MediaType.APPLICATION_JSON));
+                    }
+                    EventoDeAlteracao evento;
+                    while ((evento = fila.poll()) != null) {
+                        emitter.send(SseEmitter.event()
+                                .name("alteracao")
+                                .id(id(evento.sequencia()))
+                                .data(evento, MediaType.APPLICATION_JSON));
+                    }
+                    if (pulso) {
+                        pulso = false;
+                        emitter.send(SseEmitter.event().comment("pulso"));
+                    }
+                    agendado.set(false);
+                } while ((!fila.isEmpty() || excedido) && agendado.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                encerrar();   // Cliente desconectou
+            }
+        }
+
+        private void encerrar() {
+            encerrado = true;
+            assinantes.remove(this);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package med.voll.api.infra.feed;
+
+/**
+ * Tipo de cadastro que aparece no feed de alterações.
+ */
+public enum RecursoAlterado {
+
+    MEDICO,
+    PACIENTE;
+
+}
@@ -0,0 +1,442 @@
+package med.voll.api.infra.gerador;
+
+import med.voll.api.domain.Normalizacao;
+import med.voll.api.domain.medico.Especialidade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera massas sintéticas (e válidas) de médicos, pacientes e usuários diretamente via JDBC,
+ * para avaliar paginação, índices e caches com volumes de produção.
+ *
+ * - Cada linha é derivada apenas do seu índice e da semente: gerar de novo com os mesmos
+ *   parâmetros produz exatamente os mesmos dados, em qualquer quantidade de threads.
+ * - As inserções usam INSERT de várias linhas por comando, agrupados em batch e
+ *   confirmados por bloco; várias threads carregam blocos diferentes em paralelo.
+ * - Especialidades e cidades seguem pesos aproximados da distribuição real; CEP e
+ *   telefone respeitam a faixa/DDD da cidade, e CPFs têm dígitos verificadores válidos.
+ * - Senhas: calcular BCrypt para milhões de usuários levaria horas, então é usado um
+ *   conjunto de {@link #SENHAS_DISTINTAS} hashes; o usuário N tem a senha "senha{N % 32}".
+ */
+public class GeradorDeDados {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDeDados.class);
+
+    public static final int SENHAS_DISTINTAS = 32;
+
+    /** CRM é varchar(6) e único: de 1000 a 999999 cabem no máximo 999 mil médicos. */
+    public static final int MAXIMO_MEDICOS = 999_000;
+
+    private static final int LINHAS_POR_COMANDO = 500;
+    private static final int COMANDOS_POR_BLOCO = 10;
+    private static final int LINHAS_POR_BLOCO = LINHAS_POR_COMANDO * COMANDOS_POR_BLOCO;
+
+    private static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique", "Isabela", "João",
+            "Karina", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela", "Samuel", "Tatiane", "Vinícius"
+    };
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa"
+    };
+    private static final String[] NOMES_EMAIL = paraEmail(NOMES);
+    private static final String[] SOBRENOMES_EMAIL = paraEmail(SOBRENOMES);
+    private static final String[] LOGRADOUROS = {
+            "Rua das Flores", "Avenida Brasil", "Rua XV de Novembro", "Rua São João", "Avenida Paulista",
+            "Rua Sete de Setembro", "Rua da Paz", "Avenida Getúlio Vargas", "Rua Tiradentes", "Rua do Comércio"
+    };
+    private static final String[] BAIRROS = {
+            "Centro", "Jardim América", "Vila Nova", "Boa Vista", "Santa Cecília",
+            "Liberdade", "Bela Vista", "São José", "Copacabana", "Savassi"
+    };
+    private static final String[] DOMINIOS = {"gmail.com", "hotmail.com", "outlook.com", "yahoo.com.br", "uol.com.br"};
+
+    /** Especialidades com peso aproximado da proporção de médicos em cada uma. */
+    private static final Especialidade[] ESPECIALIDADES = Especialidade.values();
+    private static final int[] PESOS_ESPECIALIDADE = {25, 30, 25, 20}; // ORTOPEDIA, CARDIOLOGIA, GINECOLOGIA, DERMATOLOGIA
+
+    /**
+     * Cidades ponderadas pela população (em dezenas de milhares), com faixa de CEP e DDD.
+     */
+    private record Cidade(String nome, String uf, int peso, int cepInicial, int cepFinal, String ddd) {
+    }
+
+    private static final Cidade[] CIDADES = {
+            new Cidade("São Paulo", "SP", 1240, 1000, 5999, "11"),
+            new Cidade("Rio de Janeiro", "RJ", 675, 20000, 23799, "21"),
+            new Cidade("Brasília", "DF", 305, 70000, 72799, "61"),
+            new Cidade("Salvador", "BA", 290, 40000, 42599, "71"),
+            new Cidade("Fortaleza", "CE", 270, 60000, 61599, "85"),
+            new Cidade("Belo Horizonte", "MG", 253, 30000, 31999, "31"),
+            new Cidade("Manaus", "AM", 225, 69000, 69099, "92"),
+            new Cidade("Curitiba", "PR", 196, 80000, 82999, "41"),
+            new Cidade("Recife", "PE", 166, 50000, 52999, "81"),
+            new Cidade("Goiânia", "GO", 155, 74000, 74899, "62"),
+            new Cidade("Belém", "PA", 150, 66000, 66999, "91"),
+            new Cidade("Porto Alegre", "RS", 149, 90000, 91999, "51"),
+            new Cidade("Guarulhos", "SP", 139, 7000, 7399, "11"),
+            new Cidade("Campinas", "SP", 122, 13000, 13139, "19"),
+            new Cidade("São Luís", "MA", 111, 65000, 65109, "98")
+    };
+    private static final int[] PESOS_CIDADE = new int[CIDADES.length];
+
+    static {
+        for (int i = 0; i < CIDADES.length; i++) {
+            PESOS_CIDADE[i] = CIDADES[i].peso();
+        }
+    }
+
+    private final DataSource dataSource;
+    private final String[] hashesDeSenha;
+    private final long semente;
+    private final int threads;
+
+    public GeradorDeDados(DataSource dataSource, PasswordEncoder passwordEncoder, long semente, int threads) {
+        this.dataSource = dataSource;
+        this.semente = semente;
+        this.threads = Math.max(1, threads);
+        this.hashesDeSenha = new String[SENHAS_DISTINTAS];
+        for (int i = 0; i < SENHAS_DISTINTAS; i++) {
+            hashesDeSenha[i] = passwordEncoder.encode(senhaDoUsuario(i));
+        }
+    }
+
+    /**
+     * Senha em texto puro do usuário de índice informado (útil para testes de carga no /login).
+     */
+    public static String senhaDoUsuario(long indice) {
+        return "senha" + (indice % SENHAS_DISTINTAS);
+    }
+
+    /**
+     * Login do usuário de índice informado.
+     */
+    public static String loginDoUsuario(long indice) {
+        return "usuario" + indice + "@voll.med";
+    }
+
+    public void gerarMedicos(long quantidade) throws SQLException, InterruptedException {
+        if (quantidade > MAXIMO_MEDICOS) {
+            throw new IllegalArgumentException("No máximo " + MAXIMO_MEDICOS + " médicos cabem no formato de CRM");
+        }
+        carregar("medicos", new String[]{"nome", "email", "telefone", "crm", "especialidade", "logradouro",
+                "bairro", "cep", "complemento", "numero", "uf", "cidade", "ativo", "crm_normalizado", "email_normalizado"},
+                quantidade, this::linhaMedico);
+    }
+
+    public void gerarPacientes(long quantidade) throws SQLException, InterruptedException {
+        carregar("pacientes", new String[]{"nome", "email", "telefone", "cpf", "logradouro", "bairro", "cep",
+                "complemento", "numero", "uf", "cidade", "ativo", "cpf_normalizado", "email_normalizado"},
+                quantidade, this::linhaPaciente);
+    }
+
+    public void gerarUsuarios(long quantidade) throws SQLException, InterruptedException {
+        carregar("usuarios", new String[]{"login", "senha"}, quantidade, this::linhaUsuario);
+    }
+
+    /**
+     * Remove todas as linhas das tabelas geradas, para reconstruir a base do zero.
+     */
+    public void limpar() throws SQLException {
+        try (var conexao = dataSource.getConnection(); var comando = conexao.createStatement()) {
+            // Consultas primeiro, por causa das chaves estrangeiras para médicos e pacientes
+            for (var tabela : new String[]{"consultas", "usuarios", "pacientes", "medicos",
+                    "pacientes_arquivo", "medicos_arquivo"}) {
+                comando.executeUpdate("delete from " + tabela);
+            }
+        }
+    }
+
+    /**
+     * Preenche os parâmetros de uma linha a partir da posição informada no PreparedStatement.
+     */
+    @FunctionalInterface
+    private interface Linha {
+        void preencher(PreparedStatement comando, int posicao, long indice) throws SQLException;
+    }
+
+    private void carregar(String tabela, String[] colunas, long quantidade, Linha linha)
+            throws SQLException, InterruptedException {
+        if (quantidade <= 0) {
+            return;
+        }
+        var inicio = System.nanoTime();
+        var blocos = (quantidade + LINHAS_POR_BLOCO - 1) / LINHAS_POR_BLOCO;
+        var proximoBloco = new AtomicLong();
+        var sqlCompleto = insertMultiplo(tabela, colunas, LINHAS_POR_COMANDO);
+
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var tarefas = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(() -> {
+                    try (var conexao = dataSource.getConnection()) {
+                        var mysql = prepararSessao(conexao);
+                        try {
+                            long bloco;
+                            while ((bloco = proximoBloco.getAndIncrement()) < blocos) {
+                                var primeiro = bloco * LINHAS_POR_BLOCO;
+                                var ultimo = Math.min(quantidade, primeiro + LINHAS_POR_BLOCO);
+                                inserirBloco(conexao, tabela, colunas, sqlCompleto, primeiro, ultimo, linha);
+                            }
+                        } finally {
+                            restaurarSessao(conexao, mysql);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (var futuro : executor.invokeAll(tarefas)) {
+                futuro.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Falha ao gerar dados de " + tabela, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        log.info("Gerados {} registros em {} em {}s ({} linhas/s)",
+                quantidade, tabela, String.format("%.1f", segundos), String.format("%.0f", quantidade / segundos));
+    }
+
+    private void inserirBloco(Connection conexao, String tabela, String[] colunas, String sqlCompleto,
+                              long primeiro, long ultimo, Linha linha) throws SQLException {
+        var indice = primeiro;
+        try (var comando = conexao.prepareStatement(sqlCompleto)) {
+            while (ultimo - indice >= LINHAS_POR_COMANDO) {
+                for (int l = 0; l < LINHAS_POR_COMANDO; l++) {
+                    linha.preencher(comando, l * colunas.length + 1, indice++);
+                }
+                comando.addBatch();
+            }
+            comando.executeBatch();
+        }
+        if (indice < ultimo) {
+            // Último comando do último bloco, com menos linhas
+            var restantes = (int) (ultimo - indice);
+            try (var comando = conexao.prepareStatement(insertMultiplo(tabela, colunas, restantes))) {
+                for (int l = 0; l < restantes; l++) {
+                    linha.preencher(comando, l * colunas.length + 1, indice++);
+                }
+                comando.executeUpdate();
+            }
+        }
+        conexao.commit();
+    }
+
+    /**
+     * Desliga o autocommit e, no MySQL, as verificações de unicidade e de chaves estrangeiras.
+     *
+     * @return true se a sessão é do MySQL (e precisa de restaurarSessao antes de voltar ao pool)
+     */
+    private static boolean prepararSessao(Connection conexao) throws SQLException {
+        conexao.setAutoCommit(false);
+        var mysql = conexao.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        if (mysql) {
+            // Carga em massa: a unicidade é garantida pela própria geração (índices sequenciais)
+            try (var comando = conexao.createStatement()) {
+                comando.execute("set unique_checks = 0");
+                comando.execute("set foreign_key_checks = 0");
+            }
+        }
+        return mysql;
+    }
+
+    /**
+     * A conexão volta ao pool do Hikari, usado também pela API: as variáveis de sessão não são
+     * restauradas por ele, então religa as verificações aqui, mesmo depois de uma falha.
+     */
+    private static void restaurarSessao(Connection conexao, boolean mysql) throws SQLException {
+        conexao.rollback();     // Descarta um bloco interrompido (os concluídos já tiveram commit)
+        if (mysql) {
+            try (var comando = conexao.createStatement()) {
+                comando.execute("set unique_checks = 1");
+                comando.execute("set foreign_key_checks = 1");
+            }
+        }
+        conexao.setAutoCommit(true);
+    }
+
+    private static String insertMultiplo(String tabela, String[] colunas, int linhas) {
+        var marcadores = "(" + "?, ".repeat(colunas.length - 1) + "?)";
+        var sql = new StringBuilder("insert into ").append(tabela)
+                .append(" (").append(String.join(", ", colunas)).append(") values ");
+        for (int i = 0; i < linhas; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(marcadores);
+        }
+        return sql.toString();
+    }
+
+    private void linhaMedico(PreparedStatement comando, int p, long indice) throws SQLException {
+        var aleatorio = misturar(semente ^ 0x4D45444943L, indice);
+        var cidade = CIDADES[escolher(PESOS_CIDADE, aleatorio)];
+        var nome = aleatorio >>> 16;
+
+        var email = email(nome, "voll.med", indice);                // Já em minúsculas
+        var crm = String.valueOf(1000 + indice);                    // Único por construção
+
+        comando.setString(p, nomeCompleto(nome));
+        comando.setString(p + 1, email);
+        comando.setString(p + 2, telefone(cidade, aleatorio >>> 24));
+        comando.setString(p + 3, crm);
+        comando.setString(p + 4, ESPECIALIDADES[escolher(PESOS_ESPECIALIDADE, aleatorio >>> 8)].name());
+        preencherEndereco(comando, p + 5, cidade, aleatorio >>> 32);
+        comando.setInt(p + 12, 1);
+        comando.setString(p + 13, crm);
+        comando.setString(p + 14, email);
+    }
+
+    private void linhaPaciente(PreparedStatement comando, int p, long indice) throws SQLException {
+        var aleatorio = misturar(semente ^ 0x504143L, indice);
+        var cidade = CIDADES[escolher(PESOS_CIDADE, aleatorio)];
+        var nome = aleatorio >>> 16;
+
+        var email = email(nome, DOMINIOS[(int) ((aleatorio >>> 40) % DOMINIOS.length)], indice);
+        var cpf = cpf(indice);                                      // Único por construção
+
+        comando.setString(p, nomeCompleto(nome));
+        comando.setString(p + 1, email);
+        comando.setString(p + 2, telefone(cidade, aleatorio >>> 24));
+        comando.setString(p + 3, cpf);
+        preencherEndereco(comando, p + 4, cidade, aleatorio >>> 32);
+        comando.setInt(p + 11, 1);
+        comando.setString(p + 12, Normalizacao.somenteDigitos(cpf));
+        comando.setString(p + 13, email);
+    }
+
+    private void linhaUsuario(PreparedStatement comando, int p, long indice) throws SQLException {
+        comando.setString(p, loginDoUsuario(indice));
+        comando.setString(p + 1, hashesDeSenha[(int) (indice % SENHAS_DISTINTAS)]);
+    }
+
+    /**
+     * Preenche logradouro, bairro, cep, complemento, numero, uf e cidade (7 colunas).
+     */
+    private static void preencherEndereco(PreparedStatement comando, int p, Cidade cidade, long aleatorio)
+            throws SQLException {
+        var faixa = cidade.cepFinal() - cidade.cepInicial() + 1;
+        var prefixo = cidade.cepInicial() + (int) (aleatorio % faixa);
+        var sufixo = (int) ((aleatorio >>> 12) % 900);
+
+        comando.setString(p, LOGRADOUROS[(int) ((aleatorio >>> 20) % LOGRADOUROS.length)]);
+        comando.setString(p + 1, BAIRROS[(int) ((aleatorio >>> 24) % BAIRROS.length)]);
+        comando.setString(p + 2, String.format("%05d%03d", prefixo, sufixo));
+        comando.setString(p + 3, (aleatorio & 3) == 0 ? "Apto " + (aleatorio >>> 28) % 200 : null);
+        comando.setString(p + 4, String.valueOf(1 + (aleatorio >>> 16) % 3000));
+        comando.setString(p + 5, cidade.uf());
+        comando.setString(p + 6, cidade.nome());
+    }
+
+    private static String nomeCompleto(long aleatorio) {
+        return NOMES[(int) (aleatorio % NOMES.length)] + " "
+                + SOBRENOMES[(int) ((aleatorio >>> 8) % SOBRENOMES.length)] + " "
+                + SOBRENOMES[(int) ((aleatorio >>> 16) % SOBRENOMES.length)];
+    }
+
+    /**
+     * E-mail "nome.sobrenome{indice}@dominio"; o índice garante a unicidade.
+     */
+    private static String email(long aleatorio, String dominio, long indice) {
+        return NOMES_EMAIL[(int) (aleatorio % NOMES.length)] + "."
+                + SOBRENOMES_EMAIL[(int) ((aleatorio >>> 16) % SOBRENOMES.length)]
+                + indice + "@" + dominio;
+    }
+
+    private static String[] paraEmail(String[] nomes) {
+        var resultado = new String[nomes.length];
+        for (int i = 0; i < nomes.length; i++) {
+            resultado[i] = Normalizer.normalize(nomes[i], Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .toLowerCase();
+        }
+        return resultado;
+    }
+
+    private static String telefone(Cidade cidade, long aleatorio) {
+        return cidade.ddd() + "9" + String.format("%08d", aleatorio % 100_000_000);
+    }
+
+    /**
+     * CPF formatado ("000.000.000-00") com dígitos verificadores válidos, derivado do índice
+     * (de 0 a 999.999.989, um CPF diferente para cada índice).
+     *
+     * As bases com os nove dígitos iguais (000000000, 111111111, ...) geram CPFs como
+     * "111.111.111-11", que passam no cálculo dos dígitos mas são rejeitados pelo ValidadorCpf;
+     * o índice é deslocado para pulá-las.
+     */
+    public static String cpf(long indice) {
+        var base = indice + 1 + indice / 111_111_110;
+        var digitos = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = (int) (base % 10);
+            base /= 10;
+        }
+        digitos[9] = digitoVerificadorCpf(digitos, 9);
+        digitos[10] = digitoVerificadorCpf(digitos, 10);
+
+        var texto = new char[14];
+        var j = 0;
+        for (int i = 0; i < 11; i++) {
+            if (i == 3 || i == 6) {
+                texto[j++] = '.';
+            } else if (i == 9) {
+                texto[j++] = '-';
+            }
+            texto[j++] = (char) ('0' + digitos[i]);
+        }
+        return new String(texto);
+    }
+
+    private static int digitoVerificadorCpf(int[] digitos, int quantidade) {
+        var soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        var resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static int escolher(int[] pesos, long aleatorio) {
+        var total = 0;
+        for (var peso : pesos) {
+            total += peso;
+        }
+        var sorteio = (int) (aleatorio % total);
+        for (int i = 0; i < pesos.length; i++) {
+            sorteio -= pesos[i];
+            if (sorteio < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha bem os bits de (semente, índice) e nunca devolve negativo.
+     */
+    private static long misturar(long semente, long indice) {
+        var z = semente + indice * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> 1;
+    }
+}
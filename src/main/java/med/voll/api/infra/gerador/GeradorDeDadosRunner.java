@@ -0,0 +1,93 @@
+package med.voll.api.infra.gerador;
+
+import med.voll.api.domain.endereco.ArquivoDeCeps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * Ponto de entrada do gerador de massa de dados. Ativado pelo profile "gerador",
+ * que também desliga o servidor web (application-gerador.properties).
+ *
+ * Exemplo (base de ~10 milhões de linhas):
+ * java -jar api.jar --spring.profiles.active=gerador --api.gerador.limpar=true
+ *      --api.gerador.medicos=990000 --api.gerador.pacientes=8000000 --api.gerador.usuarios=1000000
+ *
+ * Também compila o diretório de CEPs a partir de um CSV ("cep;logradouro;bairro;cidade;uf"):
+ * java -jar api.jar --spring.profiles.active=gerador --api.gerador.ceps-csv=ceps.csv
+ */
+@Component
+@Profile("gerador")
+public class GeradorDeDadosRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDeDadosRunner.class);
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${api.gerador.medicos:0}")
+    private long medicos;
+
+    @Value("${api.gerador.pacientes:0}")
+    private long pacientes;
+
+    @Value("${api.gerador.usuarios:0}")
+    private long usuarios;
+
+    @Value("${api.gerador.limpar:false}")
+    private boolean limpar;
+
+    @Value("${api.gerador.semente:42}")
+    private long semente;
+
+    @Value("${api.gerador.threads:0}")
+    private int threads;
+
+    @Value("${api.gerador.ceps-csv:}")
+    private String cepsCsv;
+
+    @Value("${api.cep.arquivo:dados/ceps.bin}")
+    private String arquivoDeCeps;
+
+    public GeradorDeDadosRunner(
+            DataSource dataSource,
+            PasswordEncoder passwordEncoder,
+            ConfigurableApplicationContext context
+    ) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        var quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var gerador = new GeradorDeDados(dataSource, passwordEncoder, semente, quantidadeThreads);
+
+        if (limpar) {
+            gerador.limpar();
+        }
+        gerador.gerarMedicos(medicos);
+        gerador.gerarPacientes(pacientes);
+        gerador.gerarUsuarios(usuarios);
+
+        if (!cepsCsv.isBlank()) {
+            var quantidade = ArquivoDeCeps.compilar(Path.of(cepsCsv), Path.of(arquivoDeCeps));
+            log.info("Diretório de CEPs gravado em {} com {} CEPs", arquivoDeCeps, quantidade);
+        }
+
+        // Ferramenta de linha de comando: encerra a aplicação ao terminar a carga
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,88 @@
+package med.voll.api.infra.idempotencia;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Respostas já dadas (ou em andamento) por Idempotency-Key, limitadas em quantidade e em tempo.
+ *
+ * Cada chave guarda a impressão do corpo da primeira requisição e um CompletableFuture com a
+ * resposta: quem chega enquanto a primeira ainda executa espera o mesmo futuro. Passada a
+ * capacidade, sai a chave concluída mais antiga; depois da validade, a chave é esquecida.
+ *
+ * Chaves ainda em execução nunca saem (senão uma repetição executaria de novo), então o armazém
+ * pode passar da capacidade por até o número de requisições simultâneas.
+ */
+final class ArmazemDeIdempotencia {
+
+    /**
+     * Resposta gravada para reenvio.
+     */
+    record RespostaGravada(int status, String contentType, String location, byte[] corpo) {
+    }
+
+    /**
+     * Resultado de reservar(): executar == true se quem chamou deve processar a requisição
+     * (e depois chamar concluir ou liberar); caso contrário, deve esperar "resposta".
+     */
+    record Reserva(boolean executar, boolean corpoDiferente, CompletableFuture<RespostaGravada> resposta) {
+    }
+
+    private record Entrada(byte[] impressao, CompletableFuture<RespostaGravada> resposta, long expiraEm) {
+    }
+
+    private final int capacidade;
+    private final long validadeNanos;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    ArmazemDeIdempotencia(int capacidade, long validadeNanos) {
+        this.capacidade = capacidade;
+        this.validadeNanos = validadeNanos;
+        this.entradas = new LinkedHashMap<>();
+    }
+
+    synchronized Reserva reservar(String chave, byte[] impressao) {
+        var existente = entradas.get(chave);
+        if (existente != null && existente.expiraEm() - System.nanoTime() > 0) {
+            var corpoDiferente = !Arrays.equals(existente.impressao(), impressao);
+            return new Reserva(false, corpoDiferente, existente.resposta());
+        }
+        var nova = new Entrada(impressao, new CompletableFuture<>(), System.nanoTime() + validadeNanos);
+        entradas.remove(chave);     // Reinsere no fim da ordem de saída
+        entradas.put(chave, nova);
+        despejar();
+        return new Reserva(true, false, nova.resposta());
+    }
+
+    /**
+     * Tira as chaves concluídas mais antigas até voltar à capacidade, pulando as em execução.
+     */
+    private void despejar() {
+        var iterador = entradas.values().iterator();
+        while (entradas.size() > capacidade && iterador.hasNext()) {
+            if (iterador.next().resposta().isDone()) {
+                iterador.remove();
+            }
+        }
+    }
+
+    /**
+     * Grava a resposta da execução e a entrega a quem estiver esperando.
+     */
+    void concluir(Reserva reserva, RespostaGravada resposta) {
+        reserva.resposta().complete(resposta);
+    }
+
+    /**
+     * A execução falhou (exceção ou 5xx): esquece a chave para que uma nova tentativa execute
+     * de novo. Quem estava esperando recebe a falha e tenta reservar outra vez.
+     */
+    synchronized void liberar(String chave, Reserva reserva) {
+        var atual = entradas.get(chave);
+        if (atual != null && atual.resposta() == reserva.resposta()) {
+            entradas.remove(chave);
+        }
+        reserva.resposta().completeExceptionally(new IllegalStateException("Execução original falhou"));
+    }
+}
@@ -0,0 +1,280 @@
+package med.voll.api.infra.idempotencia;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Suporte ao cabeçalho Idempotency-Key em POST e PUT de /medicos e /pacientes
+ * (api.idempotencia.enabled=true), para clientes móveis que repetem a requisição quando a
+ * rede falha.
+ *
+ * - A primeira requisição com uma chave executa normalmente; o status, o Content-Type, o
+ *   Location e o corpo da resposta ficam no ArmazemDeIdempotencia por api.idempotencia.validade-s
+ *   (no máximo api.idempotencia.capacidade chaves).
+ * - Uma repetição recebe a resposta gravada, com o cabeçalho Idempotent-Replayed: true, sem
+ *   passar por validação, transação ou banco (o filtro roda antes até do Spring Security).
+ * - Repetições que chegam enquanto a primeira ainda executa esperam por ela, até
+ *   api.idempotencia.espera-ms; depois disso recebem 409.
+ * - A mesma chave com outro corpo recebe 422. Respostas 5xx e exceções não são gravadas: a
+ *   próxima tentativa executa de novo.
+ * - O corpo é lido para a memória antes da execução, então corpos acima de
+ *   api.idempotencia.corpo-maximo-bytes recebem 413 (pelo Content-Length, ou no meio da leitura
+ *   quando ele não vem).
+ *
+ * A chave vale por método, caminho e cabeçalho Authorization, então um cliente não recebe a
+ * resposta gravada para outro. O armazém é local da instância.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(name = "api.idempotencia.enabled", havingValue = "true")
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    static final String CABECALHO = "Idempotency-Key";
+    static final String REENVIADA = "Idempotent-Replayed";
+
+    private static final Pattern CAMINHOS = Pattern.compile("/(medicos|pacientes)/?");
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final ArmazemDeIdempotencia armazem;
+    private final long esperaMs;
+    private final int corpoMaximoBytes;
+
+    public IdempotenciaFilter(
+            @Value("${api.idempotencia.capacidade:10000}") int capacidade,
+            @Value("${api.idempotencia.validade-s:3600}") long validadeSegundos,
+            @Value("${api.idempotencia.espera-ms:10000}") long esperaMs,
+            @Value("${api.idempotencia.corpo-maximo-bytes:65536}") int corpoMaximoBytes
+    ) {
+        if (corpoMaximoBytes <= 0) {
+            throw new IllegalArgumentException("api.idempotencia.corpo-maximo-bytes deve ser positivo: " + corpoMaximoBytes);
+        }
+        this.armazem = new ArmazemDeIdempotencia(capacidade, TimeUnit.SECONDS.toNanos(validadeSegundos));
+        this.esperaMs = esperaMs;
+        this.corpoMaximoBytes = corpoMaximoBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var metodo = request.getMethod();
+        return request.getHeader(CABECALHO) == null
+                || !("POST".equals(metodo) || "PUT".equals(metodo))
+                || !CAMINHOS.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var chaveCliente = request.getHeader(CABECALHO);
+        if (chaveCliente.isBlank() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            responderErro(response, HttpStatus.BAD_REQUEST, CABECALHO + " deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+        // Lê um byte além do limite para saber se o corpo passou dele sem ler o resto
+        var corpo = request.getContentLengthLong() > corpoMaximoBytes
+                ? null : request.getInputStream().readNBytes(corpoMaximoBytes + 1);
+        if (corpo == null || corpo.length > corpoMaximoBytes) {
+            responderErro(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Corpo acima de " + corpoMaximoBytes + " bytes em requisição com " + CABECALHO);
+            return;
+        }
+        var chave = request.getMethod() + " " + request.getRequestURI() + " "
+                + hex(sha256(nuloComoVazio(request.getHeader(HttpHeaders.AUTHORIZATION)).getBytes(StandardCharsets.UTF_8)))
+                + " " + chaveCliente;
+        var impressao = sha256(corpo);
+        var limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+
+        while (true) {
+            var reserva = armazem.reservar(chave, impressao);
+            if (reserva.executar()) {
+                executar(new CorpoEmMemoria(request, corpo), response, chain, chave, reserva);
+                return;
+            }
+            if (reserva.corpoDiferente()) {
+                responderErro(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        CABECALHO + " já usada com outro corpo de requisição");
+                return;
+            }
+            try {
+                var gravada = reserva.resposta().get(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                reenviar(response, gravada);
+                return;
+            } catch (ExecutionException e) {
+                // A execução original falhou e liberou a chave: tenta executar esta
+            } catch (TimeoutException e) {
+                responderErro(response, HttpStatus.CONFLICT,
+                        "Requisição com a mesma " + CABECALHO + " ainda em andamento");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            }
+        }
+    }
+
+    private void executar(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                          String chave, ArmazemDeIdempotencia.Reserva reserva) throws ServletException, IOException {
+        var respostaEmBuffer = new ContentCachingResponseWrapper(response);
+        var gravada = false;
+        try {
+            chain.doFilter(request, respostaEmBuffer);
+            if (respostaEmBuffer.getStatus() < 500) {
+                armazem.concluir(reserva, new ArmazemDeIdempotencia.RespostaGravada(respostaEmBuffer.getStatus(),
+                        respostaEmBuffer.getContentType(), respostaEmBuffer.getHeader(HttpHeaders.LOCATION),
+                        respostaEmBuffer.getContentAsByteArray()));
+                gravada = true;
+            }
+        } finally {
+            if (!gravada) {
+                armazem.liberar(chave, reserva);
+            }
+            respostaEmBuffer.copyBodyToResponse();
+        }
+    }
+
+    private static void reenviar(HttpServletResponse response, ArmazemDeIdempotencia.RespostaGravada gravada)
+            throws IOException {
+        log.debug("Resposta reenviada para {} repetida", CABECALHO);
+        response.setStatus(gravada.status());
+        if (gravada.contentType() != null) {
+            response.setContentType(gravada.contentType());
+        }
+        if (gravada.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, gravada.location());
+        }
+        response.setHeader(REENVIADA, "true");
+        response.setContentLength(gravada.corpo().length);
+        response.getOutputStream().write(gravada.corpo());
+    }
+
+    private static void responderErro(HttpServletResponse response, HttpStatus status, String mensagem)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(mensagem);
+    }
+
+    private static String nuloComoVazio(String valor) {
+        return valor == null ? "" : valor;
+    }
+
+    private static byte[] sha256(byte[] dados) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(dados);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        var texto = new StringBuilder(bytes.length * 2);
+        for (var b : bytes) {
+            texto.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Requisição com o corpo já lido, para que os controllers o leiam de novo.
+     */
+    private static final class CorpoEmMemoria extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoEmMemoria(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int inicio, int tamanho) {
+                    return entrada.read(destino, inicio, tamanho);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * O corpo já está todo em memória: avisa na hora que há dados e que a leitura terminou.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(charset)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
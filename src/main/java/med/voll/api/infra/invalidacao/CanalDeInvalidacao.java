@@ -0,0 +1,250 @@
+package med.voll.api.infra.invalidacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.consulta.ConsultaCancelada;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.paciente.PacienteAlterado;
+import med.voll.api.infra.feed.RecursoAlterado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coerência dos caches e índices em memória entre várias instâncias, usando só o MySQL
+ * compartilhado (api.invalidacao.enabled=true), sem broker.
+ *
+ * - Cada MedicoAlterado/PacienteAlterado/ConsultaCancelada desta instância vira uma linha em "invalidacoes",
+ *   gravada na mesma transação da alteração (BEFORE_COMMIT): a linha só existe se a
+ *   alteração foi confirmada, e nunca se perde entre o commit e a publicação.
+ * - Cada instância lê as linhas novas pela chave primária a cada api.invalidacao.intervalo-ms
+ *   e republica localmente as que vieram de outras instâncias, dentro de uma transação, então
+ *   os mesmos @TransactionalEventListener (BuscaDeMedicos, DiretorioDeMedicos, AlocadorDeMedicos,
+ *   ContadoresDeCadastro, IndiceDeHorarios, feed de alterações...) as aplicam como se a escrita fosse local.
+ *   O atraso máximo é o intervalo mais o tempo da leitura.
+ * - IDs de auto_increment são reservados no INSERT, mas ficam visíveis só no commit, fora de
+ *   ordem: um ID que falta (lacuna) é esperado por até api.invalidacao.espera-lacuna-ms
+ *   antes de ser dado como revertido, para não pular uma transação ainda em andamento.
+ * - Linhas mais antigas que api.invalidacao.retencao-s são apagadas periodicamente; uma
+ *   instância que sobe começa do maior ID existente, lido ainda na criação do bean, antes de os
+ *   caches carregarem do banco (ApplicationReadyEvent). Uma alteração confirmada entre as duas
+ *   leituras pode ser aplicada duas vezes (na carga e pelo canal), mas nunca se perde.
+ */
+@Component
+@ConditionalOnProperty(name = "api.invalidacao.enabled", havingValue = "true")
+public class CanalDeInvalidacao implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CanalDeInvalidacao.class);
+
+    private static final String CONSULTA = "CONSULTA";
+
+    private static final String INSERT = """
+            insert into invalidacoes (recurso, registro_id, origem, dados, criada_em) values (?, ?, ?, ?, ?)
+            """;
+    private static final String NOVAS = """
+            select id, recurso, origem, dados from invalidacoes where id > ? order by id limit ?
+            """;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "invalidacao");
+        thread.setDaemon(true);
+        threadDeLeitura = thread;
+        return thread;
+    });
+
+    private volatile Thread threadDeLeitura;
+
+    private final String origem = UUID.randomUUID().toString();
+
+    // Usados só pela thread "invalidacao"
+    private long cursor;                                 // Todos os IDs <= cursor já foram tratados
+    private final TreeSet<Long> vistos = new TreeSet<>(); // IDs > cursor já tratados (depois de uma lacuna)
+    private long lacunaDesde;                            // nanoTime em que a lacuna atual foi vista; 0 = sem lacuna
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.invalidacao.intervalo-ms:200}")
+    private long intervaloMs;
+
+    @Value("${api.invalidacao.lote:500}")
+    private int lote;
+
+    @Value("${api.invalidacao.espera-lacuna-ms:5000}")
+    private long esperaLacunaMs;
+
+    @Value("${api.invalidacao.retencao-s:3600}")
+    private long retencaoS;
+
+    /**
+     * Lê o ponto de partida antes de qualquer cache carregar: o que for confirmado depois
+     * disso chega pelo canal, mesmo que a carga já o tenha visto.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        var maior = jdbc.queryForObject("select max(id) from invalidacoes", Long.class);
+        cursor = maior == null ? 0 : maior;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        executor.scheduleWithFixedDelay(this::lerComSeguranca, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        var limpeza = Math.max(1, retencaoS / 10);
+        executor.scheduleWithFixedDelay(this::limpar, limpeza, limpeza, TimeUnit.SECONDS);
+        log.info("Canal de invalidação iniciado (instância {}, a partir do ID {})", origem, cursor);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarMedico(MedicoAlterado evento) {
+        if (!replicada()) {
+            registrar(RecursoAlterado.MEDICO.name(), evento.id(), evento);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarPaciente(PacienteAlterado evento) {
+        if (!replicada()) {
+            registrar(RecursoAlterado.PACIENTE.name(), evento.id(), evento);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoCancelarConsulta(ConsultaCancelada evento) {
+        if (!replicada()) {
+            registrar(CONSULTA, evento.id(), evento);
+        }
+    }
+
+    /**
+     * Eventos republicados pela própria thread de leitura vieram de outra instância e já
+     * estão na tabela.
+     */
+    private boolean replicada() {
+        return Thread.currentThread() == threadDeLeitura;
+    }
+
+    private void registrar(String recurso, Long id, Object evento) {
+        try {
+            jdbc.update(INSERT, recurso, id, origem, objectMapper.writeValueAsString(evento),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar " + evento, e);
+        }
+    }
+
+    private void lerComSeguranca() {
+        try {
+            ler();
+        } catch (RuntimeException e) {
+            log.warn("Canal de invalidação: falha ao ler alterações de outras instâncias", e);
+        }
+    }
+
+    /**
+     * Lê as linhas depois do cursor, republica as de outras instâncias numa transação
+     * e avança o cursor até a primeira lacuna.
+     */
+    void ler() {
+        var linhas = jdbc.queryForList(NOVAS, cursor, lote);
+        if (linhas.isEmpty()) {
+            lacunaDesde = 0;
+            return;
+        }
+        transacao.executeWithoutResult(status -> {
+            for (var linha : linhas) {
+                var id = ((Number) linha.get("id")).longValue();
+                if (!vistos.add(id)) {
+                    continue;
+                }
+                if (!origem.equals(linha.get("origem"))) {
+                    republicar((String) linha.get("recurso"), (String) linha.get("dados"));
+                }
+            }
+        });
+        avancarCursor();
+    }
+
+    private void republicar(String recurso, String dados) {
+        Class<?> tipo = switch (recurso) {
+            case "MEDICO" -> MedicoAlterado.class;
+            case "PACIENTE" -> PacienteAlterado.class;
+            case CONSULTA -> ConsultaCancelada.class;
+            default -> null;
+        };
+        if (tipo == null) {
+            log.error("Canal de invalidação: recurso desconhecido {} ignorado", recurso);
+            return;
+        }
+        try {
+            publisher.publishEvent(objectMapper.readValue(dados, tipo));
+        } catch (JsonProcessingException e) {
+            log.error("Canal de invalidação: alteração de {} ilegível ignorada: {}", recurso, dados, e);
+        }
+    }
+
+    private void avancarCursor() {
+        while (!vistos.isEmpty() && vistos.first() == cursor + 1) {
+            cursor = vistos.pollFirst();
+        }
+        if (vistos.isEmpty()) {
+            lacunaDesde = 0;
+            return;
+        }
+        var agora = System.nanoTime();
+        if (lacunaDesde == 0) {
+            lacunaDesde = agora;
+        } else if (agora - lacunaDesde > TimeUnit.MILLISECONDS.toNanos(esperaLacunaMs)) {
+            // A transação que reservou os IDs que faltam foi revertida (ou o auto_increment pulou)
+            log.debug("Canal de invalidação: lacuna de IDs {} a {} ignorada", cursor + 1, vistos.first() - 1);
+            cursor = vistos.first() - 1;
+            lacunaDesde = 0;
+            avancarCursor();
+        }
+    }
+
+    private void limpar() {
+        try {
+            var limite = Timestamp.valueOf(LocalDateTime.now().minusSeconds(retencaoS));
+            int apagadas;
+            do {
+                apagadas = jdbc.update("delete from invalidacoes where criada_em < ? limit 10000", limite);
+            } while (apagadas == 10000);
+        } catch (RuntimeException e) {
+            log.warn("Canal de invalidação: falha ao apagar linhas antigas", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,40 @@
+package med.voll.api.infra.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON padrão do Spring MVC, acrescido de um SerializacaoEvent em torno
+ * da escrita de cada resposta.
+ */
+public class ConversorJacksonMonitorado extends MappingJackson2HttpMessageConverter {
+
+    public ConversorJacksonMonitorado(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        var evento = new SerializacaoEvent();
+        if (!evento.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        evento.begin();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.concluir(object == null ? "null" : object.getClass().getSimpleName());
+            }
+        }
+    }
+}
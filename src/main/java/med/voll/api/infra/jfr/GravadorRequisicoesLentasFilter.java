@@ -0,0 +1,143 @@
+package med.voll.api.infra.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Regra opcional de "dump" do JFR: quando uma requisição passa de api.jfr.dump.limite-ms,
+ * grava um RequisicaoLentaEvent e salva em disco um snapshot da gravação contínua,
+ * para que a investigação não dependa de reproduzir o problema.
+ *
+ * Se a JVM já foi iniciada com -XX:StartFlightRecording, o snapshot usa essa gravação;
+ * caso contrário o filtro inicia uma gravação contínua com o perfil "default" do JDK.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "api.jfr.dump.enabled", havingValue = "true")
+public class GravadorRequisicoesLentasFilter extends OncePerRequestFilter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GravadorRequisicoesLentasFilter.class);
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final long limiteNanos;
+    private final long intervaloMinimoNanos;
+    private final Path diretorio;
+    private final Recording gravacaoPropria;                 // null quando já havia gravação na JVM
+    private final AtomicLong ultimoDump = new AtomicLong(); // nanoTime do último dump disparado
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "jfr-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GravadorRequisicoesLentasFilter(
+            @Value("${api.jfr.dump.limite-ms:2000}") long limiteMs,
+            @Value("${api.jfr.dump.intervalo-minimo-s:60}") long intervaloMinimoSegundos,
+            @Value("${api.jfr.dump.diretorio:${java.io.tmpdir}/vollmed-jfr}") String diretorio
+    ) throws IOException, ParseException {
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        this.intervaloMinimoNanos = TimeUnit.SECONDS.toNanos(intervaloMinimoSegundos);
+        this.diretorio = Files.createDirectories(Path.of(diretorio));
+        this.ultimoDump.set(System.nanoTime() - intervaloMinimoNanos);
+        this.gravacaoPropria = existeGravacaoAtiva() ? null : iniciarGravacao();
+    }
+
+    /**
+     * O feed SSE (/alteracoes) é uma conexão longa por natureza; não é requisição lenta.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/alteracoes");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        var evento = new RequisicaoLentaEvent();
+        var inicio = System.nanoTime();
+        evento.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            evento.end();
+            if (System.nanoTime() - inicio >= limiteNanos) {
+                evento.concluir(request.getMethod(), request.getRequestURI(), response.getStatus());
+                agendarDump(request.getMethod() + " " + request.getRequestURI());
+            }
+        }
+    }
+
+    /**
+     * Dispara o dump fora da thread da requisição, respeitando o intervalo mínimo
+     * entre dumps para não encher o disco durante um pico de lentidão.
+     */
+    private void agendarDump(String requisicao) {
+        var agora = System.nanoTime();
+        var anterior = ultimoDump.get();
+        if (agora - anterior < intervaloMinimoNanos || !ultimoDump.compareAndSet(anterior, agora)) {
+            return;
+        }
+
+        executor.execute(() -> {
+            var arquivo = diretorio.resolve("requisicao-lenta-" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".jfr");
+            try (var snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+                snapshot.dump(arquivo);
+                log.warn("Requisição lenta ({}); gravação JFR salva em {}", requisicao, arquivo);
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha ao salvar gravação JFR da requisição lenta {}", requisicao, e);
+            }
+        });
+    }
+
+    private static boolean existeGravacaoAtiva() {
+        return FlightRecorder.isAvailable() && FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(gravacao -> gravacao.getState() == RecordingState.RUNNING);
+    }
+
+    private static Recording iniciarGravacao() throws IOException, ParseException {
+        var gravacao = new Recording(Configuration.getConfiguration("default"));
+        gravacao.setName("vollmed-continua");
+        gravacao.setToDisk(true);
+        gravacao.setMaxAge(Duration.ofMinutes(5));  // Mantém só a janela recente para os snapshots
+        gravacao.start();
+        return gravacao;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        if (gravacaoPropria != null) {
+            gravacaoPropria.close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package med.voll.api.infra.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Registra o conversor JSON monitorado no lugar do conversor criado pelo Spring Boot
+ * (a auto-configuração recua quando já existe um MappingJackson2HttpMessageConverter).
+ */
+@Configuration
+public class JfrConfiguration {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ConversorJacksonMonitorado(objectMapper);
+    }
+}
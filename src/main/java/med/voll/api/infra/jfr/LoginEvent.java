@@ -0,0 +1,42 @@
+package med.voll.api.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR emitido a cada tentativa de login em POST /login.
+ * A duração do evento cobre toda a autenticação; duracaoHash isola o tempo do BCrypt.
+ */
+@Name("med.voll.api.Login")
+@Label("Login")
+@Category({"Voll.med", "Autenticação"})
+@Description("Tentativa de autenticação com login e senha")
+public class LoginEvent extends Event {
+
+    @Label("Login")
+    private String login;
+
+    @Label("Sucesso")
+    private boolean sucesso;
+
+    @Label("Duração do hash da senha")
+    @Timespan(Timespan.NANOSECONDS)
+    private long duracaoHash;
+
+    public LoginEvent(String login) {
+        this.login = login;
+    }
+
+    /**
+     * Preenche o resultado da tentativa e grava o evento (se o JFR estiver gravando).
+     */
+    public void concluir(boolean sucesso, long duracaoHash) {
+        this.sucesso = sucesso;
+        this.duracaoHash = duracaoHash;
+        commit();
+    }
+}
@@ -0,0 +1,53 @@
+package med.voll.api.infra.jfr;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Decorador do PasswordEncoder que mede quanto tempo o hash (BCrypt) levou na thread
+ * atual, para que o LoginEvent possa separar o custo do hash do restante do login.
+ */
+public class PasswordEncoderMonitorado implements PasswordEncoder {
+
+    private static final ThreadLocal<long[]> DURACAO_HASH = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final PasswordEncoder delegate;
+
+    public PasswordEncoderMonitorado(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Retorna o tempo de hash acumulado na thread atual (em nanos) e zera o acumulador.
+     */
+    public static long consumirDuracaoHash() {
+        var acumulado = DURACAO_HASH.get();
+        var duracao = acumulado[0];
+        acumulado[0] = 0;
+        return duracao;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        var inicio = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            DURACAO_HASH.get()[0] += System.nanoTime() - inicio;
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        var inicio = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            DURACAO_HASH.get()[0] += System.nanoTime() - inicio;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
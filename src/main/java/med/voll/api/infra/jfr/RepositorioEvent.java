@@ -0,0 +1,34 @@
+package med.voll.api.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido a cada chamada aos repositórios Spring Data
+ * (MedicoRepository, PacienteRepository, UsuarioRepository...).
+ */
+@Name("med.voll.api.Repositorio")
+@Label("Chamada de repositório")
+@Category({"Voll.med", "Banco de dados"})
+@Description("Execução de um método de repositório Spring Data")
+public class RepositorioEvent extends Event {
+
+    @Label("Repositório")
+    private String repositorio;
+
+    @Label("Método")
+    private String metodo;
+
+    @Label("Falhou")
+    private boolean falhou;
+
+    public void concluir(String repositorio, String metodo, boolean falhou) {
+        this.repositorio = repositorio;
+        this.metodo = metodo;
+        this.falhou = falhou;
+        commit();
+    }
+}
@@ -0,0 +1,49 @@
+package med.voll.api.infra.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto que emite um RepositorioEvent em torno de cada chamada aos repositórios.
+ * Quando o JFR não está gravando o evento, a chamada segue direto sem custo extra.
+ */
+@Aspect
+@Component
+public class RepositorioJfrAspect {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object registrar(ProceedingJoinPoint joinPoint) throws Throwable {
+        var evento = new RepositorioEvent();
+        if (!evento.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        var falhou = true;
+        evento.begin();
+        try {
+            var resultado = joinPoint.proceed();
+            falhou = false;
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.concluir(nomeRepositorio(joinPoint.getThis()), joinPoint.getSignature().getName(), falhou);
+            }
+        }
+    }
+
+    /**
+     * Os repositórios são proxies; o nome útil é o da interface da aplicação
+     * (ex.: MedicoRepository), e não o de JpaRepository onde o método foi declarado.
+     */
+    private static String nomeRepositorio(Object proxy) {
+        for (var interfaceImplementada : proxy.getClass().getInterfaces()) {
+            if (interfaceImplementada.getName().startsWith("med.voll.api")) {
+                return interfaceImplementada.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,34 @@
+package med.voll.api.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido quando uma requisição ultrapassa o limite configurado em
+ * api.jfr.dump.limite-ms; marca no arquivo gravado qual requisição disparou o dump.
+ */
+@Name("med.voll.api.RequisicaoLenta")
+@Label("Requisição lenta")
+@Category({"Voll.med", "HTTP"})
+@Description("Requisição HTTP acima do limite de latência")
+public class RequisicaoLentaEvent extends Event {
+
+    @Label("Método HTTP")
+    private String metodo;
+
+    @Label("URI")
+    private String uri;
+
+    @Label("Status")
+    private int status;
+
+    public void concluir(String metodo, String uri, int status) {
+        this.metodo = metodo;
+        this.uri = uri;
+        this.status = status;
+        commit();
+    }
+}
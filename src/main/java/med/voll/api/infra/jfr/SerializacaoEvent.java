@@ -0,0 +1,25 @@
+package med.voll.api.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido na serialização do corpo de uma resposta pelo Jackson.
+ */
+@Name("med.voll.api.Serializacao")
+@Label("Serialização de resposta")
+@Category({"Voll.med", "HTTP"})
+@Description("Escrita do corpo JSON de uma resposta")
+public class SerializacaoEvent extends Event {
+
+    @Label("Tipo")
+    private String tipo;
+
+    public void concluir(String tipo) {
+        this.tipo = tipo;
+        commit();
+    }
+}
@@ -0,0 +1,126 @@
+package med.voll.api.infra.limite;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada (estilo gradiente/Vegas).
+ *
+ * As latências são agrupadas em janelas de pelo menos "janela" amostras. A média da janela
+ * (rttCurto) é comparada com uma média lenta das janelas anteriores (rttLongo), que representa
+ * a latência "sem fila":
+ * - gradiente = clamp(tolerancia * rttLongo / rttCurto, 0.5, 1): 1 enquanto a latência não
+ *   subir além da tolerância, menor quando as requisições começam a esperar umas pelas outras;
+ * - novo limite = limite * gradiente + raiz(limite), suavizado; a raiz é a folga que permite
+ *   crescer quando o gradiente é 1 e medir se a concorrência extra piora a latência;
+ * - se na janela nunca se chegou à metade do limite, ele não cresce (a carga é que era baixa).
+ *
+ * A admissão é lock-free (CAS no contador); só o fechamento da janela é sincronizado.
+ */
+final class LimiteAdaptativo {
+
+    private static final double TOLERANCIA = 1.5;
+    private static final double SUAVIZACAO = 0.2;
+    private static final double ALFA_LONGO = 0.05;       // rttLongo acompanha ~20 janelas
+
+    private final int minimo;
+    private final int maximo;
+    private final int janela;
+    private final double fracaoNormal;
+    private final double fracaoBaixa;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private volatile double limite;
+
+    // Protegidos por this
+    private double rttLongo;
+    private long somaDaJanela;
+    private int amostrasDaJanela;
+    private int picoDaJanela;
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo, int janela, double fracaoNormal, double fracaoBaixa) {
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.janela = janela;
+        this.fracaoNormal = fracaoNormal;
+        this.fracaoBaixa = fracaoBaixa;
+    }
+
+    /**
+     * Ocupa uma vaga se as requisições em andamento estiverem abaixo do teto da prioridade.
+     *
+     * @return false se a requisição deve ser descartada
+     */
+    boolean adquirir(Prioridade prioridade) {
+        var teto = Math.max(1, (int) (limite * fracao(prioridade)));
+        while (true) {
+            var atual = emAndamento.get();
+            if (atual >= teto) {
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga. Só respostas normais (amostra=true) entram no cálculo: uma falha rápida
+     * faria a latência parecer menor do que é.
+     */
+    void liberar(long latenciaNanos, boolean amostra) {
+        var concorrencia = emAndamento.getAndDecrement();
+        if (amostra) {
+            registrar(latenciaNanos, concorrencia);
+        }
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int emAndamento() {
+        return emAndamento.get();
+    }
+
+    private synchronized void registrar(long latenciaNanos, int concorrencia) {
+        somaDaJanela += latenciaNanos;
+        amostrasDaJanela++;
+        picoDaJanela = Math.max(picoDaJanela, concorrencia);
+        if (amostrasDaJanela < janela) {
+            return;
+        }
+
+        var rttCurto = (double) somaDaJanela / amostrasDaJanela;
+        var pico = picoDaJanela;
+        somaDaJanela = 0;
+        amostrasDaJanela = 0;
+        picoDaJanela = 0;
+
+        if (rttLongo == 0) {
+            rttLongo = rttCurto;
+            return;
+        }
+        rttLongo += (rttCurto - rttLongo) * ALFA_LONGO;
+        if (rttLongo / rttCurto > 2) {
+            rttLongo *= 0.95;   // A latência caiu muito (fim de um pico): não ficar preso na referência antiga
+        }
+
+        var atual = limite;
+        if (pico < atual / 2) {
+            return;
+        }
+        var gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * rttLongo / rttCurto));
+        var novo = atual * gradiente + Math.sqrt(atual);
+        novo = atual * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = Math.max(minimo, Math.min(maximo, novo));
+    }
+
+    private double fracao(Prioridade prioridade) {
+        return switch (prioridade) {
+            case ALTA -> 1.0;
+            case NORMAL -> fracaoNormal;
+            case BAIXA -> fracaoBaixa;
+        };
+    }
+}
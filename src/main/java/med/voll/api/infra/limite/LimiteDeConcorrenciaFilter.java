@@ -0,0 +1,109 @@
+package med.voll.api.infra.limite;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Controle de admissão na frente dos controllers (api.limite.enabled=true): cada requisição
+ * ocupa uma vaga do LimiteAdaptativo enquanto roda e, se não houver vaga para a sua prioridade,
+ * recebe 503 com Retry-After na hora, em vez de esperar numa fila até estourar o timeout.
+ *
+ * Prioridades (ver Prioridade): ALTA para detalhes, buscas exatas e POST /login; BAIXA para
+ * listagens paginadas e /arquivo; NORMAL para o resto. Com api.limite.fracao-baixa=0.6,
+ * listagens nunca ocupam mais de 60% do limite, e o que sobra garante o p99 dos caminhos
+ * importantes durante picos.
+ *
+ * Roda antes do Spring Security, então requisições descartadas não pagam nem a autenticação.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "api.limite.enabled", havingValue = "true")
+public class LimiteDeConcorrenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteDeConcorrenciaFilter.class);
+
+    private static final Pattern ALTA = Pattern.compile(
+            "/(medicos|pacientes)/\\d+|/medicos/(crm|email)/[^/]+|/pacientes/(cpf|email)/[^/]+");
+    private static final Pattern LISTAGEM = Pattern.compile("/(medicos|pacientes)/?");
+
+    private final LimiteAdaptativo limite;
+    private final String retryAfter;
+    private final AtomicLong descartadas = new AtomicLong();
+
+    public LimiteDeConcorrenciaFilter(
+            @Value("${api.limite.inicial:50}") int inicial,
+            @Value("${api.limite.minimo:8}") int minimo,
+            @Value("${api.limite.maximo:500}") int maximo,
+            @Value("${api.limite.janela:50}") int janela,
+            @Value("${api.limite.fracao-normal:0.85}") double fracaoNormal,
+            @Value("${api.limite.fracao-baixa:0.6}") double fracaoBaixa,
+            @Value("${api.limite.retry-after-s:1}") int retryAfterSegundos
+    ) {
+        this.limite = new LimiteAdaptativo(inicial, minimo, maximo, janela, fracaoNormal, fracaoBaixa);
+        this.retryAfter = String.valueOf(retryAfterSegundos);
+    }
+
+    /**
+     * O feed SSE (/alteracoes) fica aberto indefinidamente e não pode ocupar uma vaga.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/alteracoes");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var prioridade = prioridade(request);
+        if (!limite.adquirir(prioridade)) {
+            var total = descartadas.incrementAndGet();
+            if (total % 1000 == 1) {
+                log.warn("Sobrecarga: requisição {} {} descartada (limite {}, em andamento {}, {} descartadas até agora)",
+                        prioridade, request.getRequestURI(), limite.limite(), limite.emAndamento(), total);
+            }
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+
+        var inicio = System.nanoTime();
+        var normal = false;
+        try {
+            chain.doFilter(request, response);
+            normal = response.getStatus() < 500;
+        } finally {
+            limite.liberar(System.nanoTime() - inicio, normal);
+        }
+    }
+
+    static Prioridade prioridade(HttpServletRequest request) {
+        var caminho = request.getRequestURI().substring(request.getContextPath().length());
+        var metodo = request.getMethod();
+        if ("POST".equals(metodo) && caminho.equals("/login")) {
+            return Prioridade.ALTA;
+        }
+        if ("GET".equals(metodo) && ALTA.matcher(caminho).matches()) {
+            return Prioridade.ALTA;
+        }
+        if ("GET".equals(metodo) && LISTAGEM.matcher(caminho).matches() || caminho.startsWith("/arquivo")) {
+            return Prioridade.BAIXA;
+        }
+        return Prioridade.NORMAL;
+    }
+}
@@ -0,0 +1,18 @@
+package med.voll.api.infra.limite;
+
+/**
+ * Classe de prioridade de uma requisição no LimiteAdaptativo.
+ *
+ * Cada classe só é admitida enquanto as requisições em andamento estiverem abaixo da sua
+ * fração do limite: sob sobrecarga, BAIXA é descartada primeiro e sobra folga para ALTA.
+ */
+public enum Prioridade {
+
+    /** Detalhes, buscas exatas e /login. */
+    ALTA,
+    /** Cadastros, edições, consultas e demais endpoints. */
+    NORMAL,
+    /** Listagens paginadas e rotas administrativas (arquivo). */
+    BAIXA
+
+}
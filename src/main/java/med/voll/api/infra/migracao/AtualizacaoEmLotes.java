@@ -0,0 +1,43 @@
+package med.voll.api.infra.migracao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * MigracaoDeDados para o caso comum: um UPDATE com SET e WHERE fixos, aplicado faixa a faixa.
+ *
+ * new AtualizacaoEmLotes("medicos-ativo", "medicos", "ativo = 1", "ativo is null")
+ * executa "update medicos set ativo = 1 where (ativo is null) and id > ? and id <= ?" a cada lote.
+ */
+public class AtualizacaoEmLotes implements MigracaoDeDados {
+
+    private final String nome;
+    private final String tabela;
+    private final String sql;
+
+    /**
+     * @param atribuicoes trecho do SET (ex.: "ativo = 1")
+     * @param condicao    filtro adicional das linhas a migrar, ou null para todas
+     */
+    public AtualizacaoEmLotes(String nome, String tabela, String atribuicoes, String condicao) {
+        this.nome = nome;
+        this.tabela = tabela;
+        this.sql = "update " + tabela + " set " + atribuicoes + " where "
+                + (condicao == null ? "" : "(" + condicao + ") and ")
+                + "id > ? and id <= ?";
+    }
+
+    @Override
+    public String nome() {
+        return nome;
+    }
+
+    @Override
+    public String tabela() {
+        return tabela;
+    }
+
+    @Override
+    public int migrarFaixa(JdbcTemplate jdbc, long inicio, long fim) {
+        return jdbc.update(sql, inicio, fim);
+    }
+}
@@ -0,0 +1,183 @@
+package med.voll.api.infra.migracao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executa as MigracaoDeDados registradas, em segundo plano, depois que o Flyway
+ * terminou e a aplicação já está atendendo.
+ *
+ * - Cada lote cobre os próximos api.migracao-dados.lote IDs da tabela (faixa pela chave primária)
+ *   e roda numa transação curta, que também grava o último ID migrado em "migracoes_dados".
+ *   Uma migração interrompida (deploy, queda) recomeça do último lote confirmado.
+ * - A linha de progresso é travada (select ... for update) durante o lote, então várias
+ *   instâncias podem subir juntas sem migrar a mesma faixa duas vezes.
+ * - Entre lotes há uma pausa de pelo menos api.migracao-dados.pausa-ms, aumentada para que o
+ *   backfill ocupe no máximo a fração api.migracao-dados.ocupacao-maxima do tempo do banco.
+ * - O alvo é o maior ID existente no início da execução: linhas criadas depois já são gravadas
+ *   pelo código novo.
+ */
+@Component
+public class ExecutorDeMigracoesDeDados implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorDeMigracoesDeDados.class);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "migracao-dados");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired(required = false)     // Na ordem de @Order; vazia quando não há backfill pendente
+    private List<MigracaoDeDados> migracoes = List.of();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Value("${api.migracao-dados.lote:1000}")
+    private int lote;
+
+    @Value("${api.migracao-dados.pausa-ms:100}")
+    private long pausaMs;
+
+    @Value("${api.migracao-dados.ocupacao-maxima:0.5}")
+    private double ocupacaoMaxima;
+
+    /**
+     * Recusa na inicialização as configurações que quebrariam o ritmo dos lotes: a pausa divide
+     * por ocupacao-maxima, e um lote vazio nunca avançaria o cursor.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!(ocupacaoMaxima > 0 && ocupacaoMaxima <= 1)) {
+            throw new IllegalArgumentException("api.migracao-dados.ocupacao-maxima deve estar em (0, 1]: " + ocupacaoMaxima);
+        }
+        if (lote <= 0) {
+            throw new IllegalArgumentException("api.migracao-dados.lote deve ser positivo: " + lote);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!migracoes.isEmpty()) {
+            executor.execute(this::executarPendentes);
+        }
+    }
+
+    private void executarPendentes() {
+        for (var migracao : migracoes) {
+            try {
+                if (!executar(migracao)) {
+                    return;   // Interrompida pelo desligamento da aplicação
+                }
+            } catch (RuntimeException e) {
+                // O lote com falha foi revertido; a próxima inicialização retoma do último confirmado
+                log.error("Migração de dados {} interrompida", migracao.nome(), e);
+                return;       // As seguintes podem depender desta
+            }
+        }
+    }
+
+    /**
+     * @return false se a thread foi interrompida antes do fim
+     */
+    private boolean executar(MigracaoDeDados migracao) {
+        registrar(migracao);
+        var progresso = jdbc.queryForMap(
+                "select ultimo_id, concluida_em from migracoes_dados where nome = ?", migracao.nome());
+        if (progresso.get("concluida_em") != null) {
+            return true;
+        }
+
+        Long alvo = jdbc.queryForObject("select max(id) from " + migracao.tabela(), Long.class);
+        log.info("Migração de dados {}: retomando após o ID {} (alvo {})",
+                migracao.nome(), progresso.get("ultimo_id"), alvo);
+        var inicio = System.nanoTime();
+        var ocupado = 0L;
+        while (true) {
+            var inicioLote = System.nanoTime();
+            var continua = Boolean.TRUE.equals(transacao.execute(status -> executarLote(migracao, alvo == null ? 0 : alvo)));
+            var duracaoLote = System.nanoTime() - inicioLote;
+            ocupado += duracaoLote;
+            if (!continua) {
+                break;
+            }
+            try {
+                Thread.sleep(pausa(duracaoLote));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        log.info("Migração de dados {} concluída em {} s ({} s em lotes)", migracao.nome(),
+                (System.nanoTime() - inicio) / 1_000_000_000, ocupado / 1_000_000_000);
+        return true;
+    }
+
+    /**
+     * Migra o próximo lote e grava o progresso na mesma transação.
+     *
+     * @return false quando não há mais nada a migrar (e a migração foi marcada como concluída)
+     */
+    private boolean executarLote(MigracaoDeDados migracao, long alvo) {
+        var agora = Timestamp.valueOf(LocalDateTime.now());
+        var ultimoId = jdbc.queryForObject(
+                "select ultimo_id from migracoes_dados where nome = ? for update", Long.class, migracao.nome());
+        // Fim da faixa: o lote-ésimo ID depois do cursor, percorrendo só a chave primária
+        Long fim = jdbc.queryForObject("select max(id) from (select id from " + migracao.tabela()
+                + " where id > ? and id <= ? order by id limit ?) faixa", Long.class, ultimoId, alvo, lote);
+        if (fim == null) {
+            jdbc.update("update migracoes_dados set atualizada_em = ?, concluida_em = ? where nome = ?",
+                    agora, agora, migracao.nome());
+            return false;
+        }
+        var alteradas = migracao.migrarFaixa(jdbc, ultimoId, fim);
+        jdbc.update("update migracoes_dados set ultimo_id = ?, registros = registros + ?, atualizada_em = ? where nome = ?",
+                fim, alteradas, agora, migracao.nome());
+        return true;
+    }
+
+    private void registrar(MigracaoDeDados migracao) {
+        var agora = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbc.update("insert into migracoes_dados (nome, ultimo_id, registros, iniciada_em, atualizada_em) "
+                    + "select ?, 0, 0, ?, ? from dual where not exists (select 1 from migracoes_dados where nome = ?)",
+                    migracao.nome(), agora, agora, migracao.nome());
+        } catch (DuplicateKeyException e) {
+            // Outra instância registrou ao mesmo tempo
+        }
+    }
+
+    /**
+     * Pausa após um lote que levou duracaoLote ns: o mínimo configurado, ou o suficiente
+     * para manter o backfill dentro da ocupação máxima.
+     */
+    private long pausa(long duracaoLote) {
+        var proporcional = (long) (duracaoLote / 1_000_000 * (1 - ocupacaoMaxima) / ocupacaoMaxima);
+        return Math.max(pausaMs, proporcional);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
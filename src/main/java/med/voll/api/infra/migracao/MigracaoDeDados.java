@@ -0,0 +1,42 @@
+package med.voll.api.infra.migracao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Migração de dados (backfill) executada em lotes pelo ExecutorDeMigracoesDeDados,
+ * depois do Flyway e com a aplicação já no ar.
+ *
+ * Use para qualquer UPDATE que percorra uma tabela grande: em vez de um "update medicos set ..."
+ * numa migração SQL (uma transação só, tabela travada), registre um bean com a mesma alteração
+ * restrita a uma faixa de IDs. A estrutura (colunas, índices) continua nas migrações do Flyway,
+ * e a coluna nova deve aceitar o valor antigo até o backfill terminar.
+ *
+ * Exemplo:
+ * <pre>
+ * &#64;Bean
+ * MigracaoDeDados preencherAtivoDosMedicos() {
+ *     return new AtualizacaoEmLotes("2024-medicos-ativo", "medicos", "ativo = 1", "ativo is null");
+ * }
+ * </pre>
+ */
+public interface MigracaoDeDados {
+
+    /**
+     * Identificador único e estável: é a chave do progresso salvo em "migracoes_dados".
+     * Mudar o nome faz a migração rodar de novo desde o início.
+     */
+    String nome();
+
+    /**
+     * Tabela percorrida; precisa de chave primária numérica "id".
+     */
+    String tabela();
+
+    /**
+     * Migra as linhas com inicio &lt; id &lt;= fim. Roda na mesma transação que grava o progresso,
+     * então precisa ser idempotente apenas para a faixa em andamento.
+     *
+     * @return quantidade de linhas alteradas
+     */
+    int migrarFaixa(JdbcTemplate jdbc, long inicio, long fim);
+}
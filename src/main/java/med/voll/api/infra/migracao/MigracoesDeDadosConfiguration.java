@@ -0,0 +1,45 @@
+package med.voll.api.infra.migracao;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Backfills que acompanham as migrações do Flyway, na ordem em que devem rodar.
+ * Os nomes são a chave do progresso em "migracoes_dados": não renomeie depois de publicado.
+ */
+@Configuration
+public class MigracoesDeDadosConfiguration {
+
+    @Bean
+    @Order(1)
+    public MigracaoDeDados preencherChavesNormalizadasDosMedicos() {
+        return new PreenchimentoDeChavesNormalizadas("V10-chaves-normalizadas-medicos", "medicos",
+                "crm", "crm_normalizado");
+    }
+
+    @Bean
+    @Order(2)
+    public MigracaoDeDados preencherChavesNormalizadasDosPacientes() {
+        return new PreenchimentoDeChavesNormalizadas("V10-chaves-normalizadas-pacientes", "pacientes",
+                "cpf", "cpf_normalizado");
+    }
+
+    /**
+     * Inativos anteriores à V12 contam como inativados agora: só chegam ao arquivo depois de
+     * api.arquivamento.dias-inativo, e nenhum é arquivado antes de receber a data.
+     */
+    @Bean
+    @Order(3)
+    public MigracaoDeDados preencherInativacaoDosMedicos() {
+        return new AtualizacaoEmLotes("V12-inativado-em-medicos", "medicos",
+                "inativado_em = now()", "ativo = 0 and inativado_em is null");
+    }
+
+    @Bean
+    @Order(4)
+    public MigracaoDeDados preencherInativacaoDosPacientes() {
+        return new AtualizacaoEmLotes("V12-inativado-em-pacientes", "pacientes",
+                "inativado_em = now()", "ativo = 0 and inativado_em is null");
+    }
+}
@@ -0,0 +1,110 @@
+package med.voll.api.infra.migracao;
+
+import med.voll.api.domain.Normalizacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Preenche as colunas *_normalizado (documento e e-mail) dos registros anteriores à V10, com a
+ * mesma Normalizacao usada pelo código que grava os cadastros novos.
+ *
+ * Registros antigos podem colidir depois de normalizados ("Ana@voll.med" e "ana@voll.med",
+ * "123.456" e "123456"), o que faria o UPDATE falhar no índice único e parar a migração.
+ * Antes de gravar, cada lote procura as chaves já usadas por outro registro (no banco ou no
+ * próprio lote): o registro de menor ID fica com a chave e os demais ficam com a coluna vazia e
+ * são relatados no log como conflito. Depois de corrigir esses cadastros, apagar a linha da
+ * migração em "migracoes_dados" faz o preenchimento rodar de novo só para as colunas vazias.
+ */
+public class PreenchimentoDeChavesNormalizadas implements MigracaoDeDados {
+
+    private static final Logger log = LoggerFactory.getLogger(PreenchimentoDeChavesNormalizadas.class);
+
+    private final String nome;
+    private final String tabela;
+    private final String documento;
+    private final String documentoNormalizado;
+
+    /**
+     * @param documento            coluna do documento ("crm", "cpf")
+     * @param documentoNormalizado coluna com o documento só com dígitos
+     */
+    public PreenchimentoDeChavesNormalizadas(String nome, String tabela, String documento, String documentoNormalizado) {
+        this.nome = nome;
+        this.tabela = tabela;
+        this.documento = documento;
+        this.documentoNormalizado = documentoNormalizado;
+    }
+
+    @Override
+    public String nome() {
+        return nome;
+    }
+
+    @Override
+    public String tabela() {
+        return tabela;
+    }
+
+    @Override
+    public int migrarFaixa(JdbcTemplate jdbc, long inicio, long fim) {
+        var linhas = jdbc.query("select id, " + documento + ", email from " + tabela
+                        + " where (" + documentoNormalizado + " is null or email_normalizado is null)"
+                        + " and id > ? and id <= ? order by id",
+                (rs, i) -> new Linha(rs.getLong(1), Normalizacao.somenteDigitos(rs.getString(2)),
+                        Normalizacao.email(rs.getString(3))),
+                inicio, fim);
+        if (linhas.isEmpty()) {
+            return 0;
+        }
+
+        var donosDoDocumento = donos(jdbc, documentoNormalizado, linhas.stream().map(Linha::documento).toList());
+        var donosDoEmail = donos(jdbc, "email_normalizado", linhas.stream().map(Linha::email).toList());
+        var atualizacoes = new ArrayList<Object[]>(linhas.size());
+        for (var linha : linhas) {
+            var documento = reservar(donosDoDocumento, linha.documento(), linha.id(), this.documento);
+            var email = reservar(donosDoEmail, linha.email(), linha.id(), "email");
+            atualizacoes.add(new Object[]{documento, email, linha.id()});
+        }
+        jdbc.batchUpdate("update " + tabela + " set " + documentoNormalizado + " = ?, email_normalizado = ? where id = ?",
+                atualizacoes);
+        return atualizacoes.size();
+    }
+
+    /**
+     * Registro dono de cada chave, entre as que já estão gravadas na coluna.
+     */
+    private Map<String, Long> donos(JdbcTemplate jdbc, String coluna, Collection<String> chaves) {
+        var donos = new HashMap<String, Long>();
+        new NamedParameterJdbcTemplate(jdbc).query("select id, " + coluna + " from " + tabela
+                        + " where " + coluna + " in (:chaves)", Map.of("chaves", chaves),
+                (ResultSet rs) -> {
+                    donos.put(rs.getString(2), rs.getLong(1));
+                });
+        return donos;
+    }
+
+    /**
+     * @return a chave, se ela é livre ou já pertence ao registro; null (coluna vazia) em caso de conflito
+     */
+    private String reservar(Map<String, Long> donos, String chave, long id, String campo) {
+        var dono = donos.putIfAbsent(chave, id);
+        if (dono == null || Objects.equals(dono, id)) {
+            return chave;
+        }
+        log.warn("Migração de dados {}: {} do registro {} de {} coincide, normalizado, com o do registro {}; "
+                + "a coluna fica vazia até o cadastro ser corrigido", nome, campo, id, tabela, dono);
+        return null;
+    }
+
+    private record Linha(long id, String documento, String email) {
+    }
+}
@@ -0,0 +1,131 @@
+package med.voll.api.infra.nativo;
+
+import med.voll.api.domain.arquivo.ResultadoArquivamento;
+import med.voll.api.domain.consulta.Consulta;
+import med.voll.api.domain.consulta.ConsultaCancelada;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.DadosCancelamentoConsulta;
+import med.voll.api.domain.consulta.DadosDetalhamentoConsulta;
+import med.voll.api.domain.consulta.HorarioOcupado;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.endereco.Endereco;
+import med.voll.api.domain.endereco.EnderecoCep;
+import med.voll.api.domain.estatistica.ContagemMedicos;
+import med.voll.api.domain.estatistica.ContagemPacientes;
+import med.voll.api.domain.estatistica.DadosMedicosPorEspecialidade;
+import med.voll.api.domain.estatistica.DadosPacientesPorCidade;
+import med.voll.api.domain.medico.DadosAtualizacaoMedico;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.DadosDetalhamentoMedico;
+import med.voll.api.domain.medico.DadosDetalhamentoMedicoArquivado;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.IdPorEspecialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.MedicoArquivado;
+import med.voll.api.domain.paciente.DadosAtualizacaoPaciente;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.DadosDetalhamentoPaciente;
+import med.voll.api.domain.paciente.DadosDetalhamentoPacienteArquivado;
+import med.voll.api.domain.paciente.DadosListagemPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.domain.paciente.PacienteAlterado;
+import med.voll.api.domain.paciente.PacienteArquivado;
+import med.voll.api.domain.usuario.DadosAutenticacao;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.infra.feed.EventoDeAlteracao;
+import med.voll.api.infra.jfr.LoginEvent;
+import med.voll.api.infra.jfr.RepositorioEvent;
+import med.voll.api.infra.jfr.RequisicaoLentaEvent;
+import med.voll.api.infra.jfr.SerializacaoEvent;
+import med.voll.api.infra.security.DadosTokenJWT;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.data.domain.PageImpl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Dicas de reflexão, recursos e proxies para a imagem nativa (profile Maven "native"),
+ * além das que o processamento AOT do Spring já deduz dos controllers e repositórios.
+ *
+ * - DTOs (records) lidos e escritos pelo Jackson, inclusive os que só aparecem dentro de
+ *   Page, no feed SSE, nas respostas de erro ou na tabela do CanalDeInvalidacao;
+ * - entidades JPA (Lombok gera getters, setters e construtores que o Hibernate acessa por
+ *   reflexão) e projeções "select new" das consultas JPQL;
+ * - classes internas do java-jwt, que serializa cabeçalho e payload com o próprio Jackson;
+ * - migrações do Flyway, proxies JDBC do DataSourceComExplain, eventos JFR e o executor
+ *   de threads virtuais, obtido por reflexão.
+ */
+public class DicasDeExecucaoNativa implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> DTOS = List.of(
+            DadosCadastroMedico.class, DadosAtualizacaoMedico.class, DadosListagemMedico.class,
+            DadosDetalhamentoMedico.class, DadosDetalhamentoMedicoArquivado.class,
+            DadosCadastroPaciente.class, DadosAtualizacaoPaciente.class, DadosListagemPaciente.class,
+            DadosDetalhamentoPaciente.class, DadosDetalhamentoPacienteArquivado.class,
+            DadosAgendamentoConsulta.class, DadosCancelamentoConsulta.class, DadosDetalhamentoConsulta.class,
+            DadosEndereco.class, EnderecoCep.class, DadosMedicosPorEspecialidade.class, DadosPacientesPorCidade.class,
+            ResultadoArquivamento.class, DadosAutenticacao.class, DadosTokenJWT.class, EventoDeAlteracao.class,
+            MedicoAlterado.class, PacienteAlterado.class, ConsultaCancelada.class, PageImpl.class);
+
+    private static final List<Class<?>> ENTIDADES = List.of(
+            Medico.class, MedicoArquivado.class, Paciente.class, PacienteArquivado.class,
+            Usuario.class, Consulta.class, Endereco.class);
+
+    private static final List<Class<?>> PROJECOES = List.of(
+            ContagemMedicos.class, ContagemPacientes.class, IdPorEspecialidade.class, HorarioOcupado.class);
+
+    private static final List<String> JWT = List.of(
+            "com.auth0.jwt.impl.HeaderDeserializer",
+            "com.auth0.jwt.impl.HeaderSerializer",
+            "com.auth0.jwt.impl.HeaderClaimsHolder",
+            "com.auth0.jwt.impl.PayloadDeserializer",
+            "com.auth0.jwt.impl.PayloadSerializer",
+            "com.auth0.jwt.impl.PayloadClaimsHolder",
+            "com.auth0.jwt.impl.ClaimsHolder",
+            "com.auth0.jwt.impl.BasicHeader",
+            "com.auth0.jwt.impl.PayloadImpl",
+            "com.auth0.jwt.impl.JsonNodeClaim",
+            "com.auth0.jwt.impl.NullClaim");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        var reflexao = hints.reflection();
+        new BindingReflectionHintsRegistrar().registerReflectionHints(reflexao, DTOS.toArray(Class<?>[]::new));
+        reflexao.registerType(TypeReference.of("med.voll.api.infra.exception.TratadorDeErros$DadosErroValidacao"),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+
+        for (var entidade : ENTIDADES) {
+            reflexao.registerType(entidade, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        for (var projecao : PROJECOES) {
+            reflexao.registerType(projecao, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (var classe : JWT) {
+            reflexao.registerType(TypeReference.of(classe), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        for (var evento : List.of(LoginEvent.class, RepositorioEvent.class, RequisicaoLentaEvent.class,
+                SerializacaoEvent.class)) {
+            reflexao.registerType(evento, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        // ThreadsVirtuais: método do Java 21 chamado por reflexão
+        reflexao.registerType(Executors.class, tipo -> tipo.withMethod("newVirtualThreadPerTaskExecutor",
+                List.of(), ExecutableMode.INVOKE));
+
+        hints.resources().registerPattern("db/migration/*.sql");
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+    }
+}
@@ -0,0 +1,121 @@
+package med.voll.api.infra.plano;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * DataSource que, enquanto uma captura estiver aberta na thread (ver capturar),
+ * roda EXPLAIN em cada comando preparado, com os mesmos parâmetros, antes de executá-lo.
+ *
+ * Durante a captura as consultas devolvem no máximo uma linha e os comandos de alteração
+ * não são executados (só o EXPLAIN deles). Fora da captura, tudo passa direto para o pool.
+ */
+class DataSourceComExplain extends DelegatingDataSource {
+
+    private static final ThreadLocal<List<PlanoCapturado>> CAPTURA = new ThreadLocal<>();
+
+    DataSourceComExplain(DataSource alvo) {
+        super(alvo);
+    }
+
+    /**
+     * Executa a ação e devolve o plano de cada comando SQL que ela disparou nesta thread.
+     */
+    static List<PlanoCapturado> capturar(Runnable acao) {
+        var planos = new ArrayList<PlanoCapturado>();
+        CAPTURA.set(planos);
+        try {
+            acao.run();
+        } finally {
+            CAPTURA.remove();
+        }
+        return planos;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return conexao(super.getConnection(usuario, senha));
+    }
+
+    private static Connection conexao(Connection real) {
+        return (Connection) Proxy.newProxyInstance(DataSourceComExplain.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, metodo, argumentos) -> {
+                    var resultado = invocar(real, metodo, argumentos);
+                    if (CAPTURA.get() != null && metodo.getName().equals("prepareStatement")) {
+                        return comando(real, (PreparedStatement) resultado, (String) argumentos[0]);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static PreparedStatement comando(Connection conexao, PreparedStatement real, String sql) {
+        var parametros = new ArrayList<Object[]>();   // {Method, argumentos} de cada setXxx(índice, ...)
+        InvocationHandler tratador = (proxy, metodo, argumentos) -> {
+            var nome = metodo.getName();
+            if (nome.startsWith("set") && argumentos != null && argumentos.length >= 2 && argumentos[0] instanceof Integer) {
+                parametros.add(new Object[]{metodo, argumentos});
+            } else if (argumentos == null && (nome.equals("executeQuery") || nome.equals("execute")
+                    || nome.equals("executeUpdate") || nome.equals("executeLargeUpdate"))) {
+                explicar(conexao, sql, parametros);
+                if (nome.equals("executeUpdate")) {
+                    return 0;
+                }
+                if (nome.equals("executeLargeUpdate")) {
+                    return 0L;
+                }
+                real.setMaxRows(1);
+            }
+            return invocar(real, metodo, argumentos);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(DataSourceComExplain.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, tratador);
+    }
+
+    private static void explicar(Connection conexao, String sql, List<Object[]> parametros) throws SQLException {
+        var linhas = new ArrayList<Map<String, Object>>();
+        try (var explain = conexao.prepareStatement("explain " + sql)) {
+            for (var parametro : parametros) {
+                invocar(explain, (Method) parametro[0], (Object[]) parametro[1]);
+            }
+            try (var resultado = explain.executeQuery()) {
+                var colunas = resultado.getMetaData();
+                while (resultado.next()) {
+                    var linha = new LinkedHashMap<String, Object>();
+                    for (int i = 1; i <= colunas.getColumnCount(); i++) {
+                        linha.put(colunas.getColumnLabel(i).toLowerCase(Locale.ROOT), resultado.getObject(i));
+                    }
+                    linhas.add(linha);
+                }
+            }
+        } catch (Throwable e) {
+            throw e instanceof SQLException erro ? erro : new SQLException("Falha no EXPLAIN de: " + sql, e);
+        }
+        CAPTURA.get().add(new PlanoCapturado(sql, linhas));
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
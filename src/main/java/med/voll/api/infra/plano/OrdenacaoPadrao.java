@@ -0,0 +1,21 @@
+package med.voll.api.infra.plano;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ordenação com que a API chama um método de repositório paginado (a do @PageableDefault do
+ * controller), para o VerificadorDePlanosDeConsulta conferir o plano com o mesmo ORDER BY.
+ * Sem ela, o Pageable fictício vai sem ordenação.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrdenacaoPadrao {
+
+    /**
+     * Propriedades da entidade, como em Sort.by (ex.: "nome").
+     */
+    String[] value();
+}
@@ -0,0 +1,49 @@
+package med.voll.api.infra.plano;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado do EXPLAIN de um comando SQL, com as linhas devolvidas pelo banco.
+ *
+ * @param sql    comando como foi preparado pelo Hibernate
+ * @param linhas uma entrada por linha do EXPLAIN (coluna -> valor, rótulos em minúsculas)
+ */
+record PlanoCapturado(String sql, List<Map<String, Object>> linhas) {
+
+    /**
+     * Problemas encontrados no plano:
+     * - MySQL: type = ALL (varredura da tabela), type = index (varredura do índice inteiro)
+     *   e "Using filesort" no Extra;
+     * - H2: "tableScan" no plano em texto (o H2 não informa ordenações sem índice).
+     */
+    List<String> problemas() {
+        var problemas = new ArrayList<String>();
+        for (var linha : linhas) {
+            var plano = linha.get("plan");
+            if (plano != null) {
+                var texto = plano.toString();
+                var posicao = texto.indexOf(".tableScan");
+                while (posicao >= 0) {
+                    var inicio = texto.lastIndexOf("/*", posicao) + 2;
+                    problemas.add("varredura completa de " + texto.substring(inicio, posicao).trim());
+                    posicao = texto.indexOf(".tableScan", posicao + 1);
+                }
+                continue;
+            }
+            var tabela = linha.get("table");
+            var tipo = String.valueOf(linha.get("type"));
+            if ("ALL".equalsIgnoreCase(tipo)) {
+                problemas.add("varredura completa de " + tabela);
+            } else if ("index".equalsIgnoreCase(tipo)) {
+                problemas.add("varredura do índice inteiro " + linha.get("key") + " de " + tabela);
+            }
+            var extra = linha.get("extra");
+            if (extra != null && extra.toString().contains("Using filesort")) {
+                problemas.add("ordenação sem índice (filesort) em " + tabela);
+            }
+        }
+        return problemas;
+    }
+}
@@ -0,0 +1,20 @@
+package med.voll.api.infra.plano;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método de repositório que percorre a tabela de propósito (cargas completas,
+ * contagens de reconciliação), para o VerificadorDePlanosDeConsulta não acusá-lo.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VarreduraEsperada {
+
+    /**
+     * Por que a varredura é aceitável (aparece no log da verificação).
+     */
+    String value();
+}
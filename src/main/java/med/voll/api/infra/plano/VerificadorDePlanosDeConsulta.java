@@ -0,0 +1,181 @@
+package med.voll.api.infra.plano;
+
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import med.voll.api.domain.usuario.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Verificação dos planos de execução das consultas dos repositórios na inicialização.
+ *
+ * Com api.plano-consultas.modo=log ou falhar, cada método declarado em MedicoRepository,
+ * PacienteRepository e UsuarioRepository é chamado com argumentos fictícios numa transação
+ * revertida; o DataSourceComExplain roda EXPLAIN em cada SQL gerado. Varreduras completas
+ * (de tabela ou de índice) e ordenações sem índice são registradas como erro no log ("log")
+ * ou impedem a aplicação de subir ("falhar", usado nos testes para quebrar o build).
+ * Métodos que varrem a tabela de propósito levam @VarreduraEsperada; métodos paginados levam
+ * @OrdenacaoPadrao com a ordenação padrão do controller, que entra no Pageable fictício.
+ *
+ * O H2 dos testes só informa varreduras completas: ordenações sem índice (filesort) só são
+ * detectadas com o modo ligado contra um MySQL.
+ *
+ * Use em desenvolvimento e testes: em produção (modo "desligado", o padrão) nada disso é registrado.
+ */
+@Configuration
+@ConditionalOnExpression("'${api.plano-consultas.modo:desligado}' != 'desligado'")
+public class VerificadorDePlanosDeConsulta {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorDePlanosDeConsulta.class);
+
+    private static final List<Class<?>> REPOSITORIOS =
+            List.of(MedicoRepository.class, PacienteRepository.class, UsuarioRepository.class);
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Value("${api.plano-consultas.modo}")
+    private String modo;
+
+    /**
+     * Envolve o DataSource do pool para poder capturar os planos.
+     */
+    @Bean
+    static BeanPostProcessor dataSourceComExplain() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                return bean instanceof DataSource dataSource && !(bean instanceof DataSourceComExplain)
+                        ? new DataSourceComExplain(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        var problemas = new ArrayList<String>();
+        var verificados = 0;
+        for (var repositorio : REPOSITORIOS) {
+            var bean = contexto.getBean(repositorio);
+            var metodos = Arrays.stream(repositorio.getDeclaredMethods())
+                    .filter(metodo -> !metodo.isDefault() && !metodo.isSynthetic() && !Modifier.isStatic(metodo.getModifiers()))
+                    .sorted(Comparator.comparing(Method::getName))
+                    .toList();
+            for (var metodo : metodos) {
+                var nome = repositorio.getSimpleName() + "." + metodo.getName();
+                List<PlanoCapturado> planos;
+                try {
+                    planos = capturar(bean, metodo);
+                } catch (RuntimeException e) {
+                    problemas.add(nome + ": não foi possível obter o plano (" + e.getMessage() + ")");
+                    continue;
+                }
+                verificados++;
+                var esperada = metodo.getAnnotation(VarreduraEsperada.class);
+                for (var plano : planos) {
+                    for (var problema : plano.problemas()) {
+                        if (esperada != null) {
+                            log.debug("{}: {} (esperado: {})", nome, problema, esperada.value());
+                        } else {
+                            problemas.add(nome + ": " + problema + "\n    " + plano.sql().replaceAll("\\s+", " "));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (problemas.isEmpty()) {
+            log.info("Planos de execução verificados: {} consultas de repositório sem varreduras inesperadas", verificados);
+            return;
+        }
+        var relatorio = "Consultas de repositório com plano ruim (índice faltando?):\n  " + String.join("\n  ", problemas);
+        if ("falhar".equalsIgnoreCase(modo)) {
+            throw new IllegalStateException(relatorio);
+        }
+        log.error(relatorio);
+    }
+
+    private List<PlanoCapturado> capturar(Object repositorio, Method metodo) {
+        var ordenacao = metodo.getAnnotation(OrdenacaoPadrao.class);
+        var sort = ordenacao == null ? Sort.unsorted() : Sort.by(ordenacao.value());
+        var argumentos = Arrays.stream(metodo.getGenericParameterTypes())
+                .map(tipo -> argumentoFicticio(tipo, sort))
+                .toArray();
+        return transacao.execute(status -> {
+            status.setRollbackOnly();
+            return DataSourceComExplain.capturar(() -> {
+                try {
+                    metodo.invoke(repositorio, argumentos);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof RuntimeException erro ? erro : new IllegalStateException(e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        });
+    }
+
+    /**
+     * Valor qualquer, do tipo certo, para cada parâmetro: o que importa é o formato do SQL.
+     * O Pageable leva a ordenação usada pela API (@OrdenacaoPadrao), que muda o ORDER BY.
+     */
+    private Object argumentoFicticio(Type tipo, Sort ordenacao) {
+        if (tipo instanceof ParameterizedType parametrizado && parametrizado.getRawType() instanceof Class<?> bruto
+                && Collection.class.isAssignableFrom(bruto)) {
+            return List.of(argumentoFicticio(parametrizado.getActualTypeArguments()[0], ordenacao));
+        }
+        var classe = (Class<?>) tipo;
+        if (classe == String.class) {
+            return "0";
+        }
+        if (classe == Long.class || classe == long.class) {
+            return 0L;
+        }
+        if (classe == Integer.class || classe == int.class) {
+            return 1;
+        }
+        if (classe == Boolean.class || classe == boolean.class) {
+            return true;
+        }
+        if (classe == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (classe == Pageable.class) {
+            return PageRequest.of(0, 10, ordenacao);
+        }
+        if (classe.isEnum()) {
+            return classe.getEnumConstants()[0];
+        }
+        throw new IllegalArgumentException("sem argumento fictício para " + classe.getSimpleName());
+    }
+}
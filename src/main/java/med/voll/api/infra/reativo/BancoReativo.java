@@ -0,0 +1,58 @@
+package med.voll.api.infra.reativo;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Pool de conexões R2DBC da leitura reativa, separado do DataSource JDBC usado por JPA e Flyway.
+ *
+ * De propósito não é um bean ConnectionFactory: a autoconfiguração do Spring Boot trocaria o
+ * DataSource por ele. Só o DatabaseClient sai daqui.
+ */
+@Component
+@ConditionalOnProperty(name = "api.reativo.enabled", havingValue = "true")
+public class BancoReativo implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient cliente;
+
+    public BancoReativo(@Value("${api.reativo.r2dbc.url}") String url,
+                        @Value("${api.reativo.r2dbc.username:${spring.datasource.username:}}") String usuario,
+                        @Value("${api.reativo.r2dbc.password:${spring.datasource.password:}}") String senha,
+                        @Value("${api.reativo.r2dbc.pool-max:20}") int maximo) {
+        var opcoes = ConnectionFactoryOptions.parse(url).mutate();
+        if (!usuario.isEmpty()) {
+            opcoes.option(ConnectionFactoryOptions.USER, usuario);
+        }
+        if (!senha.isEmpty()) {
+            opcoes.option(ConnectionFactoryOptions.PASSWORD, senha);
+        }
+        var configuracao = ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+                .name("leitura-reativa")
+                .initialSize(Math.min(4, maximo))
+                .maxSize(maximo)
+                .maxAcquireTime(Duration.ofSeconds(5))   // Sem conexão livre nesse prazo: erro em vez de fila sem fim
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build();
+        this.pool = new ConnectionPool(configuracao);
+        this.cliente = DatabaseClient.create(pool);
+    }
+
+    public DatabaseClient cliente() {
+        return cliente;
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,98 @@
+package med.voll.api.infra.reativo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.controller.MedicoReativoHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Servidor HTTP não bloqueante (Reactor Netty) para o caminho de leitura mais pesado,
+ * ligado com api.reativo.enabled=true na porta api.reativo.porta, ao lado do Tomcat.
+ *
+ * Atende só GET /medicos e GET /medicos/{id} (MedicoReativoHandler), com R2DBC até o banco:
+ * nenhuma thread fica parada esperando o MySQL, então api.reativo.threads threads de event loop
+ * (padrão: uma por núcleo) sustentam milhares de conexões abertas. Cadastros, edições e todo o
+ * resto continuam no Tomcat, com JPA.
+ *
+ * O JSON usa o mesmo ObjectMapper do Spring MVC, então as respostas são idênticas.
+ */
+@Component
+@ConditionalOnProperty(name = "api.reativo.enabled", havingValue = "true")
+public class ServidorReativo implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ServidorReativo.class);
+
+    @Autowired
+    private MedicoReativoHandler medicos;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.reativo.porta:8082}")
+    private int porta;
+
+    @Value("${api.reativo.threads:0}")
+    private int threads;
+
+    private LoopResources loops;
+    private volatile DisposableServer servidor;
+
+    @Override
+    public void start() {
+        var estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        var handler = RouterFunctions.toHttpHandler(medicos.rotas(), estrategias);
+
+        var quantidade = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        loops = LoopResources.create("reativo", quantidade, true);
+        servidor = HttpServer.create()
+                .port(porta)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow(Duration.ofSeconds(10));
+        log.info("Leitura reativa de médicos na porta {} ({} threads de event loop)", servidor.port(), quantidade);
+    }
+
+    @Override
+    public void stop() {
+        var atual = servidor;
+        if (atual != null) {
+            atual.disposeNow(Duration.ofSeconds(10));
+            servidor = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block(Duration.ofSeconds(10));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+
+    /**
+     * Porta efetiva (útil com api.reativo.porta=0 nos testes).
+     */
+    public int porta() {
+        return servidor.port();
+    }
+}
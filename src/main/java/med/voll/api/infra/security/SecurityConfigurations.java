@@ -1,5 +1,6 @@
 package med.voll.api.infra.security;
 
+import med.voll.api.infra.jfr.PasswordEncoderMonitorado;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -62,12 +63,14 @@ public class SecurityConfigurations {
      * Bean que fornece o mecanismo de criptografia de senhas.
      * O BCrypt é atualmente uma das funções de hash mais seguras e recomendadas pelo Spring.
      *
+     * O encoder é decorado para que o tempo do hash apareça no evento JFR de login.
+     *
      * @return uma instância de BCryptPasswordEncoder
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
         // BCrypt gera salt aleatório e armazena junto no hash resultante
-        return new BCryptPasswordEncoder();
+        return new PasswordEncoderMonitorado(new BCryptPasswordEncoder());
     }
 
 }
@@ -3,6 +3,7 @@ package med.voll.api.infra.security;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import med.voll.api.domain.usuario.Usuario;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -56,6 +57,25 @@ public class TokenService {
         }
     }
 
+    /**
+     * Valida a assinatura, o emissor e a expiração de um token JWT e devolve seu subject.
+     *
+     * @param tokenJWT token recebido do cliente
+     * @return login do usuário contido no token
+     */
+    public String getSubject(String tokenJWT) {
+        try {
+            var algoritmo = Algorithm.HMAC256(secret);
+            return JWT.require(algoritmo)
+                    .withIssuer("API Voll.med")
+                    .build()
+                    .verify(tokenJWT)
+                    .getSubject();
+        } catch (JWTVerificationException exception) {
+            throw new RuntimeException("Token JWT inválido ou expirado!", exception);
+        }
+    }
+
     /**
      * Calcula a data/hora de expiração do token.
      * Aqui definimos que o token valerá por 2 horas a partir do momento atual,
@@ -0,0 +1,63 @@
+package med.voll.api.infra.threads;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de execução em threads virtuais (api.threads.virtuais=true, ou o profile "virtuais").
+ *
+ * Cada requisição do Tomcat roda numa thread virtual própria, em vez de disputar o pool fixo
+ * de server.tomcat.threads.max threads de plataforma. Como controllers e repositórios passam
+ * quase todo o tempo esperando o JDBC, a concorrência deixa de ser limitada pelo pool de threads
+ * e passa a ser limitada pelo pool de conexões (spring.datasource.hikari.maximum-pool-size),
+ * que deve ser dimensionado junto: requisições além dele esperam uma conexão, sem ocupar thread.
+ *
+ * Exige Java 21 em tempo de execução; o executor é obtido por reflexão para o projeto continuar
+ * compilando em Java 17 com o modo desligado. Enquanto o build for Java 17, o modo fica dormente
+ * e o ThreadsVirtuaisIT é ignorado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.threads.virtuais", havingValue = "true")
+public class ThreadsVirtuais {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuais.class);
+
+    /**
+     * Uma thread virtual nova por tarefa; fechado no desligamento do contexto.
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService executorDeThreadsVirtuais() {
+        try {
+            var executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("Requisições atendidas em threads virtuais");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("api.threads.virtuais=true exige Java 21 ou superior (rodando em "
+                    + Runtime.version() + ")", e);
+        }
+    }
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<ProtocolHandler> tomcatEmThreadsVirtuais(ExecutorService executorDeThreadsVirtuais) {
+        return protocolo -> protocolo.setExecutor(executorDeThreadsVirtuais);
+    }
+
+    /**
+     * Também o executor padrão do Spring (requisições assíncronas do MVC, @Async).
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorDeThreadsVirtuais) {
+        return new TaskExecutorAdapter(executorDeThreadsVirtuais);
+    }
+}
@@ -0,0 +1,143 @@
+package med.voll.api.infra.timing;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Acumula a duração de cada fase de uma requisição HTTP (segurança, leitura do JSON,
+ * validação, banco de dados, mapeamento para DTOs e escrita do JSON) para que o
+ * ServerTimingFilter possa devolvê-las no cabeçalho "Server-Timing".
+ *
+ * O cronômetro fica associado à thread da requisição; quando o recurso está desligado
+ * nenhum cronômetro é aberto e todos os métodos estáticos viram no-op.
+ */
+public final class ServerTiming {
+
+    public static final String SEGURANCA = "seguranca";
+    public static final String JSON_ENTRADA = "json-entrada";
+    public static final String VALIDACAO = "validacao";
+    public static final String BANCO = "db";
+    public static final String CONTROLLER = "controller";
+    public static final String MAPEAMENTO = "dto";
+    public static final String JSON_SAIDA = "json-saida";
+    public static final String TOTAL = "total";
+
+    private static final ThreadLocal<ServerTiming> ATUAL = new ThreadLocal<>();
+
+    private final Map<String, Long> duracoes = new LinkedHashMap<>(); // fase -> nanos acumulados
+    private final Map<String, Long> abertas = new HashMap<>();        // fase -> instante de início
+
+    private ServerTiming() {
+    }
+
+    /**
+     * Abre um cronômetro para a requisição que está sendo processada na thread atual.
+     */
+    static ServerTiming abrir() {
+        var cronometro = new ServerTiming();
+        ATUAL.set(cronometro);
+        return cronometro;
+    }
+
+    /**
+     * Descarta o cronômetro da thread atual (chamado ao fim da requisição).
+     */
+    static void fechar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Marca o início de uma fase. Ignorado se o Server-Timing estiver desligado.
+     */
+    public static void iniciar(String fase) {
+        var cronometro = ATUAL.get();
+        if (cronometro != null) {
+            cronometro.abertas.put(fase, System.nanoTime());
+        }
+    }
+
+    /**
+     * Encerra uma fase iniciada com {@link #iniciar(String)} e acumula sua duração.
+     */
+    public static void encerrar(String fase) {
+        var cronometro = ATUAL.get();
+        if (cronometro != null) {
+            var inicio = cronometro.abertas.remove(fase);
+            if (inicio != null) {
+                cronometro.acumular(fase, System.nanoTime() - inicio);
+            }
+        }
+    }
+
+    /**
+     * Acumula uma duração já medida (em nanos) em uma fase.
+     */
+    public static void registrar(String fase, long nanos) {
+        var cronometro = ATUAL.get();
+        if (cronometro != null) {
+            cronometro.acumular(fase, nanos);
+        }
+    }
+
+    /**
+     * Executa a ação e acumula sua duração na fase. Usado para o mapeamento de entidades em
+     * DTOs nos controllers, que não passa por nenhum proxy do Spring.
+     */
+    public static <T> T medir(String fase, Supplier<T> acao) {
+        var cronometro = ATUAL.get();
+        if (cronometro == null) {
+            return acao.get();
+        }
+        var inicio = System.nanoTime();
+        try {
+            return acao.get();
+        } finally {
+            cronometro.acumular(fase, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Indica se existe um cronômetro ativo na thread atual.
+     */
+    public static boolean ativo() {
+        return ATUAL.get() != null;
+    }
+
+    private void acumular(String fase, long nanos) {
+        duracoes.merge(fase, nanos, Long::sum);
+    }
+
+    /**
+     * Encerra todas as fases ainda abertas (por exemplo, a escrita do JSON, que só
+     * termina quando a cadeia de filtros retorna).
+     */
+    void encerrarAbertas() {
+        var agora = System.nanoTime();
+        abertas.forEach((fase, inicio) -> acumular(fase, agora - inicio));
+        abertas.clear();
+    }
+
+    /**
+     * Monta o valor do cabeçalho no formato "fase;dur=1.234, outra;dur=0.456".
+     * A fase "controller" é reportada sem o tempo gasto no banco e no mapeamento para DTOs,
+     * que aparecem em "db" e "dto".
+     */
+    String cabecalho() {
+        var banco = duracoes.getOrDefault(BANCO, 0L);
+        var mapeamento = duracoes.getOrDefault(MAPEAMENTO, 0L);
+        var texto = new StringBuilder();
+        duracoes.forEach((fase, nanos) -> {
+            var valor = CONTROLLER.equals(fase) ? Math.max(0, nanos - banco - mapeamento) : nanos;
+            if (texto.length() > 0) {
+                texto.append(", ");
+            }
+            texto.append(fase)
+                    .append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", valor / 1_000_000.0));
+        });
+        return texto.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package med.voll.api.infra.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto que mede o tempo gasto nos controllers e nos repositórios Spring Data.
+ *
+ * Observação: com getReferenceById() a consulta só acontece quando o DTO lê a entidade,
+ * então nesses endpoints o acesso ao banco aparece dentro da fase "dto" (ServerTiming.medir).
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "api.server-timing.enabled", havingValue = "true")
+public class ServerTimingAspect {
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object medirController(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming.encerrar(ServerTiming.VALIDACAO);  // Argumentos já foram convertidos e validados
+        return medir(ServerTiming.CONTROLLER, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object medirRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(ServerTiming.BANCO, joinPoint);
+    }
+
+    private Object medir(String fase, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!ServerTiming.ativo()) {
+            return joinPoint.proceed();
+        }
+        var inicio = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ServerTiming.registrar(fase, System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package med.voll.api.infra.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Filtro que cronometra as fases de cada requisição e devolve o resultado no
+ * cabeçalho "Server-Timing", visível no DevTools do navegador e em ferramentas de carga.
+ *
+ * Só é registrado quando api.server-timing.enabled=true. Como o cabeçalho precisa ir
+ * antes do corpo, a resposta é mantida em buffer até o JSON terminar de ser escrito.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)   // Executa antes do Spring Security para medir a cadeia de segurança
+@ConditionalOnProperty(name = "api.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /**
+     * O feed SSE (/alteracoes) fica aberto indefinidamente: mantê-lo em buffer
+     * seguraria todos os eventos até a conexão fechar.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/alteracoes");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        var inicio = System.nanoTime();
+        var cronometro = ServerTiming.abrir();
+        var respostaEmBuffer = new ContentCachingResponseWrapper(response);
+
+        try {
+            // A fase de segurança termina no ServerTimingInterceptor, quando o Spring MVC assume
+            ServerTiming.iniciar(ServerTiming.SEGURANCA);
+            filterChain.doFilter(request, respostaEmBuffer);
+        } finally {
+            cronometro.encerrarAbertas();
+            ServerTiming.registrar(ServerTiming.TOTAL, System.nanoTime() - inicio);
+            if (!respostaEmBuffer.isCommitted()) {
+                respostaEmBuffer.setHeader("Server-Timing", cronometro.cabecalho());
+            }
+            ServerTiming.fechar();
+            respostaEmBuffer.copyBodyToResponse();  // Libera o corpo mantido em buffer
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package med.voll.api.infra.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Marca o fim da cadeia de filtros (Spring Security) no momento em que a requisição
+ * chega ao Spring MVC, antes da leitura do corpo e da validação.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.server-timing.enabled", havingValue = "true")
+public class ServerTimingInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ServerTiming.encerrar(ServerTiming.SEGURANCA);
+        // Tudo entre este ponto e a entrada no controller é binding/validação
+        ServerTiming.iniciar(ServerTiming.VALIDACAO);
+        return true;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+}
@@ -0,0 +1,16 @@
+-- As colunas começam vazias: o preenchimento dos registros existentes é feito em lotes pela
+-- migração de dados "V10-chaves-normalizadas-*" (PreenchimentoDeChavesNormalizadas), que relata
+-- os conflitos em vez de derrubar a criação dos índices. Os índices únicos aceitam vários NULL,
+-- então já protegem os cadastros novos enquanto o preenchimento não termina.
+
+alter table medicos add crm_normalizado varchar(20);
+alter table medicos add email_normalizado varchar(100);
+
+create unique index ux_medicos_crm_normalizado on medicos(crm_normalizado);
+create unique index ux_medicos_email_normalizado on medicos(email_normalizado);
+
+alter table pacientes add cpf_normalizado varchar(11);
+alter table pacientes add email_normalizado varchar(100);
+
+create unique index ux_pacientes_cpf_normalizado on pacientes(cpf_normalizado);
+create unique index ux_pacientes_email_normalizado on pacientes(email_normalizado);
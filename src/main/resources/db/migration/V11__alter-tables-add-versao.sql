@@ -0,0 +1,3 @@
+alter table medicos add versao bigint not null default 0;
+
+alter table pacientes add versao bigint not null default 0;
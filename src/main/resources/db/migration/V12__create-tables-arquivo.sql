@@ -0,0 +1,60 @@
+alter table medicos add inativado_em datetime;
+alter table pacientes add inativado_em datetime;
+
+create index ix_medicos_ativo_id on medicos(ativo, id);
+create index ix_pacientes_ativo_id on pacientes(ativo, id);
+
+create table medicos_arquivo(
+
+    id bigint not null,
+    nome varchar(100) not null,
+    email varchar(100) not null,
+    crm varchar(6) not null,
+    especialidade varchar(100) not null,
+    logradouro varchar(100) not null,
+    bairro varchar(100) not null,
+    cep varchar(9) not null,
+    complemento varchar(100),
+    numero varchar(20),
+    uf char(2) not null,
+    cidade varchar(100) not null,
+    telefone varchar(20) not null,
+    ativo tinyint,
+    crm_normalizado varchar(20),
+    email_normalizado varchar(100),
+    versao bigint not null,
+    inativado_em datetime,
+    arquivado_em datetime not null,
+
+    primary key(id)
+
+);
+
+create index ix_medicos_arquivo_crm_normalizado on medicos_arquivo(crm_normalizado);
+
+create table pacientes_arquivo(
+
+    id bigint not null,
+    nome varchar(100) not null,
+    email varchar(100) not null,
+    cpf varchar(14) not null,
+    logradouro varchar(100) not null,
+    bairro varchar(100) not null,
+    cep varchar(9) not null,
+    cidade varchar(100) not null,
+    uf char(2) not null,
+    complemento varchar(100),
+    numero varchar(20),
+    telefone varchar(20) not null,
+    ativo tinyint,
+    cpf_normalizado varchar(11),
+    email_normalizado varchar(100),
+    versao bigint not null,
+    inativado_em datetime,
+    arquivado_em datetime not null,
+
+    primary key(id)
+
+);
+
+create index ix_pacientes_arquivo_cpf_normalizado on pacientes_arquivo(cpf_normalizado);
@@ -0,0 +1,12 @@
+create table migracoes_dados(
+
+    nome varchar(100) not null,
+    ultimo_id bigint not null,
+    registros bigint not null,
+    iniciada_em datetime not null,
+    atualizada_em datetime not null,
+    concluida_em datetime,
+
+    primary key(nome)
+
+);
@@ -0,0 +1 @@
+create unique index ux_usuarios_login on usuarios(login);
@@ -0,0 +1,17 @@
+create table auditoria_alteracoes(
+
+    id bigint not null auto_increment,
+    recurso varchar(20) not null,
+    registro_id bigint not null,
+    versao bigint not null,
+    campo varchar(50) not null,
+    valor_anterior varchar(255),
+    valor_novo varchar(255),
+    usuario varchar(100) not null,
+    alterado_em datetime not null,
+
+    primary key(id)
+
+);
+
+create index ix_auditoria_registro on auditoria_alteracoes(recurso, registro_id, id);
@@ -0,0 +1,14 @@
+create table invalidacoes(
+
+    id bigint not null auto_increment,
+    recurso varchar(20) not null,
+    registro_id bigint not null,
+    origem varchar(36) not null,
+    dados varchar(2000) not null,
+    criada_em datetime not null,
+
+    primary key(id)
+
+);
+
+create index ix_invalidacoes_criada_em on invalidacoes(criada_em);
@@ -0,0 +1,3 @@
+create index ix_medicos_ativo_nome on medicos(ativo, nome);
+create index ix_medicos_especialidade_ativo_nome on medicos(especialidade, ativo, nome);
+create index ix_pacientes_ativo_nome on pacientes(ativo, nome);
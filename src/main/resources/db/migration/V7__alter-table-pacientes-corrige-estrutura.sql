@@ -0,0 +1,7 @@
+alter table paciente rename to pacientes;
+
+alter table pacientes modify cpf varchar(14) not null;
+
+alter table pacientes add ativo tinyint;
+
+update pacientes set ativo = 1;
@@ -0,0 +1,18 @@
+create table consultas(
+
+    id bigint not null auto_increment,
+    medico_id bigint not null,
+    paciente_id bigint not null,
+    data datetime not null,
+    horario_ativo datetime,
+    motivo_cancelamento varchar(100),
+
+    primary key(id),
+    constraint fk_consultas_medico_id foreign key(medico_id) references medicos(id),
+    constraint fk_consultas_paciente_id foreign key(paciente_id) references pacientes(id),
+    constraint uk_consultas_medico_horario unique(medico_id, horario_ativo),
+    constraint uk_consultas_paciente_horario unique(paciente_id, horario_ativo)
+
+);
+
+create index ix_consultas_data on consultas(data);
@@ -0,0 +1 @@
+create index ix_medicos_especialidade_ativo on medicos(especialidade, ativo);
@@ -0,0 +1,54 @@
+package med.voll.api.benchmark;
+
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados fixa usada pelos benchmarks. Nada aqui é aleatório, para que
+ * execuções em revisões diferentes meçam exatamente o mesmo trabalho.
+ */
+final class DadosDeBenchmark {
+
+    private DadosDeBenchmark() {
+    }
+
+    static DadosEndereco endereco() {
+        return new DadosEndereco("Rua das Flores", "Centro", "01001000", "São Paulo", "SP", "Sala 12", "100");
+    }
+
+    static DadosCadastroMedico cadastroMedico() {
+        return new DadosCadastroMedico("Ana Souza", "ana.souza@voll.med", "11999990000",
+                "123456", Especialidade.CARDIOLOGIA, endereco());
+    }
+
+    static DadosCadastroMedico cadastroMedicoInvalido() {
+        return new DadosCadastroMedico("Ana Souza", "ana.souza@voll.med", "11999990000",
+                "12A", Especialidade.CARDIOLOGIA, endereco());
+    }
+
+    static DadosCadastroPaciente cadastroPaciente() {
+        return new DadosCadastroPaciente("Bruno Lima", "bruno.lima@exemplo.com", "21988887777",
+                "529.982.247-25", endereco());
+    }
+
+    static DadosCadastroPaciente cadastroPacienteInvalido() {
+        return new DadosCadastroPaciente("Bruno Lima", "bruno.lima@exemplo.com", "21988887777",
+                "52998224725", endereco());
+    }
+
+    static List<DadosListagemMedico> listagemMedicos(int quantidade) {
+        var especialidades = Especialidade.values();
+        var lista = new ArrayList<DadosListagemMedico>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            lista.add(new DadosListagemMedico((long) i + 1, "Médico " + i, "medico" + i + "@voll.med",
+                    String.valueOf(100000 + i), especialidades[i % especialidades.length]));
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,42 @@
+package med.voll.api.benchmark;
+
+import med.voll.api.domain.medico.DadosDetalhamentoMedico;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.Medico;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de converter a entidade Medico nos DTOs de listagem e de detalhamento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class DtoBenchmark {
+
+    private Medico medico;
+
+    @Setup
+    public void preparar() {
+        medico = new Medico(DadosDeBenchmark.cadastroMedico());
+    }
+
+    @Benchmark
+    public Medico entidadeAPartirDoCadastro() {
+        return new Medico(DadosDeBenchmark.cadastroMedico());
+    }
+
+    @Benchmark
+    public DadosListagemMedico listagem() {
+        return new DadosListagemMedico(medico);
+    }
+
+    @Benchmark
+    public DadosDetalhamentoMedico detalhamento() {
+        return new DadosDetalhamentoMedico(medico);
+    }
+}
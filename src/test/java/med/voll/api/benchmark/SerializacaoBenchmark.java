@@ -0,0 +1,47 @@
+package med.voll.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de páginas de listagem de médicos, como devolvidas em GET /medicos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class SerializacaoBenchmark {
+
+    @Param({"10", "100"})
+    public int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<DadosListagemMedico> pagina;
+
+    @Setup
+    public void preparar() {
+        // Mesmo builder usado pelo Spring Boot para montar o ObjectMapper da aplicação
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pagina = new PageImpl<>(
+                DadosDeBenchmark.listagemMedicos(tamanhoPagina),
+                PageRequest.of(0, tamanhoPagina, Sort.by("nome")),
+                10_000
+        );
+    }
+
+    @Benchmark
+    public byte[] paginaDeMedicos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,42 @@
+package med.voll.api.benchmark;
+
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.infra.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e verificação de tokens JWT (HMAC256) pelo TokenService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class TokenBenchmark {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "segredo-de-benchmark");
+        usuario = new Usuario(1L, "ana.souza@voll.med", "$2a$10$naoUsadoNoBenchmark");
+        token = tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String emitir() {
+        return tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String verificar() {
+        return tokenService.getSubject(token);
+    }
+}
@@ -0,0 +1,85 @@
+package med.voll.api.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do Bean Validation nos DTOs de cadastro, incluindo as anotações @Cpf, @Crm e @Cep
+ * (a comparação isolada com as regex que elas substituíram está em DocumentosBenchmark).
+ * Os casos inválidos medem também a montagem das mensagens de erro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+
+    private DadosCadastroMedico medicoValido;
+    private DadosCadastroMedico medicoInvalido;
+    private DadosCadastroPaciente pacienteValido;
+    private DadosCadastroPaciente pacienteInvalido;
+
+    @Setup
+    public void preparar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        medicoValido = DadosDeBenchmark.cadastroMedico();
+        medicoInvalido = DadosDeBenchmark.cadastroMedicoInvalido();
+        pacienteValido = DadosDeBenchmark.cadastroPaciente();
+        pacienteInvalido = DadosDeBenchmark.cadastroPacienteInvalido();
+    }
+
+    @TearDown
+    public void encerrar() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosCadastroMedico>> cadastroMedicoValido() {
+        return validator.validate(medicoValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosCadastroMedico>> cadastroMedicoInvalido() {
+        return validator.validate(medicoInvalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosCadastroPaciente>> cadastroPacienteValido() {
+        return validator.validate(pacienteValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosCadastroPaciente>> cadastroPacienteInvalido() {
+        return validator.validate(pacienteInvalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosCadastroPaciente>> cpf() {
+        return validator.validateValue(DadosCadastroPaciente.class, "cpf", "529.982.247-25");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosCadastroMedico>> crm() {
+        return validator.validateValue(DadosCadastroMedico.class, "crm", "123456");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DadosEndereco>> cep() {
+        return validator.validateValue(DadosEndereco.class, "cep", "01001000");
+    }
+}
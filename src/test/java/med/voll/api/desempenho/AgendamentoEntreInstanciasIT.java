@@ -0,0 +1,191 @@
+package med.voll.api.desempenho;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.ApiApplication;
+import med.voll.api.domain.consulta.IndiceDeHorarios;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Agendamento e cancelamento com duas instâncias no mesmo banco H2 em memória. Cada instância
+ * tem o próprio IndiceDeHorarios: um cancelamento feito na instância A não pode deixar o
+ * horário preso na instância B, com ou sem o CanalDeInvalidacao.
+ */
+class AgendamentoEntreInstanciasIT {
+
+    private static final int MEDICOS = 10;
+    private static final int PACIENTES = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void conflitoECancelamentoNaMesmaInstancia() throws Exception {
+        try (var a = iniciar("agenda_local", false)) {
+            gerar(a);
+            var portaA = porta(a);
+            var data = horario(10);
+
+            var consulta = agendar(portaA, 1, 1, data);
+            assertThat(consulta.statusCode()).isEqualTo(200);
+            assertThat(agendar(portaA, 1, 2, data).statusCode()).as("médico ocupado").isEqualTo(409);
+            assertThat(agendar(portaA, 2, 1, data).statusCode()).as("paciente ocupado").isEqualTo(409);
+            assertThat(agendar(portaA, 2, 2, data).statusCode()).as("outro médico e paciente").isEqualTo(200);
+
+            assertThat(cancelar(portaA, id(consulta)).statusCode()).isEqualTo(204);
+            assertThat(agendar(portaA, 1, 3, data).statusCode()).as("horário liberado").isEqualTo(200);
+        }
+    }
+
+    @Test
+    void agendamentosConcorrentesDoMesmoHorario() throws Exception {
+        try (var a = iniciar("agenda_concorrente", false)) {
+            gerar(a);
+            var portaA = porta(a);
+            var data = horario(13);
+
+            var respostas = new ArrayList<CompletableFuture<HttpResponse<String>>>();
+            for (long paciente = 1; paciente <= PACIENTES; paciente++) {
+                var idPaciente = paciente;
+                respostas.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return agendar(portaA, 1, idPaciente, data);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            var status = new ArrayList<Integer>();
+            for (var resposta : respostas) {
+                status.add(resposta.get(30, TimeUnit.SECONDS).statusCode());
+            }
+            assertThat(status).as("uma consulta confirmada, as outras em conflito")
+                    .containsOnly(200, 409).filteredOn(codigo -> codigo == 200).hasSize(1);
+
+            // O rollback das perdedoras não libera o horário da vencedora
+            assertThat(a.getBean(IndiceDeHorarios.class).medicoLivre(1L, data)).isFalse();
+            assertThat(agendar(portaA, 1, 1, data.plusHours(1)).statusCode()).isEqualTo(200);
+            for (long paciente = 1; paciente <= PACIENTES; paciente++) {
+                assertThat(agendar(portaA, 1, paciente, data).statusCode()).isEqualTo(409);
+            }
+        }
+    }
+
+    @Test
+    void cancelamentoEmOutraInstanciaSemCanalLiberaOHorario() throws Exception {
+        try (var a = iniciar("agenda_sem_canal", false); var b = iniciar("agenda_sem_canal", false)) {
+            gerar(a);
+            var data = horario(11);
+
+            var consulta = agendar(porta(b), 1, 1, data);
+            assertThat(consulta.statusCode()).isEqualTo(200);
+            assertThat(agendar(porta(a), 1, 2, data).statusCode())
+                    .as("índice único barra o que a instância A não viu").isEqualTo(409);
+
+            assertThat(cancelar(porta(a), id(consulta)).statusCode()).isEqualTo(204);
+            assertThat(b.getBean(IndiceDeHorarios.class).medicoLivre(1L, data))
+                    .as("bit desatualizado na instância B").isFalse();
+            // B confere no banco antes de responder 409
+            assertThat(agendar(porta(b), 1, 1, data).statusCode()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void cancelamentoEmOutraInstanciaChegaPeloCanal() throws Exception {
+        try (var a = iniciar("agenda_com_canal", true); var b = iniciar("agenda_com_canal", true)) {
+            gerar(a);
+            var data = horario(12);
+
+            var consulta = agendar(porta(b), 1, 1, data);
+            assertThat(consulta.statusCode()).isEqualTo(200);
+            assertThat(cancelar(porta(a), id(consulta)).statusCode()).isEqualTo(204);
+
+            var indiceB = b.getBean(IndiceDeHorarios.class);
+            var inicio = System.nanoTime();
+            while (!indiceB.medicoLivre(1L, data) && System.nanoTime() - inicio < 5_000_000_000L) {
+                Thread.sleep(5);
+            }
+            assertThat(indiceB.medicoLivre(1L, data)).as("médico livre na instância B").isTrue();
+            assertThat(indiceB.pacienteLivre(1L, data)).as("paciente livre na instância B").isTrue();
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(String banco, boolean canal) {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + banco + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "api.invalidacao.enabled=" + canal,
+                        "api.invalidacao.intervalo-ms=100")
+                .run();
+    }
+
+    private static void gerar(ConfigurableApplicationContext contexto) throws Exception {
+        var gerador = new GeradorDeDados(contexto.getBean(DataSource.class),
+                contexto.getBean(PasswordEncoder.class), 42, 4);
+        gerador.gerarMedicos(MEDICOS);
+        gerador.gerarPacientes(PACIENTES);
+    }
+
+    /**
+     * Horário em dia útil daqui a pelo menos três dias, para que o cancelamento
+     * respeite a antecedência de 24 horas.
+     */
+    private static LocalDateTime horario(int hora) {
+        var dia = LocalDate.now().plusDays(3);
+        if (dia.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            dia = dia.plusDays(1);
+        }
+        return dia.atTime(hora, 0);
+    }
+
+    private static int porta(ConfigurableApplicationContext contexto) {
+        return ((WebServerApplicationContext) contexto).getWebServer().getPort();
+    }
+
+    private HttpResponse<String> agendar(int porta, long idMedico, long idPaciente, LocalDateTime data)
+            throws Exception {
+        return enviar(porta, "POST", "{\"idMedico\":" + idMedico + ",\"idPaciente\":" + idPaciente
+                + ",\"data\":\"" + data + "\"}");
+    }
+
+    private HttpResponse<String> cancelar(int porta, long idConsulta) throws Exception {
+        return enviar(porta, "DELETE", "{\"idConsulta\":" + idConsulta + ",\"motivo\":\"PACIENTE_DESISTIU\"}");
+    }
+
+    private HttpResponse<String> enviar(int porta, String metodo, String corpo) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/consultas"))
+                        .header("Content-Type", "application/json")
+                        .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long id(HttpResponse<String> resposta) throws Exception {
+        return objectMapper.readTree(resposta.body()).get("id").asLong();
+    }
+}
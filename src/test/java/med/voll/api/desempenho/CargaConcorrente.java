@@ -0,0 +1,126 @@
+package med.voll.api.desempenho;
+
+import org.hibernate.stat.Statistics;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Dispara um cenário de carga com várias threads e mede latência (p50/p99), vazão,
+ * erros e quantidade média de comandos SQL por requisição.
+ */
+final class CargaConcorrente {
+
+    record Resultado(
+            String cenario,
+            int requisicoes,
+            int erros,
+            long p50Micros,
+            long p99Micros,
+            double vazao,
+            double sqlPorRequisicao
+    ) {
+        @Override
+        public String toString() {
+            return String.format("%-22s req=%d erros=%d p50=%.1fms p99=%.1fms vazao=%.0f req/s sql/req=%.2f",
+                    cenario, requisicoes, erros, p50Micros / 1000.0, p99Micros / 1000.0, vazao, sqlPorRequisicao);
+        }
+    }
+
+    private final HttpClient http;
+    private final Statistics estatisticas;
+
+    CargaConcorrente(HttpClient http, Statistics estatisticas) {
+        this.http = http;
+        this.estatisticas = estatisticas;
+    }
+
+    /**
+     * Executa primeiro {@code aquecimento} requisições sem medir e depois
+     * {@code requisicoes} requisições medidas. A função recebe um índice único por
+     * requisição, usado para gerar e-mails/CRMs/CPFs sem colisão.
+     */
+    Resultado executar(
+            String cenario,
+            int concorrencia,
+            int aquecimento,
+            int requisicoes,
+            int statusEsperado,
+            IntFunction<HttpRequest> requisicao
+    ) throws InterruptedException, ExecutionException {
+        disparar(concorrencia, 0, aquecimento, statusEsperado, requisicao, new long[aquecimento]);
+
+        var latencias = new long[requisicoes];
+        estatisticas.clear();
+        var inicio = System.nanoTime();
+        var erros = disparar(concorrencia, aquecimento, requisicoes, statusEsperado, requisicao, latencias);
+        var duracaoNanos = System.nanoTime() - inicio;
+        var comandosSql = estatisticas.getPrepareStatementCount();
+
+        Arrays.sort(latencias);
+        return new Resultado(
+                cenario,
+                requisicoes,
+                erros,
+                percentil(latencias, 0.50),
+                percentil(latencias, 0.99),
+                requisicoes / (duracaoNanos / 1_000_000_000.0),
+                (double) comandosSql / requisicoes
+        );
+    }
+
+    private int disparar(
+            int concorrencia,
+            int deslocamento,
+            int quantidade,
+            int statusEsperado,
+            IntFunction<HttpRequest> requisicao,
+            long[] latencias
+    ) throws InterruptedException, ExecutionException {
+        var proxima = new AtomicInteger();
+        var erros = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(concorrencia);
+        try {
+            var tarefas = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < concorrencia; t++) {
+                tarefas.add(() -> {
+                    int i;
+                    while ((i = proxima.getAndIncrement()) < quantidade) {
+                        var pedido = requisicao.apply(deslocamento + i);
+                        var inicio = System.nanoTime();
+                        var resposta = http.send(pedido, HttpResponse.BodyHandlers.discarding());
+                        latencias[i] = (System.nanoTime() - inicio) / 1000;
+                        if (resposta.statusCode() != statusEsperado) {
+                            erros.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (var futuro : executor.invokeAll(tarefas)) {
+                futuro.get();  // Propaga falhas de rede como erro do teste
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return erros.get();
+    }
+
+    private static long percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        var indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+}
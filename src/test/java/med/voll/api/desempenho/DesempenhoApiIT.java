@@ -0,0 +1,227 @@
+package med.voll.api.desempenho;
+
+import jakarta.persistence.EntityManagerFactory;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suíte de regressão de desempenho: sobe a aplicação sobre um H2 em modo MySQL,
+ * popula volumes realistas com o GeradorDeDados e dispara cada endpoint de MedicoController,
+ * PacienteController e /login com várias threads, verificando p99, vazão e
+ * quantidade de comandos SQL por requisição contra os orçamentos abaixo.
+ *
+ * Roda na fase verify (maven-failsafe-plugin); estourar um orçamento quebra o build.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DesempenhoApiIT {
+
+    private static final Logger log = LoggerFactory.getLogger(DesempenhoApiIT.class);
+
+    private static final int MEDICOS = 20_000;
+    private static final int PACIENTES = 20_000;
+    private static final int USUARIOS = 100;
+
+    private static final int CONCORRENCIA = 16;
+    private static final int AQUECIMENTO = 300;
+    private static final int REQUISICOES = 2_000;
+
+    /**
+     * Orçamento de um cenário: p99 máximo, vazão mínima e média máxima de SQL por requisição.
+     */
+    private record Orcamento(Duration p99, double vazaoMinima, double sqlPorRequisicao) {
+    }
+
+    private static final Orcamento LISTAGEM = new Orcamento(Duration.ofMillis(250), 100, 2);
+    private static final Orcamento DETALHE = new Orcamento(Duration.ofMillis(100), 200, 1);
+    private static final Orcamento ESCRITA = new Orcamento(Duration.ofMillis(250), 100, 2);
+    private static final Orcamento LOGIN = new Orcamento(Duration.ofMillis(2_000), 10, 1);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private HttpClient http;
+    private CargaConcorrente carga;
+
+    @BeforeAll
+    void prepararMassaDeDados() throws Exception {
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        var estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        carga = new CargaConcorrente(http, estatisticas);
+
+        var gerador = new GeradorDeDados(dataSource, passwordEncoder, 42, 4);
+        gerador.gerarMedicos(MEDICOS);
+        gerador.gerarPacientes(PACIENTES);
+        gerador.gerarUsuarios(USUARIOS);
+    }
+
+    @Test
+    @Order(1)
+    void listarMedicos() throws Exception {
+        verificar(LISTAGEM, carga.executar("GET /medicos", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> get("/medicos?page=" + (i % 50))));
+    }
+
+    @Test
+    @Order(2)
+    void detalharMedico() throws Exception {
+        verificar(DETALHE, carga.executar("GET /medicos/{id}", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> get("/medicos/" + idEspalhado(i, MEDICOS))));
+    }
+
+    @Test
+    @Order(3)
+    void listarPacientes() throws Exception {
+        verificar(LISTAGEM, carga.executar("GET /pacientes", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> get("/pacientes?page=" + (i % 50))));
+    }
+
+    @Test
+    @Order(4)
+    void cadastrarMedico() throws Exception {
+        verificar(ESCRITA, carga.executar("POST /medicos", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 201,
+                i -> envio("POST", "/medicos", """
+                        {"nome":"Novo Médico %1$d","email":"novo.medico%1$d@voll.med","telefone":"11999990000",
+                         "crm":"%2$d","especialidade":"ORTOPEDIA","endereco":%3$s}
+                        """.formatted(i, 900_000 + i, ENDERECO_JSON))));
+    }
+
+    @Test
+    @Order(5)
+    void cadastrarPaciente() throws Exception {
+        verificar(ESCRITA, carga.executar("POST /pacientes", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> envio("POST", "/pacientes", """
+                        {"nome":"Novo Paciente %1$d","email":"novo.paciente%1$d@exemplo.com","telefone":"21988887777",
+                         "cpf":"%2$s","endereco":%3$s}
+                        """.formatted(i, GeradorDeDados.cpf(900_000_000L + i), ENDERECO_JSON))));
+    }
+
+    @Test
+    @Order(6)
+    void atualizarMedico() throws Exception {
+        verificar(ESCRITA, carga.executar("PUT /medicos", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> envio("PUT", "/medicos", """
+                        {"id":%d,"telefone":"1130%05d"}
+                        """.formatted(idEspalhado(i, MEDICOS / 2), i))));
+    }
+
+    @Test
+    @Order(7)
+    void atualizarPaciente() throws Exception {
+        verificar(ESCRITA, carga.executar("PUT /pacientes", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> envio("PUT", "/pacientes", """
+                        {"id":%d,"telefone":"2130%05d"}
+                        """.formatted(idEspalhado(i, PACIENTES / 2), i))));
+    }
+
+    @Test
+    @Order(8)
+    void excluirMedico() throws Exception {
+        // Exclui a partir do fim da faixa semeada, sem repetir IDs
+        verificar(ESCRITA, carga.executar("DELETE /medicos/{id}", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 204,
+                i -> envio("DELETE", "/medicos/" + (MEDICOS - i), null)));
+    }
+
+    @Test
+    @Order(9)
+    void excluirPaciente() throws Exception {
+        verificar(ESCRITA, carga.executar("DELETE /pacientes/{id}", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> envio("DELETE", "/pacientes/" + (PACIENTES - i), null)));
+    }
+
+    @Test
+    @Order(10)
+    void login() throws Exception {
+        // BCrypt domina o custo do login, por isso o cenário é menor
+        verificar(LOGIN, carga.executar("POST /login", CONCORRENCIA, 50, 300, 200,
+                i -> envio("POST", "/login", """
+                        {"login":"%s","senha":"%s"}
+                        """.formatted(GeradorDeDados.loginDoUsuario(i % USUARIOS),
+                        GeradorDeDados.senhaDoUsuario(i % USUARIOS)))));
+    }
+
+    @Test
+    @Order(11)
+    void buscarMedicoPorCrm() throws Exception {
+        verificar(DETALHE, carga.executar("GET /medicos/crm/{crm}", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> get("/medicos/crm/" + (1000 + idEspalhado(i, MEDICOS) - 1))));
+    }
+
+    @Test
+    @Order(12)
+    void buscarPacientePorCpf() throws Exception {
+        verificar(DETALHE, carga.executar("GET /pacientes/cpf/{cpf}", CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> get("/pacientes/cpf/" + GeradorDeDados.cpf(idEspalhado(i, PACIENTES) - 1))));
+    }
+
+    private void verificar(Orcamento orcamento, CargaConcorrente.Resultado resultado) {
+        log.info("Desempenho: {}", resultado);
+        assertThat(resultado.erros()).as("%s: respostas com status inesperado", resultado.cenario()).isZero();
+        assertThat(resultado.p99Micros()).as("%s: p99 (µs)", resultado.cenario())
+                .isLessThanOrEqualTo(orcamento.p99().toNanos() / 1000);
+        assertThat(resultado.vazao()).as("%s: vazão (req/s)", resultado.cenario())
+                .isGreaterThanOrEqualTo(orcamento.vazaoMinima());
+        assertThat(resultado.sqlPorRequisicao()).as("%s: comandos SQL por requisição", resultado.cenario())
+                .isLessThanOrEqualTo(orcamento.sqlPorRequisicao());
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(uri(caminho)).GET().build();
+    }
+
+    private HttpRequest envio(String metodo, String caminho, String json) {
+        var corpo = json == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(json);
+        return HttpRequest.newBuilder(uri(caminho))
+                .header("Content-Type", "application/json")
+                .method(metodo, corpo)
+                .build();
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    /**
+     * Espalha os acessos pela faixa de IDs semeados para não medir só linhas "quentes".
+     */
+    private static long idEspalhado(int indice, int faixa) {
+        return 1 + (indice * 7919L) % faixa;
+    }
+
+    private static final String ENDERECO_JSON = """
+            {"logradouro":"Rua das Flores","bairro":"Centro","cep":"01001000","cidade":"São Paulo","uf":"SP","numero":"100"}""";
+}
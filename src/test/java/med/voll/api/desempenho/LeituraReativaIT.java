@@ -0,0 +1,135 @@
+package med.voll.api.desempenho;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import med.voll.api.infra.reativo.ServidorReativo;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leitura reativa de médicos (ServidorReativo + R2DBC sobre r2dbc-h2): as respostas de
+ * GET /medicos e GET /medicos/{id} precisam ser iguais às do Spring MVC/JPA, e duas threads
+ * de event loop precisam aguentar muitas conexões simultâneas sem erro.
+ *
+ * Usa um banco em memória próprio para não se misturar com o contexto de DesempenhoApiIT.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.reativo.enabled=true",
+        "api.reativo.porta=0",
+        "api.reativo.threads=2",
+        "spring.datasource.url=jdbc:h2:mem:reativo;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "api.reativo.r2dbc.url=r2dbc:h2:mem:///reativo?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LeituraReativaIT {
+
+    private static final Logger log = LoggerFactory.getLogger(LeituraReativaIT.class);
+
+    private static final int MEDICOS = 5_000;
+
+    private static final int CONCORRENCIA = 512;
+    private static final int AQUECIMENTO = 1_000;
+    private static final int REQUISICOES = 10_000;
+
+    @LocalServerPort
+    private int portaMvc;
+
+    @Autowired
+    private ServidorReativo servidorReativo;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient http;
+
+    @BeforeAll
+    void prepararMassaDeDados() throws Exception {
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        new GeradorDeDados(dataSource, passwordEncoder, 42, 4).gerarMedicos(MEDICOS);
+        // Alguns inativos, que não podem aparecer na listagem mas continuam com detalhe
+        try (var conexao = dataSource.getConnection(); var comando = conexao.createStatement()) {
+            comando.executeUpdate("update medicos set ativo = 0 where mod(id, 10) = 0");
+        }
+    }
+
+    @Test
+    void respostasIguaisAsDoSpringMvc() throws Exception {
+        for (var caminho : new String[]{
+                "/medicos?sort=nome&sort=id",
+                "/medicos?page=7&size=25&sort=id",
+                "/medicos?page=2&sort=nome,desc&sort=id,desc",
+                "/medicos?especialidade=CARDIOLOGIA&size=50&sort=crm",
+                "/medicos?page=100000",
+                "/medicos/1",
+                "/medicos/10",
+                "/medicos/" + MEDICOS}) {
+            var mvc = get(portaMvc, caminho);
+            var reativo = get(servidorReativo.porta(), caminho);
+            assertThat(reativo.statusCode()).as("status de %s", caminho).isEqualTo(mvc.statusCode()).isEqualTo(200);
+            assertThat(objectMapper.readTree(reativo.body())).as("corpo de %s", caminho)
+                    .isEqualTo(objectMapper.readTree(mvc.body()));
+        }
+    }
+
+    @Test
+    void errosDeEntrada() throws Exception {
+        var porta = servidorReativo.porta();
+        assertThat(get(porta, "/medicos/" + (MEDICOS + 1)).statusCode()).isEqualTo(404);
+        assertThat(get(porta, "/medicos/abc").statusCode()).isEqualTo(400);
+        assertThat(get(porta, "/medicos?especialidade=PEDIATRIA").statusCode()).isEqualTo(400);
+        assertThat(get(porta, "/medicos?sort=senha").statusCode()).isEqualTo(400);
+        assertThat(get(porta, "/medicos?page=x").statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void muitasConexoesComPoucasThreads() throws Exception {
+        var estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var porta = servidorReativo.porta();
+        var resultado = new CargaConcorrente(http, estatisticas).executar("GET /medicos/{id} reativo",
+                CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                i -> HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/medicos/" + (1 + (i * 7919L) % MEDICOS)))
+                        .GET()
+                        .build());
+        log.info("Desempenho: {}", resultado);
+        // Inativos também têm detalhe, então todo ID semeado responde 200
+        assertThat(resultado.erros()).as("respostas com status inesperado").isZero();
+        assertThat(resultado.sqlPorRequisicao()).as("nenhuma consulta passa pelo Hibernate").isZero();
+    }
+
+    private HttpResponse<String> get(int porta, String caminho) throws Exception {
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho)).GET().build();
+        return http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,174 @@
+package med.voll.api.desempenho;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import med.voll.api.ApiApplication;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pico de listagens (prioridade BAIXA) enquanto se mede o detalhe de médicos (ALTA),
+ * com e sem o LimiteDeConcorrenciaFilter.
+ *
+ * Um interceptor simula um banco com capacidade para CAPACIDADE requisições simultâneas:
+ * acima disso a latência cresce na proporção da fila, como num MySQL saturado. Sem o limite,
+ * o Tomcat admite todo o pico e o detalhe espera junto; com ele, as listagens excedentes
+ * recebem 503 + Retry-After e o p99 do detalhe se mantém.
+ */
+class LimiteDeConcorrenciaIT {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteDeConcorrenciaIT.class);
+
+    private static final int MEDICOS = 2_000;
+
+    private static final int CAPACIDADE = 16;
+    private static final int LATENCIA_BASE_MS = 5;
+
+    private static final int CONCORRENCIA_PICO = 300;
+    private static final int CONCORRENCIA_DETALHE = 8;
+    private static final int AQUECIMENTO = 200;
+    private static final int REQUISICOES = 1_000;
+
+    @Test
+    void limiteAdaptativoPreservaOP99DosCaminhosPrioritariosDuranteUmPico() throws Exception {
+        var semLimite = medir(false);
+        var comLimite = medir(true);
+        log.info("Desempenho sem limite: {} ({})", semLimite.detalhe(), semLimite.pico());
+        log.info("Desempenho com limite: {} ({})", comLimite.detalhe(), comLimite.pico());
+
+        assertThat(comLimite.detalhe().erros()).as("detalhes descartados com limite").isZero();
+        assertThat(comLimite.detalhe().p99Micros()).as("p99 do detalhe com limite (µs)")
+                .isLessThan(semLimite.detalhe().p99Micros() / 2);
+        assertThat(comLimite.pico().descartadas()).as("listagens descartadas no pico").isPositive();
+        assertThat(comLimite.pico().semRetryAfter()).as("503 sem Retry-After").isZero();
+        assertThat(semLimite.pico().descartadas()).as("sem limite nada é descartado").isZero();
+    }
+
+    private record Pico(int atendidas, int descartadas, int semRetryAfter) {
+    }
+
+    private record Medicao(CargaConcorrente.Resultado detalhe, Pico pico) {
+    }
+
+    private Medicao medir(boolean comLimite) throws Exception {
+        var modo = comLimite ? "com-limite" : "sem-limite";
+        var contexto = new SpringApplicationBuilder(ApiApplication.class, CapacidadeLimitada.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:limite-" + modo
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + CONCORRENCIA_PICO,
+                        "api.limite.enabled=" + comLimite,
+                        "api.limite.inicial=" + 2 * CAPACIDADE,
+                        "api.limite.minimo=" + CAPACIDADE)
+                .run();
+        var clientes = Executors.newFixedThreadPool(CONCORRENCIA_PICO);
+        try (contexto) {
+            new GeradorDeDados(contexto.getBean(DataSource.class), contexto.getBean(PasswordEncoder.class), 42, 4)
+                    .gerarMedicos(MEDICOS);
+            var porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            var estatisticas = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            var http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            // Pico de listagens até o fim da medição; quem recebe 503 tenta de novo logo depois
+            var ativo = new AtomicBoolean(true);
+            var atendidas = new AtomicInteger();
+            var descartadas = new AtomicInteger();
+            var semRetryAfter = new AtomicInteger();
+            var sequencia = new AtomicLong();
+            for (int i = 0; i < CONCORRENCIA_PICO; i++) {
+                clientes.execute(() -> {
+                    while (ativo.get()) {
+                        var uri = URI.create("http://localhost:" + porta + "/medicos?page=" + sequencia.incrementAndGet() % 50);
+                        try {
+                            var resposta = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() == 503) {
+                                descartadas.incrementAndGet();
+                                if (resposta.headers().firstValue("Retry-After").isEmpty()) {
+                                    semRetryAfter.incrementAndGet();
+                                }
+                                Thread.sleep(10);
+                            } else {
+                                atendidas.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            return;
+                        } catch (Exception e) {
+                            // Conexão recusada no fim do teste
+                        }
+                    }
+                });
+            }
+            Thread.sleep(2_000);   // Deixa o limite se ajustar ao pico
+
+            var detalhe = new CargaConcorrente(http, estatisticas).executar("GET /medicos/{id} " + modo,
+                    CONCORRENCIA_DETALHE, AQUECIMENTO, REQUISICOES, 200,
+                    i -> HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/medicos/" + (1 + i % MEDICOS)))
+                            .GET()
+                            .build());
+            ativo.set(false);
+            clientes.shutdown();
+            clientes.awaitTermination(30, TimeUnit.SECONDS);
+            return new Medicao(detalhe, new Pico(atendidas.get(), descartadas.get(), semRetryAfter.get()));
+        } finally {
+            clientes.shutdownNow();
+        }
+    }
+
+    /**
+     * Latência de LATENCIA_BASE_MS até CAPACIDADE requisições simultâneas, crescendo na
+     * proporção do excesso depois disso. Registrada só nos contextos deste teste.
+     */
+    static class CapacidadeLimitada implements HandlerInterceptor, WebMvcConfigurer {
+
+        private final AtomicInteger emAndamento = new AtomicInteger();
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                throws InterruptedException {
+            var simultaneas = emAndamento.incrementAndGet();
+            Thread.sleep((long) (LATENCIA_BASE_MS * Math.max(1.0, (double) simultaneas / CAPACIDADE)));
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            emAndamento.decrementAndGet();
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(this);
+        }
+    }
+}
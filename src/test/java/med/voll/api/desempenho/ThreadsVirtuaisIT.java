@@ -0,0 +1,157 @@
+package med.voll.api.desempenho;
+
+import jakarta.persistence.EntityManagerFactory;
+import med.voll.api.ApiApplication;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o modo padrão (pool de threads de plataforma do Tomcat, no tamanho padrão) com o modo
+ * de threads virtuais (api.threads.virtuais=true) sob mais requisições simultâneas que threads,
+ * todas bloqueadas no JDBC como contra um MySQL remoto.
+ *
+ * O H2 em memória responde rápido demais para isso, então cada consulta (executeQuery) espera
+ * LATENCIA_MS dentro do próprio DataSource, como a ida e volta pela rede: o tempo fica no caminho
+ * repositório -> Hibernate -> Hikari -> JDBC, segurando a conexão. O pool do Hikari é o mesmo nos
+ * dois modos e maior que o do Tomcat; com plataforma a vazão fica presa em
+ * THREADS_TOMCAT_PADRAO / latência, em threads virtuais ela vai até o tamanho do pool de conexões.
+ *
+ * Só roda em Java 21+ (nas versões anteriores o modo virtual nem sobe).
+ */
+@EnabledIf("threadsVirtuaisDisponiveis")
+class ThreadsVirtuaisIT {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuaisIT.class);
+
+    private static final int MEDICOS = 2_000;
+
+    private static final int LATENCIA_MS = 20;
+    private static final int THREADS_TOMCAT_PADRAO = 200;   // server.tomcat.threads.max
+    private static final int CONEXOES = 400;
+    private static final int CONCORRENCIA = 400;
+    private static final int AQUECIMENTO = 2_000;
+    private static final int REQUISICOES = 10_000;
+
+    /**
+     * Ganho mínimo de vazão do modo virtual; o teórico nesta configuração é CONCORRENCIA / THREADS_TOMCAT_PADRAO.
+     */
+    private static final double GANHO_MINIMO = 1.5;
+
+    @Test
+    void threadsVirtuaisAtendemMaisRequisicoesBloqueadasQueOPoolDePlataforma() throws Exception {
+        var plataforma = medir(false);
+        var virtuais = medir(true);
+        log.info("Desempenho (plataforma, {} threads): {}", THREADS_TOMCAT_PADRAO, plataforma);
+        log.info("Desempenho (virtuais): {}", virtuais);
+
+        assertThat(plataforma.erros()).as("plataforma: respostas com status inesperado").isZero();
+        assertThat(virtuais.erros()).as("virtuais: respostas com status inesperado").isZero();
+        assertThat(virtuais.vazao()).as("vazão em threads virtuais (req/s) contra %.0f req/s em plataforma",
+                plataforma.vazao()).isGreaterThanOrEqualTo(plataforma.vazao() * GANHO_MINIMO);
+        assertThat(virtuais.p99Micros()).as("p99 em threads virtuais (µs)").isLessThan(plataforma.p99Micros());
+    }
+
+    private CargaConcorrente.Resultado medir(boolean virtuais) throws Exception {
+        var modo = virtuais ? "virtuais" : "plataforma";
+        var contexto = new SpringApplicationBuilder(ApiApplication.class, LatenciaDeBanco.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:threads-" + modo
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "server.tomcat.accept-count=" + CONCORRENCIA,
+                        "api.threads.virtuais=" + virtuais,
+                        "spring.datasource.hikari.maximum-pool-size=" + CONEXOES)
+                .run();
+        try (contexto) {
+            new GeradorDeDados(contexto.getBean(DataSource.class), contexto.getBean(PasswordEncoder.class), 42, 4)
+                    .gerarMedicos(MEDICOS);
+            var porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            var estatisticas = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            var http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            return new CargaConcorrente(http, estatisticas).executar("GET /medicos/{id} " + modo,
+                    CONCORRENCIA, AQUECIMENTO, REQUISICOES, 200,
+                    i -> HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/medicos/" + (1 + i % MEDICOS)))
+                            .GET()
+                            .build());
+        }
+    }
+
+    static boolean threadsVirtuaisDisponiveis() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Envolve o DataSource para que cada consulta espere LATENCIA_MS antes de executar, no lugar
+     * da ida e volta ao banco. Registrada só nos contextos deste teste (não é @Configuration,
+     * fica fora do component scan).
+     */
+    static class LatenciaDeBanco implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            return bean instanceof DataSource dataSource ? new DataSourceComLatencia(dataSource) : bean;
+        }
+    }
+
+    private static class DataSourceComLatencia extends DelegatingDataSource {
+
+        DataSourceComLatencia(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var real = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(ThreadsVirtuaisIT.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, metodo, argumentos) -> {
+                        var resultado = invocar(metodo, real, argumentos);
+                        return resultado instanceof PreparedStatement comando ? comLatencia(comando) : resultado;
+                    });
+        }
+
+        private static PreparedStatement comLatencia(PreparedStatement real) {
+            return (PreparedStatement) Proxy.newProxyInstance(ThreadsVirtuaisIT.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, metodo, argumentos) -> {
+                        if (metodo.getName().equals("executeQuery")) {
+                            Thread.sleep(LATENCIA_MS);
+                        }
+                        return invocar(metodo, real, argumentos);
+                    });
+        }
+
+        private static Object invocar(Method metodo, Object alvo, Object[] argumentos) throws Throwable {
+            try {
+                return metodo.invoke(alvo, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
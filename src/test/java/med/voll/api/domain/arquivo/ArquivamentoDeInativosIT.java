@@ -0,0 +1,192 @@
+package med.voll.api.domain.arquivo;
+
+import med.voll.api.ApiApplication;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import med.voll.api.infra.migracao.MigracaoDeDados;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ArquivamentoDeInativos contra o banco: um ciclo completo em lotes, a retomada depois de um
+ * lote com falha, a restauração pelo ArquivoController (inclusive o 409 quando a chave do
+ * arquivado foi reutilizada) e os inativos anteriores à V12, que só entram no arquivo depois
+ * do backfill de inativado_em.
+ *
+ * Cada teste semeia MEDICOS médicos ativos e inativa os primeiros INATIVOS_ANTIGOS há mais de
+ * api.arquivamento.dias-inativo dias; um deles tem consulta e precisa ficar.
+ */
+class ArquivamentoDeInativosIT {
+
+    private static final int MEDICOS = 40;
+    private static final int INATIVOS_ANTIGOS = 25;
+    private static final int LOTE = 10;
+
+    private static ConfigurableApplicationContext contexto;
+    private static ArquivamentoDeInativos arquivamento;
+    private static JdbcTemplate jdbc;
+    private static int porta;
+
+    private List<Long> ids;
+    private Long comConsulta;
+
+    @BeforeAll
+    static void iniciarContexto() {
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:arquivamento;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "api.arquivamento.dias-inativo=180",
+                        "api.arquivamento.lote=" + LOTE,
+                        "api.arquivamento.pausa-ms=0",
+                        "api.arquivamento.cron=-")
+                .run();
+        arquivamento = contexto.getBean(ArquivamentoDeInativos.class);
+        jdbc = contexto.getBean(JdbcTemplate.class);
+        porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+    }
+
+    @AfterAll
+    static void encerrarContexto() {
+        contexto.close();
+    }
+
+    @BeforeEach
+    void semear() throws Exception {
+        var gerador = new GeradorDeDados(contexto.getBean(DataSource.class), contexto.getBean(PasswordEncoder.class), 42, 4);
+        gerador.limpar();
+        gerador.gerarMedicos(MEDICOS);
+        gerador.gerarPacientes(1);
+
+        ids = jdbc.queryForList("select id from medicos order by id", Long.class);
+        var antigos = ids.subList(0, INATIVOS_ANTIGOS);
+        for (var id : antigos) {
+            jdbc.update("update medicos set ativo = 0, inativado_em = ? where id = ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(200)), id);
+        }
+        // Inativo recente: ainda não vai para o arquivo
+        jdbc.update("update medicos set ativo = 0, inativado_em = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(10)), ids.get(INATIVOS_ANTIGOS));
+
+        comConsulta = antigos.get(2);
+        jdbc.update("insert into consultas (medico_id, paciente_id, data) select ?, min(id), ? from pacientes",
+                comConsulta, Timestamp.valueOf(LocalDateTime.now().minusDays(300)));
+    }
+
+    @Test
+    void cicloArquivaOsInativosAntigosEmLotes() {
+        var resultado = arquivamento.arquivar();
+        assertThat(resultado.medicos()).isEqualTo(INATIVOS_ANTIGOS - 1);
+
+        assertThat(arquivados()).hasSize(INATIVOS_ANTIGOS - 1).doesNotContain(comConsulta);
+        assertThat(contar("select count(*) from medicos")).isEqualTo(MEDICOS - INATIVOS_ANTIGOS + 1);
+        assertThat(contar("select count(*) from medicos where id = ?", comConsulta)).as("médico com consulta").isOne();
+        assertThat(contar("select count(*) from medicos where id = ?", ids.get(INATIVOS_ANTIGOS)))
+                .as("inativo recente").isOne();
+        assertThat(contar("select count(*) from medicos_arquivo where arquivado_em is null or crm_normalizado is null"))
+                .isZero();
+
+        assertThat(arquivamento.arquivar().medicos()).as("nada mais a arquivar").isZero();
+    }
+
+    @Test
+    void loteComFalhaERetomadoNoProximoCiclo() {
+        // Uma cópia antiga no arquivo faz o INSERT do segundo lote falhar pela chave primária
+        var bloqueado = ids.get(LOTE + 4);
+        jdbc.update("""
+                insert into medicos_arquivo (id, nome, email, crm, especialidade, logradouro, bairro, cep, complemento,
+                    numero, uf, cidade, telefone, ativo, crm_normalizado, email_normalizado, versao, inativado_em, arquivado_em)
+                select id, nome, email, crm, especialidade, logradouro, bairro, cep, complemento,
+                    numero, uf, cidade, telefone, ativo, crm_normalizado, email_normalizado, versao, inativado_em, now()
+                from medicos where id = ?
+                """, bloqueado);
+
+        var primeiro = arquivamento.arquivar();
+        assertThat(primeiro.medicos()).as("só o primeiro lote").isEqualTo(LOTE);
+        assertThat(contar("select count(*) from medicos where id = ?", bloqueado))
+                .as("o lote com falha foi revertido").isOne();
+        assertThat(contar("select count(*) from medicos where ativo = 0 and id > ? and id <= ?",
+                ids.get(LOTE), ids.get(INATIVOS_ANTIGOS - 1))).isEqualTo(INATIVOS_ANTIGOS - 1 - LOTE);
+
+        jdbc.update("delete from medicos_arquivo where id = ?", bloqueado);
+        var segundo = arquivamento.arquivar();
+        assertThat(segundo.medicos()).isEqualTo(INATIVOS_ANTIGOS - 1 - LOTE);
+        assertThat(arquivados()).hasSize(INATIVOS_ANTIGOS - 1).contains(bloqueado);
+    }
+
+    @Test
+    void restauracaoDevolveOMedicoInativo() throws Exception {
+        arquivamento.arquivar();
+        var id = ids.get(0);
+
+        assertThat(restaurar(id)).isEqualTo(204);
+        assertThat(arquivados()).doesNotContain(id);
+        assertThat(contar("select count(*) from medicos where id = ? and ativo = 0", id)).isOne();
+        assertThat(jdbc.queryForObject("select inativado_em from medicos where id = ?", LocalDateTime.class, id))
+                .as("não volta ao arquivo no próximo ciclo").isAfter(LocalDateTime.now().minusMinutes(1));
+        assertThat(arquivamento.arquivar().medicos()).isZero();
+
+        assertThat(restaurar(id)).as("já está na tabela principal").isEqualTo(409);
+        assertThat(restaurar(999_999L)).isEqualTo(404);
+    }
+
+    @Test
+    void restauracaoComChaveReutilizadaResponde409() throws Exception {
+        arquivamento.arquivar();
+        var arquivado = ids.get(1);
+        var crm = jdbc.queryForObject("select crm from medicos_arquivo where id = ?", String.class, arquivado);
+
+        // O CRM do arquivado foi dado a um médico ativo
+        var ativo = ids.get(MEDICOS - 1);
+        jdbc.update("update medicos set crm = ?, crm_normalizado = ? where id = ?", crm, crm, ativo);
+
+        assertThat(restaurar(arquivado)).isEqualTo(409);
+        assertThat(arquivados()).as("a restauração com falha não perde o arquivado").contains(arquivado);
+        assertThat(contar("select count(*) from medicos where id = ?", arquivado)).isZero();
+    }
+
+    @Test
+    void inativosAnterioresAV12EsperamOBackfill() {
+        // Como logo depois da V12: inativos sem data de inativação
+        jdbc.update("update medicos set inativado_em = null where ativo = 0");
+        assertThat(arquivamento.arquivar().medicos()).isZero();
+
+        var backfill = contexto.getBean("preencherInativacaoDosMedicos", MigracaoDeDados.class);
+        assertThat(backfill.migrarFaixa(jdbc, 0, ids.get(MEDICOS - 1))).isEqualTo(INATIVOS_ANTIGOS + 1);
+        assertThat(contar("select count(*) from medicos where ativo = 0 and inativado_em is null")).isZero();
+        assertThat(arquivamento.arquivar().medicos()).as("inativados agora, ainda dentro do prazo").isZero();
+    }
+
+    private static List<Long> arquivados() {
+        return jdbc.queryForList("select id from medicos_arquivo order by id", Long.class);
+    }
+
+    private static int contar(String sql, Object... argumentos) {
+        return jdbc.queryForObject(sql, Integer.class, argumentos);
+    }
+
+    private static int restaurar(Long id) throws Exception {
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/arquivo/medicos/" + id + "/restauracao"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return HttpClient.newHttpClient().send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
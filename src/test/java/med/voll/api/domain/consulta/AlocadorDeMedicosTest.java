@@ -0,0 +1,128 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.IdPorEspecialidade;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.medico.SituacaoMedico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AlocadorDeMedicos com um IndiceDeHorarios de verdade e repositórios simulados: rodízio entre
+ * os médicos livres, conferência no banco do médico escolhido, volta à consulta indexada e
+ * atualização dos conjuntos por MedicoAlterado.
+ */
+class AlocadorDeMedicosTest {
+
+    private static final LocalDateTime DATA = LocalDate.now().plusDays(3).atTime(9, 0);
+
+    private final MedicoRepository medicoRepository = mock(MedicoRepository.class);
+    private final ConsultaRepository consultaRepository = mock(ConsultaRepository.class);
+    private final IndiceDeHorarios indice = new IndiceDeHorarios();
+    private final AlocadorDeMedicos alocador = new AlocadorDeMedicos();
+
+    @BeforeEach
+    void montar() {
+        ReflectionTestUtils.setField(indice, "repository", consultaRepository);
+        ReflectionTestUtils.setField(alocador, "medicoRepository", medicoRepository);
+        ReflectionTestUtils.setField(alocador, "consultaRepository", consultaRepository);
+        ReflectionTestUtils.setField(alocador, "indice", indice);
+    }
+
+    @Test
+    void rodizioEntreOsMedicosLivres() {
+        carregar(3);
+        var escolhidos = new HashSet<Long>();
+        for (long paciente = 1; paciente <= 3; paciente++) {
+            var reserva = alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, paciente, DATA);
+            assertThat(reserva).isNotNull();
+            assertThat(reserva.idPaciente()).isEqualTo(paciente);
+            escolhidos.add(reserva.idMedico());
+        }
+        assertThat(escolhidos).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 4L, DATA)).isNull();
+        assertThat(alocador.reservarMedicoLivre(Especialidade.ORTOPEDIA, 4L, DATA)).as("especialidade sem médicos").isNull();
+    }
+
+    @Test
+    void medicoOcupadoNoBancoEPuladoEFicaMarcado() {
+        carregar(3);
+        when(consultaRepository.existsByMedicoIdAndHorarioAtivo(1L, DATA)).thenReturn(true);  // Agendado em outra instância
+
+        var reserva = alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 1L, DATA);
+        assertThat(reserva.idMedico()).isEqualTo(2L);
+        assertThat(indice.medicoLivre(1L, DATA)).as("bit do médico ocupado fica ligado").isFalse();
+        assertThat(indice.pacienteLivre(1L, DATA)).as("só o paciente da reserva escolhida fica ocupado").isFalse();
+
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 2L, DATA).idMedico()).isEqualTo(3L);
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 3L, DATA)).isNull();
+        verify(consultaRepository, times(1)).existsByMedicoIdAndHorarioAtivo(1L, DATA);
+    }
+
+    @Test
+    void muitosCandidatosOcupadosVoltaAoBanco() {
+        carregar(5);
+        for (long id = 1; id <= 4; id++) {
+            when(consultaRepository.existsByMedicoIdAndHorarioAtivo(id, DATA)).thenReturn(true);
+        }
+        when(medicoRepository.findIdsLivresNaData(eq(Especialidade.CARDIOLOGIA), eq(DATA), any()))
+                .thenReturn(List.of(5L));
+
+        var reserva = alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 1L, DATA);
+        assertThat(reserva.idMedico()).isEqualTo(5L);
+        verify(consultaRepository, never()).existsByMedicoIdAndHorarioAtivo(4L, DATA);
+    }
+
+    @Test
+    void semCargaUsaAConsultaIndexada() {
+        indice.carregar();
+        when(medicoRepository.findIdsLivresNaData(eq(Especialidade.CARDIOLOGIA), eq(DATA), any()))
+                .thenReturn(List.of(8L, 9L));
+
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 1L, DATA).idMedico()).isEqualTo(8L);
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 2L, DATA).idMedico()).isEqualTo(9L);
+    }
+
+    @Test
+    void alteracoesDeMedicoAtualizamOsCandidatos() {
+        carregar(1);
+        alocador.aoAlterarMedico(new MedicoAlterado(null, situacao(7L, Especialidade.CARDIOLOGIA, true)));
+        alocador.aoAlterarMedico(new MedicoAlterado(situacao(1L, Especialidade.CARDIOLOGIA, true),
+                situacao(1L, Especialidade.CARDIOLOGIA, false)));
+
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 1L, DATA).idMedico()).isEqualTo(7L);
+        assertThat(alocador.reservarMedicoLivre(Especialidade.CARDIOLOGIA, 2L, DATA)).as("médico 1 desativado").isNull();
+    }
+
+    /**
+     * Carrega o índice vazio e os médicos 1..quantidade, todos de cardiologia.
+     */
+    private void carregar(long quantidade) {
+        indice.carregar();
+        when(medicoRepository.findIdsAtivosPorEspecialidade()).thenReturn(LongStream.rangeClosed(1, quantidade)
+                .mapToObj(id -> new IdPorEspecialidade(id, Especialidade.CARDIOLOGIA))
+                .toList());
+        alocador.recarregar();
+    }
+
+    private static SituacaoMedico situacao(Long id, Especialidade especialidade, boolean ativo) {
+        return new SituacaoMedico(id, 0, "12345" + id, "medico" + id + "@voll.med", especialidade, "SP", "São Paulo", ativo);
+    }
+}
@@ -0,0 +1,142 @@
+package med.voll.api.domain.consulta;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Posse das reservas no IndiceDeHorarios: a conferência no banco, um cancelamento ou o rollback
+ * de outra transação nunca limpam o bit de uma reserva em andamento.
+ *
+ * O repositório é um mock: "existsBy..." devolve false como o banco devolveria para uma
+ * consulta ainda não confirmada.
+ */
+class IndiceDeHorariosTest {
+
+    private static final LocalDateTime DATA = LocalDate.now().plusDays(3).atTime(10, 0);
+
+    private final ConsultaRepository repository = mock(ConsultaRepository.class);
+    private final IndiceDeHorarios indice = new IndiceDeHorarios();
+
+    @BeforeEach
+    void injetarRepositorio() {
+        ReflectionTestUtils.setField(indice, "repository", repository);
+    }
+
+    @Test
+    void conferenciaNaoLimpaReservaEmAndamento() {
+        var a = indice.reservar(1L, 1L, DATA);
+        assertThat(a).isNotNull();
+
+        // Transação B: o índice acusa conflito e o banco ainda não mostra a linha de A
+        assertThat(indice.reservar(1L, 2L, DATA)).isNull();
+        assertThat(indice.conferirComBanco(1L, 2L, DATA)).as("nada a corrigir").isFalse();
+        verify(repository, never()).existsByMedicoIdAndHorarioAtivo(any(), any());
+        assertThat(indice.medicoLivre(1L, DATA)).isFalse();
+
+        indice.confirmar(a);
+        assertThat(indice.medicoLivre(1L, DATA)).isFalse();
+        assertThat(indice.pacienteLivre(1L, DATA)).isFalse();
+    }
+
+    @Test
+    void desfazerLimpaSoOsBitsDaPropriaReserva() {
+        var a = indice.reservar(1L, 1L, DATA);
+        assertThat(indice.reservar(2L, 1L, DATA)).as("paciente 1 já reservado").isNull();
+        assertThat(indice.medicoLivre(2L, DATA)).as("a tentativa sem sucesso não deixa nada ligado").isTrue();
+
+        var b = indice.reservar(2L, 2L, DATA);
+        indice.desfazer(b);
+        assertThat(indice.medicoLivre(2L, DATA)).isTrue();
+        assertThat(indice.pacienteLivre(2L, DATA)).isTrue();
+        assertThat(indice.medicoLivre(1L, DATA)).as("a reserva de A continua").isFalse();
+
+        indice.desfazer(a);
+        assertThat(indice.medicoLivre(1L, DATA)).isTrue();
+        assertThat(indice.pacienteLivre(1L, DATA)).isTrue();
+    }
+
+    @Test
+    void cancelamentoNaoLimpaReservaEmAndamento() {
+        var a = indice.reservar(1L, 1L, DATA);
+        indice.liberar(1L, 1L, DATA);   // ConsultaCancelada atrasada de outra consulta nesse horário
+        assertThat(indice.medicoLivre(1L, DATA)).isFalse();
+        assertThat(indice.reservar(1L, 3L, DATA)).isNull();
+
+        indice.confirmar(a);
+        indice.liberar(1L, 1L, DATA);   // Cancelamento da própria consulta, já confirmada
+        assertThat(indice.medicoLivre(1L, DATA)).isTrue();
+        assertThat(indice.pacienteLivre(1L, DATA)).isTrue();
+    }
+
+    @Test
+    void conferenciaLimpaBitDesatualizado() {
+        indice.confirmar(indice.reservar(1L, 1L, DATA));
+
+        when(repository.existsByMedicoIdAndHorarioAtivo(1L, DATA)).thenReturn(true);
+        assertThat(indice.conferirComBanco(1L, 2L, DATA)).as("consulta confirmada no banco").isFalse();
+        assertThat(indice.medicoLivre(1L, DATA)).isFalse();
+
+        // Cancelada em outra instância sem o evento ter chegado
+        when(repository.existsByMedicoIdAndHorarioAtivo(1L, DATA)).thenReturn(false);
+        assertThat(indice.conferirComBanco(1L, 2L, DATA)).isTrue();
+        assertThat(indice.reservar(1L, 2L, DATA)).isNotNull();
+    }
+
+    @Test
+    void transacoesConcorrentesDisputandoOMesmoHorario() throws Exception {
+        var transacoes = 16;
+        var executor = Executors.newFixedThreadPool(transacoes);
+        try {
+            for (int rodada = 0; rodada < 200; rodada++) {
+                var data = DATA.plusDays(rodada);
+                var largada = new CountDownLatch(1);
+                var tarefas = new ArrayList<Callable<IndiceDeHorarios.Reserva>>();
+                for (long paciente = 1; paciente <= transacoes; paciente++) {
+                    var idPaciente = paciente;
+                    tarefas.add(() -> {
+                        largada.await();
+                        // Mesmo fluxo da AgendaDeConsultas.reservarMedicoInformado
+                        var reserva = indice.reservar(1L, idPaciente, data);
+                        if (reserva == null && indice.conferirComBanco(1L, idPaciente, data)) {
+                            reserva = indice.reservar(1L, idPaciente, data);
+                        }
+                        return reserva;
+                    });
+                }
+                var futuros = tarefas.stream().map(executor::submit).toList();
+                largada.countDown();
+
+                var vencedoras = new ArrayList<IndiceDeHorarios.Reserva>();
+                for (var futuro : futuros) {
+                    var reserva = futuro.get(5, TimeUnit.SECONDS);
+                    if (reserva != null) {
+                        vencedoras.add(reserva);
+                    }
+                }
+                assertThat(vencedoras).as("reservas do horário na rodada %d", rodada).hasSize(1);
+
+                indice.confirmar(vencedoras.get(0));
+                assertThat(indice.medicoLivre(1L, data)).isFalse();
+                assertThat(indice.pacienteLivre(vencedoras.get(0).idPaciente(), data)).isFalse();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package med.voll.api.domain.endereco;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compilação do CSV para o formato de ArquivoDeCeps e busca no DiretorioDeCeps: só CEPs no
+ * formato "00000-000" ou "00000000" entram no arquivo e são buscados; o resto não pode
+ * virar outro CEP (dígitos extraídos do meio de um texto, nove dígitos digitados por engano).
+ */
+class DiretorioDeCepsTest {
+
+    private static final String CSV = """
+            cep;logradouro;bairro;cidade;uf
+            01001-000;Praça da Sé;Sé;São Paulo;SP
+            20040002;Rua da Assembleia;Centro;Rio de Janeiro;rj
+            01001000;Repetido;Sé;São Paulo;SP
+            10010000;Rua Nove Dígitos;Centro;Jundiaí;SP
+            abc01001001x;Texto;Sé;São Paulo;SP
+            010010020;Nove dígitos;Sé;São Paulo;SP
+            0100-1003;Hífen fora do lugar;Sé;São Paulo;SP
+            01001-004;Linha incompleta
+            """;
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void compilarIgnoraLinhasForaDoFormatoERepetidas() throws IOException {
+        assertThat(ArquivoDeCeps.compilar(csv(), pasta.resolve("ceps.bin"))).isEqualTo(3);
+    }
+
+    @Test
+    void buscaComOuSemHifen() throws IOException {
+        var diretorio = diretorio();
+
+        var se = diretorio.buscar("01001-000").orElseThrow();
+        assertThat(se.cep()).isEqualTo("01001000");
+        assertThat(se.logradouro()).as("para CEPs repetidos vale a primeira linha").isEqualTo("Praça da Sé");
+        assertThat(se.uf()).isEqualTo("SP");
+        assertThat(diretorio.buscar("01001000")).contains(se);
+
+        var centro = diretorio.buscar("20040-002").orElseThrow();
+        assertThat(centro.cidade()).isEqualTo("Rio de Janeiro");
+        assertThat(centro.uf()).isEqualTo("RJ");
+        assertThat(diretorio.buscar("01001-001")).as("fora do diretório").isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"abc01001000x", "010010000", "01001-0000", "0100-1000", "01001 000", " 01001000",
+            "1001000", "99999999999"})
+    void cepForaDoFormatoNaoEncontraNada(String cep) throws IOException {
+        assertThat(diretorio().buscar(cep)).isEmpty();
+    }
+
+    @Test
+    void semArquivoNaoEncontraNada() throws IOException {
+        var diretorio = new DiretorioDeCeps(pasta.resolve("inexistente.bin").toString());
+        assertThat(diretorio.buscar("01001-000")).isEmpty();
+        assertThat(diretorio.buscar(null)).isEmpty();
+    }
+
+    private Path csv() throws IOException {
+        return Files.writeString(pasta.resolve("ceps.csv"), CSV, StandardCharsets.UTF_8);
+    }
+
+    private DiretorioDeCeps diretorio() throws IOException {
+        var arquivo = pasta.resolve("ceps.bin");
+        ArquivoDeCeps.compilar(csv(), arquivo);
+        return new DiretorioDeCeps(arquivo.toString());
+    }
+}
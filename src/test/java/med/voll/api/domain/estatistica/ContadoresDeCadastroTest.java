@@ -0,0 +1,149 @@
+package med.voll.api.domain.estatistica;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.medico.SituacaoMedico;
+import med.voll.api.domain.paciente.PacienteAlterado;
+import med.voll.api.domain.paciente.PacienteRepository;
+import med.voll.api.domain.paciente.SituacaoPaciente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Reconciliação dos ContadoresDeCadastro com o banco: as contagens ajustadas enquanto o
+ * GROUP BY roda mantêm o valor em memória até a próxima reconciliação, as demais passam a
+ * valer o banco.
+ *
+ * Os repositórios são mocks; o "ajuste durante a reconciliação" é disparado de dentro da
+ * própria consulta simulada, como um commit que chega entre o início e o fim do GROUP BY.
+ */
+class ContadoresDeCadastroTest {
+
+    private final MedicoRepository medicoRepository = mock(MedicoRepository.class);
+    private final PacienteRepository pacienteRepository = mock(PacienteRepository.class);
+    private final ContadoresDeCadastro contadores = new ContadoresDeCadastro();
+    private long proximoId;
+
+    @BeforeEach
+    void injetarRepositorios() {
+        ReflectionTestUtils.setField(contadores, "medicoRepository", medicoRepository);
+        ReflectionTestUtils.setField(contadores, "pacienteRepository", pacienteRepository);
+        doReturn(List.of()).when(pacienteRepository).contarAtivosPorCidade();
+    }
+
+    @Test
+    void semeaduraUsaOBanco() {
+        cadastrarMedico(Especialidade.CARDIOLOGIA, "SP");   // Antes da semeadura: só um delta a partir de zero
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 5));
+        contadores.reconciliar();
+
+        assertThat(contadores.medicosPorEspecialidade())
+                .containsExactly(new DadosMedicosPorEspecialidade(Especialidade.CARDIOLOGIA, "SP", 5));
+    }
+
+    @Test
+    void ajusteDuranteAReconciliacaoMantemOValorEmMemoria() {
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 5), medicos(Especialidade.ORTOPEDIA, "MG", 2));
+        contadores.reconciliar();
+        cadastrarMedico(Especialidade.CARDIOLOGIA, "SP");                  // 6 em memória e no banco
+
+        // O GROUP BY não vê o cadastro que confirma enquanto ele roda; MG divergiu por fora
+        doAnswer(consulta -> {
+            cadastrarMedico(Especialidade.CARDIOLOGIA, " sp ");
+            return List.of(medicos(Especialidade.CARDIOLOGIA, "SP", 6), medicos(Especialidade.ORTOPEDIA, "MG", 4));
+        }).when(medicoRepository).contarAtivosPorEspecialidadeEUf();
+        contadores.reconciliar();
+        assertThat(contadores.medicosPorEspecialidade()).containsExactly(
+                new DadosMedicosPorEspecialidade(Especialidade.ORTOPEDIA, "MG", 4),
+                new DadosMedicosPorEspecialidade(Especialidade.CARDIOLOGIA, "SP", 7));
+
+        // Fora da reconciliação, o ajuste não é mais registrado; a seguinte confirma o banco
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 7), medicos(Especialidade.ORTOPEDIA, "MG", 4));
+        contadores.reconciliar();
+        cadastrarMedico(Especialidade.ORTOPEDIA, "MG");
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 7), medicos(Especialidade.ORTOPEDIA, "MG", 4));
+        contadores.reconciliar();
+        assertThat(contadores.medicosPorEspecialidade()).as("o banco corrige o ajuste fora da reconciliação")
+                .contains(new DadosMedicosPorEspecialidade(Especialidade.ORTOPEDIA, "MG", 4));
+    }
+
+    @Test
+    void desativacaoDuranteAReconciliacaoLevaAContagemAZero() {
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 1));
+        contadores.reconciliar();
+        var ativo = situacao(Especialidade.CARDIOLOGIA, "SP", true);
+
+        doAnswer(consulta -> {
+            contadores.aoAlterarMedico(new MedicoAlterado(ativo, new SituacaoMedico(ativo.id(), 1, ativo.crm(),
+                    ativo.email(), ativo.especialidade(), ativo.uf(), ativo.cidade(), false)));
+            return List.of(medicos(Especialidade.CARDIOLOGIA, "SP", 1));
+        }).when(medicoRepository).contarAtivosPorEspecialidadeEUf();
+        contadores.reconciliar();
+        assertThat(contadores.medicosPorEspecialidade()).isEmpty();
+    }
+
+    @Test
+    void ajustesDePacientesDuranteAReconciliacao() {
+        banco();
+        doReturn(List.of(pacientes("SP", "Campinas", 3))).when(pacienteRepository).contarAtivosPorCidade();
+        contadores.reconciliar();
+
+        doAnswer(consulta -> {
+            contadores.aoAlterarPaciente(new PacienteAlterado(null,
+                    new SituacaoPaciente(++proximoId, 0, "529.982.247-25", "p@voll.med", "SP", "Santos", true)));
+            return List.of(pacientes("SP", "Campinas", 2));
+        }).when(pacienteRepository).contarAtivosPorCidade();
+        contadores.reconciliar();
+        assertThat(contadores.pacientesPorCidade()).containsExactly(
+                new DadosPacientesPorCidade("SP", "Campinas", 2),
+                new DadosPacientesPorCidade("SP", "Santos", 1));
+    }
+
+    @Test
+    void falhaNaConsultaParaDeRegistrarAjustes() {
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 5));
+        contadores.reconciliar();
+
+        doThrow(new IllegalStateException("banco fora")).when(medicoRepository).contarAtivosPorEspecialidadeEUf();
+        assertThatThrownBy(contadores::reconciliar).isInstanceOf(IllegalStateException.class);
+        assertThat(ReflectionTestUtils.getField(contadores, "medicosAjustados")).isNull();
+
+        cadastrarMedico(Especialidade.CARDIOLOGIA, "SP");
+        banco(medicos(Especialidade.CARDIOLOGIA, "SP", 5));
+        contadores.reconciliar();
+        assertThat(contadores.medicosPorEspecialidade())
+                .containsExactly(new DadosMedicosPorEspecialidade(Especialidade.CARDIOLOGIA, "SP", 5));
+    }
+
+    private void banco(ContagemMedicos... contagens) {
+        doReturn(List.of(contagens)).when(medicoRepository).contarAtivosPorEspecialidadeEUf();
+    }
+
+    private void cadastrarMedico(Especialidade especialidade, String uf) {
+        contadores.aoAlterarMedico(new MedicoAlterado(null, situacao(especialidade, uf, true)));
+    }
+
+    private SituacaoMedico situacao(Especialidade especialidade, String uf, boolean ativo) {
+        var id = ++proximoId;
+        return new SituacaoMedico(id, 0, "12345" + id, "medico" + id + "@voll.med", especialidade, uf, "Cidade", ativo);
+    }
+
+    private static ContagemMedicos medicos(Especialidade especialidade, String uf, long quantidade) {
+        return new ContagemMedicos(especialidade, uf, quantidade);
+    }
+
+    private static ContagemPacientes pacientes(String uf, String cidade, long quantidade) {
+        return new ContagemPacientes(uf, cidade, quantidade);
+    }
+}
@@ -0,0 +1,205 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.ApiApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O DiretorioDeMedicos (instantâneo em memória) precisa responder exatamente o que o
+ * caminho JPA responderia: mesma ordem por nome (sem diferenciar acentos nem maiúsculas,
+ * como a collation do MySQL), ordem decrescente, filtro por especialidade, limites de página,
+ * complemento nulo, e volta ao banco enquanto uma escrita ainda não entrou no instantâneo.
+ *
+ * O banco H2 recebe a collation ENGLISH STRENGTH PRIMARY antes de o Flyway criar as tabelas,
+ * para ordenar como o MySQL (utf8mb4_0900_ai_ci).
+ */
+class DiretorioDeMedicosIT {
+
+    private static final List<String> NOMES = List.of(
+            "Ana Souza", "Ângela Lima", "Álvaro Dias", "alberto Ramos", "Bruno Alves", "bárbara Reis",
+            "Carlos Eduardo", "Cecília Prado", "Édson Nunes", "eduarda Melo", "Fábio Castro", "fernanda Gomes",
+            "Íris Teixeira", "igor Barros", "Márcio Alves", "mônica Faria", "Otávio Pires", "Úrsula Campos",
+            "Zé Carlos", "zuleica Mota");
+    private static final long ATRASO_MS = 1_000;
+
+    private static ConfigurableApplicationContext contexto;
+    private static DiretorioDeMedicos diretorio;
+    private static MedicoRepository repository;
+    private static int porta;
+
+    private static final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    static void iniciar() throws Exception {
+        var url = "jdbc:h2:mem:diretorio;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (var conexao = DriverManager.getConnection(url, "sa", "");
+             var comando = conexao.createStatement()) {
+            comando.execute("SET COLLATION ENGLISH STRENGTH PRIMARY");   // Só é aceito com o banco vazio
+        }
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        "api.diretorio-medicos.enabled=true",
+                        "api.diretorio-medicos.atraso-ms=" + ATRASO_MS)
+                .run();
+        diretorio = contexto.getBean(DiretorioDeMedicos.class);
+        repository = contexto.getBean(MedicoRepository.class);
+        porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+        for (int i = 0; i < NOMES.size(); i++) {
+            var complemento = i % 2 == 0 ? "null" : "\"Sala " + i + "\"";
+            var resposta = enviar("POST", """
+                    {"nome":"%s","email":"medico%d@voll.med","telefone":"1199999%04d","crm":"%d",
+                     "especialidade":"%s","endereco":{"logradouro":"Rua %d","bairro":"Centro","cep":"01001000",
+                     "cidade":"São Paulo","uf":"SP","numero":"%d","complemento":%s}}
+                    """.formatted(NOMES.get(i), i, i, 10_000 + i,
+                    Especialidade.values()[i % Especialidade.values().length], i, i, complemento));
+            assertThat(resposta.statusCode()).as(resposta.body()).isEqualTo(201);
+        }
+        esperarInstantaneo();
+    }
+
+    @AfterAll
+    static void encerrar() {
+        contexto.close();
+    }
+
+    @Test
+    void listagemPorNomeIgualAoBanco() {
+        for (var direcao : Sort.Direction.values()) {
+            for (var tamanho : new int[]{1, 3, 7, NOMES.size(), 50}) {
+                for (var pagina = 0; pagina * tamanho <= NOMES.size() + tamanho; pagina++) {
+                    comparar(null, PageRequest.of(pagina, tamanho, Sort.by(direcao, "nome")));
+                }
+            }
+        }
+    }
+
+    @Test
+    void ordemPorNomeIgnoraAcentosEMaiusculas() {
+        var nomes = diretorio.listar(null, PageRequest.of(0, 5, Sort.by("nome"))).orElseThrow()
+                .map(DadosListagemMedico::nome).getContent();
+        assertThat(nomes).containsExactly("alberto Ramos", "Álvaro Dias", "Ana Souza", "Ângela Lima", "bárbara Reis");
+    }
+
+    @Test
+    void listagemPorIdEDecrescenteIgualAoBanco() {
+        for (var ordem : List.of(Sort.by("id"), Sort.by(Sort.Direction.DESC, "id"))) {
+            for (var pagina = 0; pagina < 4; pagina++) {
+                comparar(null, PageRequest.of(pagina, 6, ordem));
+            }
+        }
+    }
+
+    @Test
+    void filtroPorEspecialidadeIgualAoBanco() {
+        for (var especialidade : Especialidade.values()) {
+            for (var ordem : List.of(Sort.by("nome"), Sort.by(Sort.Direction.DESC, "nome"), Sort.by("id"))) {
+                for (var pagina = 0; pagina < 3; pagina++) {
+                    comparar(especialidade, PageRequest.of(pagina, 2, ordem));
+                }
+            }
+        }
+    }
+
+    @Test
+    void ordenacaoNaoAtendidaVoltaAoBanco() {
+        assertThat(diretorio.listar(null, PageRequest.of(0, 10, Sort.by("email")))).isEmpty();
+        assertThat(diretorio.listar(null, PageRequest.of(0, 10, Sort.by("nome", "id")))).isEmpty();
+    }
+
+    @Test
+    void detalheIgualAoBancoInclusiveComComplementoNulo() {
+        for (var id = 1L; id <= NOMES.size(); id++) {
+            var emMemoria = diretorio.detalhar(id).orElseThrow();
+            assertThat(emMemoria).usingRecursiveComparison().isEqualTo(detalheNoBanco(id));
+        }
+        assertThat(diretorio.detalhar(1L).orElseThrow().endereco().getComplemento()).isNull();
+        assertThat(diretorio.detalhar(2L).orElseThrow().endereco().getComplemento()).isEqualTo("Sala 1");
+        assertThat(diretorio.detalhar(999L)).as("médico inexistente").isEmpty();
+    }
+
+    @Test
+    void escritaPendenteVaiAoBancoAteARecarga() throws Exception {
+        var id = 3L;
+        var resposta = enviar("PUT", "{\"id\":" + id + ",\"nome\":\"Alvaro Dias Atualizado\"}");
+        assertThat(resposta.statusCode()).isEqualTo(200);
+
+        // Até a recarga, o instantâneo não atende esse médico nem as listagens
+        assertThat(diretorio.detalhar(id)).isEmpty();
+        assertThat(diretorio.listar(null, PageRequest.of(0, 10, Sort.by("nome")))).isEmpty();
+        assertThat(diretorio.detalhar(1L)).as("outros médicos continuam em memória").isPresent();
+
+        esperarInstantaneo();
+        assertThat(diretorio.detalhar(id).orElseThrow().nome()).isEqualTo("Alvaro Dias Atualizado");
+        comparar(null, PageRequest.of(0, NOMES.size(), Sort.by("nome")));
+
+        // Volta ao nome original para não afetar os outros testes
+        enviar("PUT", "{\"id\":" + id + ",\"nome\":\"Álvaro Dias\"}");
+        esperarInstantaneo();
+    }
+
+    private static void comparar(Especialidade especialidade, Pageable paginacao) {
+        var emMemoria = diretorio.listar(especialidade, paginacao).orElseThrow();
+        var noBanco = listagemNoBanco(especialidade, paginacao);
+        var descricao = "especialidade=%s %s".formatted(especialidade, paginacao);
+        assertThat(emMemoria.getContent()).as(descricao).containsExactlyElementsOf(noBanco.getContent());
+        assertThat(emMemoria.getTotalElements()).as(descricao).isEqualTo(noBanco.getTotalElements());
+        assertThat(emMemoria.getTotalPages()).as(descricao).isEqualTo(noBanco.getTotalPages());
+        assertThat(emMemoria.getNumber()).as(descricao).isEqualTo(noBanco.getNumber());
+    }
+
+    private static Page<DadosListagemMedico> listagemNoBanco(Especialidade especialidade, Pageable paginacao) {
+        var medicos = especialidade == null
+                ? repository.findAllByAtivoTrue(paginacao)
+                : repository.findAllByAtivoTrueAndEspecialidade(especialidade, paginacao);
+        return medicos.map(DadosListagemMedico::new);
+    }
+
+    private static DadosDetalhamentoMedico detalheNoBanco(Long id) {
+        return new DadosDetalhamentoMedico(repository.findById(id).orElseThrow());
+    }
+
+    /**
+     * Espera a recarga agendada pelas escritas (api.diretorio-medicos.atraso-ms) incluir tudo.
+     */
+    private static void esperarInstantaneo() throws InterruptedException {
+        var limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ATRASO_MS * 10);
+        while (diretorio.listar(null, PageRequest.of(0, 1)).isEmpty()) {
+            assertThat(System.nanoTime()).as("recarga do diretório").isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+
+    private static HttpResponse<String> enviar(String metodo, String corpo) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/medicos"))
+                        .header("Content-Type", "application/json")
+                        .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,91 @@
+package med.voll.api.domain.unicidade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChavesUnicas: reserva exata das chaves em gravação, passagem para o filtro no commit e
+ * confirmações que chegam antes de a carga inicial terminar.
+ */
+class ChavesUnicasTest {
+
+    private final ChavesUnicas chaves = new ChavesUnicas();
+
+    @Test
+    void chaveEmGravacaoNaoPodeSerReservadaDeNovo() {
+        assertThat(chaves.reservar("12345")).isTrue();
+        assertThat(chaves.reservar("12345")).isFalse();
+
+        chaves.liberar("12345");
+        assertThat(chaves.reservar("12345")).as("rollback libera a chave").isTrue();
+    }
+
+    @Test
+    void antesDaCargaTodaChaveTalvezExista() {
+        assertThat(chaves.talvezPersistida("12345")).isTrue();
+    }
+
+    @Test
+    void cargaRespondeSemFalsosNegativos() {
+        chaves.carregar(List.of("111", "222"), 1_000);
+        assertThat(chaves.talvezPersistida("111")).isTrue();
+        assertThat(chaves.talvezPersistida("222")).isTrue();
+        assertThat(chaves.talvezPersistida("333")).isFalse();
+    }
+
+    @Test
+    void commitPassaAChaveParaOFiltroESaiDaReserva() {
+        chaves.carregar(List.of(), 1_000);
+        chaves.reservar("333");
+        chaves.confirmar("333");
+
+        assertThat(chaves.talvezPersistida("333")).isTrue();
+        // Não fica no conjunto exato: a próxima tentativa passa pela conferência no banco
+        assertThat(chaves.reservar("333")).isTrue();
+    }
+
+    @Test
+    void confirmacaoAntesDaCargaEntraNoFiltro() {
+        chaves.reservar("444");
+        chaves.confirmar("444");          // Commit visto antes de o filtro existir
+        chaves.carregar(List.of("111"), 1_000);   // Carga que não viu o commit
+
+        assertThat(chaves.talvezPersistida("444")).isTrue();
+        assertThat(chaves.talvezPersistida("111")).isTrue();
+    }
+
+    @Test
+    void reservasConcorrentesDaMesmaChave() throws Exception {
+        var threads = 16;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int rodada = 0; rodada < 100; rodada++) {
+                var chave = "chave-" + rodada;
+                var largada = new CountDownLatch(1);
+                var tarefas = new ArrayList<Callable<Boolean>>();
+                for (int t = 0; t < threads; t++) {
+                    tarefas.add(() -> {
+                        largada.await();
+                        return chaves.reservar(chave);
+                    });
+                }
+                var futuros = tarefas.stream().map(executor::submit).toList();
+                largada.countDown();
+                var reservadas = 0;
+                for (var futuro : futuros) {
+                    reservadas += futuro.get() ? 1 : 0;
+                }
+                assertThat(reservadas).as("reservas de %s", chave).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
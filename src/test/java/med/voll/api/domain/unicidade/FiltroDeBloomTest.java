@@ -0,0 +1,78 @@
+package med.voll.api.domain.unicidade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FiltroDeBloom: nenhum falso negativo, mesmo com inclusões concorrentes, e taxa de falsos
+ * positivos perto da configurada na capacidade.
+ */
+class FiltroDeBloomTest {
+
+    private static final int CAPACIDADE = 100_000;
+
+    @Test
+    void semFalsosNegativos() {
+        var filtro = new FiltroDeBloom(CAPACIDADE, 0.01);
+        for (int i = 0; i < CAPACIDADE; i++) {
+            filtro.adicionar("crm-" + i);
+        }
+        for (int i = 0; i < CAPACIDADE; i++) {
+            assertThat(filtro.talvezContenha("crm-" + i)).as("crm-%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void taxaDeFalsosPositivosPertoDaConfigurada() {
+        var filtro = new FiltroDeBloom(CAPACIDADE, 0.01);
+        for (int i = 0; i < CAPACIDADE; i++) {
+            filtro.adicionar("medico" + i + "@voll.med");
+        }
+        var falsosPositivos = IntStream.range(0, CAPACIDADE)
+                .filter(i -> filtro.talvezContenha("paciente" + i + "@voll.med"))
+                .count();
+        assertThat((double) falsosPositivos / CAPACIDADE).isLessThan(0.02);
+    }
+
+    @Test
+    void filtroVazioNaoContemNada() {
+        var filtro = new FiltroDeBloom(0, 0.01);
+        assertThat(filtro.talvezContenha("")).isFalse();
+        assertThat(filtro.talvezContenha("12345")).isFalse();
+        filtro.adicionar("12345");
+        assertThat(filtro.talvezContenha("12345")).isTrue();
+    }
+
+    @Test
+    void inclusoesConcorrentesNaoSePerdem() throws Exception {
+        var filtro = new FiltroDeBloom(CAPACIDADE, 0.01);
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var tarefas = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                var inicio = t;
+                tarefas.add(() -> {
+                    for (int i = inicio; i < CAPACIDADE; i += threads) {
+                        filtro.adicionar("cpf-" + i);
+                    }
+                    return null;
+                });
+            }
+            for (var futuro : executor.invokeAll(tarefas)) {
+                futuro.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < CAPACIDADE; i++) {
+            assertThat(filtro.talvezContenha("cpf-" + i)).as("cpf-%d", i).isTrue();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package med.voll.api.domain.unicidade;
+
+import med.voll.api.domain.ConflitoException;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * VerificadorDeUnicidade com repositórios simulados: quando o banco é consultado, o 409 para
+ * chaves em gravação ou já gravadas e o destino da reserva no commit e no rollback.
+ */
+class VerificadorDeUnicidadeTest {
+
+    private final MedicoRepository medicoRepository = mock(MedicoRepository.class);
+    private final PacienteRepository pacienteRepository = mock(PacienteRepository.class);
+    private final VerificadorDeUnicidade verificador = new VerificadorDeUnicidade();
+
+    @BeforeEach
+    void montar() {
+        ReflectionTestUtils.setField(verificador, "medicoRepository", medicoRepository);
+        ReflectionTestUtils.setField(verificador, "pacienteRepository", pacienteRepository);
+        ReflectionTestUtils.setField(verificador, "capacidadeEsperada", 1_000L);
+        when(medicoRepository.findCrms()).thenReturn(List.of("123456"));
+        when(medicoRepository.findEmails()).thenReturn(List.of("ana@voll.med"));
+        verificador.carregar();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void limpar() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void chaveNovaNaoVaiAoBanco() {
+        verificador.reservarMedico("654.321", "Bia@Voll.med");
+        verify(medicoRepository, never()).existsByCrmNormalizado(anyString());
+        verify(medicoRepository, never()).existsByEmailNormalizado(anyString());
+    }
+
+    @Test
+    void chaveEmGravacaoERejeitadaSemIrAoBanco() {
+        verificador.reservarMedico("654321", "bia@voll.med");
+        assertThatThrownBy(() -> verificador.reservarMedico("654.321", "outra@voll.med"))
+                .isInstanceOf(ConflitoException.class)
+                .hasMessageContaining("CRM");
+        verify(medicoRepository, never()).existsByCrmNormalizado(anyString());
+    }
+
+    @Test
+    void duplicataJaGravadaEConfirmadaComUmExists() {
+        when(medicoRepository.existsByCrmNormalizado("123456")).thenReturn(true);
+        for (int tentativa = 0; tentativa < 2; tentativa++) {
+            assertThatThrownBy(() -> verificador.reservarMedico("123456", "nova@voll.med"))
+                    .isInstanceOf(ConflitoException.class);
+        }
+        // A chave gravada não fica reservada: cada repetição custa uma consulta indexada
+        verify(medicoRepository, times(2)).existsByCrmNormalizado("123456");
+    }
+
+    @Test
+    void falsoPositivoDoFiltroSegueDepoisDoExists() {
+        when(medicoRepository.existsByEmailNormalizado("ana@voll.med")).thenReturn(false);  // Registro arquivado
+        verificador.reservarMedico("777777", " ANA@voll.med ");
+        verify(medicoRepository).existsByEmailNormalizado("ana@voll.med");
+    }
+
+    @Test
+    void commitPassaParaOFiltroERollbackLibera() {
+        verificador.reservarMedico("888888", "carla@voll.med");
+        concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        when(medicoRepository.existsByCrmNormalizado("888888")).thenReturn(true);
+        assertThatThrownBy(() -> verificador.reservarMedico("888888", "outra@voll.med"))
+                .isInstanceOf(ConflitoException.class);
+        verify(medicoRepository).existsByCrmNormalizado("888888");
+
+        verificador.reservarMedico("999999", "davi@voll.med");
+        concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verificador.reservarMedico("999999", "davi@voll.med");
+        verify(medicoRepository, never()).existsByCrmNormalizado("999999");
+    }
+
+    private static void concluirTransacao(int status) {
+        var sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
@@ -0,0 +1,115 @@
+package med.voll.api.domain.validacao;
+
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Correção das verificações escritas à mão de CPF, CRM e CEP e dos validadores das anotações.
+ */
+class DocumentosTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"529.982.247-25", "111.444.777-35", "000.000.001-91", "987.654.321-00"})
+    void cpfComDigitosVerificadoresCorretos(String cpf) {
+        assertThat(Documentos.cpfValido(cpf)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"529.982.247-24", "529.982.247-15", "111.444.777-53", "987.654.321-01"})
+    void cpfComDigitosVerificadoresErrados(String cpf) {
+        assertThat(Documentos.cpfValido(cpf)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"000.000.000-00", "111.111.111-11", "555.555.555-55", "999.999.999-99"})
+    void cpfComTodosOsDigitosIguais(String cpf) {
+        // Os dígitos verificadores batem, mas esses CPFs não existem
+        assertThat(Documentos.cpfValido(cpf)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"52998224725", "529982247-25", "529.982.24725", "529-982-247.25", "529.982.247-2",
+            "529.982.247-255", "529.982.2a7-25", " 529.982.247-25", "529 982 247 25"})
+    void cpfForaDoFormatoComMascara(String cpf) {
+        assertThat(Documentos.cpfValido(cpf)).isFalse();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "              "})
+    void cpfNuloOuEmBranco(String cpf) {
+        assertThat(Documentos.cpfValido(cpf)).isFalse();
+    }
+
+    @Test
+    void cpfsDoGeradorDeDadosSaoValidos() {
+        for (long indice : new long[]{0, 1, 111_111_109, 111_111_110, 222_222_221, 999_999_989}) {
+            assertThat(Documentos.cpfValido(GeradorDeDados.cpf(indice))).as("cpf(%d)", indice).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1234", "12345", "123456", "0000"})
+    void crmComQuatroASeisDigitos(String crm) {
+        assertThat(Documentos.crmValido(crm)).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "123", "1234567", "12a45", "12.345", "12345-SP", " 1234", "-1234"})
+    void crmInvalido(String crm) {
+        assertThat(Documentos.crmValido(crm)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"01310100", "00000000", "99999999"})
+    void cepComOitoDigitos(String cep) {
+        assertThat(Documentos.cepValido(cep)).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "01310-100", "0131010", "013101000", "0131010a", "01.310100"})
+    void cepInvalido(String cep) {
+        assertThat(Documentos.cepValido(cep)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"01310100", "01310-100", "00000-000"})
+    void cepComOuSemHifen(String cep) {
+        assertThat(Documentos.cepComOuSemHifen(cep)).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "0131-0100", "013101-00", "013101000", "01310-1000", "0131010", "abc01001000x",
+            "01310-10a", "01310 100", " 01310100", "01310_100"})
+    void cepForaDoFormatoComOuSemHifen(String cep) {
+        assertThat(Documentos.cepComOuSemHifen(cep)).isFalse();
+    }
+
+    @Test
+    void validadoresAceitamNuloEDelegamParaDocumentos() {
+        var cpf = new ValidadorCpf();
+        var crm = new ValidadorCrm();
+        var cep = new ValidadorCep();
+
+        // Nulo fica a cargo de @NotBlank
+        assertThat(cpf.isValid(null, null)).isTrue();
+        assertThat(crm.isValid(null, null)).isTrue();
+        assertThat(cep.isValid(null, null)).isTrue();
+
+        assertThat(cpf.isValid("529.982.247-25", null)).isTrue();
+        assertThat(cpf.isValid("529.982.247-24", null)).isFalse();
+        assertThat(cpf.isValid("", null)).isFalse();
+        assertThat(crm.isValid("123456", null)).isTrue();
+        assertThat(crm.isValid("", null)).isFalse();
+        assertThat(cep.isValid("01310100", null)).isTrue();
+        assertThat(cep.isValid("01310-100", null)).isFalse();
+    }
+}
@@ -0,0 +1,249 @@
+package med.voll.api.infra.auditoria;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import med.voll.api.ApiApplication;
+import med.voll.api.domain.CampoAlterado;
+import med.voll.api.infra.feed.RecursoAlterado;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TrilhaDeAuditoria contra a tabela auditoria_alteracoes de verdade: agrupamento em lotes,
+ * INSERTs de várias linhas, durabilidade síncrona na transação da alteração, cada política de
+ * estouro da fila e a gravação do que sobrou na fila no desligamento.
+ *
+ * Cada teste monta a própria trilha (fora do contexto, com um SimpleMeterRegistry) para
+ * controlar a fila e quando a thread de gravação começa; o contexto só fornece o banco.
+ */
+class TrilhaDeAuditoriaIT {
+
+    private static ConfigurableApplicationContext contexto;
+    private static JdbcTemplate jdbc;
+    private static JdbcTemplate jdbcContado;
+    private static final AtomicInteger inserts = new AtomicInteger();
+
+    private SimpleMeterRegistry metricas;
+    private long proximoId;
+
+    @BeforeAll
+    static void iniciarContexto() {
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:auditoria;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+                .run();
+        var dataSource = contexto.getBean(DataSource.class);
+        jdbc = new JdbcTemplate(dataSource);
+        // Conta os comandos INSERT para verificar o agrupamento
+        jdbcContado = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, Object... argumentos) {
+                if (sql.startsWith("insert into auditoria_alteracoes")) {
+                    inserts.incrementAndGet();
+                }
+                return super.update(sql, argumentos);
+            }
+        };
+    }
+
+    @AfterAll
+    static void encerrarContexto() {
+        contexto.close();
+    }
+
+    @BeforeEach
+    void limpar() {
+        jdbc.update("delete from auditoria_alteracoes");
+        inserts.set(0);
+        metricas = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void padraoDoEstouroNaoPerdeAlteracoes() {
+        assertThat(ReflectionTestUtils.getField(contexto.getBean(TrilhaDeAuditoria.class), "estouro"))
+                .isEqualTo("sincrono");
+    }
+
+    @Test
+    void alteracoesEnfileiradasSaoGravadasEmLotes() throws Exception {
+        var trilha = trilha(100, 3, 200, 50, "descartar", "assincrona");
+        for (int i = 0; i < 7; i++) {
+            trilha.aoAlterar(alteracao(1));
+        }
+        assertThat(linhas()).as("nada é gravado na requisição").isZero();
+
+        trilha.iniciar();
+        esperarLinhas(7);
+        assertThat(inserts.get()).as("lotes de 3, 3 e 1").isEqualTo(3);
+        assertThat(metricas.counter("api.auditoria.gravados").count()).isEqualTo(7);
+        trilha.destroy();
+    }
+
+    @Test
+    void durabilidadeSincronaGravaNaTransacaoDaAlteracao() throws Exception {
+        var trilha = trilha(100, 500, 200, 50, "descartar", "sincrona");
+        trilha.aoAlterar(alteracao(2));
+        assertThat(linhas()).as("depois do commit não grava nada").isZero();
+
+        transacao().executeWithoutResult(status -> {
+            trilha.aoAlterarNaTransacao(alteracao(2));
+            assertThat(linhasVisiveisForaDaTransacao()).as("ainda não confirmadas").isZero();
+        });
+        assertThat(linhas()).isEqualTo(2);
+
+        // Mais linhas que o limite de um comando: vão em dois INSERTs da mesma transação
+        inserts.set(0);
+        transacao().executeWithoutResult(status -> trilha.aoAlterarNaTransacao(alteracao(501)));
+        assertThat(linhas()).isEqualTo(503);
+        assertThat(inserts.get()).isEqualTo(2);
+        trilha.destroy();
+    }
+
+    @Test
+    void durabilidadeSincronaRevertidaComAAlteracao() throws Exception {
+        var trilha = trilha(100, 500, 200, 50, "descartar", "sincrona");
+        transacao().executeWithoutResult(status -> {
+            trilha.aoAlterarNaTransacao(alteracao(3));
+            status.setRollbackOnly();
+        });
+        assertThat(linhas()).isZero();
+        trilha.destroy();
+    }
+
+    @Test
+    void durabilidadeAssincronaIgnoraAFaseAntesDoCommit() throws Exception {
+        var trilha = trilha(100, 500, 200, 50, "descartar", "assincrona");
+        transacao().executeWithoutResult(status -> trilha.aoAlterarNaTransacao(alteracao(1)));
+        trilha.destroy();
+        assertThat(linhas()).isZero();
+    }
+
+    @Test
+    void estouroDescartarPerdeOExcedente() throws Exception {
+        var trilha = trilha(2, 500, 200, 50, "descartar", "assincrona");
+        for (int i = 0; i < 3; i++) {
+            trilha.aoAlterar(alteracao(1));
+        }
+        assertThat(linhas()).isZero();
+        assertThat(metricas.counter("api.auditoria.descartados").count()).isEqualTo(1);
+
+        trilha.destroy();
+        assertThat(linhas()).as("a fila é gravada no desligamento").isEqualTo(2);
+    }
+
+    @Test
+    void estouroSincronoGravaNaRequisicao() throws Exception {
+        var trilha = trilha(1, 500, 200, 50, "sincrono", "assincrona");
+        for (int i = 0; i < 3; i++) {
+            trilha.aoAlterar(alteracao(1));
+        }
+        assertThat(linhas()).as("as duas que não couberam na fila").isEqualTo(2);
+        assertThat(metricas.counter("api.auditoria.descartados").count()).isZero();
+
+        trilha.destroy();
+        assertThat(linhas()).isEqualTo(3);
+    }
+
+    @Test
+    void estouroBloquearEsperaEspacoNaFila() throws Exception {
+        var trilha = trilha(1, 1, 200, 1_000, "bloquear", "assincrona");
+        trilha.iniciar();
+        for (int i = 0; i < 20; i++) {
+            trilha.aoAlterar(alteracao(1));
+        }
+        esperarLinhas(20);
+        assertThat(metricas.counter("api.auditoria.descartados").count())
+                .as("a gravação libera espaço antes de espera-ms").isZero();
+        trilha.destroy();
+    }
+
+    @Test
+    void estouroBloquearDescartaDepoisDaEspera() throws Exception {
+        var trilha = trilha(1, 500, 200, 200, "bloquear", "assincrona");
+        trilha.aoAlterar(alteracao(1));
+
+        var inicio = System.nanoTime();
+        trilha.aoAlterar(alteracao(1));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isGreaterThanOrEqualTo(200);
+        assertThat(metricas.counter("api.auditoria.descartados").count()).isEqualTo(1);
+
+        trilha.destroy();
+        assertThat(linhas()).isEqualTo(1);
+    }
+
+    @Test
+    void desligamentoGravaOLoteEmMontagem() throws Exception {
+        // Intervalo longo: as alterações ainda estão na fila ou no lote da thread de gravação
+        var trilha = trilha(100, 500, 2_000, 50, "descartar", "assincrona");
+        trilha.iniciar();
+        for (int i = 0; i < 5; i++) {
+            trilha.aoAlterar(alteracao(1));
+        }
+        assertThat(linhas()).isZero();
+
+        trilha.destroy();
+        assertThat(linhas()).isEqualTo(5);
+    }
+
+    private TrilhaDeAuditoria trilha(int fila, int lote, long intervaloMs, long esperaMs, String estouro,
+                                     String durabilidade) {
+        var trilha = new TrilhaDeAuditoria(fila, lote, intervaloMs, esperaMs, estouro, durabilidade, metricas);
+        ReflectionTestUtils.setField(trilha, "jdbc", jdbcContado);
+        ReflectionTestUtils.setField(trilha, "transactionManager", contexto.getBean(PlatformTransactionManager.class));
+        return trilha;
+    }
+
+    private static TransactionTemplate transacao() {
+        return new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+    }
+
+    /**
+     * Conta as linhas numa conexão própria, fora da transação em andamento na thread do teste.
+     */
+    private static int linhasVisiveisForaDaTransacao() {
+        try {
+            return CompletableFuture.supplyAsync(TrilhaDeAuditoriaIT::linhas).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AlteracaoAuditada alteracao(int campos) {
+        var alterados = new ArrayList<CampoAlterado>();
+        for (int i = 0; i < campos; i++) {
+            alterados.add(new CampoAlterado("campo" + i, "antes", "depois"));
+        }
+        return new AlteracaoAuditada(RecursoAlterado.MEDICO, ++proximoId, 1, List.copyOf(alterados));
+    }
+
+    private static int linhas() {
+        return jdbc.queryForObject("select count(*) from auditoria_alteracoes", Integer.class);
+    }
+
+    private static void esperarLinhas(int esperadas) throws InterruptedException {
+        var limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (linhas() < esperadas) {
+            assertThat(System.nanoTime()).as("gravação da trilha").isLessThan(limite);
+            Thread.sleep(20);
+        }
+        assertThat(linhas()).isEqualTo(esperadas);
+    }
+}
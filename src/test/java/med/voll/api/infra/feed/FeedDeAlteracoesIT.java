@@ -0,0 +1,268 @@
+package med.voll.api.infra.feed;
+
+import med.voll.api.ApiApplication;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoAlterado;
+import med.voll.api.domain.medico.SituacaoMedico;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FeedDeAlteracoes por HTTP (GET /alteracoes): retomada pelo Last-Event-ID, evento "reinicio"
+ * quando a época não é a desta instância ou os eventos já saíram do buffer, e desconexão do
+ * assinante cuja fila enche.
+ *
+ * O buffer guarda HISTORICO eventos e cada fila FILA; há uma única thread de envio, que o teste
+ * de fila cheia ocupa para simular um cliente que não consome. Os eventos são publicados
+ * chamando o listener direto, como faria o commit de um cadastro.
+ */
+class FeedDeAlteracoesIT {
+
+    private static final int HISTORICO = 5;
+    private static final int FILA = 2;
+
+    private static ConfigurableApplicationContext contexto;
+    private static FeedDeAlteracoes feed;
+    private static HttpClient http;
+    private static int porta;
+    private static long proximoId;
+
+    @BeforeAll
+    static void iniciarContexto() {
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:feed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "api.feed.historico=" + HISTORICO,
+                        "api.feed.fila-por-assinante=" + FILA,
+                        "api.feed.threads-envio=1")
+                .run();
+        feed = contexto.getBean(FeedDeAlteracoes.class);
+        porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @AfterAll
+    static void encerrarContexto() {
+        contexto.close();
+    }
+
+    @Test
+    void retomadaPeloLastEventIdReenviaOQueFaltou() throws Exception {
+        List<Evento> recebidos;
+        try (var assinatura = assinar(null)) {
+            publicar(3);
+            recebidos = assinatura.proximos(3);
+        }
+        assertThat(recebidos).extracting(Evento::nome).containsOnly("alteracao");
+        assertThat(sequencias(recebidos)).isSorted().doesNotHaveDuplicates();
+
+        // Desconectado depois do segundo evento; dois eventos chegam enquanto isso
+        publicar(2);
+        try (var retomada = assinar(recebidos.get(1).id())) {
+            var reenviados = retomada.proximos(3);
+            assertThat(reenviados).extracting(Evento::nome).containsOnly("alteracao");
+            var segundo = sequencias(recebidos).get(1);
+            assertThat(sequencias(reenviados)).containsExactly(segundo + 1, segundo + 2, segundo + 3);
+
+            publicar(1);
+            assertThat(sequencias(retomada.proximos(1))).containsExactly(segundo + 4);
+        }
+    }
+
+    @Test
+    void epocaDeOutraInstanciaRecebeReinicio() throws Exception {
+        publicar(1);
+        var atual = ultimaSequencia();
+        for (var desde : List.of("outraepoca:" + atual, String.valueOf(atual), epoca() + ":abc")) {
+            try (var assinatura = assinar(desde)) {
+                var reinicio = assinatura.proximos(1).get(0);
+                assertThat(reinicio.nome()).as("Last-Event-ID %s", desde).isEqualTo("reinicio");
+                assertThat(reinicio.id()).isEqualTo(epoca() + ":" + atual);
+                assertThat(reinicio.dados()).isEqualTo("{\"sequencia\":" + atual + "}");
+
+                // Depois do reinício, segue com os próximos eventos
+                publicar(1);
+                assertThat(assinatura.proximos(1).get(0).nome()).isEqualTo("alteracao");
+                atual++;
+            }
+        }
+    }
+
+    @Test
+    void eventosForaDoBufferRecebemReinicio() throws Exception {
+        publicar(1);
+        var desde = epoca() + ":" + ultimaSequencia();
+        publicar(HISTORICO + 1);   // O evento seguinte ao "desde" já foi sobrescrito
+
+        try (var assinatura = assinar(desde)) {
+            var reinicio = assinatura.proximos(1).get(0);
+            assertThat(reinicio.nome()).isEqualTo("reinicio");
+            assertThat(reinicio.id()).isEqualTo(epoca() + ":" + ultimaSequencia());
+        }
+        try (var assinatura = assinar(epoca() + ":" + (ultimaSequencia() + 10))) {
+            assertThat(assinatura.proximos(1).get(0).nome()).as("sequência do futuro").isEqualTo("reinicio");
+        }
+    }
+
+    @Test
+    void assinanteComFilaCheiaEDesconectadoERetoma() throws Exception {
+        var inicio = ultimaSequencia();
+        try (var assinatura = assinar(null)) {
+            // Espera o envio inicial desta assinatura e ocupa a única thread de envio:
+            // os eventos ficam na fila do assinante
+            envio().submit(() -> { }).get(5, TimeUnit.SECONDS);
+            var liberacao = new CountDownLatch(1);
+            envio().execute(() -> {
+                try {
+                    liberacao.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            publicar(FILA + 2);
+            liberacao.countDown();
+
+            assertThat(assinatura.encerrada(5)).as("o servidor encerra a resposta").isTrue();
+            assertThat(assinatura.recebidos()).as("nada é enviado depois do estouro").isEmpty();
+        }
+
+        // Sem ter recebido nada, o cliente retoma do último ID que conhecia
+        try (var retomada = assinar(epoca() + ":" + inicio)) {
+            var reenviados = retomada.proximos(FILA + 2);
+            assertThat(sequencias(reenviados)).containsExactly(inicio + 1, inicio + 2, inicio + 3, inicio + 4);
+        }
+    }
+
+    private static void publicar(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            var id = ++proximoId;
+            feed.aoAlterarMedico(new MedicoAlterado(null, new SituacaoMedico(id, 0, "12345" + id,
+                    "medico" + id + "@voll.med", Especialidade.CARDIOLOGIA, "SP", "São Paulo", true)));
+        }
+    }
+
+    private static long ultimaSequencia() {
+        synchronized (feed) {
+            return (long) ReflectionTestUtils.getField(feed, "ultimaSequencia");
+        }
+    }
+
+    private static String epoca() {
+        return (String) ReflectionTestUtils.getField(feed, "epoca");
+    }
+
+    private static ExecutorService envio() {
+        return (ExecutorService) ReflectionTestUtils.getField(feed, "envio");
+    }
+
+    private static List<Long> sequencias(List<Evento> eventos) {
+        return eventos.stream().map(evento -> Long.parseLong(evento.id().substring(evento.id().indexOf(':') + 1))).toList();
+    }
+
+    /**
+     * Abre GET /alteracoes e lê os eventos numa thread própria até a resposta acabar ou o
+     * teste fechar a assinatura. Retorna depois dos cabeçalhos, com o assinante já registrado.
+     */
+    private static Assinatura assinar(String ultimoEventoRecebido) throws Exception {
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/alteracoes")).GET();
+        if (ultimoEventoRecebido != null) {
+            requisicao.header("Last-Event-ID", ultimoEventoRecebido);
+        }
+        var resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        return new Assinatura(resposta.body());
+    }
+
+    private record Evento(String nome, String id, String dados) {
+    }
+
+    private static final class Assinatura implements AutoCloseable {
+
+        private final Stream<String> linhas;
+        private final BlockingQueue<Evento> eventos = new LinkedBlockingQueue<>();
+        private final CountDownLatch fim = new CountDownLatch(1);
+
+        private Assinatura(Stream<String> linhas) {
+            this.linhas = linhas;
+            var leitor = new Thread(this::ler, "feed-cliente");
+            leitor.setDaemon(true);
+            leitor.start();
+        }
+
+        /**
+         * Interpreta o texto SSE: campos "nome:valor", evento concluído na linha em branco,
+         * comentários (":pulso") ignorados.
+         */
+        private void ler() {
+            try {
+                String[] campos = new String[3];
+                var iterador = linhas.iterator();
+                while (iterador.hasNext()) {
+                    var linha = iterador.next();
+                    if (linha.isEmpty()) {
+                        if (campos[0] != null || campos[1] != null) {
+                            eventos.add(new Evento(campos[0], campos[1], campos[2]));
+                        }
+                        campos = new String[3];
+                    } else if (linha.startsWith("event:")) {
+                        campos[0] = linha.substring(6);
+                    } else if (linha.startsWith("id:")) {
+                        campos[1] = linha.substring(3);
+                    } else if (linha.startsWith("data:")) {
+                        campos[2] = linha.substring(5);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Assinatura fechada pelo teste
+            } finally {
+                fim.countDown();
+            }
+        }
+
+        List<Evento> proximos(int quantidade) throws InterruptedException {
+            var recebidos = new ArrayList<Evento>();
+            while (recebidos.size() < quantidade) {
+                var evento = eventos.poll(5, TimeUnit.SECONDS);
+                assertThat(evento).as("evento %d de %d", recebidos.size() + 1, quantidade).isNotNull();
+                recebidos.add(evento);
+            }
+            return recebidos;
+        }
+
+        List<Evento> recebidos() {
+            return List.copyOf(eventos);
+        }
+
+        boolean encerrada(int segundos) throws InterruptedException {
+            return fim.await(segundos, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void close() {
+            linhas.close();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package med.voll.api.infra.idempotencia;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IdempotenciaFilter diante de repetições: reenvio da resposta gravada, corpo diferente,
+ * repetição concorrente esperando a primeira, nova execução depois de um 5xx, espera esgotada,
+ * corpo acima do limite e capacidade esgotada com uma chave em execução.
+ *
+ * O "controller" é uma FilterChain que conta as execuções e pode ficar parada até o teste
+ * liberá-la, para simular uma requisição ainda em andamento.
+ */
+class IdempotenciaFilterTest {
+
+    private static final String CORPO = "{\"nome\":\"Ana\"}";
+
+    private final ExecutorService clientes = Executors.newCachedThreadPool();
+    private final AtomicInteger execucoes = new AtomicInteger();
+    private final CountDownLatch emExecucao = new CountDownLatch(1);
+    private volatile CountDownLatch liberacao = new CountDownLatch(0);
+    private volatile int statusDaPrimeira = 201;
+
+    private IdempotenciaFilter filtro = new IdempotenciaFilter(100, 3600, 5_000, 1_024);
+
+    private final FilterChain controller = (req, res) -> {
+        var execucao = execucoes.incrementAndGet();
+        var corpo = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        emExecucao.countDown();
+        try {
+            liberacao.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var resposta = (HttpServletResponse) res;
+        resposta.setStatus(execucao == 1 ? statusDaPrimeira : 201);
+        resposta.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        resposta.setHeader(HttpHeaders.LOCATION, "/medicos/" + execucao);
+        resposta.getWriter().write("{\"execucao\":" + execucao + ",\"recebido\":" + corpo + "}");
+    };
+
+    @AfterEach
+    void encerrar() {
+        liberacao.countDown();
+        clientes.shutdownNow();
+    }
+
+    @Test
+    void repeticaoRecebeARespostaGravada() throws Exception {
+        var primeira = enviar("chave-1", CORPO);
+        var repeticao = enviar("chave-1", CORPO);
+
+        assertThat(execucoes.get()).isEqualTo(1);
+        assertThat(primeira.getStatus()).isEqualTo(201);
+        assertThat(primeira.getHeader(IdempotenciaFilter.REENVIADA)).isNull();
+        assertThat(primeira.getContentAsString()).isEqualTo("{\"execucao\":1,\"recebido\":" + CORPO + "}");
+
+        assertThat(repeticao.getStatus()).isEqualTo(201);
+        assertThat(repeticao.getHeader(IdempotenciaFilter.REENVIADA)).isEqualTo("true");
+        assertThat(repeticao.getHeader(HttpHeaders.LOCATION)).isEqualTo("/medicos/1");
+        assertThat(repeticao.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(repeticao.getContentAsString()).isEqualTo(primeira.getContentAsString());
+    }
+
+    @Test
+    void chavesEClientesDiferentesExecutamSeparadamente() throws Exception {
+        enviar("chave-1", CORPO);
+        enviar("chave-2", CORPO);
+        var outroCliente = requisicao("chave-1", CORPO);
+        outroCliente.addHeader(HttpHeaders.AUTHORIZATION, "Bearer outro");
+        filtro.doFilter(outroCliente, new MockHttpServletResponse(), controller);
+
+        assertThat(execucoes.get()).isEqualTo(3);
+    }
+
+    @Test
+    void mesmaChaveComOutroCorpoResponde422() throws Exception {
+        enviar("chave-1", CORPO);
+        var outra = enviar("chave-1", "{\"nome\":\"Bia\"}");
+
+        assertThat(outra.getStatus()).isEqualTo(422);
+        assertThat(execucoes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void chaveInvalidaResponde400() throws Exception {
+        assertThat(enviar(" ", CORPO).getStatus()).isEqualTo(400);
+        assertThat(enviar("x".repeat(256), CORPO).getStatus()).isEqualTo(400);
+        assertThat(execucoes.get()).isZero();
+    }
+
+    @Test
+    void repeticaoConcorrenteEsperaAPrimeira() throws Exception {
+        liberacao = new CountDownLatch(1);
+        var primeira = enviarEmParalelo("chave-1", CORPO);
+        assertThat(emExecucao.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var repeticao = enviarEmParalelo("chave-1", CORPO);
+        Thread.sleep(200);
+        assertThat(repeticao.isDone()).as("a repetição espera a primeira terminar").isFalse();
+
+        liberacao.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        var reenviada = repeticao.get(5, TimeUnit.SECONDS);
+        assertThat(reenviada.getStatus()).isEqualTo(201);
+        assertThat(reenviada.getHeader(IdempotenciaFilter.REENVIADA)).isEqualTo("true");
+        assertThat(execucoes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void respostaComErro5xxNaoEGravada() throws Exception {
+        statusDaPrimeira = 503;
+        assertThat(enviar("chave-1", CORPO).getStatus()).isEqualTo(503);
+
+        var nova = enviar("chave-1", CORPO);
+        assertThat(nova.getStatus()).isEqualTo(201);
+        assertThat(nova.getHeader(IdempotenciaFilter.REENVIADA)).isNull();
+        assertThat(execucoes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void repeticaoEmEsperaAssumeQuandoAPrimeiraFalha() throws Exception {
+        statusDaPrimeira = 500;
+        liberacao = new CountDownLatch(1);
+        var primeira = enviarEmParalelo("chave-1", CORPO);
+        assertThat(emExecucao.await(5, TimeUnit.SECONDS)).isTrue();
+        var repeticao = enviarEmParalelo("chave-1", CORPO);
+        Thread.sleep(200);
+
+        liberacao.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(500);
+        var assumida = repeticao.get(5, TimeUnit.SECONDS);
+        assertThat(assumida.getStatus()).as("a repetição executa de novo").isEqualTo(201);
+        assertThat(assumida.getHeader(IdempotenciaFilter.REENVIADA)).isNull();
+        assertThat(execucoes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void esperaEsgotadaResponde409() throws Exception {
+        filtro = new IdempotenciaFilter(100, 3600, 100, 1_024);
+        liberacao = new CountDownLatch(1);
+        var primeira = enviarEmParalelo("chave-1", CORPO);
+        assertThat(emExecucao.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var inicio = System.nanoTime();
+        var repeticao = enviar("chave-1", CORPO);
+        assertThat(repeticao.getStatus()).isEqualTo(409);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isGreaterThanOrEqualTo(100);
+
+        liberacao.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        assertThat(execucoes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void corpoAcimaDoLimiteResponde413() throws Exception {
+        var tamanho = CORPO.getBytes(StandardCharsets.UTF_8).length;
+        filtro = new IdempotenciaFilter(100, 3600, 5_000, tamanho);
+        assertThat(enviar("chave-1", CORPO).getStatus()).as("no limite").isEqualTo(201);
+
+        filtro = new IdempotenciaFilter(100, 3600, 5_000, tamanho - 1);
+        assertThat(enviar("chave-2", CORPO).getStatus()).as("pelo Content-Length").isEqualTo(413);
+
+        var semTamanho = new MockHttpServletRequest("POST", "/medicos") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;      // Transfer-Encoding: chunked
+            }
+        };
+        semTamanho.addHeader(IdempotenciaFilter.CABECALHO, "chave-3");
+        semTamanho.setContent(CORPO.getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(semTamanho, response, controller);
+        assertThat(response.getStatus()).as("na leitura").isEqualTo(413);
+        assertThat(execucoes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void capacidadeEsgotadaNaoDescartaChaveEmExecucao() throws Exception {
+        filtro = new IdempotenciaFilter(1, 3600, 5_000, 1_024);
+        liberacao = new CountDownLatch(1);
+        var primeira = enviarEmParalelo("chave-1", CORPO);
+        assertThat(emExecucao.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Outra chave concluída passa da capacidade: sai ela, não a que ainda executa
+        filtro.doFilter(requisicao("chave-2", CORPO), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(201));
+
+        liberacao.countDown();
+        assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        var repeticao = enviar("chave-1", CORPO);
+        assertThat(repeticao.getHeader(IdempotenciaFilter.REENVIADA)).isEqualTo("true");
+        assertThat(execucoes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void corpoPodeSerLidoPorReadListener() throws Exception {
+        var lido = new ByteArrayOutputStream();
+        var concluida = new AtomicBoolean();
+        FilterChain leituraNaoBloqueante = (req, res) -> {
+            var entrada = req.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (entrada.isReady() && !entrada.isFinished()) {
+                        lido.write(entrada.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    concluida.set(true);
+                }
+
+                @Override
+                public void onError(Throwable erro) {
+                    throw new AssertionError(erro);
+                }
+            });
+            ((HttpServletResponse) res).setStatus(201);
+        };
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(requisicao("chave-1", CORPO), response, leituraNaoBloqueante);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(lido.toString(StandardCharsets.UTF_8)).isEqualTo(CORPO);
+        assertThat(concluida).isTrue();
+    }
+
+    private MockHttpServletResponse enviar(String chave, String corpo) throws Exception {
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(requisicao(chave, corpo), response, controller);
+        return response;
+    }
+
+    private Future<MockHttpServletResponse> enviarEmParalelo(String chave, String corpo) {
+        return clientes.submit(() -> enviar(chave, corpo));
+    }
+
+    private static MockHttpServletRequest requisicao(String chave, String corpo) {
+        var request = new MockHttpServletRequest("POST", "/medicos");
+        request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,104 @@
+package med.voll.api.infra.invalidacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.ApiApplication;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duas instâncias da aplicação no mesmo banco H2 em memória, como várias instâncias atrás de
+ * um balanceador no mesmo MySQL: uma alteração feita na instância A precisa aparecer na busca
+ * por CRM da instância B (cache LRU com validade de 60 s) em pouco tempo, via CanalDeInvalidacao.
+ */
+class InvalidacaoEntreInstanciasIT {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidacaoEntreInstanciasIT.class);
+
+    private static final int MEDICOS = 100;
+    private static final int ALTERACOES = 20;
+    private static final long ATRASO_MAXIMO_MS = 2_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void alteracaoEmUmaInstanciaInvalidaOCacheDaOutra() throws Exception {
+        try (var a = iniciar(); var b = iniciar()) {
+            new GeradorDeDados(a.getBean(DataSource.class), a.getBean(PasswordEncoder.class), 42, 4)
+                    .gerarMedicos(MEDICOS);
+            var jdbc = a.getBean(JdbcTemplate.class);
+            var portaA = porta(a);
+            var portaB = porta(b);
+
+            long pior = 0;
+            for (int i = 0; i < ALTERACOES; i++) {
+                var id = 1L + i;
+                var crm = jdbc.queryForObject("select crm from medicos where id = ?", String.class, id);
+                nomePorCrm(portaB, crm);   // Põe o médico no cache da instância B
+
+                var nome = "Medico Alterado " + i;
+                var resposta = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + portaA + "/medicos"))
+                                .header("Content-Type", "application/json")
+                                .PUT(HttpRequest.BodyPublishers.ofString(
+                                        "{\"id\":" + id + ",\"nome\":\"" + nome + "\"}"))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+                assertThat(resposta.statusCode()).isEqualTo(200);
+
+                var inicio = System.nanoTime();
+                while (!nome.equals(nomePorCrm(portaB, crm))
+                        && System.nanoTime() - inicio < 10 * ATRASO_MAXIMO_MS * 1_000_000) {
+                    Thread.sleep(5);
+                }
+                var atrasoMs = (System.nanoTime() - inicio) / 1_000_000;
+                assertThat(nomePorCrm(portaB, crm)).as("nome na instância B").isEqualTo(nome);
+                pior = Math.max(pior, atrasoMs);
+            }
+            log.info("Invalidação entre instâncias: pior atraso {} ms em {} alterações", pior, ALTERACOES);
+            assertThat(pior).as("atraso máximo da invalidação (ms)").isLessThan(ATRASO_MAXIMO_MS);
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:invalidacao;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "api.invalidacao.enabled=true",
+                        "api.invalidacao.intervalo-ms=100")
+                .run();
+    }
+
+    private static int porta(ConfigurableApplicationContext contexto) {
+        return ((WebServerApplicationContext) contexto).getWebServer().getPort();
+    }
+
+    private String nomePorCrm(int porta, String crm) throws Exception {
+        var resposta = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/medicos/crm/" + crm))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(resposta.body()).get("nome").asText();
+    }
+}
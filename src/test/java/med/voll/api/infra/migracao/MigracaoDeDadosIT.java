@@ -0,0 +1,228 @@
+package med.voll.api.infra.migracao;
+
+import med.voll.api.ApiApplication;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ExecutorDeMigracoesDeDados com uma AtualizacaoEmLotes de verdade sobre médicos semeados:
+ * lotes pela chave primária, progresso gravado a cada lote, retomada depois de uma falha,
+ * marcação de conclusão e duas instâncias disputando a mesma migração (select ... for update).
+ */
+class MigracaoDeDadosIT {
+
+    private static final int MEDICOS = 1_000;
+    private static final int LOTE = 50;
+    private static final String NOME = "teste-telefone-medicos";
+    private static final String TELEFONE = "1100000000";
+
+    @BeforeEach
+    void reiniciarMigracao() {
+        MigracaoDeTeste.falharNoLote = 0;
+        MigracaoDeTeste.lotes.set(0);
+        MigracaoDeTeste.faixas.clear();
+        MigracaoDeTeste.largada = new CountDownLatch(1);
+    }
+
+    @Test
+    void migracaoInterrompidaRetomaDoUltimoLoteConfirmado() throws Exception {
+        var banco = "migracao_retomada";
+        semear(banco);
+
+        MigracaoDeTeste.falharNoLote = 5;
+        try (var contexto = iniciar(banco)) {
+            var jdbc = contexto.getBean(JdbcTemplate.class);
+            esperar(() -> MigracaoDeTeste.lotes.get() >= 5);
+            Thread.sleep(200);   // O lote com falha é revertido e o executor para
+
+            var progresso = progresso(jdbc);
+            assertThat(progresso.get("ultimo_id")).as("último ID confirmado").isEqualTo(4L * LOTE);
+            assertThat(progresso.get("registros")).isEqualTo(4L * LOTE);
+            assertThat(progresso.get("concluida_em")).isNull();
+            assertThat(migrados(jdbc)).as("médicos migrados antes da falha").isEqualTo(4 * LOTE);
+            assertThat(MigracaoDeTeste.lotes.get()).as("o executor parou no lote com falha").isEqualTo(5);
+        }
+
+        MigracaoDeTeste.falharNoLote = 0;
+        MigracaoDeTeste.faixas.clear();
+        try (var contexto = iniciar(banco)) {
+            var jdbc = contexto.getBean(JdbcTemplate.class);
+            esperar(() -> progresso(jdbc).get("concluida_em") != null);
+
+            var progresso = progresso(jdbc);
+            assertThat(progresso.get("ultimo_id")).isEqualTo((long) MEDICOS);
+            assertThat(progresso.get("registros")).isEqualTo((long) MEDICOS);
+            assertThat(migrados(jdbc)).isEqualTo(MEDICOS);
+            assertThat(MigracaoDeTeste.faixas.stream().mapToLong(faixa -> faixa[0]).min().orElseThrow())
+                    .as("a retomada começa depois do último lote confirmado").isEqualTo(4L * LOTE);
+        }
+
+        // Concluída, não roda de novo
+        MigracaoDeTeste.faixas.clear();
+        try (var contexto = iniciar(banco)) {
+            Thread.sleep(500);
+            assertThat(MigracaoDeTeste.faixas).isEmpty();
+        }
+    }
+
+    @Test
+    void duasInstanciasNaoMigramAMesmaFaixa() throws Exception {
+        var banco = "migracao_concorrente";
+        semear(banco);
+
+        MigracaoDeTeste.largada = new CountDownLatch(2);
+        var a = CompletableFuture.supplyAsync(() -> iniciar(banco));
+        var b = CompletableFuture.supplyAsync(() -> iniciar(banco));
+        try (var contextoA = a.get(60, TimeUnit.SECONDS); var contextoB = b.get(60, TimeUnit.SECONDS)) {
+            var jdbc = contextoA.getBean(JdbcTemplate.class);
+            esperar(() -> progresso(jdbc).get("concluida_em") != null);
+            Thread.sleep(200);   // A outra instância também percebe a conclusão
+
+            var faixas = new ArrayList<>(MigracaoDeTeste.faixas);
+            faixas.sort(Comparator.comparingLong(faixa -> faixa[0]));
+            var esperado = 0L;
+            for (var faixa : faixas) {
+                assertThat(faixa[0]).as("faixas contíguas e sem repetição").isEqualTo(esperado);
+                esperado = faixa[1];
+            }
+            assertThat(esperado).isEqualTo(MEDICOS);
+            assertThat(faixas.stream().map(faixa -> faixa[2]).distinct().count())
+                    .as("instâncias que migraram algum lote").isEqualTo(2);
+            assertThat(progresso(jdbc).get("registros")).isEqualTo((long) MEDICOS);
+            assertThat(migrados(jdbc)).isEqualTo(MEDICOS);
+        }
+    }
+
+    @Test
+    void ocupacaoMaximaForaDoIntervaloImpedeAInicializacao() {
+        for (var ocupacao : new String[]{"0", "-0.5", "1.5"}) {
+            assertThatThrownBy(() -> new SpringApplicationBuilder(ApiApplication.class)
+                    .profiles("test")
+                    .properties("server.port=0", url("migracao_ocupacao"), "api.migracao-dados.ocupacao-maxima=" + ocupacao)
+                    .run())
+                    .as("ocupacao-maxima=%s", ocupacao)
+                    .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                    .hasStackTraceContaining("api.migracao-dados.ocupacao-maxima");
+        }
+    }
+
+    /**
+     * Semeia os médicos num contexto sem a migração, para que ela encontre a tabela cheia.
+     */
+    private static void semear(String banco) throws Exception {
+        try (var contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", url(banco))
+                .run()) {
+            new GeradorDeDados(contexto.getBean(DataSource.class), contexto.getBean(PasswordEncoder.class), 42, 4)
+                    .gerarMedicos(MEDICOS);
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(String banco) {
+        return new SpringApplicationBuilder(ApiApplication.class, MigracaoDeTeste.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        url(banco),
+                        "api.migracao-dados.lote=" + LOTE,
+                        "api.migracao-dados.pausa-ms=5",
+                        "api.migracao-dados.ocupacao-maxima=1")
+                .run();
+    }
+
+    private static String url(String banco) {
+        return "spring.datasource.url=jdbc:h2:mem:" + banco + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * Linha de progresso da migração, com os números como Long; vazia antes de o executor registrá-la.
+     */
+    private static Map<String, Object> progresso(JdbcTemplate jdbc) {
+        var linhas = jdbc.queryForList(
+                "select ultimo_id, registros, concluida_em from migracoes_dados where nome = ?", NOME);
+        if (linhas.isEmpty()) {
+            return Map.of();
+        }
+        var progresso = linhas.get(0);
+        progresso.replaceAll((coluna, valor) -> valor instanceof Number numero ? numero.longValue() : valor);
+        return progresso;
+    }
+
+    private static int migrados(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("select count(*) from medicos where telefone = ?", Integer.class, TELEFONE);
+    }
+
+    private static void esperar(BooleanSupplier condicao) throws InterruptedException {
+        var limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tempo de espera esgotado").isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * AtualizacaoEmLotes que registra cada faixa migrada (início, fim, instância) e pode falhar
+     * num lote escolhido. Registrada só nos contextos deste teste (não é @Component, fica fora
+     * do component scan); o estado é estático porque as instâncias da aplicação rodam na mesma JVM.
+     */
+    static class MigracaoDeTeste implements MigracaoDeDados {
+
+        static volatile int falharNoLote;
+        static volatile CountDownLatch largada = new CountDownLatch(1);
+        static final AtomicInteger lotes = new AtomicInteger();
+        static final ConcurrentLinkedQueue<long[]> faixas = new ConcurrentLinkedQueue<>();
+        private static final AtomicInteger instancias = new AtomicInteger();
+
+        private final AtualizacaoEmLotes atualizacao = new AtualizacaoEmLotes(NOME, "medicos",
+                "telefone = '" + TELEFONE + "'", "telefone <> '" + TELEFONE + "'");
+        private final long instancia = instancias.incrementAndGet();
+
+        @Override
+        public String nome() {
+            return NOME;
+        }
+
+        @Override
+        public String tabela() {
+            // Só começa quando todas as instâncias esperadas chegaram aqui
+            var inicio = largada;
+            inicio.countDown();
+            try {
+                inicio.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return atualizacao.tabela();
+        }
+
+        @Override
+        public int migrarFaixa(JdbcTemplate jdbc, long inicio, long fim) {
+            var alteradas = atualizacao.migrarFaixa(jdbc, inicio, fim);
+            if (lotes.incrementAndGet() == falharNoLote) {
+                throw new IllegalStateException("Falha simulada no lote " + falharNoLote);
+            }
+            faixas.add(new long[]{inicio, fim, instancia});
+            return alteradas;
+        }
+    }
+}
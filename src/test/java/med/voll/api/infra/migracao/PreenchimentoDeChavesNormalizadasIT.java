@@ -0,0 +1,64 @@
+package med.voll.api.infra.migracao;
+
+import med.voll.api.ApiApplication;
+import med.voll.api.infra.gerador.GeradorDeDados;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Preenchimento das chaves normalizadas de médicos anteriores à V10, com dois pares de cadastros
+ * que só colidem depois de normalizados: o de menor ID fica com a chave e o outro fica vazio,
+ * dentro do mesmo lote e entre lotes diferentes, sem o índice único interromper a migração.
+ */
+class PreenchimentoDeChavesNormalizadasIT {
+
+    @Test
+    void conflitosFicamVaziosEOsDemaisSaoPreenchidos() throws Exception {
+        try (var contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:chaves_normalizadas;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+                .run()) {
+            new GeradorDeDados(contexto.getBean(DataSource.class), contexto.getBean(PasswordEncoder.class), 42, 4)
+                    .gerarMedicos(10);
+            var jdbc = contexto.getBean(JdbcTemplate.class);
+            var ids = jdbc.queryForList("select id from medicos order by id", Long.class);
+
+            // Estado de antes da V10, com CRMs e e-mails que só diferem na formatação
+            jdbc.update("update medicos set crm_normalizado = null, email_normalizado = null");
+            jdbc.update("update medicos set crm = '12345' where id = ?", ids.get(1));
+            jdbc.update("update medicos set crm = '12.345' where id = ?", ids.get(2));      // Mesmo lote que o anterior
+            jdbc.update("update medicos set email = 'ana@voll.med' where id = ?", ids.get(3));
+            jdbc.update("update medicos set email = ' Ana@Voll.med' where id = ?", ids.get(8));  // Lote seguinte
+
+            var preenchimento = contexto.getBean("preencherChavesNormalizadasDosMedicos", MigracaoDeDados.class);
+            assertThat(preenchimento.migrarFaixa(jdbc, 0, ids.get(4))).isEqualTo(5);
+            assertThat(preenchimento.migrarFaixa(jdbc, ids.get(4), ids.get(9))).isEqualTo(5);
+
+            assertThat(chave(jdbc, "crm_normalizado", ids.get(1))).isEqualTo("12345");
+            assertThat(chave(jdbc, "crm_normalizado", ids.get(2))).as("CRM em conflito").isNull();
+            assertThat(chave(jdbc, "email_normalizado", ids.get(2))).isNotNull();
+            assertThat(chave(jdbc, "email_normalizado", ids.get(3))).isEqualTo("ana@voll.med");
+            assertThat(chave(jdbc, "email_normalizado", ids.get(8))).as("e-mail em conflito").isNull();
+            assertThat(chave(jdbc, "crm_normalizado", ids.get(8))).isNotNull();
+            assertThat(jdbc.queryForObject("select count(*) from medicos where crm_normalizado is null "
+                    + "or email_normalizado is null", Integer.class)).isEqualTo(2);
+
+            // Depois de corrigido o cadastro, rodar de novo preenche só o que ficou vazio
+            jdbc.update("update medicos set email = 'outra@voll.med' where id = ?", ids.get(8));
+            assertThat(preenchimento.migrarFaixa(jdbc, 0, ids.get(9))).isEqualTo(2);
+            assertThat(chave(jdbc, "email_normalizado", ids.get(8))).isEqualTo("outra@voll.med");
+        }
+    }
+
+    private static String chave(JdbcTemplate jdbc, String coluna, Long id) {
+        return jdbc.queryForObject("select " + coluna + " from medicos where id = ?", String.class, id);
+    }
+}